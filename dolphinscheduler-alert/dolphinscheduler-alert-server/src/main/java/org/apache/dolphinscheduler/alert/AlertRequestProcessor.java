@@ -24,7 +24,6 @@ import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendRequestCommand;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendResponseCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,8 +45,7 @@ public final class AlertRequestProcessor implements NettyRequestProcessor {
     public void process(Channel channel, Command command) {
         checkArgument(CommandType.ALERT_SEND_REQUEST == command.getType(), "invalid command type: %s", command.getType());
 
-        AlertSendRequestCommand alertSendRequestCommand = JsonSerializer.deserialize(
-            command.getBody(), AlertSendRequestCommand.class);
+        AlertSendRequestCommand alertSendRequestCommand = command.parseBody(AlertSendRequestCommand.class);
 
         logger.info("Received command : {}", alertSendRequestCommand);
 
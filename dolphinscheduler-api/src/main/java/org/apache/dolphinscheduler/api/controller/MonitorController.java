@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.api.controller;
 import static org.apache.dolphinscheduler.api.enums.Status.LIST_MASTERS_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.LIST_WORKERS_ERROR;
 import static org.apache.dolphinscheduler.api.enums.Status.QUERY_DATABASE_STATE_ERROR;
+import static org.apache.dolphinscheduler.api.enums.Status.UPDATE_WORKER_EXEC_THREADS_ERROR;
 
 import org.apache.dolphinscheduler.api.aspect.AccessLogAnnotation;
 import org.apache.dolphinscheduler.api.exceptions.ApiException;
@@ -33,12 +34,16 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import springfox.documentation.annotations.ApiIgnore;
 
@@ -85,6 +90,30 @@ public class MonitorController extends BaseController {
         return returnDataList(result);
     }
 
+    /**
+     * update the number of execute threads of a worker
+     *
+     * @param loginUser login user
+     * @param workerAddress worker address, host:port
+     * @param execThreads number of execute threads
+     * @return update result code
+     */
+    @ApiOperation(value = "updateWorkerExecThreads", notes = "UPDATE_WORKER_EXEC_THREADS_NOTES")
+    @ApiImplicitParams({
+        @ApiImplicitParam(name = "workerAddress", value = "WORKER_ADDRESS", required = true, dataType = "String"),
+        @ApiImplicitParam(name = "execThreads", value = "EXEC_THREADS", required = true, dataType = "Int", example = "100")
+    })
+    @PutMapping(value = "/workers/exec-threads")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(UPDATE_WORKER_EXEC_THREADS_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result updateWorkerExecThreads(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                          @RequestParam(value = "workerAddress") String workerAddress,
+                                          @RequestParam(value = "execThreads") int execThreads) {
+        Map<String, Object> result = monitorService.updateWorkerExecThreads(loginUser, workerAddress, execThreads);
+        return returnDataList(result);
+    }
+
     /**
      * query database state
      *
@@ -302,6 +302,8 @@ public enum Status {
      * for monitor
      */
     QUERY_DATABASE_STATE_ERROR(70001, "query database state error", "查询数据库状态错误"),
+    UPDATE_WORKER_EXEC_THREADS_ERROR(70002, "update worker exec threads error", "更新worker执行线程数错误"),
+    WORKER_EXEC_THREADS_NOT_APPLIED(70003, "worker [{0}] did not apply the exec threads : {1}", "worker[{0}]未应用执行线程数 : {1}"),
 
     CREATE_ACCESS_TOKEN_ERROR(70010, "create access token error", "创建访问token错误"),
     GENERATE_TOKEN_ERROR(70011, "generate token error", "生成token错误"),
@@ -20,8 +20,11 @@ package org.apache.dolphinscheduler.api.service;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.IOException;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -39,12 +42,14 @@ public interface LoggerService {
 
 
     /**
-     * get log size
+     * download log, the log is streamed from the worker into the response
      *
      * @param taskInstId task instance id
-     * @return log byte array
+     * @param offset byte offset to resume the download from
+     * @param response response
+     * @throws IOException if the log could not be fetched or written
      */
-    byte[] getLogBytes(int taskInstId);
+    void downloadLog(int taskInstId, long offset, HttpServletResponse response) throws IOException;
 
     /**
      * query log
@@ -59,12 +64,14 @@ public interface LoggerService {
     Map<String, Object> queryLog(User loginUser, long projectCode, int taskInstId, int skipLineNum, int limit);
 
     /**
-     * get log bytes
+     * download log, the log is streamed from the worker into the response
      *
      * @param loginUser   login user
      * @param projectCode project code
      * @param taskInstId  task instance id
-     * @return log byte array
+     * @param offset      byte offset to resume the download from
+     * @param response    response
+     * @throws IOException if the log could not be fetched or written
      */
-    byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+    void downloadLog(User loginUser, long projectCode, int taskInstId, long offset, HttpServletResponse response) throws IOException;
 }
@@ -51,6 +51,16 @@ public interface MonitorService {
      * @return worker information list
      */
     Map<String,Object> queryWorker(User loginUser);
+
+    /**
+     * change the number of execute threads of a running worker
+     *
+     * @param loginUser login user
+     * @param workerAddress worker address, host:port
+     * @param execThreads number of execute threads
+     * @return update result code
+     */
+    Map<String,Object> updateWorkerExecThreads(User loginUser, String workerAddress, int execThreads);
     
     List<Server> getServerListFromRegistry(boolean isMaster);
 }
@@ -35,20 +35,23 @@ import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
-import com.google.common.primitives.Bytes;
-
 /**
  * logger service impl
  */
@@ -112,18 +115,23 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
 
     /**
-     * get log size
+     * download log
      *
      * @param taskInstId task instance id
-     * @return log byte array
+     * @param offset byte offset to resume the download from
+     * @param response response
      */
     @Override
-    public byte[] getLogBytes(int taskInstId) {
+    public void downloadLog(int taskInstId, long offset, HttpServletResponse response) throws IOException {
+        if (offset < 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "offset must not be negative");
+            return;
+        }
         TaskInstance taskInstance = processService.findTaskInstanceById(taskInstId);
         if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
             throw new ServiceException("task instance is null or host is null");
         }
-        return getLogBytes(taskInstance);
+        downloadLog(taskInstance, offset, response);
     }
 
     /**
@@ -163,15 +171,20 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     }
 
     /**
-     * get log bytes
+     * download log
      *
      * @param loginUser   login user
      * @param projectCode project code
      * @param taskInstId  task instance id
-     * @return log byte array
+     * @param offset      byte offset to resume the download from
+     * @param response    response
      */
     @Override
-    public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+    public void downloadLog(User loginUser, long projectCode, int taskInstId, long offset, HttpServletResponse response) throws IOException {
+        if (offset < 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "offset must not be negative");
+            return;
+        }
         Project project = projectMapper.queryByCode(projectCode);
         //check user access for project
         Map<String, Object> result = projectService.checkProjectAndAuth(loginUser, project, projectCode);
@@ -188,7 +201,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        downloadLog(task, offset, response);
     }
 
     /**
@@ -221,18 +234,27 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
     }
 
     /**
-     * get log bytes
+     * stream the log head and the log from the worker into the response, the offset counts the head bytes too
+     * so a client can resume from the number of bytes it has received
      *
      * @param taskInstance task instance
-     * @return log byte array
+     * @param offset byte offset to resume the download from
+     * @param response response
      */
-    private byte[] getLogBytes(TaskInstance taskInstance) {
+    private void downloadLog(TaskInstance taskInstance, long offset, HttpServletResponse response) throws IOException {
         Host host = Host.of(taskInstance.getHost());
         byte[] head = String.format(LOG_HEAD_FORMAT,
                 taskInstance.getLogPath(),
                 host,
                 Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
-        return Bytes.concat(head,
-                logClient.getLogBytes(host.getIp(), host.getPort(), taskInstance.getLogPath()));
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        OutputStream out = response.getOutputStream();
+        if (offset < head.length) {
+            out.write(head, (int) offset, head.length - (int) offset);
+        }
+        logClient.streamLog(host.getIp(), host.getPort(), taskInstance.getLogPath(), Math.max(0, offset - head.length), out);
+        out.flush();
     }
 }
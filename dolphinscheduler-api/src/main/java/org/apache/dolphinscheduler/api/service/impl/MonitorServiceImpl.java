@@ -26,14 +26,22 @@ import org.apache.dolphinscheduler.common.model.WorkerServerModel;
 import org.apache.dolphinscheduler.dao.MonitorDBDao;
 import org.apache.dolphinscheduler.dao.entity.MonitorRecord;
 import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateCommand;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateResponseCommand;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -45,12 +53,22 @@ import com.google.common.collect.Sets;
 @Service
 public class MonitorServiceImpl extends BaseServiceImpl implements MonitorService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MonitorServiceImpl.class);
+
+    /**
+     * time to wait for a worker to apply an update
+     */
+    private static final long WORKER_REQUEST_TIMEOUT = 10 * 1000L;
+
     @Autowired
     private MonitorDBDao monitorDBDao;
 
     @Autowired
     private RegistryClient registryClient;
 
+    @Autowired
+    private StateEventCallbackService stateEventCallbackService;
+
     /**
      * query database state
      *
@@ -132,6 +150,56 @@ public class MonitorServiceImpl extends BaseServiceImpl implements MonitorServic
         return result;
     }
 
+    /**
+     * change the number of execute threads of a running worker, the worker applies it at once and keeps it
+     * until it restarts. it succeeds once the worker answers it runs with the requested threads
+     *
+     * @param loginUser login user
+     * @param workerAddress worker address, host:port
+     * @param execThreads number of execute threads
+     * @return update result code
+     */
+    @Override
+    public Map<String, Object> updateWorkerExecThreads(User loginUser, String workerAddress, int execThreads) {
+        Map<String, Object> result = new HashMap<>();
+        if (isNotAdmin(loginUser, result)) {
+            return result;
+        }
+        if (execThreads <= 0) {
+            putMsg(result, Status.REQUEST_PARAMS_NOT_VALID_ERROR, "execThreads");
+            return result;
+        }
+        Optional<Server> worker = getServerListFromRegistry(false)
+            .stream()
+            .filter(server -> (server.getHost() + Constants.COLON + server.getPort()).equals(workerAddress))
+            .findFirst();
+        if (!worker.isPresent()) {
+            putMsg(result, Status.WORKER_ADDRESS_INVALID, workerAddress);
+            return result;
+        }
+        WorkerExecThreadsUpdateCommand updateCommand = new WorkerExecThreadsUpdateCommand(execThreads);
+        Command response;
+        try {
+            response = stateEventCallbackService.sendSync(worker.get().getHost(), worker.get().getPort(),
+                updateCommand.convert2Command(), WORKER_REQUEST_TIMEOUT);
+        } catch (RemotingException e) {
+            logger.error("update exec threads of worker {} error", workerAddress, e);
+            putMsg(result, Status.WORKER_EXEC_THREADS_NOT_APPLIED, workerAddress, e.getMessage());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            putMsg(result, Status.WORKER_EXEC_THREADS_NOT_APPLIED, workerAddress, "interrupted");
+            return result;
+        }
+        int applied = response.parseBody(WorkerExecThreadsUpdateResponseCommand.class).getExecThreads();
+        if (applied != execThreads) {
+            putMsg(result, Status.WORKER_EXEC_THREADS_NOT_APPLIED, workerAddress, "it runs with " + applied);
+            return result;
+        }
+        putMsg(result, Status.SUCCESS);
+        return result;
+    }
+
     @Override
     public List<Server> getServerListFromRegistry(boolean isMaster) {
         return isMaster
@@ -192,6 +192,7 @@ public class TaskInstanceServiceImpl extends BaseServiceImpl implements TaskInst
 
         // change the state of the task instance
         task.setState(ExecutionStatus.FORCED_SUCCESS);
+        task.setUpdateTime(new Date());
         int changedNum = taskInstanceMapper.updateById(task);
         if (changedNum > 0) {
             putMsg(result, Status.SUCCESS);
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.impl.LoggerServiceImpl;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.Constants;
@@ -30,6 +31,7 @@ import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +48,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 /**
  * logger service test
@@ -103,34 +108,53 @@ public class LoggerServiceTest {
     }
 
     @Test
-    public void testGetLogBytes() {
+    public void testDownloadLog() throws IOException {
 
         TaskInstance taskInstance = new TaskInstance();
         Mockito.when(processService.findTaskInstanceById(1)).thenReturn(taskInstance);
 
         //task instance is null
         try {
-            loggerService.getLogBytes(2);
-        } catch (RuntimeException e) {
-            Assert.assertTrue(true);
-            logger.error("testGetLogBytes error: {}", "task instance is null");
+            loggerService.downloadLog(2, 0, new MockHttpServletResponse());
+            Assert.fail("task instance is null");
+        } catch (ServiceException | IOException e) {
+            logger.error("testDownloadLog error: {}", "task instance is null");
         }
 
         //task instance host is null
         try {
-            loggerService.getLogBytes(1);
-        } catch (RuntimeException e) {
-            Assert.assertTrue(true);
-            logger.error("testGetLogBytes error: {}", "task instance host is null");
+            loggerService.downloadLog(1, 0, new MockHttpServletResponse());
+            Assert.fail("task instance host is null");
+        } catch (ServiceException | IOException e) {
+            logger.error("testDownloadLog error: {}", "task instance host is null");
         }
 
-        //success
+        //the log head is written before the log is streamed from the worker
         taskInstance.setHost("127.0.0.1:8080");
         taskInstance.setLogPath("/temp/log");
-        //if use @RunWith(PowerMockRunner.class) mock object,sonarcloud will not calculate the coverage,
-        // so no assert will be added here
-        loggerService.getLogBytes(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            loggerService.downloadLog(1, 0, response);
+        } catch (IOException e) {
+            logger.error("testDownloadLog error: {}", "worker is not reachable");
+        }
+        String head = response.getContentAsString();
+        Assert.assertTrue(head.startsWith("[LOG-PATH]: /temp/log"));
 
+        //resume from an offset
+        response = new MockHttpServletResponse();
+        try {
+            loggerService.downloadLog(1, 5, response);
+        } catch (IOException e) {
+            logger.error("testDownloadLog error: {}", "worker is not reachable");
+        }
+        Assert.assertEquals(head.substring(5), response.getContentAsString());
+
+        //negative offset is rejected before anything is written
+        response = new MockHttpServletResponse();
+        loggerService.downloadLog(1, -1, response);
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+        Assert.assertEquals(0, response.getContentAsByteArray().length);
     }
 
     @Test
@@ -162,7 +186,7 @@ public class LoggerServiceTest {
     }
 
     @Test
-    public void testGetLogBytesInSpecifiedProject() {
+    public void testDownloadLogInSpecifiedProject() {
         long projectCode = 1L;
         Mockito.when(projectMapper.queryByCode(projectCode)).thenReturn(getProject(projectCode));
         Project project = getProject(projectCode);
@@ -184,7 +208,13 @@ public class LoggerServiceTest {
         Mockito.when(projectService.checkProjectAndAuth(loginUser, project, projectCode)).thenReturn(result);
         Mockito.when(processService.findTaskInstanceById(1)).thenReturn(taskInstance);
         Mockito.when(taskDefinitionMapper.queryByCode(taskInstance.getTaskCode())).thenReturn(taskDefinition);
-        loggerService.getLogBytes(loginUser, projectCode, 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            loggerService.downloadLog(loginUser, projectCode, 1, 0, response);
+        } catch (IOException e) {
+            logger.error("testDownloadLogInSpecifiedProject error: {}", "worker is not reachable");
+        }
+        Assert.assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, response.getContentType());
     }
 
 
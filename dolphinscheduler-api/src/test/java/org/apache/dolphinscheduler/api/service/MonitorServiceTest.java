@@ -20,9 +20,19 @@ package org.apache.dolphinscheduler.api.service;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.service.impl.MonitorServiceImpl;
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.NodeType;
+import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.dao.MonitorDBDao;
 import org.apache.dolphinscheduler.dao.entity.MonitorRecord;
+import org.apache.dolphinscheduler.dao.entity.User;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateCommand;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateResponseCommand;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
+import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
+import org.apache.dolphinscheduler.service.registry.RegistryClient;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -34,6 +44,7 @@ import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -55,6 +66,12 @@ public class MonitorServiceTest {
     @Mock
     private MonitorDBDao monitorDBDao;
 
+    @Mock
+    private RegistryClient registryClient;
+
+    @Mock
+    private StateEventCallbackService stateEventCallbackService;
+
     @Test
     public  void testQueryDatabaseState() {
 
@@ -81,6 +98,61 @@ public class MonitorServiceTest {
         /*logger.info(serverList.toString());*/
     }
 
+    @Test
+    public void testUpdateWorkerExecThreads() throws Exception {
+        Mockito.when(registryClient.getServerList(NodeType.WORKER)).thenReturn(getServerList());
+        Mockito.when(stateEventCallbackService.sendSync(Mockito.eq("192.168.1.1"), Mockito.eq(1234), Mockito.any(), Mockito.anyLong()))
+            .thenReturn(new WorkerExecThreadsUpdateResponseCommand(8).convert2Command(1L));
+
+        Map<String, Object> result = monitorService.updateWorkerExecThreads(getAdminUser(), "192.168.1.1:1234", 8);
+        Assert.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
+
+        ArgumentCaptor<Command> command = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(stateEventCallbackService).sendSync(Mockito.eq("192.168.1.1"), Mockito.eq(1234), command.capture(), Mockito.anyLong());
+        Assert.assertEquals(CommandType.WORKER_EXEC_THREADS_UPDATE_REQUEST, command.getValue().getType());
+        Assert.assertEquals(8, command.getValue().parseBody(WorkerExecThreadsUpdateCommand.class).getExecThreads());
+    }
+
+    @Test
+    public void testUpdateWorkerExecThreadsNotApplied() throws Exception {
+        Mockito.when(registryClient.getServerList(NodeType.WORKER)).thenReturn(getServerList());
+
+        // a worker that does not answer, e.g. one of an older version
+        Mockito.when(stateEventCallbackService.sendSync(Mockito.anyString(), Mockito.anyInt(), Mockito.any(), Mockito.anyLong()))
+            .thenThrow(new RemotingTimeoutException("192.168.1.1:1234", 10000L));
+        Map<String, Object> result = monitorService.updateWorkerExecThreads(getAdminUser(), "192.168.1.1:1234", 8);
+        Assert.assertEquals(Status.WORKER_EXEC_THREADS_NOT_APPLIED, result.get(Constants.STATUS));
+
+        Mockito.reset(stateEventCallbackService);
+        Mockito.when(stateEventCallbackService.sendSync(Mockito.anyString(), Mockito.anyInt(), Mockito.any(), Mockito.anyLong()))
+            .thenReturn(new WorkerExecThreadsUpdateResponseCommand(4).convert2Command(1L));
+        result = monitorService.updateWorkerExecThreads(getAdminUser(), "192.168.1.1:1234", 8);
+        Assert.assertEquals(Status.WORKER_EXEC_THREADS_NOT_APPLIED, result.get(Constants.STATUS));
+    }
+
+    @Test
+    public void testUpdateWorkerExecThreadsInvalid() throws Exception {
+        User user = new User();
+        user.setUserType(UserType.GENERAL_USER);
+        Map<String, Object> result = monitorService.updateWorkerExecThreads(user, "192.168.1.1:1234", 8);
+        Assert.assertEquals(Status.USER_NO_OPERATION_PERM, result.get(Constants.STATUS));
+
+        result = monitorService.updateWorkerExecThreads(getAdminUser(), "192.168.1.1:1234", 0);
+        Assert.assertEquals(Status.REQUEST_PARAMS_NOT_VALID_ERROR, result.get(Constants.STATUS));
+
+        Mockito.when(registryClient.getServerList(NodeType.WORKER)).thenReturn(getServerList());
+        result = monitorService.updateWorkerExecThreads(getAdminUser(), "192.168.1.2:1234", 8);
+        Assert.assertEquals(Status.WORKER_ADDRESS_INVALID, result.get(Constants.STATUS));
+
+        Mockito.verify(stateEventCallbackService, Mockito.never()).sendSync(Mockito.anyString(), Mockito.anyInt(), Mockito.any(), Mockito.anyLong());
+    }
+
+    private User getAdminUser() {
+        User user = new User();
+        user.setUserType(UserType.ADMIN_USER);
+        return user;
+    }
+
     private List<MonitorRecord> getList() {
         List<MonitorRecord> monitorRecordList = new ArrayList<>();
         monitorRecordList.add(getEntity());
@@ -95,7 +167,10 @@ public class MonitorServiceTest {
 
     private List<Server> getServerList() {
         List<Server> servers = new ArrayList<>();
-        servers.add(new Server());
+        Server server = new Server();
+        server.setHost("192.168.1.1");
+        server.setPort(1234);
+        servers.add(server);
         return servers;
     }
 
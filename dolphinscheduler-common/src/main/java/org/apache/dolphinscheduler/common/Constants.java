@@ -393,7 +393,13 @@ public final class Constants {
     /**
      * heartbeat for zk info length
      */
-    public static final int HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH = 13;
+    public static final int HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH = 18;
+
+    /**
+     * heartbeat without running tasks and smoothed load, sent by older servers and by servers not reporting task load,
+     * which older masters and api servers can read
+     */
+    public static final int HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH_WITHOUT_TASKS = 13;
 
     /**
      * jar
@@ -37,4 +37,12 @@ public class EncryptionUtils {
         return DigestUtils.md5Hex(null == rawStr ? StringUtils.EMPTY : rawStr);
     }
 
+    /**
+     * @param rawStr raw string
+     * @return sha256(rawStr)
+     */
+    public static String getSha256(String rawStr) {
+        return DigestUtils.sha256Hex(null == rawStr ? StringUtils.EMPTY : rawStr);
+    }
+
 }
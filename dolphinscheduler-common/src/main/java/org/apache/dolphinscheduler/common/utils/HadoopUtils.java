@@ -367,6 +367,17 @@ public class HadoopUtils implements Closeable {
         return fs.exists(new Path(hdfsFilePath));
     }
 
+    /**
+     * get the status of a file
+     *
+     * @param hdfsFilePath source file path
+     * @return {@link FileStatus} file status
+     * @throws IOException errors
+     */
+    public FileStatus getFileStatus(String hdfsFilePath) throws IOException {
+        return fs.getFileStatus(new Path(hdfsFilePath));
+    }
+
     /**
      * Gets a list of files in the directory
      *
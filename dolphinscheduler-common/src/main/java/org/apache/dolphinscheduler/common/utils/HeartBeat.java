@@ -19,6 +19,10 @@ package org.apache.dolphinscheduler.common.utils;
 
 import org.apache.dolphinscheduler.common.Constants;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +31,11 @@ public class HeartBeat {
     private static final Logger logger = LoggerFactory.getLogger(HeartBeat.class);
     public static final String COMMA = ",";
 
+    /**
+     * weight of the newest sample in the smoothed load figures
+     */
+    private static final double SMOOTHING_FACTOR = 0.3;
+
     private long startupTime;
     private long reportTime;
     private double cpuUsage;
@@ -41,6 +50,26 @@ public class HeartBeat {
     private int workerHostWeight; // worker host weight
     private int workerWaitingTaskCount; // worker waiting task count
     private int workerExecThreadCount; // worker thread pool thread count
+    private int workerRunningTaskCount; // tasks holding a worker slot, running or waiting on an async call
+    private Map<String, Integer> workerRunningTaskTypes = Collections.emptyMap(); // running task count by task type
+
+    /**
+     * send running tasks and smoothed load, masters and api servers of older versions do not read such heartbeats
+     */
+    private boolean taskLoadReported;
+
+    private boolean smoothed;
+    private double smoothedCpuUsage;
+    private double smoothedMemoryUsage;
+    private double smoothedLoadAverage;
+
+    public boolean isTaskLoadReported() {
+        return taskLoadReported;
+    }
+
+    public void setTaskLoadReported(boolean taskLoadReported) {
+        this.taskLoadReported = taskLoadReported;
+    }
 
     public long getStartupTime() {
         return startupTime;
@@ -146,6 +175,34 @@ public class HeartBeat {
         this.workerExecThreadCount = workerExecThreadCount;
     }
 
+    public int getWorkerRunningTaskCount() {
+        return workerRunningTaskCount;
+    }
+
+    public void setWorkerRunningTaskCount(int workerRunningTaskCount) {
+        this.workerRunningTaskCount = workerRunningTaskCount;
+    }
+
+    public Map<String, Integer> getWorkerRunningTaskTypes() {
+        return workerRunningTaskTypes;
+    }
+
+    public void setWorkerRunningTaskTypes(Map<String, Integer> workerRunningTaskTypes) {
+        this.workerRunningTaskTypes = workerRunningTaskTypes;
+    }
+
+    public double getSmoothedCpuUsage() {
+        return smoothedCpuUsage;
+    }
+
+    public double getSmoothedMemoryUsage() {
+        return smoothedMemoryUsage;
+    }
+
+    public double getSmoothedLoadAverage() {
+        return smoothedLoadAverage;
+    }
+
     public HeartBeat() {
         this.reportTime = System.currentTimeMillis();
         this.serverStatus = Constants.NORMAL_NODE_STATUS;
@@ -178,6 +235,23 @@ public class HeartBeat {
         this.availablePhysicalMemorySize = OSUtils.availablePhysicalMemorySize();
         this.memoryUsage = OSUtils.memoryUsage();
         this.processId = OSUtils.getProcessID();
+        smooth();
+    }
+
+    /**
+     * update the exponentially weighted moving averages of the load figures with the current sample
+     */
+    void smooth() {
+        if (!smoothed) {
+            this.smoothedCpuUsage = cpuUsage;
+            this.smoothedMemoryUsage = memoryUsage;
+            this.smoothedLoadAverage = loadAverage;
+            this.smoothed = true;
+            return;
+        }
+        this.smoothedCpuUsage += SMOOTHING_FACTOR * (cpuUsage - smoothedCpuUsage);
+        this.smoothedMemoryUsage += SMOOTHING_FACTOR * (memoryUsage - smoothedMemoryUsage);
+        this.smoothedLoadAverage += SMOOTHING_FACTOR * (loadAverage - smoothedLoadAverage);
     }
 
     /**
@@ -218,6 +292,16 @@ public class HeartBeat {
         builder.append(workerHostWeight).append(COMMA);
         builder.append(workerExecThreadCount).append(COMMA);
         builder.append(workerWaitingTaskCount);
+        if (!taskLoadReported) {
+            // the heartbeat older versions read
+            return builder.toString();
+        }
+        builder.append(COMMA);
+        builder.append(workerRunningTaskCount).append(COMMA);
+        builder.append(encodeTaskTypes(workerRunningTaskTypes)).append(COMMA);
+        builder.append(smoothedCpuUsage).append(COMMA);
+        builder.append(smoothedMemoryUsage).append(COMMA);
+        builder.append(smoothedLoadAverage);
 
         return builder.toString();
     }
@@ -227,7 +311,8 @@ public class HeartBeat {
      */
     public static HeartBeat decodeHeartBeat(String heartBeatInfo) {
         String[] parts = heartBeatInfo.split(Constants.COMMA);
-        if (parts.length != Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH) {
+        if (parts.length != Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH
+                && parts.length != Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH_WITHOUT_TASKS) {
             return null;
         }
         HeartBeat heartBeat = new HeartBeat();
@@ -244,6 +329,43 @@ public class HeartBeat {
         heartBeat.workerHostWeight = Integer.parseInt(parts[10]);
         heartBeat.workerExecThreadCount = Integer.parseInt(parts[11]);
         heartBeat.workerWaitingTaskCount = Integer.parseInt(parts[12]);
+        if (parts.length == Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH_WITHOUT_TASKS) {
+            // sent by an older server
+            heartBeat.smooth();
+            return heartBeat;
+        }
+        heartBeat.workerRunningTaskCount = Integer.parseInt(parts[13]);
+        heartBeat.workerRunningTaskTypes = decodeTaskTypes(parts[14]);
+        heartBeat.smoothedCpuUsage = Double.parseDouble(parts[15]);
+        heartBeat.smoothedMemoryUsage = Double.parseDouble(parts[16]);
+        heartBeat.smoothedLoadAverage = Double.parseDouble(parts[17]);
+        heartBeat.smoothed = true;
         return heartBeat;
     }
+
+    /**
+     * encode task counts by type, like SHELL:2;SQL:1
+     */
+    private static String encodeTaskTypes(Map<String, Integer> taskTypes) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(taskTypes).entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(';');
+            }
+            builder.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static Map<String, Integer> decodeTaskTypes(String taskTypes) {
+        if (taskTypes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String taskType : taskTypes.split(";")) {
+            int index = taskType.lastIndexOf(':');
+            counts.put(taskType.substring(0, index), Integer.parseInt(taskType.substring(index + 1)));
+        }
+        return counts;
+    }
 }
@@ -27,6 +27,8 @@ import static com.fasterxml.jackson.databind.MapperFeature.REQUIRE_SETTERS_FOR_G
 import org.apache.dolphinscheduler.spi.utils.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -148,6 +150,26 @@ public class JSONUtils {
         return parseObject(json, clazz);
     }
 
+    /**
+     * deserialize from a stream, the stream is not closed
+     *
+     * @param src input stream
+     * @param clazz class
+     * @param <T> deserialize type
+     * @return deserialize type
+     */
+    public static <T> T parseObject(InputStream src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readerFor(clazz).without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValue(src);
+        } catch (Exception e) {
+            logger.error("parse object exception!", e);
+        }
+        return null;
+    }
+
     /**
      * json to list
      *
@@ -324,6 +346,20 @@ public class JSONUtils {
         return json.getBytes(UTF_8);
     }
 
+    /**
+     * serialize to a stream without the intermediate string, the stream is not closed
+     *
+     * @param out output stream
+     * @param obj object
+     */
+    public static void writeJson(OutputStream out, Object obj) {
+        try {
+            objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, obj);
+        } catch (Exception e) {
+            throw new RuntimeException("Object json serialization exception.", e);
+        }
+    }
+
     public static ObjectNode parseObject(String text) {
         try {
             if (text.isEmpty()) {
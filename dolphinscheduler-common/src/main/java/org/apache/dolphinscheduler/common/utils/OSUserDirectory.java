@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * os user directory, keeps the os users instead of listing them for every task.
+ * <p>
+ * The users are listed again once the watched file, /etc/passwd on linux, changes or once the ttl passed, and after
+ * a user was created through the directory. Only one thread lists the users at a time and only one thread creates a
+ * given user, the others wait for it.
+ */
+public class OSUserDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(OSUserDirectory.class);
+
+    private final Callable<List<String>> loader;
+
+    private final File watchedFile;
+
+    private final long ttlMillis;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * users being created
+     */
+    private final Map<String, CompletableFuture<Boolean>> creations = new ConcurrentHashMap<>();
+
+    /**
+     * constructor
+     *
+     * @param loader lists the users
+     * @param watchedFile file the users are kept in, null if there is none to watch
+     * @param ttlMillis max time the users are kept before they are listed again
+     */
+    public OSUserDirectory(Callable<List<String>> loader, File watchedFile, long ttlMillis) {
+        this.loader = loader;
+        this.watchedFile = watchedFile;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return os users, empty if they could not be listed
+     */
+    public Set<String> getUsers() {
+        Snapshot current = snapshot;
+        if (current == null || current.isStale()) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isStale()) {
+                    current = load();
+                }
+            }
+        }
+        return current.users;
+    }
+
+    /**
+     * @param userName user name
+     * @return whether the user exists
+     */
+    public boolean contains(String userName) {
+        return getUsers().contains(userName);
+    }
+
+    /**
+     * create a user if it does not exist
+     *
+     * @param userName user name
+     * @param creator creates the user, returns whether it succeeded
+     * @return whether the user exists
+     */
+    public boolean createIfAbsent(String userName, Predicate<String> creator) {
+        if (contains(userName)) {
+            return true;
+        }
+        CompletableFuture<Boolean> creation = new CompletableFuture<>();
+        CompletableFuture<Boolean> inflight = creations.putIfAbsent(userName, creation);
+        if (inflight != null) {
+            return inflight.join();
+        }
+        try {
+            // another thread may have just finished creating it
+            invalidate();
+            boolean exists = contains(userName) || creator.test(userName);
+            invalidate();
+            creation.complete(exists);
+            return exists;
+        } catch (RuntimeException e) {
+            creation.completeExceptionally(e);
+            throw e;
+        } finally {
+            creations.remove(userName, creation);
+        }
+    }
+
+    /**
+     * list the users again on the next lookup
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot load() {
+        long modified = watchedFile == null ? 0 : watchedFile.lastModified();
+        long length = watchedFile == null ? 0 : watchedFile.length();
+        try {
+            Snapshot loaded = new Snapshot(Collections.unmodifiableSet(new LinkedHashSet<>(loader.call())), modified, length);
+            snapshot = loaded;
+            return loaded;
+        } catch (Exception e) {
+            // not kept, the next lookup tries again
+            logger.error("list os users failed", e);
+            return new Snapshot(Collections.emptySet(), modified, length);
+        }
+    }
+
+    private class Snapshot {
+
+        private final Set<String> users;
+
+        private final long loadTime = System.currentTimeMillis();
+
+        private final long modified;
+
+        private final long length;
+
+        Snapshot(Set<String> users, long modified, long length) {
+            this.users = users;
+            this.modified = modified;
+            this.length = length;
+        }
+
+        boolean isStale() {
+            if (System.currentTimeMillis() - loadTime > ttlMillis) {
+                return true;
+            }
+            return watchedFile != null && (watchedFile.lastModified() != modified || watchedFile.length() != length);
+        }
+    }
+}
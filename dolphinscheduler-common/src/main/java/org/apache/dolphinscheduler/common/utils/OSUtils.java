@@ -23,6 +23,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -36,6 +37,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -74,6 +76,18 @@ public class OSUtils {
      */
     private static final Pattern PATTERN = Pattern.compile("\\s+");
 
+    /**
+     * os users, listed again once /etc/passwd changes on linux, or every minute on mac and windows
+     */
+    private static final OSUserDirectory USER_DIRECTORY = new OSUserDirectory(OSUtils::listUsers,
+            SystemUtils.IS_OS_MAC || SystemUtils.IS_OS_WINDOWS ? null : new File("/etc/passwd"),
+            TimeUnit.MINUTES.toMillis(1));
+
+    /**
+     * group of the os user running this process
+     */
+    private static volatile String group;
+
     /**
      * get memory usage
      * Keep 2 decimal
@@ -144,20 +158,33 @@ public class OSUtils {
         return Double.parseDouble(df.format(cpuUsage));
     }
 
+    /**
+     * get os user list
+     *
+     * @return user list
+     */
     public static List<String> getUserList() {
-        try {
-            if (SystemUtils.IS_OS_MAC) {
-                return getUserListFromMac();
-            } else if (SystemUtils.IS_OS_WINDOWS) {
-                return getUserListFromWindows();
-            } else {
-                return getUserListFromLinux();
-            }
-        } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-        }
+        return new ArrayList<>(USER_DIRECTORY.getUsers());
+    }
 
-        return Collections.emptyList();
+    /**
+     * check if an os user exists
+     *
+     * @param userName user name
+     * @return true if the user exists
+     */
+    public static boolean existsUser(String userName) {
+        return USER_DIRECTORY.contains(userName);
+    }
+
+    private static List<String> listUsers() throws IOException {
+        if (SystemUtils.IS_OS_MAC) {
+            return getUserListFromMac();
+        } else if (SystemUtils.IS_OS_WINDOWS) {
+            return getUserListFromWindows();
+        } else {
+            return getUserListFromLinux();
+        }
     }
 
     /**
@@ -243,11 +270,12 @@ public class OSUtils {
      * @param userName user name
      */
     public static void createUserIfAbsent(String userName) {
-        // if not exists this user, then create
-        if (!getUserList().contains(userName)) {
-            boolean isSuccess = createUser(userName);
-            logger.info("create user {} {}", userName, isSuccess ? "success" : "fail");
-        }
+        // if not exists this user, then create, tasks of the same tenant wait for one creation
+        USER_DIRECTORY.createIfAbsent(userName, name -> {
+            boolean isSuccess = createUser(name);
+            logger.info("create user {} {}", name, isSuccess ? "success" : "fail");
+            return isSuccess;
+        });
     }
 
     /**
@@ -332,12 +360,21 @@ public class OSUtils {
     }
 
     /**
-     * get system group information
+     * get system group information, looked up once as it does not change while the process runs
      *
      * @return system group info
      * @throws IOException errors
      */
     public static String getGroup() throws IOException {
+        String current = group;
+        if (StringUtils.isEmpty(current)) {
+            current = getGroupFromSystem();
+            group = current;
+        }
+        return current;
+    }
+
+    private static String getGroupFromSystem() throws IOException {
         if (SystemUtils.IS_OS_WINDOWS) {
             String currentProcUserName = System.getProperty("user.name");
             String result = exeCmd(String.format("net user \"%s\"", currentProcUserName));
@@ -30,4 +30,10 @@ public class EncryptionUtilsTest {
         Assert.assertEquals(EncryptionUtils.getMd5(null), EncryptionUtils.getMd5(""));
     }
 
+    @Test
+    public void testGetSha256() {
+        Assert.assertEquals(EncryptionUtils.getSha256(null), EncryptionUtils.getSha256(""));
+        Assert.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", EncryptionUtils.getSha256(""));
+    }
+
 }
@@ -21,6 +21,9 @@ import static org.junit.Assert.assertEquals;
 
 import org.apache.dolphinscheduler.common.Constants;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
 /**
@@ -73,4 +76,84 @@ public class HeartBeatTest {
         assertEquals(200, heartBeat.getWorkerWaitingTaskCount());
     }
 
+    @Test
+    public void testDecodeHeartBeatWithTasks() {
+        String heartBeatInfo = "0.35,0.58,3.09,6.47,5.0,1.0,1634033006749,1634033006857,0,29732,1,199,2,5,SHELL:3;SQL:2,0.3,0.5,2.5";
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo);
+
+        double delta = 0.001;
+        assertEquals(2, heartBeat.getWorkerWaitingTaskCount());
+        assertEquals(5, heartBeat.getWorkerRunningTaskCount());
+        assertEquals(Integer.valueOf(3), heartBeat.getWorkerRunningTaskTypes().get("SHELL"));
+        assertEquals(Integer.valueOf(2), heartBeat.getWorkerRunningTaskTypes().get("SQL"));
+        assertEquals(0.3, heartBeat.getSmoothedCpuUsage(), delta);
+        assertEquals(0.5, heartBeat.getSmoothedMemoryUsage(), delta);
+        assertEquals(2.5, heartBeat.getSmoothedLoadAverage(), delta);
+    }
+
+    @Test
+    public void testDecodeHeartBeatWithoutTasks() {
+        String heartBeatInfo = "0.35,0.58,3.09,6.47,5.0,1.0,1634033006749,1634033006857,1,29732,1,199,200";
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo);
+
+        double delta = 0.001;
+        assertEquals(0, heartBeat.getWorkerRunningTaskCount());
+        assertEquals(0, heartBeat.getWorkerRunningTaskTypes().size());
+        assertEquals(0.35, heartBeat.getSmoothedCpuUsage(), delta);
+        assertEquals(0.58, heartBeat.getSmoothedMemoryUsage(), delta);
+        assertEquals(3.09, heartBeat.getSmoothedLoadAverage(), delta);
+    }
+
+    @Test
+    public void testEncodeHeartBeat() {
+        HeartBeat heartBeat = new HeartBeat(System.currentTimeMillis(), 100, 0, 1, 10);
+        Map<String, Integer> taskTypes = new HashMap<>();
+        taskTypes.put("SHELL", 4);
+        taskTypes.put("HTTP", 1);
+        heartBeat.setWorkerWaitingTaskCount(3);
+        heartBeat.setWorkerRunningTaskCount(5);
+        heartBeat.setWorkerRunningTaskTypes(taskTypes);
+        heartBeat.setTaskLoadReported(true);
+
+        HeartBeat decoded = HeartBeat.decodeHeartBeat(heartBeat.encodeHeartBeat());
+        assertEquals(3, decoded.getWorkerWaitingTaskCount());
+        assertEquals(5, decoded.getWorkerRunningTaskCount());
+        assertEquals(taskTypes, decoded.getWorkerRunningTaskTypes());
+        assertEquals(heartBeat.getCpuUsage(), decoded.getSmoothedCpuUsage(), 0.001);
+
+        heartBeat.setWorkerRunningTaskTypes(new HashMap<>());
+        decoded = HeartBeat.decodeHeartBeat(heartBeat.encodeHeartBeat());
+        assertEquals(0, decoded.getWorkerRunningTaskTypes().size());
+    }
+
+    @Test
+    public void testEncodeHeartBeatWithoutTaskLoad() {
+        HeartBeat heartBeat = new HeartBeat(System.currentTimeMillis(), 100, 0, 1, 10);
+        heartBeat.setWorkerWaitingTaskCount(3);
+        heartBeat.setWorkerRunningTaskCount(5);
+
+        // older masters and api servers only read heartbeats of this length
+        String heartBeatInfo = heartBeat.encodeHeartBeat();
+        assertEquals(Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH_WITHOUT_TASKS, heartBeatInfo.split(Constants.COMMA).length);
+        HeartBeat decoded = HeartBeat.decodeHeartBeat(heartBeatInfo);
+        assertEquals(3, decoded.getWorkerWaitingTaskCount());
+        assertEquals(0, decoded.getWorkerRunningTaskCount());
+    }
+
+    @Test
+    public void testSmooth() {
+        HeartBeat heartBeat = new HeartBeat();
+        heartBeat.setLoadAverage(10);
+        heartBeat.smooth();
+        assertEquals(10, heartBeat.getSmoothedLoadAverage(), 0.001);
+
+        // a single spike moves the smoothed load only part of the way
+        heartBeat.setLoadAverage(20);
+        heartBeat.smooth();
+        assertEquals(13, heartBeat.getSmoothedLoadAverage(), 0.001);
+        heartBeat.setLoadAverage(10);
+        heartBeat.smooth();
+        assertEquals(12.1, heartBeat.getSmoothedLoadAverage(), 0.001);
+    }
+
 }
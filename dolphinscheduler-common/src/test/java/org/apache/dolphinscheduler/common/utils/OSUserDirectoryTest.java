@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OSUserDirectoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File passwd;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        passwd = folder.newFile("passwd");
+        write("root:x:0:0::/root:/bin/bash");
+    }
+
+    @Test
+    public void testUsersKeptUntilFileChanges() throws Exception {
+        OSUserDirectory directory = new OSUserDirectory(this::load, passwd, TimeUnit.HOURS.toMillis(1));
+        Assert.assertTrue(directory.contains("root"));
+        Assert.assertFalse(directory.contains("tenant"));
+        Assert.assertEquals(1, loads.get());
+
+        write("root:x:0:0::/root:/bin/bash\ntenant:x:1000:1000::/home/tenant:/bin/bash");
+        Assert.assertTrue(passwd.setLastModified(passwd.lastModified() + 2000));
+        Assert.assertTrue(directory.contains("tenant"));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testUsersListedAgainAfterTtl() throws Exception {
+        OSUserDirectory directory = new OSUserDirectory(this::load, null, 50);
+        Assert.assertTrue(directory.contains("root"));
+        Assert.assertTrue(directory.contains("root"));
+        Assert.assertEquals(1, loads.get());
+        Thread.sleep(100);
+        Assert.assertTrue(directory.contains("root"));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testFailedListingNotKept() {
+        OSUserDirectory directory = new OSUserDirectory(() -> {
+            loads.incrementAndGet();
+            throw new IOException("denied");
+        }, passwd, TimeUnit.HOURS.toMillis(1));
+        Assert.assertTrue(directory.getUsers().isEmpty());
+        Assert.assertTrue(directory.getUsers().isEmpty());
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testUserCreatedOnce() throws Exception {
+        OSUserDirectory directory = new OSUserDirectory(this::load, passwd, TimeUnit.HOURS.toMillis(1));
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return directory.createIfAbsent("tenant", name -> {
+                        creations.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                            write("root:x:0:0::/root:/bin/bash\ntenant:x:1000:1000::/home/tenant:/bin/bash");
+                        } catch (Exception e) {
+                            return false;
+                        }
+                        return true;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, creations.get());
+        Assert.assertTrue(directory.contains("tenant"));
+    }
+
+    private List<String> load() throws IOException {
+        loads.incrementAndGet();
+        List<String> users = new ArrayList<>();
+        for (String line : Files.readAllLines(passwd.toPath(), StandardCharsets.UTF_8)) {
+            users.add(line.split(":")[0]);
+        }
+        return users;
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(passwd.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -238,10 +238,16 @@ public class TaskInstance implements Serializable {
     private Long environmentCode;
 
     /**
-     * environment config
+     * environment config, stored in t_ds_task_instance_blob and referenced by environmentConfigHash
      */
+    @TableField(exist = false)
     private String environmentConfig;
 
+    /**
+     * content hash of environment config
+     */
+    private String environmentConfigHash;
+
     /**
      * executor id
      */
@@ -268,10 +274,16 @@ public class TaskInstance implements Serializable {
     private int delayTime;
 
     /**
-     * task params
+     * task params, stored in t_ds_task_instance_blob and referenced by taskParamsHash
      */
+    @TableField(exist = false)
     private String taskParams;
 
+    /**
+     * content hash of task params
+     */
+    private String taskParamsHash;
+
     /**
      * dry run flag
      */
@@ -281,6 +293,12 @@ public class TaskInstance implements Serializable {
      */
     private int taskGroupId;
 
+    /**
+     * update time
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date updateTime;
+
     public void init(String host, Date startTime, String executePath) {
         this.host = host;
         this.startTime = startTime;
@@ -303,6 +321,14 @@ public class TaskInstance implements Serializable {
         this.taskGroupId = taskGroupId;
     }
 
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
     public ProcessInstance getProcessInstance() {
         return processInstance;
     }
@@ -738,6 +764,22 @@ public class TaskInstance implements Serializable {
         this.taskParams = taskParams;
     }
 
+    public String getTaskParamsHash() {
+        return taskParamsHash;
+    }
+
+    public void setTaskParamsHash(String taskParamsHash) {
+        this.taskParamsHash = taskParamsHash;
+    }
+
+    public String getEnvironmentConfigHash() {
+        return environmentConfigHash;
+    }
+
+    public void setEnvironmentConfigHash(String environmentConfigHash) {
+        this.environmentConfigHash = environmentConfigHash;
+    }
+
     public boolean isFirstRun() {
         return endTime == null;
     }
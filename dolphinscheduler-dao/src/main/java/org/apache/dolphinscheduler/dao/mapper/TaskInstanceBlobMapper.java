@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstanceBlob;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * task instance blob mapper interface
+ */
+public interface TaskInstanceBlobMapper extends BaseMapper<TaskInstanceBlob> {
+
+    /**
+     * insert the blob if the hash not exists, otherwise only refresh the update time of the existing one,
+     * the blobs are immutable so the content is kept
+     *
+     * @param taskInstanceBlob task instance blob
+     * @return affected count
+     */
+    int insertOrTouch(@Param("taskInstanceBlob") TaskInstanceBlob taskInstanceBlob);
+
+    /**
+     * query the hashes of the blobs not stored since the update time, ordered by hash
+     *
+     * @param updateTime update time
+     * @param startHash only the hashes after it, null for the first page
+     * @param limit max size
+     * @return hash list
+     */
+    List<String> queryHashesNotUpdatedSince(@Param("updateTime") Date updateTime,
+                                            @Param("startHash") String startHash,
+                                            @Param("limit") int limit);
+
+    /**
+     * delete the blobs of the hashes which are not stored since the update time and not referred by any task instance
+     *
+     * @param hashes hashes
+     * @param updateTime update time
+     * @return delete count
+     */
+    int deleteUnreferenced(@Param("hashes") Collection<String> hashes, @Param("updateTime") Date updateTime);
+}
@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -41,6 +42,17 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     List<TaskInstance> findValidTaskListByProcessId(@Param("processInstanceId") Integer processInstanceId,
                                                     @Param("flag") Flag flag);
 
+    /**
+     * query the task instances of the given process instances which were written after the update time,
+     * including the ones which are no longer valid
+     *
+     * @param processInstanceIds process instance ids
+     * @param updateTime update time
+     * @return task instance list
+     */
+    List<TaskInstance> queryByProcessInstanceIdsAndUpdateTime(@Param("processInstanceIds") Collection<Integer> processInstanceIds,
+                                                              @Param("updateTime") Date updateTime);
+
     List<TaskInstance> queryByHostAndStatus(@Param("host") String host,
                                             @Param("states") int[] stateArray);
 
@@ -85,4 +97,12 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     );
 
     List<TaskInstance> loadAllInfosNoRelease(@Param("processInstanceId") int processInstanceId,@Param("status") int status);
+
+    /**
+     * batch insert task instances, the generated ids are set back to the task instances
+     *
+     * @param taskInstances taskInstances
+     * @return insert count
+     */
+    int batchInsert(@Param("taskInstances") List<TaskInstance> taskInstances);
 }
@@ -838,20 +838,21 @@ CREATE TABLE t_ds_task_instance
     retry_times             int(4) DEFAULT '0',
     pid                     int(4) DEFAULT NULL,
     app_link                text,
-    task_params             longtext,
+    task_params_hash        varchar(64)  DEFAULT NULL,
     flag                    tinyint(4) DEFAULT '1',
     retry_interval          int(4) DEFAULT NULL,
     max_retry_times         int(2) DEFAULT NULL,
     task_instance_priority  int(11) DEFAULT NULL,
     worker_group            varchar(64)  DEFAULT NULL,
     environment_code        bigint(20) DEFAULT '-1',
-    environment_config      text         DEFAULT '',
+    environment_config_hash varchar(64)  DEFAULT NULL,
     executor_id             int(11) DEFAULT NULL,
     first_submit_time       datetime     DEFAULT NULL,
     delay_time              int(4) DEFAULT '0',
     task_group_id           int(11) DEFAULT NULL,
     var_pool                longtext,
     dry_run                 int NULL DEFAULT 0,
+    update_time             datetime     DEFAULT NULL,
     PRIMARY KEY (id),
     FOREIGN KEY (process_instance_id) REFERENCES t_ds_process_instance (id) ON DELETE CASCADE
 );
@@ -860,6 +861,19 @@ CREATE TABLE t_ds_task_instance
 -- Records of t_ds_task_instance
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for t_ds_task_instance_blob
+-- ----------------------------
+DROP TABLE IF EXISTS t_ds_task_instance_blob CASCADE;
+CREATE TABLE t_ds_task_instance_blob
+(
+    hash        varchar(64) NOT NULL,
+    content     longtext,
+    create_time datetime DEFAULT NULL,
+    update_time datetime DEFAULT NULL,
+    PRIMARY KEY (hash)
+);
+
 -- ----------------------------
 -- Table structure for t_ds_tenant
 -- ----------------------------
@@ -829,23 +829,26 @@ CREATE TABLE `t_ds_task_instance` (
   `retry_times` int(4) DEFAULT '0' COMMENT 'task retry times',
   `pid` int(4) DEFAULT NULL COMMENT 'pid of task',
   `app_link` text COMMENT 'yarn app id',
-  `task_params` longtext COMMENT 'job custom parameters',
+  `task_params_hash` varchar(64) DEFAULT NULL COMMENT 'hash of job custom parameters in t_ds_task_instance_blob',
   `flag` tinyint(4) DEFAULT '1' COMMENT '0 not available, 1 available',
   `retry_interval` int(4) DEFAULT NULL COMMENT 'retry interval when task failed ',
   `max_retry_times` int(2) DEFAULT NULL COMMENT 'max retry times',
   `task_instance_priority` int(11) DEFAULT NULL COMMENT 'task instance priority:0 Highest,1 High,2 Medium,3 Low,4 Lowest',
   `worker_group` varchar(64) DEFAULT NULL COMMENT 'worker group id',
   `environment_code` bigint(20) DEFAULT '-1' COMMENT 'environment code',
-  `environment_config` text COMMENT 'this config contains many environment variables config',
+  `environment_config_hash` varchar(64) DEFAULT NULL COMMENT 'hash of environment config in t_ds_task_instance_blob',
   `executor_id` int(11) DEFAULT NULL,
   `first_submit_time` datetime DEFAULT NULL COMMENT 'task first submit time',
   `delay_time` int(4) DEFAULT '0' COMMENT 'task delay execution time',
   `var_pool` longtext COMMENT 'var_pool',
   `task_group_id` int(11) DEFAULT NULL COMMENT 'task group id',
   `dry_run` tinyint(4) DEFAULT '0' COMMENT 'dry run flag: 0 normal, 1 dry run',
+  `update_time` datetime DEFAULT NULL COMMENT 'update time',
   PRIMARY KEY (`id`),
   KEY `process_instance_id` (`process_instance_id`) USING BTREE,
   KEY `idx_code_version` (`task_code`, `task_definition_version`) USING BTREE,
+  KEY `idx_task_params_hash` (`task_params_hash`) USING BTREE,
+  KEY `idx_environment_config_hash` (`environment_config_hash`) USING BTREE,
   CONSTRAINT `foreign_key_instance_id` FOREIGN KEY (`process_instance_id`) REFERENCES `t_ds_process_instance` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
@@ -853,6 +856,18 @@ CREATE TABLE `t_ds_task_instance` (
 -- Records of t_ds_task_instance
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for t_ds_task_instance_blob
+-- ----------------------------
+DROP TABLE IF EXISTS `t_ds_task_instance_blob`;
+CREATE TABLE `t_ds_task_instance_blob` (
+  `hash` varchar(64) NOT NULL COMMENT 'sha256 of content',
+  `content` longtext COMMENT 'task params or environment config shared by task instances',
+  `create_time` datetime DEFAULT NULL COMMENT 'create time',
+  `update_time` datetime DEFAULT NULL COMMENT 'last time the blob is stored by a task instance',
+  PRIMARY KEY (`hash`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- ----------------------------
 -- Table structure for t_ds_tenant
 -- ----------------------------
@@ -732,25 +732,41 @@ CREATE TABLE t_ds_task_instance (
   retry_times int DEFAULT '0' ,
   pid int DEFAULT NULL ,
   app_link text ,
-  task_params text ,
+  task_params_hash varchar(64) DEFAULT NULL ,
   flag int DEFAULT '1' ,
   retry_interval int DEFAULT NULL ,
   max_retry_times int DEFAULT NULL ,
   task_instance_priority int DEFAULT NULL ,
   worker_group varchar(64),
   environment_code bigint DEFAULT '-1',
-  environment_config text,
+  environment_config_hash varchar(64) DEFAULT NULL,
   executor_id int DEFAULT NULL ,
   first_submit_time timestamp DEFAULT NULL ,
   delay_time int DEFAULT '0' ,
   task_group_id int DEFAULT NULL,
   var_pool text ,
   dry_run int DEFAULT '0' ,
+  update_time timestamp DEFAULT NULL ,
   PRIMARY KEY (id),
   CONSTRAINT foreign_key_instance_id FOREIGN KEY(process_instance_id) REFERENCES t_ds_process_instance(id) ON DELETE CASCADE
 ) ;
 
 create index idx_task_instance_code_version on t_ds_task_instance (task_code, task_definition_version);
+create index idx_task_instance_task_params_hash on t_ds_task_instance (task_params_hash);
+create index idx_task_instance_environment_config_hash on t_ds_task_instance (environment_config_hash);
+
+--
+-- Table structure for table t_ds_task_instance_blob
+--
+
+DROP TABLE IF EXISTS t_ds_task_instance_blob;
+CREATE TABLE t_ds_task_instance_blob (
+  hash varchar(64) NOT NULL ,
+  content text ,
+  create_time timestamp DEFAULT NULL ,
+  update_time timestamp DEFAULT NULL ,
+  PRIMARY KEY (hash)
+) ;
 
 --
 -- Table structure for table t_ds_tenant
@@ -168,3 +168,21 @@ CREATE TABLE `t_ds_relation_rule_input_entry` (
                                                   `update_time` datetime DEFAULT NULL,
                                                   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+--
+-- Task params and environment config of task instances are stored once in t_ds_task_instance_blob
+--
+ALTER TABLE `t_ds_task_instance` ADD COLUMN `task_params_hash` varchar(64) DEFAULT NULL COMMENT 'sha256 of task params, refers to t_ds_task_instance_blob' AFTER `task_params`;
+ALTER TABLE `t_ds_task_instance` ADD COLUMN `environment_config_hash` varchar(64) DEFAULT NULL COMMENT 'sha256 of environment config, refers to t_ds_task_instance_blob' AFTER `environment_config`;
+ALTER TABLE `t_ds_task_instance` ADD KEY `idx_task_params_hash` (`task_params_hash`) USING BTREE;
+ALTER TABLE `t_ds_task_instance` ADD KEY `idx_environment_config_hash` (`environment_config_hash`) USING BTREE;
+ALTER TABLE `t_ds_task_instance` ADD COLUMN `update_time` datetime DEFAULT NULL COMMENT 'update time' AFTER `dry_run`;
+
+DROP TABLE IF EXISTS `t_ds_task_instance_blob`;
+CREATE TABLE `t_ds_task_instance_blob` (
+  `hash` varchar(64) NOT NULL COMMENT 'sha256 of content',
+  `content` longtext COMMENT 'content shared by task instances',
+  `create_time` datetime DEFAULT NULL COMMENT 'create time',
+  `update_time` datetime DEFAULT NULL COMMENT 'last time the blob is stored by a task instance',
+  PRIMARY KEY (`hash`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -650,3 +650,13 @@ VALUES(149, 10, 19, NULL, 12, '2021-03-03 11:31:24.000', '2021-03-03 11:31:24.00
 INSERT INTO t_ds_relation_rule_input_entry
 (`id`, `rule_id`, `rule_input_entry_id`, `values_map`, `index`, `create_time`, `update_time`)
 VALUES(150, 8, 29, NULL, 7, '2021-03-03 11:31:24.0', '2021-03-03 11:31:24.0');
+
+--
+-- Move task params and environment config of task instances into t_ds_task_instance_blob
+--
+INSERT IGNORE INTO `t_ds_task_instance_blob` (`hash`, `content`, `create_time`, `update_time`)
+SELECT DISTINCT SHA2(`task_params`, 256), `task_params`, NOW(), NOW() FROM `t_ds_task_instance` WHERE `task_params` IS NOT NULL;
+UPDATE `t_ds_task_instance` SET `task_params_hash` = SHA2(`task_params`, 256), `task_params` = NULL WHERE `task_params` IS NOT NULL;
+INSERT IGNORE INTO `t_ds_task_instance_blob` (`hash`, `content`, `create_time`, `update_time`)
+SELECT DISTINCT SHA2(`environment_config`, 256), `environment_config`, NOW(), NOW() FROM `t_ds_task_instance` WHERE `environment_config` IS NOT NULL;
+UPDATE `t_ds_task_instance` SET `environment_config_hash` = SHA2(`environment_config`, 256), `environment_config` = NULL WHERE `environment_config` IS NOT NULL;
@@ -155,6 +155,20 @@ EXECUTE 'DROP INDEX IF EXISTS "idx_task_instance_code_version"';
 EXECUTE 'CREATE INDEX IF NOT EXISTS idx_task_instance_code_version ON' || quote_ident(v_schema) ||'.t_ds_task_instance USING Btree("task_code","task_definition_version")';
 
 
+EXECUTE 'ALTER TABLE ' || quote_ident(v_schema) ||'.t_ds_task_instance ADD COLUMN IF NOT EXISTS "task_params_hash" varchar(64) DEFAULT NULL';
+EXECUTE 'ALTER TABLE ' || quote_ident(v_schema) ||'.t_ds_task_instance ADD COLUMN IF NOT EXISTS "environment_config_hash" varchar(64) DEFAULT NULL';
+EXECUTE 'CREATE INDEX IF NOT EXISTS idx_task_instance_task_params_hash ON ' || quote_ident(v_schema) ||'.t_ds_task_instance USING Btree("task_params_hash")';
+EXECUTE 'CREATE INDEX IF NOT EXISTS idx_task_instance_environment_config_hash ON ' || quote_ident(v_schema) ||'.t_ds_task_instance USING Btree("environment_config_hash")';
+EXECUTE 'ALTER TABLE ' || quote_ident(v_schema) ||'.t_ds_task_instance ADD COLUMN IF NOT EXISTS "update_time" timestamp DEFAULT NULL';
+
+EXECUTE 'CREATE TABLE IF NOT EXISTS' || quote_ident(v_schema) ||'."t_ds_task_instance_blob" (
+    hash varchar(64) NOT NULL,
+    content text NULL,
+    create_time timestamp NULL,
+    update_time timestamp NULL,
+    CONSTRAINT t_ds_task_instance_blob_pk PRIMARY KEY (hash)
+)';
+
 return 'Success!';
 exception when others then
 		---Raise EXCEPTION '(%)',SQLERRM;
@@ -673,4 +673,44 @@ $BODY$;
 
 select dolphin_insert_dq_initial_data();
 
-d//
\ No newline at end of file
+d//
+delimiter d//
+CREATE OR REPLACE FUNCTION public.dolphin_migrate_task_instance_blob(
+	)
+    RETURNS character varying
+    LANGUAGE 'plpgsql'
+    COST 100
+    VOLATILE PARALLEL UNSAFE
+AS $BODY$
+DECLARE
+v_schema varchar;
+BEGIN
+    ---get schema name
+    v_schema =current_schema();
+
+---move task params and environment config of task instances into the shared blob table
+EXECUTE 'INSERT INTO ' || quote_ident(v_schema) ||'.t_ds_task_instance_blob (hash, content, create_time, update_time)
+    SELECT DISTINCT encode(sha256(convert_to(task_params, ''UTF8'')), ''hex''), task_params, now(), now()
+    FROM ' || quote_ident(v_schema) ||'.t_ds_task_instance WHERE task_params IS NOT NULL
+    ON CONFLICT (hash) DO NOTHING';
+EXECUTE 'UPDATE ' || quote_ident(v_schema) ||'.t_ds_task_instance
+    SET task_params_hash = encode(sha256(convert_to(task_params, ''UTF8'')), ''hex''), task_params = NULL
+    WHERE task_params IS NOT NULL';
+EXECUTE 'INSERT INTO ' || quote_ident(v_schema) ||'.t_ds_task_instance_blob (hash, content, create_time, update_time)
+    SELECT DISTINCT encode(sha256(convert_to(environment_config, ''UTF8'')), ''hex''), environment_config, now(), now()
+    FROM ' || quote_ident(v_schema) ||'.t_ds_task_instance WHERE environment_config IS NOT NULL
+    ON CONFLICT (hash) DO NOTHING';
+EXECUTE 'UPDATE ' || quote_ident(v_schema) ||'.t_ds_task_instance
+    SET environment_config_hash = encode(sha256(convert_to(environment_config, ''UTF8'')), ''hex''), environment_config = NULL
+    WHERE environment_config IS NOT NULL';
+
+return 'Success!';
+exception when others then
+		---Raise EXCEPTION '(%)',SQLERRM;
+        return SQLERRM;
+END;
+$BODY$;
+
+select dolphin_migrate_task_instance_blob();
+
+d//
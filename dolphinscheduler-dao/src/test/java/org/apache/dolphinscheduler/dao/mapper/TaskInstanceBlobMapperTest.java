@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.mapper;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstanceBlob;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class TaskInstanceBlobMapperTest extends BaseDaoTest {
+
+    @Autowired
+    private TaskInstanceBlobMapper taskInstanceBlobMapper;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Autowired
+    private ProcessInstanceMapper processInstanceMapper;
+
+    /**
+     * insert a blob stored at the given time
+     */
+    private TaskInstanceBlob insertBlob(String hash, Date storeTime) {
+        TaskInstanceBlob taskInstanceBlob = new TaskInstanceBlob(hash, "content of " + hash);
+        taskInstanceBlob.setCreateTime(storeTime);
+        taskInstanceBlob.setUpdateTime(storeTime);
+        taskInstanceBlobMapper.insertOrTouch(taskInstanceBlob);
+        return taskInstanceBlob;
+    }
+
+    /**
+     * insert a task instance referring to the blobs
+     */
+    private TaskInstance insertTaskInstance(String taskParamsHash, String environmentConfigHash) {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setWarningGroupId(0);
+        processInstance.setCommandParam("");
+        processInstance.setProcessDefinitionCode(1L);
+        processInstanceMapper.insert(processInstance);
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setName("us task");
+        taskInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+        taskInstance.setStartTime(new Date());
+        taskInstance.setProcessInstanceId(processInstance.getId());
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskParamsHash(taskParamsHash);
+        taskInstance.setEnvironmentConfigHash(environmentConfigHash);
+        taskInstanceMapper.insert(taskInstance);
+        return taskInstance;
+    }
+
+    @Test
+    public void testInsertOrTouch() {
+        Date createTime = new Date(System.currentTimeMillis() - 3600_000L);
+        insertBlob("hash-touch", createTime);
+
+        TaskInstanceBlob taskInstanceBlob = new TaskInstanceBlob("hash-touch", "content of hash-touch");
+        taskInstanceBlobMapper.insertOrTouch(taskInstanceBlob);
+
+        TaskInstanceBlob stored = taskInstanceBlobMapper.selectById("hash-touch");
+        Assert.assertEquals("content of hash-touch", stored.getContent());
+        Assert.assertEquals(createTime.getTime() / 1000, stored.getCreateTime().getTime() / 1000);
+        Assert.assertEquals(taskInstanceBlob.getUpdateTime().getTime() / 1000, stored.getUpdateTime().getTime() / 1000);
+    }
+
+    @Test
+    public void testQueryHashesNotUpdatedSince() {
+        Date oldTime = new Date(System.currentTimeMillis() - 3600_000L);
+        insertBlob("hash-a", oldTime);
+        insertBlob("hash-b", oldTime);
+        insertBlob("hash-c", oldTime);
+        insertBlob("hash-new", new Date());
+
+        Date updateTime = new Date(System.currentTimeMillis() - 60_000L);
+        Assert.assertEquals(Arrays.asList("hash-a", "hash-b"),
+                taskInstanceBlobMapper.queryHashesNotUpdatedSince(updateTime, null, 2));
+        Assert.assertEquals(Arrays.asList("hash-c"),
+                taskInstanceBlobMapper.queryHashesNotUpdatedSince(updateTime, "hash-b", 2));
+    }
+
+    @Test
+    public void testDeleteUnreferenced() {
+        Date oldTime = new Date(System.currentTimeMillis() - 3600_000L);
+        insertBlob("hash-params", oldTime);
+        insertBlob("hash-env", oldTime);
+        insertBlob("hash-orphan", oldTime);
+        insertBlob("hash-recent", new Date());
+        TaskInstance taskInstance = insertTaskInstance("hash-params", "hash-env");
+
+        List<String> hashes = Arrays.asList("hash-params", "hash-env", "hash-orphan", "hash-recent");
+        Date updateTime = new Date(System.currentTimeMillis() - 60_000L);
+        // referenced blobs and the ones stored recently are kept
+        Assert.assertEquals(1, taskInstanceBlobMapper.deleteUnreferenced(hashes, updateTime));
+        Assert.assertNull(taskInstanceBlobMapper.selectById("hash-orphan"));
+        Assert.assertNotNull(taskInstanceBlobMapper.selectById("hash-params"));
+        Assert.assertNotNull(taskInstanceBlobMapper.selectById("hash-env"));
+        Assert.assertNotNull(taskInstanceBlobMapper.selectById("hash-recent"));
+
+        // blobs of the deleted task instance are deleted
+        taskInstanceMapper.deleteById(taskInstance.getId());
+        Assert.assertEquals(2, taskInstanceBlobMapper.deleteUnreferenced(hashes, updateTime));
+        Assert.assertNull(taskInstanceBlobMapper.selectById("hash-params"));
+        Assert.assertNull(taskInstanceBlobMapper.selectById("hash-env"));
+        Assert.assertNotNull(taskInstanceBlobMapper.selectById("hash-recent"));
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -346,6 +347,37 @@ public class TaskInstanceMapperTest extends BaseDaoTest {
         taskInstanceMapper.deleteById(task.getId());
     }
 
+    /**
+     * test batch insert
+     */
+    @Test
+    public void testBatchInsert() {
+        // insert ProcessInstance
+        ProcessInstance processInstance = insertProcessInstance();
+
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setFlag(Flag.YES);
+            taskInstance.setName("batch task" + i);
+            taskInstance.setTaskCode(i);
+            taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+            taskInstance.setSubmitTime(new Date());
+            taskInstance.setProcessInstanceId(processInstance.getId());
+            taskInstance.setTaskType(TaskType.SHELL.getDesc());
+            taskInstances.add(taskInstance);
+        }
+        int insert = taskInstanceMapper.batchInsert(taskInstances);
+        Assert.assertEquals(3, insert);
+        for (TaskInstance taskInstance : taskInstances) {
+            Assert.assertNotEquals(0, taskInstance.getId());
+            TaskInstance queryTask = taskInstanceMapper.selectById(taskInstance.getId());
+            Assert.assertEquals(taskInstance.getName(), queryTask.getName());
+            taskInstanceMapper.deleteById(taskInstance.getId());
+        }
+        processInstanceMapper.deleteById(processInstance.getId());
+    }
+
     /**
      * test page
      */
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * sparse line index of a log file, keeps the byte offset of every interval-th line.
+ * the index is extended as the file grows, so finding a line reads at most interval lines after the nearest indexed
+ * one, plus what was appended to the file since the last lookup.
+ */
+public class LogLineIndex {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    private final int interval;
+
+    /**
+     * offsets[k] is the byte offset of line k * interval
+     */
+    private long[] offsets = new long[16];
+
+    private int offsetCount;
+
+    /**
+     * byte offset the index is built to, always the start of a line
+     */
+    private long indexedOffset;
+
+    /**
+     * number of lines before indexedOffset
+     */
+    private int indexedLines;
+
+    /**
+     * key of the indexed file, changes when the file is replaced
+     */
+    private Object fileKey;
+
+    public LogLineIndex(File file, int interval) {
+        this.file = file;
+        this.interval = interval;
+        reset();
+    }
+
+    /**
+     * get the byte offset of a line
+     *
+     * @param line line number, starts from 0
+     * @return byte offset of the line, -1 if the file does not have so many complete lines yet
+     * @throws IOException if the file could not be read
+     */
+    public synchronized long getOffset(int line) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Object currentFileKey = Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+            if (channel.size() < indexedOffset || !Objects.equals(fileKey, currentFileKey)) {
+                // the file was truncated or replaced
+                reset();
+                fileKey = currentFileKey;
+            }
+            if (line >= indexedLines) {
+                return skipLines(channel, indexedOffset, line - indexedLines, true);
+            }
+            int index = line / interval;
+            return skipLines(channel, offsets[index], line - index * interval, false);
+        }
+    }
+
+    /**
+     * @return number of lines the index is built for
+     */
+    public synchronized int getIndexedLines() {
+        return indexedLines;
+    }
+
+    private void reset() {
+        offsets[0] = 0;
+        offsetCount = 1;
+        indexedOffset = 0;
+        indexedLines = 0;
+    }
+
+    /**
+     * skip lines from the start of a line
+     *
+     * @return byte offset of the line after the skipped ones, -1 if the file ends first
+     */
+    private long skipLines(FileChannel channel, long offset, int lines, boolean extendIndex) throws IOException {
+        if (lines == 0) {
+            return offset;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = offset;
+        int skipped = 0;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                long lineStart = position + i + 1;
+                if (extendIndex) {
+                    addLine(lineStart);
+                }
+                if (++skipped == lines) {
+                    return lineStart;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private void addLine(long lineStart) {
+        indexedLines++;
+        indexedOffset = lineStart;
+        if (indexedLines % interval == 0) {
+            if (offsetCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsetCount * 2);
+            }
+            offsets[offsetCount++] = lineStart;
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.log;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
@@ -34,22 +33,24 @@ import org.apache.dolphinscheduler.remote.utils.Constants;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
-import java.util.Collections;
-import java.util.List;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.netty.channel.Channel;
 
 /**
@@ -60,8 +61,28 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
 
     private final Logger logger = LoggerFactory.getLogger(LoggerRequestProcessor.class);
 
+    /**
+     * lines between two offsets kept in a log line index
+     */
+    private static final int LINE_INDEX_INTERVAL = 1000;
+
+    /**
+     * max number of logs to keep line indexes of
+     */
+    private static final int MAX_LINE_INDEXES = 1000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final ExecutorService executor;
 
+    /**
+     * line indexes of the logs being viewed, key is log path
+     */
+    private final Cache<String, LogLineIndex> lineIndexes = Caffeine.newBuilder()
+            .maximumSize(MAX_LINE_INDEXES)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
     public LoggerRequestProcessor() {
         this.executor = Executors.newFixedThreadPool(Constants.CPUS * 2 + 1);
     }
@@ -76,34 +97,32 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
         final CommandType commandType = command.getType();
         switch (commandType) {
             case GET_LOG_BYTES_REQUEST:
-                GetLogBytesRequestCommand getLogRequest = JSONUtils.parseObject(
-                        command.getBody(), GetLogBytesRequestCommand.class);
-                byte[] bytes = getFileContentBytes(getLogRequest.getPath());
-                GetLogBytesResponseCommand getLogResponse = new GetLogBytesResponseCommand(bytes);
+                GetLogBytesRequestCommand getLogRequest = command.parseBody(GetLogBytesRequestCommand.class);
+                GetLogBytesResponseCommand getLogResponse;
+                try {
+                    getLogResponse = new GetLogBytesResponseCommand(
+                            getFileContentBytes(getLogRequest.getPath(), getLogRequest.getOffset(), getLogRequest.getLength()));
+                    getLogResponse.setOffset(getLogRequest.getOffset());
+                } catch (IOException e) {
+                    logger.error("get file bytes error", e);
+                    getLogResponse = new GetLogBytesResponseCommand(new byte[0]);
+                    getLogResponse.setError(e.toString());
+                }
                 channel.writeAndFlush(getLogResponse.convert2Command(command.getOpaque()));
                 break;
             case VIEW_WHOLE_LOG_REQUEST:
-                ViewLogRequestCommand viewLogRequest = JSONUtils.parseObject(
-                        command.getBody(), ViewLogRequestCommand.class);
+                ViewLogRequestCommand viewLogRequest = command.parseBody(ViewLogRequestCommand.class);
                 String msg = LoggerUtils.readWholeFileContent(viewLogRequest.getPath());
                 ViewLogResponseCommand viewLogResponse = new ViewLogResponseCommand(msg);
                 channel.writeAndFlush(viewLogResponse.convert2Command(command.getOpaque()));
                 break;
             case ROLL_VIEW_LOG_REQUEST:
-                RollViewLogRequestCommand rollViewLogRequest = JSONUtils.parseObject(
-                        command.getBody(), RollViewLogRequestCommand.class);
-                List<String> lines = readPartFileContent(rollViewLogRequest.getPath(),
-                        rollViewLogRequest.getSkipLineNum(), rollViewLogRequest.getLimit());
-                StringBuilder builder = new StringBuilder();
-                for (String line : lines) {
-                    builder.append(line + "\r\n");
-                }
-                RollViewLogResponseCommand rollViewLogRequestResponse = new RollViewLogResponseCommand(builder.toString());
+                RollViewLogRequestCommand rollViewLogRequest = command.parseBody(RollViewLogRequestCommand.class);
+                RollViewLogResponseCommand rollViewLogRequestResponse = rollViewLog(rollViewLogRequest);
                 channel.writeAndFlush(rollViewLogRequestResponse.convert2Command(command.getOpaque()));
                 break;
             case REMOVE_TAK_LOG_REQUEST:
-                RemoveTaskLogRequestCommand removeTaskLogRequest = JSONUtils.parseObject(
-                        command.getBody(), RemoveTaskLogRequestCommand.class);
+                RemoveTaskLogRequestCommand removeTaskLogRequest = command.parseBody(RemoveTaskLogRequestCommand.class);
 
                 String taskLogPath = removeTaskLogRequest.getPath();
 
@@ -130,49 +149,104 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
     }
 
     /**
-     * get files content bytes，for down load file
+     * get bytes of a file region, for down load file
      *
      * @param filePath file path
-     * @return byte array of file
-     * @throws Exception exception
+     * @param offset byte offset of the region
+     * @param length max length of the region, negative to read to the end of the file
+     * @return bytes of the region, shorter than length if the file ends first
+     * @throws IOException if the file could not be read
      */
-    private byte[] getFileContentBytes(String filePath) {
-        try (InputStream in = new FileInputStream(filePath);
-             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-            byte[] buf = new byte[1024];
-            int len;
-            while ((len = in.read(buf)) != -1) {
-                bos.write(buf, 0, len);
+    byte[] getFileContentBytes(String filePath, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long remaining = channel.size() - offset;
+            if (remaining <= 0) {
+                return new byte[0];
             }
-            return bos.toByteArray();
+            int regionLength = (int) Math.min(remaining, length < 0 ? Integer.MAX_VALUE - 8 : length);
+            ByteBuffer buffer = ByteBuffer.allocate(regionLength);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+        }
+    }
+
+    /**
+     * read some lines of a log from the skip line number of the request
+     *
+     * @param request roll view log request
+     * @return lines
+     */
+    RollViewLogResponseCommand rollViewLog(RollViewLogRequestCommand request) {
+        String filePath = request.getPath();
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            logger.info("file path: {} not exists", filePath);
+            lineIndexes.invalidate(filePath);
+            return new RollViewLogResponseCommand("");
+        }
+        try {
+            long offset = lineIndexes.get(filePath, path -> new LogLineIndex(file, LINE_INDEX_INTERVAL))
+                    .getOffset(request.getSkipLineNum());
+            if (offset < 0) {
+                return new RollViewLogResponseCommand("");
+            }
+            return new RollViewLogResponseCommand(readLines(file, offset, request.getLimit()));
         } catch (IOException e) {
-            logger.error("get file bytes error", e);
+            logger.error("read file error", e);
         }
-        return new byte[0];
+        return new RollViewLogResponseCommand("");
     }
 
     /**
-     * read part file content，can skip any line and read some lines
+     * read complete lines from a byte offset, a line still being written is left to the next read
      *
-     * @param filePath file path
-     * @param skipLine skip line
+     * @param file log file
+     * @param offset byte offset of a line start
      * @param limit read lines limit
-     * @return part file content
+     * @return lines
      */
-    private List<String> readPartFileContent(String filePath,
-                                             int skipLine,
-                                             int limit) {
-        File file = new File(filePath);
-        if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
-            } catch (IOException e) {
-                logger.error("read file error", e);
+    private String readLines(File file, long offset, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (offset > channel.size()) {
+                // the file was truncated or replaced, read it from the start
+                offset = 0;
             }
-        } else {
-            logger.info("file path: {} not exists", filePath);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = offset;
+            long end = offset;
+            int lines = 0;
+            while (lines < limit) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read && lines < limit; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lines++;
+                        end = position + i + 1;
+                    }
+                }
+                bos.write(buffer.array(), 0, read);
+                position += read;
+            }
+
+            String content = new String(bos.toByteArray(), 0, (int) (end - offset), StandardCharsets.UTF_8);
+            StringBuilder builder = new StringBuilder();
+            int start = 0;
+            int newline;
+            while ((newline = content.indexOf('\n', start)) >= 0) {
+                int lineEnd = newline > start && content.charAt(newline - 1) == '\r' ? newline - 1 : newline;
+                builder.append(content, start, lineEnd).append("\r\n");
+                start = newline + 1;
+            }
+            return builder.toString();
         }
-        return Collections.emptyList();
     }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LogLineIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGetOffset() throws IOException {
+        File file = folder.newFile("test.log");
+        appendLines(file, 0, 250);
+        LogLineIndex index = new LogLineIndex(file, 100);
+
+        Assert.assertEquals(0, index.getOffset(0));
+        Assert.assertEquals(offsetOf(file, 99), index.getOffset(99));
+        Assert.assertEquals(offsetOf(file, 249), index.getOffset(249));
+        Assert.assertEquals(249, index.getIndexedLines());
+        Assert.assertEquals(offsetOf(file, 150), index.getOffset(150));
+        Assert.assertEquals(file.length(), index.getOffset(250));
+        Assert.assertEquals(250, index.getIndexedLines());
+        Assert.assertEquals(-1, index.getOffset(251));
+    }
+
+    @Test
+    public void testGetOffsetWhenFileGrows() throws IOException {
+        File file = folder.newFile("test.log");
+        appendLines(file, 0, 50);
+        LogLineIndex index = new LogLineIndex(file, 10);
+        Assert.assertEquals(-1, index.getOffset(120));
+
+        // a line still being written is not counted
+        Files.write(file.toPath(), "line-50".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assert.assertEquals(-1, index.getOffset(51));
+        Files.write(file.toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        appendLines(file, 51, 200);
+
+        Assert.assertEquals(offsetOf(file, 120), index.getOffset(120));
+        Assert.assertEquals(offsetOf(file, 37), index.getOffset(37));
+    }
+
+    @Test
+    public void testGetOffsetWhenFileTruncated() throws IOException {
+        File file = folder.newFile("test.log");
+        appendLines(file, 0, 100);
+        LogLineIndex index = new LogLineIndex(file, 10);
+        Assert.assertEquals(offsetOf(file, 99), index.getOffset(99));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+        }
+        appendLines(file, 1000, 1020);
+        Assert.assertEquals(offsetOf(file, 10), index.getOffset(10));
+        Assert.assertEquals(-1, index.getOffset(99));
+    }
+
+    static void appendLines(File file, int from, int to) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            builder.append("line-").append(i).append('\n');
+        }
+        Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private long offsetOf(File file, int line) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        int lines = 0;
+        for (int i = 0; i < bytes.length && lines < line; i++) {
+            if (bytes[i] == '\n' && ++lines == line) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
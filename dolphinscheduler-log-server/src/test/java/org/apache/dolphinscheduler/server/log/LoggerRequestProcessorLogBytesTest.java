@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LoggerRequestProcessorLogBytesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LoggerRequestProcessor loggerRequestProcessor = new LoggerRequestProcessor();
+
+    @Test
+    public void testGetFileContentBytes() throws IOException {
+        File file = folder.newFile("test.log");
+        Files.write(file.toPath(), "0123456789".getBytes(StandardCharsets.UTF_8));
+        String path = file.getPath();
+
+        Assert.assertEquals("0123456789", new String(loggerRequestProcessor.getFileContentBytes(path, 0, -1), StandardCharsets.UTF_8));
+        Assert.assertEquals("2345", new String(loggerRequestProcessor.getFileContentBytes(path, 2, 4), StandardCharsets.UTF_8));
+        Assert.assertEquals("89", new String(loggerRequestProcessor.getFileContentBytes(path, 8, 4), StandardCharsets.UTF_8));
+        Assert.assertEquals(0, loggerRequestProcessor.getFileContentBytes(path, 10, 4).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testGetFileContentBytesOfMissingFile() throws IOException {
+        loggerRequestProcessor.getFileContentBytes(new File(folder.getRoot(), "not-exists.log").getPath(), 0, 4);
+    }
+}
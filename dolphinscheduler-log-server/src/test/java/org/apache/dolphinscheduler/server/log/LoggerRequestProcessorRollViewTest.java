@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LoggerRequestProcessorRollViewTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LoggerRequestProcessor loggerRequestProcessor = new LoggerRequestProcessor();
+
+    @Test
+    public void testRollViewLogBySkipLineNum() throws IOException {
+        File file = folder.newFile("test.log");
+        LogLineIndexTest.appendLines(file, 0, 3000);
+
+        RollViewLogResponseCommand response = loggerRequestProcessor.rollViewLog(
+                new RollViewLogRequestCommand(file.getPath(), 2500, 2));
+        Assert.assertEquals("line-2500\r\nline-2501\r\n", response.getMsg());
+
+        response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 2502, 3));
+        Assert.assertEquals("line-2502\r\nline-2503\r\nline-2504\r\n", response.getMsg());
+
+        response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 3000, 2));
+        Assert.assertEquals("", response.getMsg());
+
+        response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 3001, 2));
+        Assert.assertEquals("", response.getMsg());
+    }
+
+    @Test
+    public void testRollViewLogBySkipLineNumLeavesPartialLine() throws IOException {
+        File file = folder.newFile("test.log");
+        Files.write(file.toPath(), "first\nsecond\nthi".getBytes(StandardCharsets.UTF_8));
+
+        // unlike reading with Files.lines, a last line without a line break is not returned until it is complete
+        RollViewLogResponseCommand response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 1, 10));
+        Assert.assertEquals("second\r\n", response.getMsg());
+
+        Files.write(file.toPath(), "rd\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 1, 10));
+        Assert.assertEquals("second\r\nthird\r\n", response.getMsg());
+    }
+
+    @Test
+    public void testRollViewLogLineBreaks() throws IOException {
+        File file = folder.newFile("test.log");
+        Files.write(file.toPath(), "first\r\n\nthird\n".getBytes(StandardCharsets.UTF_8));
+
+        RollViewLogResponseCommand response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand(file.getPath(), 0, 10));
+        Assert.assertEquals("first\r\n\r\nthird\r\n", response.getMsg());
+    }
+
+    @Test
+    public void testRollViewLogNotExists() {
+        RollViewLogResponseCommand response = loggerRequestProcessor.rollViewLog(new RollViewLogRequestCommand("/not/exists.log", 0, 10));
+        Assert.assertEquals("", response.getMsg());
+    }
+}
@@ -93,6 +93,7 @@ public class TaskExecutionContextBuilder {
         taskExecutionContext.setCmdTypeIfComplement(processInstance.getCmdTypeIfComplement().getCode());
         taskExecutionContext.setTenantCode(processInstance.getTenantCode());
         taskExecutionContext.setQueue(processInstance.getQueue());
+        taskExecutionContext.setMasterHost(processInstance.getHost());
         return this;
     }
 
@@ -35,6 +35,8 @@ import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.server.master.runner.EventExecuteService;
 import org.apache.dolphinscheduler.server.master.runner.FailoverExecuteThread;
 import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerService;
+import org.apache.dolphinscheduler.server.master.runner.TaskInstanceBlobCleanService;
+import org.apache.dolphinscheduler.server.master.snapshot.MasterSnapshotService;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
 import javax.annotation.PostConstruct;
@@ -101,6 +103,12 @@ public class MasterServer implements IStoppable {
     @Autowired
     private LoggerRequestProcessor loggerRequestProcessor;
 
+    @Autowired
+    private MasterSnapshotService masterSnapshotService;
+
+    @Autowired
+    private TaskInstanceBlobCleanService taskInstanceBlobCleanService;
+
     public static void main(String[] args) {
         Thread.currentThread().setName(Constants.THREAD_NAME_MASTER_SERVER);
         SpringApplication.run(MasterServer.class);
@@ -136,11 +144,15 @@ public class MasterServer implements IStoppable {
         this.masterRegistryClient.start();
         this.masterRegistryClient.setRegistryStoppable(this);
 
+        // load the snapshot before recovering workflows
+        this.masterSnapshotService.start();
+
         this.masterSchedulerService.init();
         this.masterSchedulerService.start();
 
         this.eventExecuteService.start();
         this.failoverExecuteThread.start();
+        this.taskInstanceBlobCleanService.start();
 
         this.scheduler.start();
 
@@ -177,6 +189,8 @@ public class MasterServer implements IStoppable {
             }
             // close
             this.masterSchedulerService.close();
+            this.masterSnapshotService.close();
+            this.taskInstanceBlobCleanService.close();
             this.nettyRemotingServer.close();
             this.masterRegistryClient.closeRegistry();
             // close spring Context and will invoke method with @PreDestroy annotation to destory beans. like ServerNodeManager,HostManager,TaskResponseService,CuratorZookeeperClient,etc
@@ -32,6 +32,7 @@ public class MasterConfig {
     private int preExecThreads;
     private int execThreads;
     private int dispatchTaskNumber;
+    private int dispatchMaxInflight = 1000;
     private HostSelector hostSelector;
     private int heartbeatInterval;
     private int taskCommitRetryTimes;
@@ -41,6 +42,10 @@ public class MasterConfig {
     private double reservedMemory;
     private int failoverInterval;
     private boolean killYarnJobWhenTaskFailover;
+    private boolean snapshotEnabled;
+    private String snapshotPath;
+    private int snapshotInterval;
+    private int snapshotDeltaInterval;
 
     public int getListenPort() {
         return listenPort;
@@ -82,6 +87,14 @@ public class MasterConfig {
         this.dispatchTaskNumber = dispatchTaskNumber;
     }
 
+    public int getDispatchMaxInflight() {
+        return dispatchMaxInflight;
+    }
+
+    public void setDispatchMaxInflight(int dispatchMaxInflight) {
+        this.dispatchMaxInflight = dispatchMaxInflight;
+    }
+
     public HostSelector getHostSelector() {
         return hostSelector;
     }
@@ -153,4 +166,36 @@ public class MasterConfig {
     public void setKillYarnJobWhenTaskFailover(boolean killYarnJobWhenTaskFailover) {
         this.killYarnJobWhenTaskFailover = killYarnJobWhenTaskFailover;
     }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public int getSnapshotDeltaInterval() {
+        return snapshotDeltaInterval;
+    }
+
+    public void setSnapshotDeltaInterval(int snapshotDeltaInterval) {
+        this.snapshotDeltaInterval = snapshotDeltaInterval;
+    }
 }
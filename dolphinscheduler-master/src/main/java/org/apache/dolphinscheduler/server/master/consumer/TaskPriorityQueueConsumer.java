@@ -25,7 +25,6 @@ import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
-import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.queue.TaskPriority;
@@ -33,8 +32,10 @@ import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 import org.apache.dolphinscheduler.service.queue.entity.TaskExecutionContext;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -120,7 +121,7 @@ public class TaskPriorityQueueConsumer extends Thread {
      * batch dispatch with thread pool
      */
     private List<TaskPriority> batchDispatch(int fetchTaskNum) throws TaskPriorityQueueException, InterruptedException {
-        List<TaskPriority> failedDispatchTasks = new ArrayList<>();
+        List<TaskPriority> failedDispatchTasks = Collections.synchronizedList(new ArrayList<>());
         CountDownLatch latch = new CountDownLatch(fetchTaskNum);
 
         for (int i = 0; i < fetchTaskNum; i++) {
@@ -130,13 +131,13 @@ public class TaskPriorityQueueConsumer extends Thread {
                 continue;
             }
 
-            consumerThreadPoolExecutor.submit(() -> {
-                boolean dispatchResult = this.dispatchTask(taskPriority);
-                if (!dispatchResult) {
+            // the threads only check and select, the sends are awaited by the latch without holding them
+            consumerThreadPoolExecutor.submit(() -> this.dispatchTaskAsync(taskPriority).whenComplete((dispatched, e) -> {
+                if (!Boolean.TRUE.equals(dispatched)) {
                     failedDispatchTasks.add(taskPriority);
                 }
                 latch.countDown();
-            });
+            }));
         }
 
         latch.await();
@@ -151,7 +152,16 @@ public class TaskPriorityQueueConsumer extends Thread {
      * @return result
      */
     protected boolean dispatchTask(TaskPriority taskPriority) {
-        boolean result = false;
+        return dispatchTaskAsync(taskPriority).join();
+    }
+
+    /**
+     * dispatch task without waiting for the network
+     *
+     * @param taskPriority taskPriority
+     * @return future of the result, never completed exceptionally
+     */
+    protected CompletableFuture<Boolean> dispatchTaskAsync(TaskPriority taskPriority) {
         try {
             TaskExecutionContext context = taskPriority.getTaskExecutionContext();
             ExecutionContext executionContext = new ExecutionContext(context.toCommand(), ExecutorType.WORKER, context.getWorkerGroup());
@@ -159,15 +169,18 @@ public class TaskPriorityQueueConsumer extends Thread {
             if (isTaskNeedToCheck(taskPriority)) {
                 if (taskInstanceIsFinalState(taskPriority.getTaskId())) {
                     // when task finish, ignore this task, there is no need to dispatch anymore
-                    return true;
+                    return CompletableFuture.completedFuture(true);
                 }
             }
 
-            result = dispatcher.dispatch(executionContext);
-        } catch (ExecuteException e) {
+            return dispatcher.dispatchAsync(executionContext).exceptionally(e -> {
+                logger.error("dispatch error: {}", e.getMessage(), e);
+                return false;
+            });
+        } catch (Exception e) {
             logger.error("dispatch error: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(false);
         }
-        return result;
     }
 
     /**
@@ -28,8 +28,12 @@ import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -40,6 +44,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class ExecutorDispatcher implements InitializingBean {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorDispatcher.class);
+
     /**
      * netty executor manager
      */
@@ -72,6 +78,39 @@ public class ExecutorDispatcher implements InitializingBean {
      * @throws ExecuteException if error throws ExecuteException
      */
     public Boolean dispatch(final ExecutionContext context) throws ExecuteException {
+        ExecutorManager<Boolean> executorManager = prepare(context);
+        try {
+            /**
+             * task execute
+             */
+            return executorManager.execute(context);
+        } finally {
+            executorManager.afterExecute(context);
+        }
+    }
+
+    /**
+     * task dispatch without waiting for the network
+     *
+     * @param context context
+     * @return future of the result, failed with an ExecuteException if the command could not be sent
+     * @throws ExecuteException if no executor manager or host can be found
+     */
+    public CompletableFuture<Boolean> dispatchAsync(final ExecutionContext context) throws ExecuteException {
+        ExecutorManager<Boolean> executorManager = prepare(context);
+        return executorManager.executeAsync(context).whenComplete((result, e) -> {
+            try {
+                executorManager.afterExecute(context);
+            } catch (ExecuteException ex) {
+                logger.error("after execute error, command : {}", context.getCommand(), ex);
+            }
+        });
+    }
+
+    /**
+     * select the executor manager and the host of the context
+     */
+    private ExecutorManager<Boolean> prepare(final ExecutionContext context) throws ExecuteException {
         /**
          * get executor manager
          */
@@ -92,14 +131,7 @@ public class ExecutorDispatcher implements InitializingBean {
         }
         context.setHost(host);
         executorManager.beforeExecute(context);
-        try {
-            /**
-             * task execute
-             */
-            return executorManager.execute(context);
-        } finally {
-            executorManager.afterExecute(context);
-        }
+        return executorManager;
     }
 
     /**
@@ -17,12 +17,13 @@
 
 package org.apache.dolphinscheduler.server.master.dispatch.executor;
 
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
@@ -31,14 +32,19 @@ import org.apache.dolphinscheduler.server.master.processor.TaskKillResponseProce
 import org.apache.dolphinscheduler.server.master.processor.TaskResponseProcessor;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 
-import org.apache.commons.collections.CollectionUtils;
-
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,12 +53,26 @@ import org.springframework.stereotype.Service;
 
 /**
  *  netty executor manager
+ *  <p>
+ *  dispatches never wait for the network: a send fails over to the next worker of the group as soon as its channel
+ *  fails, retries to a single host are scheduled instead of slept, and the number of dispatches being written is
+ *  bounded by master.dispatch-max-inflight instead of by the threads calling in.
  */
 @Service
 public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
 
     private final Logger logger = LoggerFactory.getLogger(NettyExecutorManager.class);
 
+    /**
+     * retries of a command sent to a single host
+     */
+    private static final int RETRY_COUNT = 3;
+
+    /**
+     * delay between the retries of a command sent to a single host
+     */
+    private static final long RETRY_INTERVAL_MILLIS = 100;
+
     /**
      * server node manager
      */
@@ -68,17 +88,31 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
     @Autowired
     private TaskResponseProcessor taskResponseProcessor;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     /**
      * netty remote client
      */
     private final NettyRemotingClient nettyRemotingClient;
 
+    /**
+     * runs the retries of failed sends
+     */
+    private final ScheduledExecutorService retryExecutor;
+
+    /**
+     * permits of the dispatches being written
+     */
+    private Semaphore inflightPermits;
+
     /**
      * constructor
      */
     public NettyExecutorManager(){
         final NettyClientConfig clientConfig = new NettyClientConfig();
         this.nettyRemotingClient = new NettyRemotingClient(clientConfig);
+        this.retryExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("DispatchRetryExecutor"));
     }
 
     @PostConstruct
@@ -86,6 +120,12 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_RESPONSE, taskResponseProcessor);
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_ACK, taskAckProcessor);
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_KILL_RESPONSE, taskKillResponseProcessor);
+        this.inflightPermits = new Semaphore(masterConfig.getDispatchMaxInflight());
+    }
+
+    @PreDestroy
+    public void close() {
+        this.retryExecutor.shutdownNow();
     }
 
     /**
@@ -96,51 +136,64 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
      */
     @Override
     public Boolean execute(ExecutionContext context) throws ExecuteException {
+        return waitFor(executeAsync(context));
+    }
 
-        /**
-         *  all nodes
-         */
-        Set<String> allNodes = getAllNodes(context);
-
-        /**
-         * fail nodes
-         */
-        Set<String> failNodeSet = new HashSet<>();
+    /**
+     * send the command to the host of the context, failing over to the other nodes of the context one by one
+     *
+     * @param context context
+     * @return future completed with true once a host accepted the command and set in the context, or failed with
+     * an ExecuteException if every node failed or too many dispatches are in flight
+     */
+    @Override
+    public CompletableFuture<Boolean> executeAsync(ExecutionContext context) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (!inflightPermits.tryAcquire()) {
+            result.completeExceptionally(new ExecuteException(String.format("too many dispatches in flight, max : %d",
+                    masterConfig.getDispatchMaxInflight())));
+            return result;
+        }
+        result.whenComplete((success, e) -> inflightPermits.release());
+        try {
+            Set<String> remained = new LinkedHashSet<>(getAllNodes(context));
+            executeAsync(context, context.getHost(), remained, result);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
 
-        /**
-         *  build command accord executeContext
-         */
+    /**
+     * send the command to the host, on failure move on to the next remained node without waiting
+     */
+    private void executeAsync(ExecutionContext context, Host host, Set<String> remained, CompletableFuture<Boolean> result) {
         Command command = context.getCommand();
-
-        /**
-         * execute task host
-         */
-        Host host = context.getHost();
-        boolean success = false;
-        while (!success) {
-            try {
-                doExecute(host,command);
-                success = true;
+        remained.remove(host.getAddress());
+        CompletableFuture<Void> sent;
+        if (nettyRemotingClient.isWritable(host)) {
+            sent = nettyRemotingClient.sendAsync(host, command);
+        } else {
+            // fail over from a host whose channels are backed up instead of queueing behind them
+            sent = new CompletableFuture<>();
+            sent.completeExceptionally(new ExecuteException(String.format("channels to %s are congested", host)));
+        }
+        sent.whenComplete((ignored, e) -> {
+            if (e == null) {
                 context.setHost(host);
-            } catch (ExecuteException ex) {
-                logger.error(String.format("execute command : %s error", command), ex);
-                try {
-                    failNodeSet.add(host.getAddress());
-                    Set<String> tmpAllIps = new HashSet<>(allNodes);
-                    Collection<String> remained = CollectionUtils.subtract(tmpAllIps, failNodeSet);
-                    if (remained != null && remained.size() > 0) {
-                        host = Host.of(remained.iterator().next());
-                        logger.error("retry execute command : {} host : {}", command, host);
-                    } else {
-                        throw new ExecuteException("fail after try all nodes");
-                    }
-                } catch (Throwable t) {
-                    throw new ExecuteException("fail after try all nodes");
-                }
+                result.complete(true);
+                return;
             }
-        }
-
-        return success;
+            logger.error(String.format("execute command : %s to %s error", command, host), e);
+            Iterator<String> next = remained.iterator();
+            if (!next.hasNext()) {
+                result.completeExceptionally(new ExecuteException("fail after try all nodes", e));
+                return;
+            }
+            Host nextHost = Host.of(next.next());
+            logger.error("retry execute command : {} host : {}", command, nextHost);
+            executeAsync(context, nextHost, remained, result);
+        });
     }
 
     @Override
@@ -156,24 +209,55 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
      * @throws ExecuteException if error throws ExecuteException
      */
     public void doExecute(final Host host, final Command command) throws ExecuteException {
-        /**
-         * retry count，default retry 3
-         */
-        int retryCount = 3;
-        boolean success = false;
-        do {
+        waitFor(doExecuteAsync(host, command));
+    }
+
+    /**
+     * send the command to the host, retrying on the retry executor
+     *
+     * @param host host
+     * @param command command
+     * @return future completed once sent, or failed with an ExecuteException after the retries
+     */
+    public CompletableFuture<Void> doExecuteAsync(final Host host, final Command command) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        doExecuteAsync(host, command, RETRY_COUNT, result);
+        return result;
+    }
+
+    private void doExecuteAsync(Host host, Command command, int retryCount, CompletableFuture<Void> result) {
+        nettyRemotingClient.sendAsync(host, command).whenComplete((ignored, e) -> {
+            if (e == null) {
+                result.complete(null);
+                return;
+            }
+            logger.error(String.format("send command : %s to %s error", command, host), e);
+            if (retryCount <= 0) {
+                result.completeExceptionally(new ExecuteException(String.format("send command : %s to %s error", command, host), e));
+                return;
+            }
             try {
-                nettyRemotingClient.send(host, command);
-                success = true;
+                retryExecutor.schedule(() -> doExecuteAsync(host, command, retryCount - 1, result), RETRY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
             } catch (Exception ex) {
-                logger.error(String.format("send command : %s to %s error", command, host), ex);
-                retryCount--;
-                ThreadUtils.sleep(100);
+                result.completeExceptionally(new ExecuteException("dispatch retry executor is shut down", ex));
             }
-        } while (retryCount >= 0 && !success);
+        });
+    }
 
-        if (!success) {
-            throw new ExecuteException(String.format("send command : %s to %s error", command, host));
+    /**
+     * wait for a dispatch, for the callers that need its outcome
+     */
+    private <T> T waitFor(CompletableFuture<T> future) throws ExecuteException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecuteException("interrupted while waiting for the dispatch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ExecuteException) {
+                throw (ExecuteException) e.getCause();
+            }
+            throw new ExecuteException(e.getCause());
         }
     }
 
@@ -34,8 +34,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +67,21 @@ public class LowerWeightHostManager extends CommonHostManager {
      */
     private ConcurrentHashMap<String, Set<HostWeight>> workerHostWeightsMap;
 
+    /**
+     * dispatch times of the tasks dispatched to each worker that no heartbeat counts yet, oldest first
+     */
+    private ConcurrentHashMap<String, Queue<Long>> dispatchTimes;
+
+    /**
+     * the last heartbeat read of each worker, stamped with the master time it was received
+     */
+    private ConcurrentHashMap<String, HeartBeatReceipt> heartBeatReceipts;
+
+    /**
+     * master time of the last refresh, a heartbeat read for the first time was received after it
+     */
+    private volatile long lastRefreshTime;
+
     /**
      * worker group host lock
      */
@@ -79,6 +96,8 @@ public class LowerWeightHostManager extends CommonHostManager {
     public void init() {
         this.selector = new LowerWeightRoundRobin();
         this.workerHostWeightsMap = new ConcurrentHashMap<>();
+        this.dispatchTimes = new ConcurrentHashMap<>();
+        this.heartBeatReceipts = new ConcurrentHashMap<>();
         this.lock = new ReentrantLock();
         this.executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("LowerWeightHostManagerExecutor"));
         this.executorService.scheduleWithFixedDelay(new RefreshResourceTask(), 0, 1, TimeUnit.SECONDS);
@@ -99,7 +118,9 @@ public class LowerWeightHostManager extends CommonHostManager {
     public Host select(ExecutionContext context) {
         Set<HostWeight> workerHostWeights = getWorkerHostWeights(context.getWorkerGroup());
         if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return selector.select(workerHostWeights).getHost();
+            Host host = selector.select(workerHostWeights).getHost();
+            dispatchTimes.computeIfAbsent(host.getAddress(), key -> new ConcurrentLinkedQueue<>()).add(System.currentTimeMillis());
+            return host;
         }
         return new Host();
     }
@@ -109,6 +130,35 @@ public class LowerWeightHostManager extends CommonHostManager {
         throw new UnsupportedOperationException("not support");
     }
 
+    /**
+     * get the master time the heartbeat of the worker was received. the report time is only compared with the one
+     * of the last heartbeat, the worker clock may differ from the master clock
+     */
+    long getHeartBeatReceiveTime(String addr, long reportTime) {
+        HeartBeatReceipt receipt = heartBeatReceipts.get(addr);
+        if (receipt == null || receipt.reportTime != reportTime) {
+            receipt = new HeartBeatReceipt(reportTime, lastRefreshTime);
+            heartBeatReceipts.put(addr, receipt);
+        }
+        return receipt.receiveTime;
+    }
+
+    /**
+     * get the tasks dispatched to the worker that its heartbeat does not count yet. a heartbeat counts the tasks
+     * dispatched before it was received, the ones dispatched since are still on their way
+     */
+    int getDispatchedTaskCount(String addr, long receiveTime) {
+        Queue<Long> times = dispatchTimes.get(addr);
+        if (times == null) {
+            return 0;
+        }
+        Long time;
+        while ((time = times.peek()) != null && time <= receiveTime) {
+            times.poll();
+        }
+        return times.size();
+    }
+
     private void syncWorkerHostWeight(Map<String, Set<HostWeight>> workerHostWeights) {
         lock.lock();
         try {
@@ -132,6 +182,7 @@ public class LowerWeightHostManager extends CommonHostManager {
 
         @Override
         public void run() {
+            long refreshTime = System.currentTimeMillis();
             try {
                 Map<String, Set<HostWeight>> workerHostWeights = new HashMap<>();
                 Map<String, Set<String>> workerGroupNodes = serverNodeManager.getWorkerGroupNodes();
@@ -153,6 +204,8 @@ public class LowerWeightHostManager extends CommonHostManager {
                 syncWorkerHostWeight(workerHostWeights);
             } catch (Throwable ex) {
                 logger.error("RefreshResourceTask error", ex);
+            } finally {
+                lastRefreshTime = refreshTime;
             }
         }
 
@@ -175,10 +228,25 @@ public class LowerWeightHostManager extends CommonHostManager {
                         addr, heartBeat.getWorkerWaitingTaskCount(), heartBeat.getWorkerExecThreadCount());
                 return Optional.empty();
             }
+            int committedSlots = heartBeat.getWorkerRunningTaskCount() + heartBeat.getWorkerWaitingTaskCount()
+                    + getDispatchedTaskCount(addr, getHeartBeatReceiveTime(addr, heartBeat.getReportTime()));
+            double taskLoad = (double) committedSlots / Math.max(1, heartBeat.getWorkerExecThreadCount());
             return Optional.of(
                     new HostWeight(HostWorker.of(addr, heartBeat.getWorkerHostWeight(), workerGroup),
-                            heartBeat.getCpuUsage(), heartBeat.getMemoryUsage(), heartBeat.getLoadAverage(),
-                            heartBeat.getStartupTime()));
+                            heartBeat.getSmoothedCpuUsage(), heartBeat.getSmoothedMemoryUsage(), heartBeat.getSmoothedLoadAverage(),
+                            taskLoad, heartBeat.getStartupTime()));
+        }
+    }
+
+    private static class HeartBeatReceipt {
+
+        private final long reportTime;
+
+        private final long receiveTime;
+
+        HeartBeatReceipt(long reportTime, long receiveTime) {
+            this.reportTime = reportTime;
+            this.receiveTime = receiveTime;
         }
     }
 
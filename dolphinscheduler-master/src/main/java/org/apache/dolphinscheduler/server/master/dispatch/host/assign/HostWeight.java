@@ -31,6 +31,8 @@ public class HostWeight {
 
     private final int LOAD_AVERAGE_FACTOR = 70;
 
+    private final int TASK_LOAD_FACTOR = 300;
+
     private final HostWorker hostWorker;
 
     private final double weight;
@@ -38,8 +40,15 @@ public class HostWeight {
     private double currentWeight;
 
     public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, long startTime) {
+        this(hostWorker, cpu, memory, loadAverage, 0, startTime);
+    }
+
+    /**
+     * @param taskLoad committed task slots of the worker divided by its execute threads
+     */
+    public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, double taskLoad, long startTime) {
         this.hostWorker = hostWorker;
-        this.weight = calculateWeight(cpu, memory, loadAverage, startTime);
+        this.weight = calculateWeight(cpu, memory, loadAverage, taskLoad, startTime);
         this.currentWeight = this.weight;
     }
 
@@ -72,8 +81,9 @@ public class HostWeight {
             + '}';
     }
 
-    private double calculateWeight(double cpu, double memory, double loadAverage, long startTime) {
-        double calculatedWeight = cpu * CPU_FACTOR + memory * MEMORY_FACTOR + loadAverage * LOAD_AVERAGE_FACTOR;
+    private double calculateWeight(double cpu, double memory, double loadAverage, double taskLoad, long startTime) {
+        double calculatedWeight = cpu * CPU_FACTOR + memory * MEMORY_FACTOR + loadAverage * LOAD_AVERAGE_FACTOR
+                + taskLoad * TASK_LOAD_FACTOR;
         long uptime = System.currentTimeMillis() - startTime;
         if (uptime > 0 && uptime < Constants.WARM_UP_TIME) {
             // If the warm-up is not over, add the weight
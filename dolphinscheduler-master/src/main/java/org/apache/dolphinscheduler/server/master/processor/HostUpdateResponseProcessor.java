@@ -17,9 +17,9 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.HostUpdateResponseCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 
 import org.slf4j.Logger;
@@ -37,7 +37,7 @@ public class HostUpdateResponseProcessor implements NettyRequestProcessor {
     public void process(Channel channel, Command command) {
         Preconditions.checkArgument(CommandType.PROCESS_HOST_UPDATE_RESPONSE == command.getType(), String.format("invalid command type : %s", command.getType()));
 
-        HostUpdateResponseProcessor responseCommand = JSONUtils.parseObject(command.getBody(), HostUpdateResponseProcessor.class);
+        HostUpdateResponseCommand responseCommand = command.parseBody(HostUpdateResponseCommand.class);
         logger.info("received process host response command : {}", responseCommand);
     }
 }
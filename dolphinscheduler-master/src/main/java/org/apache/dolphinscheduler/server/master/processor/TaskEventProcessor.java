@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.server.master.processor;
 
 import org.apache.dolphinscheduler.common.enums.StateEvent;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskEventChangeCommand;
@@ -53,7 +52,7 @@ public class TaskEventProcessor implements NettyRequestProcessor {
                         || CommandType.TASK_WAKEUP_EVENT_REQUEST == command.getType()
                 , String.format("invalid command type: %s", command.getType()));
 
-        TaskEventChangeCommand taskEventChangeCommand = JSONUtils.parseObject(command.getBody(), TaskEventChangeCommand.class);
+        TaskEventChangeCommand taskEventChangeCommand = command.parseBody(TaskEventChangeCommand.class);
         StateEvent stateEvent = new StateEvent();
         stateEvent.setKey(taskEventChangeCommand.getKey());
         stateEvent.setProcessInstanceId(taskEventChangeCommand.getProcessInstanceId());
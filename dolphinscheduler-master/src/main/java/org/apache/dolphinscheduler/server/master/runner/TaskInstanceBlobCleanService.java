@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.service.cache.TaskInstanceBlobCache;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * task instance blob clean service
+ * <p>
+ * the blobs are shared by task instances, so they are not deleted with a task instance. the blobs which are no
+ * longer referred after the task instances are deleted or rewritten are deleted periodically, once they are not
+ * stored again for the retention time.
+ */
+@Service
+public class TaskInstanceBlobCleanService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskInstanceBlobCleanService.class);
+
+    /**
+     * longer than the expire time of the hashes cached by {@link TaskInstanceBlobCache}
+     */
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final long CLEAN_INTERVAL_MINUTES = 60;
+
+    @Autowired
+    private ProcessService processService;
+
+    private ScheduledExecutorService executorService;
+
+    /**
+     * start cleaning
+     */
+    public void start() {
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("TaskInstanceBlobCleanExecutor"));
+        this.executorService.scheduleWithFixedDelay(this::clean, CLEAN_INTERVAL_MINUTES, CLEAN_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * stop cleaning
+     */
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void clean() {
+        try {
+            int deleteCount = processService.deleteUnreferencedTaskInstanceBlobs(new Date(System.currentTimeMillis() - RETENTION_MILLIS));
+            if (deleteCount > 0) {
+                logger.info("delete {} unreferenced task instance blobs", deleteCount);
+            }
+        } catch (Exception e) {
+            logger.error("clean task instance blobs error", e);
+        }
+    }
+}
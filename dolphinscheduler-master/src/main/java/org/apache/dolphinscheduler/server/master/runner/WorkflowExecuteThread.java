@@ -62,13 +62,19 @@ import org.apache.dolphinscheduler.remote.command.HostUpdateCommand;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
+import org.apache.dolphinscheduler.server.master.runner.task.CommonTaskProcessor;
 import org.apache.dolphinscheduler.server.master.runner.task.ITaskProcessor;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskAction;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskProcessorFactory;
+import org.apache.dolphinscheduler.server.master.snapshot.MasterSnapshotService;
+import org.apache.dolphinscheduler.server.master.snapshot.WorkflowSnapshot;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtils;
 import org.apache.dolphinscheduler.service.queue.PeerTaskInstancePriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -223,6 +229,21 @@ public class WorkflowExecuteThread {
      */
     private StateWheelExecuteThread stateWheelExecuteThread;
 
+    /**
+     * task priority queue, the batch submitted tasks are put into it together
+     */
+    private TaskPriorityQueueImpl taskPriorityQueue;
+
+    /**
+     * master snapshot service
+     */
+    private final MasterSnapshotService masterSnapshotService;
+
+    /**
+     * copies of the valid task instances, published by the workflow thread after the events are handled
+     */
+    private volatile WorkflowSnapshot snapshot;
+
     /**
      * constructor of WorkflowExecuteThread
      *
@@ -232,19 +253,22 @@ public class WorkflowExecuteThread {
      * @param processAlertManager     processAlertManager
      * @param masterConfig            masterConfig
      * @param stateWheelExecuteThread stateWheelExecuteThread
+     * @param masterSnapshotService   masterSnapshotService
      */
     public WorkflowExecuteThread(ProcessInstance processInstance
         , ProcessService processService
         , NettyExecutorManager nettyExecutorManager
         , ProcessAlertManager processAlertManager
         , MasterConfig masterConfig
-        , StateWheelExecuteThread stateWheelExecuteThread) {
+        , StateWheelExecuteThread stateWheelExecuteThread
+        , MasterSnapshotService masterSnapshotService) {
         this.processService = processService;
         this.processInstance = processInstance;
         this.masterConfig = masterConfig;
         this.nettyExecutorManager = nettyExecutorManager;
         this.processAlertManager = processAlertManager;
         this.stateWheelExecuteThread = stateWheelExecuteThread;
+        this.masterSnapshotService = masterSnapshotService;
     }
 
     /**
@@ -261,6 +285,9 @@ public class WorkflowExecuteThread {
         if (!isStart) {
             return;
         }
+        if (this.stateEvents.isEmpty()) {
+            return;
+        }
         while (!this.stateEvents.isEmpty()) {
             try {
                 StateEvent stateEvent = this.stateEvents.peek();
@@ -271,6 +298,30 @@ public class WorkflowExecuteThread {
                 logger.error("state handle error:", e);
             }
         }
+        publishSnapshot();
+    }
+
+    /**
+     * the snapshot of the valid task instances as they were written to db
+     *
+     * @return snapshot, null if not published yet
+     */
+    public WorkflowSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * copy the valid task instances on the workflow thread, the task instances are written to db by now
+     */
+    private void publishSnapshot() {
+        if (masterSnapshotService == null) {
+            return;
+        }
+        try {
+            this.snapshot = masterSnapshotService.snapshot(processInstance.getId(), getValidTaskList(), this.snapshot);
+        } catch (Exception e) {
+            logger.error("snapshot workflow error, process instance id:{}", processInstance.getId(), e);
+        }
     }
 
     public String getKey() {
@@ -738,6 +789,7 @@ public class WorkflowExecuteThread {
             initTaskQueue();
             submitPostNode(null);
             isStart = true;
+            publishSnapshot();
         } catch (Exception e) {
             logger.error("start process error, process instance id:{}", processInstance.getId(), e);
         }
@@ -837,7 +889,11 @@ public class WorkflowExecuteThread {
         errorTaskMap.clear();
 
         if (!isNewProcessInstance()) {
-            List<TaskInstance> validTaskInstanceList = processService.findValidTaskListByProcessId(processInstance.getId());
+            List<TaskInstance> validTaskInstanceList = masterSnapshotService == null
+                ? null : masterSnapshotService.takeValidTaskList(processInstance.getId());
+            if (validTaskInstanceList == null) {
+                validTaskInstanceList = processService.findValidTaskListByProcessId(processInstance.getId());
+            }
             for (TaskInstance task : validTaskInstanceList) {
                 if (validTaskMap.containsKey(task.getTaskCode())) {
                     int oldTaskInstanceId = validTaskMap.get(task.getTaskCode());
@@ -926,7 +982,89 @@ public class WorkflowExecuteThread {
                     taskInstance.getId(), taskInstance.getName());
                 return null;
             }
+            return runSubmittedTask(taskInstance, taskProcessor);
+        } catch (Exception e) {
+            logger.error("submit standby task error", e);
+            return null;
+        }
+    }
+
+    /**
+     * submit the ready task instances of one round,
+     * new common task instances are saved to db with multi-row inserts and put into the task queue together,
+     * the others are submitted one by one.
+     *
+     * @param taskInstances ready task instances
+     * @return task instances failed to submit
+     */
+    private List<TaskInstance> submitTaskExec(List<TaskInstance> taskInstances) {
+        List<TaskInstance> failedTaskInstances = new ArrayList<>();
+        List<TaskInstance> batchTaskInstances = new ArrayList<>();
+        List<CommonTaskProcessor> batchTaskProcessors = new ArrayList<>();
+        for (TaskInstance taskInstance : taskInstances) {
+            try {
+                ITaskProcessor taskProcessor = TaskProcessorFactory.getTaskProcessor(taskInstance.getTaskType());
+                // task group need to be acquired one by one
+                if (taskInstance.getId() != 0
+                    || taskInstance.getTaskGroupId() > 0
+                    || !(taskProcessor instanceof CommonTaskProcessor)) {
+                    if (submitTaskExec(taskInstance) == null) {
+                        failedTaskInstances.add(taskInstance);
+                    }
+                    continue;
+                }
+                processService.packageTaskInstance(taskInstance, processInstance);
+                taskProcessor.init(taskInstance, processInstance);
+                batchTaskInstances.add(taskInstance);
+                batchTaskProcessors.add((CommonTaskProcessor) taskProcessor);
+            } catch (Exception e) {
+                logger.error("submit standby task error", e);
+                failedTaskInstances.add(taskInstance);
+            }
+        }
+        if (batchTaskInstances.isEmpty()) {
+            return failedTaskInstances;
+        }
+
+        List<TaskInstance> submitTaskInstances = processService.submitTasksWithRetry(processInstance, batchTaskInstances,
+            masterConfig.getTaskCommitRetryTimes(), masterConfig.getTaskCommitInterval());
+        if (submitTaskInstances == null) {
+            logger.error("process id:{} name:{} submit {} standby tasks in batch failed!",
+                processInstance.getId(), processInstance.getName(), batchTaskInstances.size());
+            failedTaskInstances.addAll(batchTaskInstances);
+            return failedTaskInstances;
+        }
+
+        List<TaskPriority> taskPriorityList = new ArrayList<>(batchTaskInstances.size());
+        for (int i = 0; i < batchTaskInstances.size(); i++) {
+            CommonTaskProcessor taskProcessor = batchTaskProcessors.get(i);
+            TaskPriority taskPriority = taskProcessor.submitPersistedTask();
+            if (taskPriority != null) {
+                taskPriorityList.add(taskPriority);
+            }
+            runSubmittedTask(batchTaskInstances.get(i), taskProcessor);
+        }
+        try {
+            if (taskPriorityQueue == null) {
+                taskPriorityQueue = SpringApplicationContext.getBean(TaskPriorityQueueImpl.class);
+            }
+            taskPriorityQueue.putList(taskPriorityList);
+            logger.info("master submit {} tasks in batch success, process id:{}", taskPriorityList.size(), processInstance.getId());
+        } catch (Exception e) {
+            logger.error("put tasks into task queue error, process id:{}", processInstance.getId(), e);
+        }
+        return failedTaskInstances;
+    }
 
+    /**
+     * run the task instance which has been submitted
+     *
+     * @param taskInstance task instance
+     * @param taskProcessor task processor
+     * @return TaskInstance
+     */
+    private TaskInstance runSubmittedTask(TaskInstance taskInstance, ITaskProcessor taskProcessor) {
+        try {
             // in a dag, only one taskInstance is valid per taskCode, so need to set the old taskInstance invalid
             if (validTaskMap.containsKey(taskInstance.getTaskCode())) {
                 int oldTaskInstanceId = validTaskMap.get(taskInstance.getTaskCode());
@@ -972,7 +1110,11 @@ public class WorkflowExecuteThread {
             hostUpdateCommand.setProcessHost(NetUtils.getAddr(masterConfig.getListenPort()));
             hostUpdateCommand.setTaskInstanceId(taskInstance.getId());
             Host host = new Host(taskInstance.getHost());
-            nettyExecutorManager.doExecute(host, hostUpdateCommand.convert2Command());
+            nettyExecutorManager.doExecuteAsync(host, hostUpdateCommand.convert2Command()).whenComplete((ignored, e) -> {
+                if (e != null) {
+                    logger.error("notify process host update", e);
+                }
+            });
         } catch (Exception e) {
             logger.error("notify process host update", e);
         }
@@ -1204,7 +1346,7 @@ public class WorkflowExecuteThread {
     /**
      * get valid task list
      */
-    private List<TaskInstance> getValidTaskList() {
+    public List<TaskInstance> getValidTaskList() {
         List<TaskInstance> validTaskInstanceList = new ArrayList<>();
         for (Integer taskInstanceId : validTaskMap.values()) {
             validTaskInstanceList.add(taskInstanceMap.get(taskInstanceId));
@@ -1639,6 +1781,7 @@ public class WorkflowExecuteThread {
     private void submitStandByTask() {
         try {
             int length = readyToSubmitTaskQueue.size();
+            List<TaskInstance> readyTaskInstances = new ArrayList<>();
             for (int i = 0; i < length; i++) {
                 TaskInstance task = readyToSubmitTaskQueue.peek();
                 if (task == null) {
@@ -1653,6 +1796,8 @@ public class WorkflowExecuteThread {
                         removeTaskFromStandbyList(task);
                         completeTaskMap.put(task.getTaskCode(), task.getId());
                         taskInstanceMap.put(task.getId(), task);
+                        submitReadyTasks(readyTaskInstances);
+                        readyTaskInstances.clear();
                         submitPostNode(Long.toString(task.getTaskCode()));
                         continue;
                     }
@@ -1665,12 +1810,9 @@ public class WorkflowExecuteThread {
                 }
                 DependResult dependResult = getDependResultForTask(task);
                 if (DependResult.SUCCESS == dependResult) {
-                    TaskInstance taskInstance = submitTaskExec(task);
-                    if (taskInstance == null) {
-                        this.taskFailedSubmit = true;
-                    } else {
-                        removeTaskFromStandbyList(task);
-                    }
+                    // the ready tasks of this round are submitted together
+                    readyTaskInstances.add(task);
+                    removeTaskFromStandbyList(task);
                 } else if (DependResult.FAILED == dependResult) {
                     // if the dependency fails, the current node is not submitted and the state changes to failure.
                     dependFailedTaskMap.put(task.getTaskCode(), task.getId());
@@ -1682,11 +1824,27 @@ public class WorkflowExecuteThread {
                     logger.info("remove task {},id:{} , because depend result : {}", task.getName(), task.getId(), dependResult);
                 }
             }
+            submitReadyTasks(readyTaskInstances);
         } catch (Exception e) {
             logger.error("submit standby task error", e);
         }
     }
 
+    /**
+     * submit the ready tasks, the failed ones are put back to the standby list
+     *
+     * @param readyTaskInstances ready task instances
+     */
+    private void submitReadyTasks(List<TaskInstance> readyTaskInstances) {
+        if (readyTaskInstances.isEmpty()) {
+            return;
+        }
+        for (TaskInstance failedTaskInstance : submitTaskExec(readyTaskInstances)) {
+            this.taskFailedSubmit = true;
+            addTaskToStandByList(failedTaskInstance);
+        }
+    }
+
     /**
      * get recovery task instance list
      *
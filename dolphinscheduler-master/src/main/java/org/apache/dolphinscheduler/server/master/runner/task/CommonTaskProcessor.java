@@ -100,25 +100,10 @@ public class CommonTaskProcessor extends BaseTaskProcessor {
             if (taskUpdateQueue == null) {
                 this.initQueue();
             }
-            if (taskInstance.getState().typeIsFinished()) {
-                logger.info(String.format("submit task , but task [%s] state [%s] is already  finished. ", taskInstance.getName(), taskInstance.getState().toString()));
-                return true;
-            }
-            // task cannot be submitted because its execution state is RUNNING or DELAY.
-            if (taskInstance.getState() == ExecutionStatus.RUNNING_EXECUTION
-                    || taskInstance.getState() == ExecutionStatus.DELAY_EXECUTION) {
-                logger.info("submit task, but the status of the task {} is already running or delayed.", taskInstance.getName());
+            TaskPriority taskPriority = buildTaskPriority();
+            if (taskPriority == null) {
                 return true;
             }
-            logger.info("task ready to submit: {}", taskInstance);
-
-            TaskPriority taskPriority = new TaskPriority(processInstance.getProcessInstancePriority().getCode(),
-                    processInstance.getId(), taskInstance.getProcessInstancePriority().getCode(),
-                    taskInstance.getId(), org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP);
-
-            TaskExecutionContext taskExecutionContext = getTaskExecutionContext(taskInstance);
-            taskPriority.setTaskExecutionContext(taskExecutionContext);
-
             taskUpdateQueue.put(taskPriority);
             logger.info(String.format("master submit success, task : %s", taskInstance.getName()));
             return true;
@@ -128,6 +113,49 @@ public class CommonTaskProcessor extends BaseTaskProcessor {
         }
     }
 
+    /**
+     * submit the task instance which has been saved to db by the batch submit of workflow,
+     * the task priority is returned and put into the task queue together with the others of the same round by the caller
+     *
+     * @return task priority, null if the task need not be dispatched
+     */
+    public TaskPriority submitPersistedTask() {
+        this.setTaskExecutionLogger();
+        try {
+            return buildTaskPriority();
+        } catch (Exception e) {
+            logger.error("submit task error", e);
+            return null;
+        }
+    }
+
+    /**
+     * build the task priority with execution context of the task instance
+     *
+     * @return task priority, null if the task is finished, running or delayed
+     */
+    private TaskPriority buildTaskPriority() {
+        if (taskInstance.getState().typeIsFinished()) {
+            logger.info(String.format("submit task , but task [%s] state [%s] is already  finished. ", taskInstance.getName(), taskInstance.getState().toString()));
+            return null;
+        }
+        // task cannot be submitted because its execution state is RUNNING or DELAY.
+        if (taskInstance.getState() == ExecutionStatus.RUNNING_EXECUTION
+                || taskInstance.getState() == ExecutionStatus.DELAY_EXECUTION) {
+            logger.info("submit task, but the status of the task {} is already running or delayed.", taskInstance.getName());
+            return null;
+        }
+        logger.info("task ready to submit: {}", taskInstance);
+
+        TaskPriority taskPriority = new TaskPriority(processInstance.getProcessInstancePriority().getCode(),
+                processInstance.getId(), taskInstance.getProcessInstancePriority().getCode(),
+                taskInstance.getId(), org.apache.dolphinscheduler.common.Constants.DEFAULT_WORKER_GROUP);
+
+        TaskExecutionContext taskExecutionContext = getTaskExecutionContext(taskInstance);
+        taskPriority.setTaskExecutionContext(taskExecutionContext);
+        return taskPriority;
+    }
+
     public void initQueue() {
         this.taskUpdateQueue = SpringApplicationContext.getBean(TaskPriorityQueueImpl.class);
     }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * a full snapshot or a delta of the workflows running on the master
+ */
+public class MasterSnapshot {
+
+    /**
+     * the time when the workflows were captured
+     */
+    private long snapshotTime;
+
+    /**
+     * workflows captured, in a delta only the changed ones
+     */
+    private List<WorkflowSnapshot> workflows = new ArrayList<>();
+
+    /**
+     * process instances which left the master since the previous delta
+     */
+    private List<Integer> removedProcessInstanceIds = new ArrayList<>();
+
+    public MasterSnapshot() {
+    }
+
+    public MasterSnapshot(long snapshotTime, List<WorkflowSnapshot> workflows, List<Integer> removedProcessInstanceIds) {
+        this.snapshotTime = snapshotTime;
+        this.workflows = workflows;
+        this.removedProcessInstanceIds = removedProcessInstanceIds;
+    }
+
+    public long getSnapshotTime() {
+        return snapshotTime;
+    }
+
+    public void setSnapshotTime(long snapshotTime) {
+        this.snapshotTime = snapshotTime;
+    }
+
+    public List<WorkflowSnapshot> getWorkflows() {
+        return workflows;
+    }
+
+    public void setWorkflows(List<WorkflowSnapshot> workflows) {
+        this.workflows = workflows;
+    }
+
+    public List<Integer> getRemovedProcessInstanceIds() {
+        return removedProcessInstanceIds;
+    }
+
+    public void setRemovedProcessInstanceIds(List<Integer> removedProcessInstanceIds) {
+        this.removedProcessInstanceIds = removedProcessInstanceIds;
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.snapshot;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThread;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * master snapshot service
+ * <p>
+ * periodically writes the task instances of the running workflows to a local snapshot file, with deltas of the
+ * changed workflows appended in between. when the master restarts, the recovered workflows take their task
+ * instances from the snapshot and only the ones written to db after the snapshot are queried again.
+ */
+@Service
+public class MasterSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterSnapshotService.class);
+
+    /**
+     * task instances written shortly before the snapshot are reconciled as well, which covers the second
+     * precision of the update time and the clock skew between masters
+     */
+    private static final long RECONCILE_TOLERANCE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .addMixIn(TaskInstance.class, TaskInstanceMixIn.class)
+            .setTimeZone(TimeZone.getDefault());
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    private ScheduledExecutorService executorService;
+
+    /**
+     * fingerprints of the workflows in the snapshot file, only accessed by the snapshot thread
+     */
+    private final Map<Integer, Long> writtenFingerprints = new HashMap<>();
+
+    private long lastFullSnapshotTime;
+
+    /**
+     * workflows loaded from the snapshot file and not recovered yet
+     */
+    private final Map<Integer, WorkflowSnapshot> warmWorkflows = new ConcurrentHashMap<>();
+
+    /**
+     * reconciled valid task instances, taken by the recovered workflow
+     */
+    private final Map<Integer, List<TaskInstance>> reconciledTaskInstances = new ConcurrentHashMap<>();
+
+    private volatile long warmSnapshotTime;
+
+    /**
+     * load the previous snapshot and start writing snapshots
+     */
+    public void start() {
+        if (!masterConfig.isSnapshotEnabled()) {
+            return;
+        }
+        load();
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("MasterSnapshotExecutor"));
+        this.executorService.scheduleWithFixedDelay(this::write,
+                masterConfig.getSnapshotDeltaInterval(), masterConfig.getSnapshotDeltaInterval(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * stop writing and leave a full snapshot for the next start
+     */
+    public void close() {
+        if (executorService == null) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            if (executorService.awaitTermination(masterConfig.getSnapshotDeltaInterval(), TimeUnit.SECONDS)) {
+                writeSnapshot(System.currentTimeMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("write master snapshot error when closing", e);
+        }
+    }
+
+    /**
+     * reconcile the snapshot of the process instances to be executed with the task instances written to db
+     * after the snapshot, by one query for all of them
+     *
+     * @param processInstances process instances handled from commands
+     */
+    public void reconcile(Collection<ProcessInstance> processInstances) {
+        if (warmWorkflows.isEmpty()) {
+            return;
+        }
+        Map<Integer, Map<Integer, TaskInstance>> workflowTaskInstances = new HashMap<>();
+        for (ProcessInstance processInstance : processInstances) {
+            if (processInstance == null) {
+                continue;
+            }
+            WorkflowSnapshot workflowSnapshot = warmWorkflows.remove(processInstance.getId());
+            if (workflowSnapshot == null) {
+                continue;
+            }
+            Map<Integer, TaskInstance> taskInstanceMap = new LinkedHashMap<>();
+            for (TaskInstance taskInstance : workflowSnapshot.getTaskInstances()) {
+                taskInstanceMap.put(taskInstance.getId(), taskInstance);
+            }
+            workflowTaskInstances.put(processInstance.getId(), taskInstanceMap);
+        }
+        if (workflowTaskInstances.isEmpty()) {
+            return;
+        }
+        try {
+            List<TaskInstance> snapshotTaskInstances = workflowTaskInstances.values().stream()
+                    .flatMap(taskInstanceMap -> taskInstanceMap.values().stream())
+                    .collect(Collectors.toList());
+            processService.loadTaskInstanceBlobs(snapshotTaskInstances);
+
+            Date updateTime = new Date(warmSnapshotTime - RECONCILE_TOLERANCE_MILLIS);
+            List<TaskInstance> changedTaskInstances = processService.findTaskListUpdatedAfter(workflowTaskInstances.keySet(), updateTime);
+            for (TaskInstance taskInstance : changedTaskInstances) {
+                Map<Integer, TaskInstance> taskInstanceMap = workflowTaskInstances.get(taskInstance.getProcessInstanceId());
+                if (taskInstance.getFlag() == Flag.YES) {
+                    taskInstanceMap.put(taskInstance.getId(), taskInstance);
+                } else {
+                    taskInstanceMap.remove(taskInstance.getId());
+                }
+            }
+            for (Map.Entry<Integer, Map<Integer, TaskInstance>> entry : workflowTaskInstances.entrySet()) {
+                List<TaskInstance> validTaskInstances = new ArrayList<>(entry.getValue().values());
+                // same order as the valid task list queried from db
+                validTaskInstances.sort(Comparator.comparing(TaskInstance::getStartTime,
+                        Comparator.nullsFirst(Comparator.naturalOrder())).reversed());
+                reconciledTaskInstances.put(entry.getKey(), validTaskInstances);
+            }
+            logger.info("reconcile {} workflows from master snapshot, {} task instances changed after the snapshot",
+                    workflowTaskInstances.size(), changedTaskInstances.size());
+        } catch (Exception e) {
+            logger.error("reconcile workflows from master snapshot error, they will be rebuilt from db", e);
+        }
+    }
+
+    /**
+     * take the reconciled valid task instances of the process instance
+     *
+     * @param processInstanceId process instance id
+     * @return valid task instances, or null if the process instance is not in the snapshot
+     */
+    public List<TaskInstance> takeValidTaskList(int processInstanceId) {
+        if (reconciledTaskInstances.isEmpty()) {
+            return null;
+        }
+        return reconciledTaskInstances.remove(processInstanceId);
+    }
+
+    private void load() {
+        Path snapshotPath = getSnapshotFile();
+        Path deltaPath = getDeltaFile();
+        Map<Integer, WorkflowSnapshot> workflows = new HashMap<>();
+        long snapshotTime = 0;
+        try {
+            if (Files.exists(snapshotPath)) {
+                MasterSnapshot snapshot = OBJECT_MAPPER.readValue(snapshotPath.toFile(), MasterSnapshot.class);
+                snapshot.getWorkflows().forEach(workflow -> workflows.put(workflow.getProcessInstanceId(), workflow));
+                snapshotTime = snapshot.getSnapshotTime();
+            }
+            if (snapshotTime > 0 && Files.exists(deltaPath)) {
+                snapshotTime = applyDeltas(deltaPath, workflows, snapshotTime);
+            }
+        } catch (IOException e) {
+            logger.error("load master snapshot error, path:{}", snapshotPath, e);
+            return;
+        }
+        if (snapshotTime == 0) {
+            return;
+        }
+        warmSnapshotTime = snapshotTime;
+        warmWorkflows.putAll(workflows);
+        logger.info("load master snapshot of {} workflows, snapshot time:{}", workflows.size(), new Date(snapshotTime));
+    }
+
+    private long applyDeltas(Path deltaPath, Map<Integer, WorkflowSnapshot> workflows, long snapshotTime) throws IOException {
+        long deltaTime = snapshotTime;
+        try (BufferedReader reader = Files.newBufferedReader(deltaPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                MasterSnapshot delta;
+                try {
+                    delta = OBJECT_MAPPER.readValue(line, MasterSnapshot.class);
+                } catch (IOException e) {
+                    // the last delta may be partially written when the master stopped
+                    logger.warn("skip the broken delta of master snapshot and the ones after it");
+                    break;
+                }
+                if (delta.getSnapshotTime() <= deltaTime) {
+                    continue;
+                }
+                delta.getWorkflows().forEach(workflow -> workflows.put(workflow.getProcessInstanceId(), workflow));
+                delta.getRemovedProcessInstanceIds().forEach(workflows::remove);
+                deltaTime = delta.getSnapshotTime();
+            }
+        }
+        return deltaTime;
+    }
+
+    private void write() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastFullSnapshotTime >= TimeUnit.SECONDS.toMillis(masterConfig.getSnapshotInterval())) {
+                writeSnapshot(now);
+            } else {
+                writeDelta(now);
+            }
+        } catch (Exception e) {
+            logger.error("write master snapshot error", e);
+        }
+    }
+
+    private void writeSnapshot(long snapshotTime) throws IOException {
+        List<WorkflowSnapshot> workflows = capture();
+        Path snapshotPath = getSnapshotFile();
+        Files.createDirectories(snapshotPath.getParent());
+        Path tmpPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        OBJECT_MAPPER.writeValue(tmpPath.toFile(), new MasterSnapshot(snapshotTime, workflows, new ArrayList<>()));
+        Files.move(tmpPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // the deltas are older than the snapshot now, they would be skipped anyway if the master stops here
+        Files.deleteIfExists(getDeltaFile());
+
+        writtenFingerprints.clear();
+        workflows.forEach(workflow -> writtenFingerprints.put(workflow.getProcessInstanceId(), workflow.fingerprint()));
+        lastFullSnapshotTime = snapshotTime;
+        logger.debug("write master snapshot of {} workflows", workflows.size());
+    }
+
+    private void writeDelta(long snapshotTime) throws IOException {
+        List<WorkflowSnapshot> workflows = capture();
+        List<WorkflowSnapshot> changedWorkflows = new ArrayList<>();
+        Map<Integer, Long> fingerprints = new HashMap<>();
+        for (WorkflowSnapshot workflow : workflows) {
+            long fingerprint = workflow.fingerprint();
+            fingerprints.put(workflow.getProcessInstanceId(), fingerprint);
+            if (!Objects.equals(writtenFingerprints.get(workflow.getProcessInstanceId()), fingerprint)) {
+                changedWorkflows.add(workflow);
+            }
+        }
+        List<Integer> removedProcessInstanceIds = writtenFingerprints.keySet().stream()
+                .filter(processInstanceId -> !fingerprints.containsKey(processInstanceId))
+                .collect(Collectors.toList());
+        if (changedWorkflows.isEmpty() && removedProcessInstanceIds.isEmpty()) {
+            return;
+        }
+        String delta = OBJECT_MAPPER.writeValueAsString(new MasterSnapshot(snapshotTime, changedWorkflows, removedProcessInstanceIds));
+        Files.write(getDeltaFile(), (delta + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        writtenFingerprints.clear();
+        writtenFingerprints.putAll(fingerprints);
+        logger.debug("write master snapshot delta, changed workflows:{}, removed workflows:{}",
+                changedWorkflows.size(), removedProcessInstanceIds.size());
+    }
+
+    /**
+     * copy the valid task instances of a workflow, called by the workflow thread after the task instances are
+     * written to db, so the snapshot thread never reads the task instances being changed
+     *
+     * @param processInstanceId process instance id
+     * @param taskInstances valid task instances
+     * @param previous the previous snapshot of the workflow, reused if no task instance is written since it
+     * @return snapshot of the workflow, null if the snapshot is disabled
+     */
+    public WorkflowSnapshot snapshot(int processInstanceId, List<TaskInstance> taskInstances, WorkflowSnapshot previous) {
+        if (!masterConfig.isSnapshotEnabled()) {
+            return null;
+        }
+        List<TaskInstance> validTaskInstances = taskInstances.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        long fingerprint = new WorkflowSnapshot(processInstanceId, validTaskInstances).fingerprint();
+        if (previous != null && previous.sourceFingerprint() == fingerprint) {
+            return previous;
+        }
+        List<TaskInstance> copies = validTaskInstances.stream()
+                .map(taskInstance -> OBJECT_MAPPER.convertValue(taskInstance, TaskInstance.class))
+                .collect(Collectors.toList());
+        WorkflowSnapshot workflowSnapshot = new WorkflowSnapshot(processInstanceId, copies);
+        workflowSnapshot.setSourceFingerprint(fingerprint);
+        return workflowSnapshot;
+    }
+
+    private List<WorkflowSnapshot> capture() {
+        List<WorkflowSnapshot> workflows = new ArrayList<>();
+        for (WorkflowExecuteThread workflowExecuteThread : processInstanceExecCacheManager.getAll()) {
+            WorkflowSnapshot workflowSnapshot = workflowExecuteThread.getSnapshot();
+            if (!workflowExecuteThread.isStart() || workflowSnapshot == null) {
+                continue;
+            }
+            workflows.add(workflowSnapshot);
+        }
+        return workflows;
+    }
+
+    private Path getSnapshotFile() {
+        return Paths.get(masterConfig.getSnapshotPath(), "master-" + masterConfig.getListenPort() + ".snapshot");
+    }
+
+    private Path getDeltaFile() {
+        return Paths.get(masterConfig.getSnapshotPath(), "master-" + masterConfig.getListenPort() + ".delta");
+    }
+
+    /**
+     * only the columns of task instance are kept in the snapshot, the contents of the hashes are loaded when recovering
+     */
+    @JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+            isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
+    @JsonIgnoreProperties(value = {"processInstanceName", "taskGroupPriority", "processInstance", "processDefine",
+            "taskDefine", "dependency", "switchDependency", "duration", "processInstancePriority", "dependentResult",
+            "environmentConfig", "executorName", "resources", "taskParams"}, ignoreUnknown = true)
+    abstract static class TaskInstanceMixIn {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.snapshot;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * runtime state of a workflow kept in the master snapshot
+ */
+public class WorkflowSnapshot {
+
+    /**
+     * process instance id
+     */
+    private int processInstanceId;
+
+    /**
+     * valid task instances of the process instance, task params and environment config are only kept by hash
+     */
+    private List<TaskInstance> taskInstances = new ArrayList<>();
+
+    /**
+     * fingerprint of the task instances the snapshot is copied from, not written to the snapshot file
+     */
+    private long sourceFingerprint;
+
+    public WorkflowSnapshot() {
+    }
+
+    public WorkflowSnapshot(int processInstanceId, List<TaskInstance> taskInstances) {
+        this.processInstanceId = processInstanceId;
+        this.taskInstances = taskInstances;
+    }
+
+    public int getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(int processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public List<TaskInstance> getTaskInstances() {
+        return taskInstances;
+    }
+
+    public void setTaskInstances(List<TaskInstance> taskInstances) {
+        this.taskInstances = taskInstances;
+    }
+
+    long sourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    void setSourceFingerprint(long sourceFingerprint) {
+        this.sourceFingerprint = sourceFingerprint;
+    }
+
+    /**
+     * the fingerprint changes whenever one of the task instances is written to db
+     *
+     * @return fingerprint
+     */
+    public long fingerprint() {
+        long fingerprint = 1;
+        for (TaskInstance taskInstance : taskInstances) {
+            fingerprint = 31 * fingerprint + taskInstance.getId();
+            fingerprint = 31 * fingerprint + (taskInstance.getUpdateTime() == null ? 0 : taskInstance.getUpdateTime().getTime());
+        }
+        return fingerprint;
+    }
+}
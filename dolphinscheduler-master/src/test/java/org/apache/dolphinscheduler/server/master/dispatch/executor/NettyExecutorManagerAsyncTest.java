@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.executor;
+
+import org.apache.dolphinscheduler.remote.NettyRemotingServer;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.Ping;
+import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
+import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
+import org.apache.dolphinscheduler.server.master.processor.TaskAckProcessor;
+import org.apache.dolphinscheduler.server.master.processor.TaskKillResponseProcessor;
+import org.apache.dolphinscheduler.server.master.processor.TaskResponseProcessor;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * netty executor manager async dispatch test
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class NettyExecutorManagerAsyncTest {
+
+    private static final int PORT = 30001;
+
+    private static final String DEAD_HOST = "127.0.0.1:1";
+
+    private static final String LIVE_HOST = "127.0.0.1:" + PORT;
+
+    @InjectMocks
+    private NettyExecutorManager nettyExecutorManager;
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @Mock
+    private TaskAckProcessor taskAckProcessor;
+
+    @Mock
+    private TaskKillResponseProcessor taskKillResponseProcessor;
+
+    @Mock
+    private TaskResponseProcessor taskResponseProcessor;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    private NettyRemotingServer nettyRemotingServer;
+
+    private final CountDownLatch received = new CountDownLatch(1);
+
+    @Before
+    public void before() {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        serverConfig.setListenPort(PORT);
+        nettyRemotingServer = new NettyRemotingServer(serverConfig);
+        nettyRemotingServer.registerProcessor(CommandType.PING, (channel, command) -> received.countDown());
+        nettyRemotingServer.start();
+        nettyExecutorManager.init();
+    }
+
+    @After
+    public void after() {
+        nettyExecutorManager.getNettyRemotingClient().close();
+        nettyExecutorManager.close();
+        nettyRemotingServer.close();
+    }
+
+    @Test
+    public void testFailoverToNextNode() throws Exception {
+        Mockito.when(serverNodeManager.getWorkerGroupNodes("default"))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList(DEAD_HOST, LIVE_HOST)));
+        ExecutionContext context = new ExecutionContext(Ping.create(), ExecutorType.WORKER, "default");
+        context.setHost(Host.of(DEAD_HOST));
+
+        Assert.assertTrue(nettyExecutorManager.executeAsync(context).get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(LIVE_HOST, context.getHost().getAddress());
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailAfterAllNodes() throws Exception {
+        Mockito.when(serverNodeManager.getWorkerGroupNodes("default"))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList(DEAD_HOST)));
+        ExecutionContext context = new ExecutionContext(Ping.create(), ExecutorType.WORKER, "default");
+        context.setHost(Host.of(DEAD_HOST));
+
+        try {
+            nettyExecutorManager.executeAsync(context).get(5, TimeUnit.SECONDS);
+            Assert.fail("expected dispatch failure");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ExecuteException);
+        }
+    }
+
+    @Test(expected = ExecuteException.class)
+    public void testInflightLimit() throws Exception {
+        masterConfig.setDispatchMaxInflight(0);
+        nettyExecutorManager.init();
+        ExecutionContext context = new ExecutionContext(Ping.create(), ExecutorType.WORKER, "default");
+        context.setHost(Host.of(LIVE_HOST));
+        nettyExecutorManager.execute(context);
+    }
+}
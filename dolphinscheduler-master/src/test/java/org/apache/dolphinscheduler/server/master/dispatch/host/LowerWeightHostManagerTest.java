@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * LowerWeightHostManager test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LowerWeightHostManagerTest {
+
+    private static final String[] WORKERS = {"192.168.1.1:1234", "192.168.1.2:1234", "192.168.1.3:1234"};
+
+    private static final int[] RUNNING_TASKS = {8, 4, 0};
+
+    private static final int EXEC_THREADS = 10;
+
+    private static final int DISPATCHED_TASKS = 30;
+
+    private static final int TASKS_PER_REFRESH = 3;
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @InjectMocks
+    private LowerWeightHostManager lowerWeightHostManager;
+
+    private final long startupTime = System.currentTimeMillis() - 60 * 60 * 1000;
+
+    private final long reportTime = System.currentTimeMillis();
+
+    @Before
+    public void before() {
+        Set<String> nodes = new LinkedHashSet<>();
+        Collections.addAll(nodes, WORKERS);
+        Mockito.when(serverNodeManager.getWorkerGroupNodes()).thenReturn(Collections.singletonMap("default", nodes));
+        for (int i = 0; i < WORKERS.length; i++) {
+            // same host load everywhere, only the tasks the workers run differ
+            String heartBeat = "0.2,0.5,1.0,8.0,10.0,0.3," + startupTime + "," + reportTime + ",0,100,100,"
+                    + EXEC_THREADS + ",0," + RUNNING_TASKS[i] + ",SHELL:" + RUNNING_TASKS[i] + ",0.2,0.5,1.0";
+            Mockito.when(serverNodeManager.getWorkerNodeInfo(WORKERS[i])).thenReturn(heartBeat);
+        }
+        lowerWeightHostManager.init();
+    }
+
+    @After
+    public void after() {
+        lowerWeightHostManager.close();
+    }
+
+    @Test
+    public void testSelectBalancesCommittedTasks() {
+        ExecutionContext context = new ExecutionContext(null, ExecutorType.WORKER, "default");
+        Map<String, Integer> dispatched = new HashMap<>();
+        for (int i = 0; i < DISPATCHED_TASKS; i++) {
+            if (i % TASKS_PER_REFRESH == 0) {
+                lowerWeightHostManager.new RefreshResourceTask().run();
+            }
+            Host host = lowerWeightHostManager.select(context);
+            dispatched.merge(host.getAddress(), 1, Integer::sum);
+        }
+
+        int spread = committedTaskSpread(dispatched);
+        int hostLoadOnlySpread = committedTaskSpread(dispatchByHostLoadOnly());
+        Assert.assertTrue("spread " + spread + " should be at most half of " + hostLoadOnlySpread, spread * 2 <= hostLoadOnlySpread);
+    }
+
+    @Test
+    public void testHeartbeatCountsEarlierDispatchesOnly() throws Exception {
+        // refresh by hand only, a refresh reading the heartbeats in between would move the receive times
+        lowerWeightHostManager.close();
+        ExecutionContext context = new ExecutionContext(null, ExecutorType.WORKER, "default");
+        lowerWeightHostManager.new RefreshResourceTask().run();
+        lowerWeightHostManager.select(context);
+        lowerWeightHostManager.select(context);
+        Thread.sleep(5);
+        lowerWeightHostManager.new RefreshResourceTask().run();
+        Assert.assertEquals(2, dispatchedTaskCount(reportTime));
+
+        // the clock of the workers is an hour behind, the new heartbeat still counts the tasks dispatched before it
+        long newReportTime = reportTime - 60 * 60 * 1000;
+        for (int i = 0; i < WORKERS.length; i++) {
+            String heartBeat = "0.2,0.5,1.0,8.0,10.0,0.3," + startupTime + "," + newReportTime + ",0,100,100,"
+                    + EXEC_THREADS + ",0," + RUNNING_TASKS[i] + ",SHELL:" + RUNNING_TASKS[i] + ",0.2,0.5,1.0";
+            Mockito.when(serverNodeManager.getWorkerNodeInfo(WORKERS[i])).thenReturn(heartBeat);
+        }
+        Thread.sleep(5);
+        lowerWeightHostManager.new RefreshResourceTask().run();
+        lowerWeightHostManager.select(context);
+
+        Assert.assertEquals(1, dispatchedTaskCount(newReportTime));
+        Assert.assertEquals(1, dispatchedTaskCount(newReportTime));
+    }
+
+    private int dispatchedTaskCount(long reportTime) {
+        int count = 0;
+        for (String worker : WORKERS) {
+            count += lowerWeightHostManager.getDispatchedTaskCount(worker,
+                    lowerWeightHostManager.getHeartBeatReceiveTime(worker, reportTime));
+        }
+        return count;
+    }
+
+    /**
+     * dispatch the same tasks weighting the workers by host load only, like the heartbeat without tasks did
+     */
+    private Map<String, Integer> dispatchByHostLoadOnly() {
+        LowerWeightRoundRobin selector = new LowerWeightRoundRobin();
+        Map<String, Integer> dispatched = new HashMap<>();
+        List<HostWeight> hostWeights = new ArrayList<>();
+        for (int i = 0; i < DISPATCHED_TASKS; i++) {
+            if (i % TASKS_PER_REFRESH == 0) {
+                hostWeights.clear();
+                for (String worker : WORKERS) {
+                    hostWeights.add(new HostWeight(HostWorker.of(worker, 100, "default"), 0.2, 0.5, 1.0, startupTime));
+                }
+            }
+            dispatched.merge(selector.select(hostWeights).getHost().getAddress(), 1, Integer::sum);
+        }
+        return dispatched;
+    }
+
+    private int committedTaskSpread(Map<String, Integer> dispatched) {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < WORKERS.length; i++) {
+            int committed = RUNNING_TASKS[i] + dispatched.getOrDefault(WORKERS[i], 0);
+            min = Math.min(min, committed);
+            max = Math.max(max, committed);
+        }
+        return max - min;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.snapshot;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThread;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class MasterSnapshotServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @InjectMocks
+    private MasterSnapshotService masterSnapshotService;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private WorkflowExecuteThread workflowExecuteThread;
+
+    @Before
+    public void before() throws IOException {
+        Mockito.when(masterConfig.isSnapshotEnabled()).thenReturn(true);
+        Mockito.when(masterConfig.getSnapshotPath()).thenReturn(folder.newFolder().getAbsolutePath());
+        Mockito.when(masterConfig.getListenPort()).thenReturn(5678);
+        Mockito.when(masterConfig.getSnapshotInterval()).thenReturn(300);
+        Mockito.when(masterConfig.getSnapshotDeltaInterval()).thenReturn(1);
+
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(10);
+        Mockito.when(workflowExecuteThread.isStart()).thenReturn(true);
+        Mockito.when(workflowExecuteThread.getProcessInstance()).thenReturn(processInstance);
+        WorkflowSnapshot workflowSnapshot = masterSnapshotService.snapshot(10, Arrays.asList(
+                getTaskInstance(1, ExecutionStatus.SUCCESS), getTaskInstance(2, ExecutionStatus.RUNNING_EXECUTION)), null);
+        Mockito.when(workflowExecuteThread.getSnapshot()).thenReturn(workflowSnapshot);
+        Mockito.when(processInstanceExecCacheManager.getAll()).thenReturn(Collections.singletonList(workflowExecuteThread));
+    }
+
+    @After
+    public void after() {
+        masterSnapshotService.close();
+    }
+
+    @Test
+    public void testRecoverFromSnapshot() {
+        masterSnapshotService.start();
+        masterSnapshotService.close();
+
+        // restart, task instance 2 finished after the snapshot
+        Mockito.when(processInstanceExecCacheManager.getAll()).thenReturn(Collections.emptyList());
+        Mockito.when(processService.findTaskListUpdatedAfter(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Collections.singletonList(getTaskInstance(2, ExecutionStatus.SUCCESS)));
+        masterSnapshotService.start();
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(10);
+        masterSnapshotService.reconcile(Collections.singletonList(processInstance));
+
+        List<TaskInstance> validTaskList = masterSnapshotService.takeValidTaskList(10);
+        Assert.assertNotNull(validTaskList);
+        Assert.assertEquals(2, validTaskList.size());
+        for (TaskInstance taskInstance : validTaskList) {
+            Assert.assertEquals(ExecutionStatus.SUCCESS, taskInstance.getState());
+            Assert.assertEquals("hash" + taskInstance.getId(), taskInstance.getTaskParamsHash());
+        }
+        Mockito.verify(processService, Mockito.times(1)).loadTaskInstanceBlobs(ArgumentMatchers.any());
+        Assert.assertNull(masterSnapshotService.takeValidTaskList(10));
+    }
+
+    @Test
+    public void testRemovedTaskInstance() {
+        masterSnapshotService.start();
+        masterSnapshotService.close();
+
+        TaskInstance removedTaskInstance = getTaskInstance(1, ExecutionStatus.SUCCESS);
+        removedTaskInstance.setFlag(Flag.NO);
+        Mockito.when(processService.findTaskListUpdatedAfter(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Collections.singletonList(removedTaskInstance));
+        masterSnapshotService.start();
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(10);
+        masterSnapshotService.reconcile(Collections.singletonList(processInstance));
+
+        List<TaskInstance> validTaskList = masterSnapshotService.takeValidTaskList(10);
+        Assert.assertEquals(1, validTaskList.size());
+        Assert.assertEquals(2, validTaskList.get(0).getId());
+    }
+
+    @Test
+    public void testNotInSnapshot() {
+        masterSnapshotService.start();
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(11);
+        masterSnapshotService.reconcile(Collections.singletonList(processInstance));
+        Assert.assertNull(masterSnapshotService.takeValidTaskList(11));
+        Mockito.verify(processService, Mockito.never()).findTaskListUpdatedAfter(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testSnapshotCopies() {
+        TaskInstance taskInstance = getTaskInstance(3, ExecutionStatus.RUNNING_EXECUTION);
+        WorkflowSnapshot workflowSnapshot = masterSnapshotService.snapshot(10, Arrays.asList(taskInstance, null), null);
+        Assert.assertEquals(1, workflowSnapshot.getTaskInstances().size());
+        Assert.assertNotSame(taskInstance, workflowSnapshot.getTaskInstances().get(0));
+
+        // changed in memory but not written to db yet
+        taskInstance.setState(ExecutionStatus.SUCCESS);
+        Assert.assertSame(workflowSnapshot, masterSnapshotService.snapshot(10, Collections.singletonList(taskInstance), workflowSnapshot));
+        Assert.assertEquals(ExecutionStatus.RUNNING_EXECUTION, workflowSnapshot.getTaskInstances().get(0).getState());
+
+        // written to db
+        taskInstance.setUpdateTime(new Date(taskInstance.getUpdateTime().getTime() + 1000));
+        WorkflowSnapshot writtenSnapshot = masterSnapshotService.snapshot(10, Collections.singletonList(taskInstance), workflowSnapshot);
+        Assert.assertEquals(ExecutionStatus.SUCCESS, writtenSnapshot.getTaskInstances().get(0).getState());
+        Assert.assertEquals("hash3", writtenSnapshot.getTaskInstances().get(0).getTaskParamsHash());
+
+        Mockito.when(masterConfig.isSnapshotEnabled()).thenReturn(false);
+        Assert.assertNull(masterSnapshotService.snapshot(10, Collections.singletonList(taskInstance), null));
+    }
+
+    private TaskInstance getTaskInstance(int id, ExecutionStatus state) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setProcessInstanceId(10);
+        taskInstance.setState(state);
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setTaskParams("{}");
+        taskInstance.setTaskParamsHash("hash" + id);
+        taskInstance.setStartTime(new Date());
+        taskInstance.setUpdateTime(new Date());
+        return taskInstance;
+    }
+}
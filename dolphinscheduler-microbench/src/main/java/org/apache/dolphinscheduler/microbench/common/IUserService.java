@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.microbench.common;
 
 import org.apache.dolphinscheduler.rpc.base.Rpc;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * IUserService
  */
@@ -28,4 +30,6 @@ public interface IUserService {
     Boolean say(String s);
 
     Integer hi(int num);
+
+    CompletableFuture<Integer> hiAsync(int num);
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.common.utils.OSUserDirectory;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * the tenant check done before every task is launched, listing the os users every time
+ * and keeping them until /etc/passwd changes
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class OSUserBenchmark extends AbstractBaseBenchmark {
+
+    private static final File PASSWD = new File("/etc/passwd");
+
+    private final OSUserDirectory uncached = new OSUserDirectory(OSUserBenchmark::listUsers, PASSWD, -1);
+
+    private final OSUserDirectory cached = new OSUserDirectory(OSUserBenchmark::listUsers, PASSWD, TimeUnit.MINUTES.toMillis(1));
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(8)
+    public boolean listEveryTime() {
+        return uncached.contains("root");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(8)
+    public boolean keepUntilChanged() {
+        return cached.contains("root");
+    }
+
+    private static List<String> listUsers() throws IOException {
+        List<String> users = new ArrayList<>();
+        for (String line : Files.readAllLines(PASSWD.toPath(), StandardCharsets.UTF_8)) {
+            if (line.contains(":")) {
+                users.add(line.split(":")[0]);
+            }
+        }
+        return users;
+    }
+}
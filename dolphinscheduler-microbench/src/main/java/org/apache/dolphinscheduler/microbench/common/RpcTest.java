@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.rpc.client.RpcClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyServer;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -36,6 +37,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 @Warmup(iterations = 5, time = 1)
@@ -43,29 +45,49 @@ import org.openjdk.jmh.annotations.Warmup;
 @State(Scope.Benchmark)
 @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
 public class RpcTest extends AbstractBaseBenchmark {
+
+    private static final int BATCH = 64;
+
     private NettyServer nettyServer;
 
     private IUserService userService;
 
-    private Host host;
-    private IRpcClient rpcClient = new RpcClient();
-
     @Setup
     public void before() throws Exception {
         nettyServer = new NettyServer(new NettyServerConfig());
         IRpcClient rpcClient = new RpcClient();
-        host = new Host("127.0.0.1", 12346);
+        Host host = new Host("127.0.0.1", 12346);
         userService = rpcClient.create(IUserService.class, host);
-
     }
 
     @Benchmark
     @BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
     @OutputTimeUnit(TimeUnit.MILLISECONDS)
-    public void sendTest() throws Exception {
+    public Integer sendTest() {
+        return userService.hi(1);
+    }
 
-        userService = rpcClient.create(IUserService.class, host);
-        Integer result = userService.hi(1);
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Integer concurrentSendTest() {
+        return userService.hi(1);
+    }
+
+    /**
+     * keeps {@link #BATCH} calls in flight per thread
+     */
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void asyncSendTest() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = userService.hiAsync(i);
+        }
+        CompletableFuture.allOf(futures).join();
     }
 
     @TearDown
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.microbench.common;
 
 import org.apache.dolphinscheduler.rpc.base.RpcService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * UserService
  */
@@ -34,4 +36,9 @@ public class UserService implements IUserService {
     public Integer hi(int num) {
         return ++num;
     }
+
+    @Override
+    public CompletableFuture<Integer> hiAsync(int num) {
+        return CompletableFuture.completedFuture(num + 1);
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializer;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * serialize and deserialize every command body with each body serializer
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class BodySerializerBenchmark extends AbstractBaseBenchmark {
+
+    private static final String COMMAND_PACKAGE = "org.apache.dolphinscheduler.remote.command.";
+
+    private static final Map<String, String> COMMANDS = new HashMap<>();
+
+    static {
+        COMMANDS.put("TaskExecuteRequestCommand", "{\"taskExecutionContext\":\"{\\\"taskInstanceId\\\":1,\\\"taskName\\\":\\\"shell\\\","
+                + "\\\"taskType\\\":\\\"SHELL\\\",\\\"host\\\":\\\"127.0.0.1:1234\\\",\\\"executePath\\\":\\\"/tmp/exec\\\"}\"}");
+        COMMANDS.put("TaskExecuteAckCommand", "{\"taskInstanceId\":1,\"processInstanceId\":2,\"startTime\":\"2021-12-01 10:00:00\","
+                + "\"host\":\"127.0.0.1:1234\",\"status\":1,\"logPath\":\"/tmp/1.log\",\"executePath\":\"/tmp/exec\"}");
+        COMMANDS.put("TaskExecuteResponseCommand", "{\"taskInstanceId\":1,\"processInstanceId\":2,\"status\":7,"
+                + "\"endTime\":\"2021-12-01 10:00:00\",\"processId\":100,\"appIds\":\"application_1_1\",\"varPool\":\"[]\"}");
+        COMMANDS.put("StateEventChangeCommand", "{\"key\":\"1-2-3-4\",\"sourceStatus\":\"SUCCESS\",\"sourceProcessInstanceId\":1,"
+                + "\"sourceTaskInstanceId\":2,\"destProcessInstanceId\":3,\"destTaskInstanceId\":4}");
+        COMMANDS.put("StateEventResponseCommand", "{\"key\":\"1-2-3-4\",\"status\":1}");
+        COMMANDS.put("TaskEventChangeCommand", "{\"key\":\"1-2\",\"processInstanceId\":1,\"taskInstanceId\":2}");
+        COMMANDS.put("DBTaskAckCommand", "{\"taskInstanceId\":1,\"status\":1}");
+        COMMANDS.put("DBTaskResponseCommand", "{\"taskInstanceId\":1,\"status\":1}");
+        COMMANDS.put("TaskKillRequestCommand", "{\"taskInstanceId\":1}");
+        COMMANDS.put("TaskKillResponseCommand", "{\"taskInstanceId\":1,\"host\":\"127.0.0.1:1234\",\"status\":9,"
+                + "\"processId\":100,\"appIds\":[\"application_1_1\"]}");
+        COMMANDS.put("HostUpdateCommand", "{\"taskInstanceId\":1,\"processHost\":\"127.0.0.1:5678\"}");
+        COMMANDS.put("HostUpdateResponseCommand", "{\"taskInstanceId\":1,\"processHost\":\"127.0.0.1:5678\",\"status\":1}");
+        COMMANDS.put("CacheExpireCommand", "{\"cacheType\":\"TENANT\",\"cacheKey\":\"1\"}");
+        COMMANDS.put("alert.AlertSendRequestCommand", "{\"groupId\":1,\"title\":\"title\",\"content\":\"content\"}");
+        COMMANDS.put("alert.AlertSendResponseCommand", "{\"resStatus\":true,\"resResults\":[{\"status\":true,\"message\":\"ok\"}]}");
+        COMMANDS.put("log.GetLogBytesRequestCommand", "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put("log.GetLogBytesResponseCommand", "{\"data\":\"bG9n\"}");
+        COMMANDS.put("log.RemoveTaskLogRequestCommand", "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put("log.RemoveTaskLogResponseCommand", "{\"status\":true}");
+        COMMANDS.put("log.RollViewLogRequestCommand", "{\"path\":\"/tmp/1.log\",\"skipLineNum\":10,\"limit\":100}");
+        COMMANDS.put("log.RollViewLogResponseCommand", "{\"msg\":\"log\"}");
+        COMMANDS.put("log.ViewLogRequestCommand", "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put("log.ViewLogResponseCommand", "{\"msg\":\"log\"}");
+    }
+
+    @Param({"TaskExecuteRequestCommand", "TaskExecuteAckCommand", "TaskExecuteResponseCommand", "StateEventChangeCommand",
+            "StateEventResponseCommand", "TaskEventChangeCommand", "DBTaskAckCommand", "DBTaskResponseCommand",
+            "TaskKillRequestCommand", "TaskKillResponseCommand", "HostUpdateCommand", "HostUpdateResponseCommand",
+            "CacheExpireCommand", "alert.AlertSendRequestCommand", "alert.AlertSendResponseCommand",
+            "log.GetLogBytesRequestCommand", "log.GetLogBytesResponseCommand", "log.RemoveTaskLogRequestCommand",
+            "log.RemoveTaskLogResponseCommand", "log.RollViewLogRequestCommand", "log.RollViewLogResponseCommand",
+            "log.ViewLogRequestCommand", "log.ViewLogResponseCommand"})
+    private String command;
+
+    @Param({"JSON", "PROTOSTUFF"})
+    private BodySerializerType serializerType;
+
+    private Class<?> bodyClass;
+
+    private Object body;
+
+    private BodySerializer serializer;
+
+    private ByteBuf buffer;
+
+    @Setup
+    public void before() throws ClassNotFoundException {
+        bodyClass = Class.forName(COMMAND_PACKAGE + command);
+        body = JSONUtils.parseObject(COMMANDS.get(command), bodyClass);
+        serializer = serializerType.getSerializer();
+        buffer = PooledByteBufAllocator.DEFAULT.directBuffer(1024);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object roundTripTest() throws IOException {
+        buffer.clear();
+        serializer.serialize(body, buffer);
+        return serializer.deserialize(buffer, bodyClass);
+    }
+
+    @TearDown
+    public void after() {
+        buffer.release();
+    }
+}
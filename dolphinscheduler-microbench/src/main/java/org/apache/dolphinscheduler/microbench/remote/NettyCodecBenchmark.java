@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * encode and decode a task response with each protocol version and body serializer
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class NettyCodecBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"0", "1"})
+    private byte version;
+
+    @Param({"JSON", "PROTOSTUFF"})
+    private BodySerializerType serializer;
+
+    @Param({"128", "16384"})
+    private int varPoolSize;
+
+    private EmbeddedChannel encoderChannel;
+
+    private EmbeddedChannel decoderChannel;
+
+    private TaskExecuteResponseCommand responseCommand;
+
+    @Setup
+    public void before() {
+        encoderChannel = new EmbeddedChannel(new NettyEncoder(version, serializer));
+        decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        responseCommand = new TaskExecuteResponseCommand(1, 1);
+        responseCommand.setEndTime(new Date());
+        responseCommand.setAppIds("application_1_1");
+        StringBuilder varPool = new StringBuilder(varPoolSize);
+        while (varPool.length() < varPoolSize) {
+            varPool.append('v');
+        }
+        responseCommand.setVarPool(varPool.toString());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskExecuteResponseCommand codecTest() {
+        encoderChannel.writeOutbound(responseCommand.convert2Command());
+        ByteBuf frame = encoderChannel.readOutbound();
+        decoderChannel.writeInbound(frame);
+        Command command = decoderChannel.readInbound();
+        try {
+            return command.parseBody(TaskExecuteResponseCommand.class);
+        } finally {
+            command.release();
+        }
+    }
+
+    @TearDown
+    public void after() {
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+    }
+}
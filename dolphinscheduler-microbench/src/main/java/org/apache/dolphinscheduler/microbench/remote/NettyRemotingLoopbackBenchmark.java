@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.NettyRemotingServer;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.DBTaskAckCommand;
+import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * one way commands over loopback with and without batch frames, like the results a worker reports to a master
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class NettyRemotingLoopbackBenchmark extends AbstractBaseBenchmark {
+
+    private static final int BURST = 1000;
+
+    @Param({"false", "true"})
+    private boolean batchEnabled;
+
+    private NettyRemotingServer server;
+
+    private NettyRemotingClient client;
+
+    private Host host;
+
+    private final AtomicReference<CountDownLatch> latch = new AtomicReference<>();
+
+    @Setup
+    public void before() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        serverConfig.setListenPort(12347);
+        serverConfig.setBatchEnabled(batchEnabled);
+        server = new NettyRemotingServer(serverConfig);
+        server.registerProcessor(CommandType.DB_TASK_ACK, (channel, command) -> {
+            command.parseBody(DBTaskAckCommand.class);
+            latch.get().countDown();
+        });
+        server.start();
+
+        NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setBatchEnabled(batchEnabled);
+        client = new NettyRemotingClient(clientConfig);
+        host = new Host("127.0.0.1", serverConfig.getListenPort());
+        // connect before measuring
+        latch.set(new CountDownLatch(1));
+        client.send(host, new DBTaskAckCommand(1, 1).convert2Command());
+        latch.get().await();
+    }
+
+    /**
+     * throughput of a burst of commands, each written and flushed on its own by the caller
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BURST)
+    public void burstTest() throws Exception {
+        CountDownLatch burstLatch = new CountDownLatch(BURST);
+        latch.set(burstLatch);
+        for (int i = 0; i < BURST; i++) {
+            client.send(host, new DBTaskAckCommand(1, i).convert2Command());
+        }
+        burstLatch.await();
+    }
+
+    /**
+     * latency of a single command when the channel is idle, which is bounded by the flush delay while batching
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latencyTest() throws Exception {
+        CountDownLatch singleLatch = new CountDownLatch(1);
+        latch.set(singleLatch);
+        client.send(host, new DBTaskAckCommand(1, 1).convert2Command());
+        singleLatch.await();
+    }
+
+    @TearDown
+    public void after() {
+        client.close();
+        server.close();
+    }
+}
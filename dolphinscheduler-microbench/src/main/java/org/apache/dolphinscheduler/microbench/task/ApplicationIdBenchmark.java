@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.microbench.task;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.ApplicationIdCollector;
+import org.apache.dolphinscheduler.spi.task.TaskConstants;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * find the application ids of a large task log, by rescanning the log file once the task finished
+ * and by collecting them from every output line as it is read
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class ApplicationIdBenchmark extends AbstractBaseBenchmark {
+
+    private static final Pattern APPLICATION_PATTERN = Pattern.compile(TaskConstants.APPLICATION_REGEX);
+
+    @Param({"10000", "500000"})
+    private int lines;
+
+    private Path logFile;
+
+    private List<String> output;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("app-id-benchmark", ".log");
+        output = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            if (i % 50000 == 0) {
+                output.add(String.format("INFO impl.YarnClientImpl: Submitted application application_1638000000000_%04d", i / 50000));
+            } else {
+                output.add("INFO mapreduce.Job:  map " + (i % 100) + "% reduce 0%, processed " + i + " records");
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8)) {
+            for (String line : output) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Set<String> rescanLog() throws IOException {
+        Set<String> appIds = new LinkedHashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = APPLICATION_PATTERN.matcher(line);
+                while (matcher.find()) {
+                    appIds.add(matcher.group());
+                }
+            }
+        }
+        return appIds;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> collectLines() {
+        ApplicationIdCollector collector = new ApplicationIdCollector();
+        for (String line : output) {
+            collector.collect(line);
+        }
+        return collector.getAppIds();
+    }
+}
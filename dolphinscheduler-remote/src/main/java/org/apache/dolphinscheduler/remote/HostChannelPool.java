@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote;
+
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+
+/**
+ * channels of a client to one host
+ * <p>
+ * the pool holds a fixed number of slots, each with the connect future of its channel. slots are connected lazily and
+ * picked round robin, skipping channels above their write buffer high water mark. a slot being connected is shared by
+ * every caller picking it. the pool is locked only while a connect is started, never while it is in progress, so an
+ * unreachable host does not hold up the others.
+ */
+final class HostChannelPool {
+
+    private final Host host;
+
+    private final AtomicReferenceArray<ChannelFuture> slots;
+
+    private final Function<Host, ChannelFuture> connector;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    HostChannelPool(Host host, int size, Function<Host, ChannelFuture> connector) {
+        this.host = host;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.connector = connector;
+    }
+
+    /**
+     * pick the connect future of the next channel, connecting a broken or empty slot if needed
+     *
+     * @return connect future, it may not be done yet
+     */
+    ChannelFuture acquire() {
+        int size = slots.length();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        ChannelFuture congested = null;
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            ChannelFuture future = slots.get(index);
+            if (future == null || isBroken(future)) {
+                return connect(index, future);
+            }
+            if (!future.isDone() || future.channel().isWritable()) {
+                return future;
+            }
+            if (congested == null) {
+                congested = future;
+            }
+        }
+        return congested;
+    }
+
+    /**
+     * whether a command written now would be queued behind a full write buffer
+     *
+     * @return false if every connected channel is above its high water mark
+     */
+    boolean isWritable() {
+        boolean connected = false;
+        for (int i = 0; i < slots.length(); i++) {
+            ChannelFuture future = slots.get(i);
+            if (future != null && future.isDone() && future.isSuccess() && future.channel().isActive()) {
+                if (future.channel().isWritable()) {
+                    return true;
+                }
+                connected = true;
+            }
+        }
+        return !connected;
+    }
+
+    /**
+     * forget the channel, its slot is connected again when picked
+     *
+     * @param channel channel
+     */
+    void remove(Channel channel) {
+        for (int i = 0; i < slots.length(); i++) {
+            ChannelFuture future = slots.get(i);
+            if (future != null && future.channel() == channel) {
+                slots.compareAndSet(i, future, null);
+            }
+        }
+    }
+
+    /**
+     * close all channels, pending connects are cancelled
+     */
+    void close() {
+        for (int i = 0; i < slots.length(); i++) {
+            ChannelFuture future = slots.getAndSet(i, null);
+            if (future != null) {
+                future.channel().close();
+            }
+        }
+    }
+
+    private ChannelFuture connect(int index, ChannelFuture expected) {
+        synchronized (this) {
+            ChannelFuture current = slots.get(index);
+            if (current != expected && current != null && !isBroken(current)) {
+                return current;
+            }
+            if (current != null) {
+                current.channel().close();
+            }
+            ChannelFuture future = connector.apply(host);
+            slots.set(index, future);
+            return future;
+        }
+    }
+
+    private static boolean isBroken(ChannelFuture future) {
+        return future.isDone() && (!future.isSuccess() || !future.channel().isActive());
+    }
+}
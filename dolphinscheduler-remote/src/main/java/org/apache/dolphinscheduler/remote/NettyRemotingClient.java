@@ -28,6 +28,8 @@ import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestExcep
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
+import org.apache.dolphinscheduler.remote.future.ResponseFutureTable;
+import org.apache.dolphinscheduler.remote.handler.NettyBatchHandler;
 import org.apache.dolphinscheduler.remote.handler.NettyClientHandler;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.CallerThreadExecutePolicy;
@@ -37,11 +39,10 @@ import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -55,9 +56,11 @@ import org.slf4j.LoggerFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -78,12 +81,12 @@ public class NettyRemotingClient {
     /**
      * encoder
      */
-    private final NettyEncoder encoder = new NettyEncoder();
+    private final NettyEncoder encoder;
 
     /**
-     * channels
+     * channels by host
      */
-    private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
+    private final ConcurrentHashMap<Host, HostChannelPool> channels = new ConcurrentHashMap<>(128);
 
     /**
      * started flag
@@ -116,9 +119,9 @@ public class NettyRemotingClient {
     private final NettyClientHandler clientHandler;
 
     /**
-     * response future executor
+     * in flight requests of this client
      */
-    private final ScheduledExecutorService responseFutureExecutor;
+    private final ResponseFutureTable futureTable;
 
     /**
      * client init
@@ -127,6 +130,8 @@ public class NettyRemotingClient {
      */
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.encoder = new NettyEncoder(clientConfig.getProtocolVersion(), clientConfig.getSerializer(),
+                clientConfig.getCompressor(), clientConfig.getCompressionThreshold());
         if (NettyUtils.useEpoll()) {
             this.workerGroup = new EpollEventLoopGroup(clientConfig.getWorkerThreads(), new ThreadFactory() {
                 private final AtomicInteger threadIndex = new AtomicInteger(0);
@@ -149,9 +154,8 @@ public class NettyRemotingClient {
         this.callbackExecutor = new ThreadPoolExecutor(5, 10, 1, TimeUnit.MINUTES,
                 new LinkedBlockingQueue<>(1000), new NamedThreadFactory("CallbackExecutor", 10),
                 new CallerThreadExecutePolicy());
-        this.clientHandler = new NettyClientHandler(this, callbackExecutor);
-
-        this.responseFutureExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("ResponseFutureExecutor"));
+        this.futureTable = new ResponseFutureTable(callbackExecutor);
+        this.clientHandler = new NettyClientHandler(this, futureTable, callbackExecutor);
 
         this.start();
     }
@@ -169,15 +173,20 @@ public class NettyRemotingClient {
                 .option(ChannelOption.SO_SNDBUF, clientConfig.getSendBufferSize())
                 .option(ChannelOption.SO_RCVBUF, clientConfig.getReceiveBufferSize())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, clientConfig.getConnectTimeoutMillis())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(clientConfig.getWriteBufferLowWaterMark(),
+                        clientConfig.getWriteBufferHighWaterMark()))
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel ch) {
                         ch.pipeline()
                                 .addLast("client-idle-handler", new IdleStateHandler(Constants.NETTY_CLIENT_HEART_BEAT_TIME, 0, 0, TimeUnit.MILLISECONDS))
-                                .addLast(new NettyDecoder(), clientHandler, encoder);
+                                .addLast(new NettyDecoder(clientConfig.getMaxFrameLength()), clientHandler, encoder);
+                        if (clientConfig.isBatchEnabled()) {
+                            ch.pipeline().addLast("batch", new NettyBatchHandler(clientConfig.getProtocolVersion(),
+                                    clientConfig.getBatchMaxSize(), clientConfig.getBatchFlushDelayMillis()));
+                        }
                     }
                 });
-        this.responseFutureExecutor.scheduleAtFixedRate(ResponseFuture::scanFutureTable, 5000, 1000, TimeUnit.MILLISECONDS);
         isStarted.compareAndSet(false, true);
     }
 
@@ -214,6 +223,7 @@ public class NettyRemotingClient {
                     timeoutMillis,
                     invokeCallback,
                     releaseSemaphore);
+            futureTable.put(responseFuture);
             try {
                 channel.writeAndFlush(command).addListener(future -> {
                     if (future.isSuccess()) {
@@ -222,6 +232,10 @@ public class NettyRemotingClient {
                     } else {
                         responseFuture.setSendOk(false);
                     }
+                    if (!futureTable.remove(responseFuture)) {
+                        // already expired
+                        return;
+                    }
                     responseFuture.setCause(future.cause());
                     responseFuture.putResponse(null);
                     try {
@@ -233,7 +247,9 @@ public class NettyRemotingClient {
                     }
                 });
             } catch (Exception ex) {
-                responseFuture.release();
+                if (futureTable.remove(responseFuture)) {
+                    responseFuture.release();
+                }
                 throw new RemotingException(String.format("send command to host: %s failed", host), ex);
             }
         } else {
@@ -258,6 +274,7 @@ public class NettyRemotingClient {
         }
         final long opaque = command.getOpaque();
         final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis, null, null);
+        futureTable.put(responseFuture);
         channel.writeAndFlush(command).addListener(future -> {
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
@@ -265,6 +282,7 @@ public class NettyRemotingClient {
             } else {
                 responseFuture.setSendOk(false);
             }
+            futureTable.remove(responseFuture);
             responseFuture.setCause(future.cause());
             responseFuture.putResponse(null);
             logger.error("send command {} to host {} failed", command, host);
@@ -274,6 +292,7 @@ public class NettyRemotingClient {
          */
         Command result = responseFuture.waitResponse();
         if (result == null) {
+            futureTable.remove(responseFuture);
             if (responseFuture.isSendOK()) {
                 throw new RemotingTimeoutException(host.toString(), timeoutMillis, responseFuture.getCause());
             } else {
@@ -309,6 +328,33 @@ public class NettyRemotingClient {
         }
     }
 
+    /**
+     * send without waiting for the connection or the write, and without expecting a response
+     *
+     * @param host host
+     * @param command command
+     * @return future completed once the command is written, failed with a RemotingException if the host can not be
+     * connected or the write fails
+     */
+    public CompletableFuture<Void> sendAsync(final Host host, final Command command) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        acquire(host).addListener((ChannelFutureListener) connectFuture -> {
+            if (!connectFuture.isSuccess() || !connectFuture.channel().isActive()) {
+                result.completeExceptionally(new RemotingException(String.format("connect to : %s fail", host), connectFuture.cause()));
+                return;
+            }
+            connectFuture.channel().writeAndFlush(command).addListener((ChannelFutureListener) writeFuture -> {
+                if (writeFuture.isSuccess()) {
+                    result.complete(null);
+                } else {
+                    result.completeExceptionally(new RemotingException(String.format("send command : %s , to :%s failed",
+                            command, host.getAddress()), writeFuture.cause()));
+                }
+            });
+        });
+        return result;
+    }
+
     /**
      * register processor
      *
@@ -331,41 +377,48 @@ public class NettyRemotingClient {
     }
 
     /**
-     * get channel
+     * get the next channel to the host, waiting for it to connect if needed
+     *
+     * @param host host
+     * @return channel, or null if the host can not be connected
      */
     public Channel getChannel(Host host) {
-        Channel channel = channels.get(host);
-        if (channel != null && channel.isActive()) {
-            return channel;
+        ChannelFuture future = acquire(host);
+        // bounded by the connect timeout of the bootstrap
+        future.awaitUninterruptibly();
+        if (future.isSuccess() && future.channel().isActive()) {
+            return future.channel();
         }
-        return createChannel(host, true);
+        logger.warn(String.format("connect to %s error", host), future.cause());
+        return null;
     }
 
     /**
-     * create channel
+     * get the next channel future to the host, which may still be connecting
+     */
+    private ChannelFuture acquire(Host host) {
+        return channels.computeIfAbsent(host, h -> new HostChannelPool(h, clientConfig.getChannelsPerHost(), this::connect)).acquire();
+    }
+
+    /**
+     * whether commands written to the host are sent right away
      *
      * @param host host
-     * @param isSync sync flag
-     * @return channel
+     * @return false if every channel to the host is above its write buffer high water mark
      */
-    public Channel createChannel(Host host, boolean isSync) {
-        ChannelFuture future;
-        try {
-            synchronized (bootstrap) {
-                future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            }
-            if (isSync) {
-                future.sync();
-            }
-            if (future.isSuccess()) {
-                Channel channel = future.channel();
-                channels.put(host, channel);
-                return channel;
-            }
-        } catch (Exception ex) {
-            logger.warn(String.format("connect to %s error", host), ex);
-        }
-        return null;
+    public boolean isWritable(Host host) {
+        HostChannelPool pool = channels.get(host);
+        return pool == null || pool.isWritable();
+    }
+
+    /**
+     * start connecting to the host without waiting
+     *
+     * @param host host
+     * @return connect future
+     */
+    private ChannelFuture connect(Host host) {
+        return bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
     }
 
     /**
@@ -381,9 +434,7 @@ public class NettyRemotingClient {
                 if (callbackExecutor != null) {
                     this.callbackExecutor.shutdownNow();
                 }
-                if (this.responseFutureExecutor != null) {
-                    this.responseFutureExecutor.shutdownNow();
-                }
+                this.futureTable.close();
             } catch (Exception ex) {
                 logger.error("netty client close exception", ex);
             }
@@ -395,8 +446,8 @@ public class NettyRemotingClient {
      * close channels
      */
     private void closeChannels() {
-        for (Channel channel : this.channels.values()) {
-            channel.close();
+        for (HostChannelPool pool : this.channels.values()) {
+            pool.close();
         }
         this.channels.clear();
     }
@@ -407,9 +458,23 @@ public class NettyRemotingClient {
      * @param host host
      */
     public void closeChannel(Host host) {
-        Channel channel = this.channels.remove(host);
-        if (channel != null) {
-            channel.close();
+        HostChannelPool pool = this.channels.remove(host);
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * close one channel to the host, the other channels to it are kept
+     *
+     * @param host host
+     * @param channel channel
+     */
+    public void closeChannel(Host host, Channel channel) {
+        HostChannelPool pool = this.channels.get(host);
+        if (pool != null) {
+            pool.remove(channel);
         }
+        channel.close();
     }
 }
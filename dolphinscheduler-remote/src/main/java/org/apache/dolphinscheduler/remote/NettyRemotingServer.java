@@ -19,11 +19,14 @@ package org.apache.dolphinscheduler.remote;
 
 import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
 import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
 import org.apache.dolphinscheduler.remote.exceptions.RemoteException;
+import org.apache.dolphinscheduler.remote.handler.NettyBatchHandler;
 import org.apache.dolphinscheduler.remote.handler.NettyServerHandler;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 
@@ -62,7 +65,7 @@ public class NettyRemotingServer {
     /**
      * encoder
      */
-    private final NettyEncoder encoder = new NettyEncoder();
+    private final NettyEncoder encoder;
 
     /**
      * default executor
@@ -106,6 +109,8 @@ public class NettyRemotingServer {
      */
     public NettyRemotingServer(final NettyServerConfig serverConfig) {
         this.serverConfig = serverConfig;
+        this.encoder = new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.JSON,
+                serverConfig.getCompressor(), serverConfig.getCompressionThreshold());
         if (NettyUtils.useEpoll()) {
             this.bossGroup = new EpollEventLoopGroup(1, new ThreadFactory() {
                 private final AtomicInteger threadIndex = new AtomicInteger(0);
@@ -192,9 +197,13 @@ public class NettyRemotingServer {
     private void initNettyChannel(SocketChannel ch) {
         ch.pipeline()
                 .addLast("encoder", encoder)
-                .addLast("decoder", new NettyDecoder())
+                .addLast("decoder", new NettyDecoder(serverConfig.getMaxFrameLength()))
                 .addLast("server-idle-handle", new IdleStateHandler(0, 0, Constants.NETTY_SERVER_HEART_BEAT_TIME, TimeUnit.MILLISECONDS))
                 .addLast("handler", serverHandler);
+        if (serverConfig.isBatchEnabled()) {
+            ch.pipeline().addLast("batch", new NettyBatchHandler(Command.FRAMED_VERSION,
+                    serverConfig.getBatchMaxSize(), serverConfig.getBatchFlushDelayMillis()));
+        }
     }
 
     /**
@@ -17,11 +17,16 @@
 
 package org.apache.dolphinscheduler.remote.codec;
 
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandContext;
-import org.apache.dolphinscheduler.remote.command.CommandHeader;
 import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+import org.apache.dolphinscheduler.remote.utils.Constants;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -29,90 +34,220 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 
 /**
  * netty decoder
+ * <p>
+ * frames of {@link Command#FRAMED_VERSION} are split by the length field after the version and carry the body
+ * serializer and compressor in the flag that follows, legacy frames of {@link Command#VERSION} are measured by their context and
+ * body length and always carry json. the body of the decoded command is a retained slice of the frame, or a pooled
+ * buffer if it was compressed, and must be released by {@link Command#release()} after being processed.
+ * frames of command types unknown to this version are skipped, frames longer than the max frame length fail the channel.
  */
-public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
+public class NettyDecoder extends LengthFieldBasedFrameDecoder {
+
     private static final Logger logger = LoggerFactory.getLogger(NettyDecoder.class);
 
+    /**
+     * protocol version of the frames received from the peer, the encoder answers with the same version
+     */
+    public static final AttributeKey<Byte> PROTOCOL_VERSION = AttributeKey.valueOf("protocolVersion");
+
+    /**
+     * body serializer of the frames received from the peer, the encoder answers with the same serializer
+     */
+    public static final AttributeKey<BodySerializerType> BODY_SERIALIZER = AttributeKey.valueOf("bodySerializer");
+
+    /**
+     * compressor advertised by the peer, the encoder compresses large bodies with it
+     */
+    public static final AttributeKey<BodyCompressorType> ACCEPTED_COMPRESSOR = AttributeKey.valueOf("acceptedCompressor");
+
+    /**
+     * magic and version
+     */
+    private static final int LENGTH_FIELD_OFFSET = 2;
+
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    /**
+     * magic, version, type, opaque and context length of the legacy frame
+     */
+    private static final int LEGACY_HEADER_LENGTH = 15;
+
+    private final int maxFrameLength;
+
     public NettyDecoder() {
-        super(State.MAGIC);
+        this(Constants.NETTY_MAX_FRAME_LENGTH);
     }
 
-    private final CommandHeader commandHeader = new CommandHeader();
+    public NettyDecoder(int maxFrameLength) {
+        super(maxFrameLength, LENGTH_FIELD_OFFSET, LENGTH_FIELD_LENGTH, 0, 0);
+        this.maxFrameLength = maxFrameLength;
+    }
 
     /**
      * decode
      *
      * @param ctx channel handler context
      * @param in byte buffer
-     * @param out out content
+     * @return command, or null if the frame is incomplete or skipped
      */
     @Override
-    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case MAGIC:
-                checkMagic(in.readByte());
-                checkpoint(State.VERSION);
-                // fallthru
-            case VERSION:
-                checkVersion(in.readByte());
-                checkpoint(State.COMMAND);
-                // fallthru
-            case COMMAND:
-                commandHeader.setType(in.readByte());
-                checkpoint(State.OPAQUE);
-                // fallthru
-            case OPAQUE:
-                commandHeader.setOpaque(in.readLong());
-                checkpoint(State.CONTEXT_LENGTH);
-                // fallthru
-            case CONTEXT_LENGTH:
-                commandHeader.setContextLength(in.readInt());
-                checkpoint(State.CONTEXT);
-                // fallthru
-            case CONTEXT:
-                byte[] context = new byte[commandHeader.getContextLength()];
-                in.readBytes(context);
-                commandHeader.setContext(context);
-                checkpoint(State.BODY_LENGTH);
-                // fallthru
-            case BODY_LENGTH:
-                commandHeader.setBodyLength(in.readInt());
-                checkpoint(State.BODY);
-                // fallthru
-            case BODY:
-                byte[] body = new byte[commandHeader.getBodyLength()];
-                in.readBytes(body);
-                //
-                Command packet = new Command();
-                packet.setType(commandType(commandHeader.getType()));
-                packet.setOpaque(commandHeader.getOpaque());
-                packet.setContext(CommandContext.valueOf(commandHeader.getContext()));
-                packet.setBody(body);
-                out.add(packet);
-                //
-                checkpoint(State.MAGIC);
-                break;
-            default:
-                logger.warn("unknown decoder state {}", state());
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        if (in.readableBytes() < LENGTH_FIELD_OFFSET) {
+            return null;
+        }
+        checkMagic(in.getByte(in.readerIndex()));
+        byte version = in.getByte(in.readerIndex() + 1);
+        ByteBuf frame;
+        if (version == Command.FRAMED_VERSION) {
+            frame = (ByteBuf) super.decode(ctx, in);
+        } else if (version == Command.VERSION) {
+            frame = decodeLegacyFrame(in);
+        } else {
+            throw new IllegalArgumentException("illegal protocol [version]" + version);
+        }
+        if (frame == null) {
+            return null;
+        }
+        Attribute<Byte> protocolVersion = ctx.channel().attr(PROTOCOL_VERSION);
+        if (protocolVersion.get() == null || protocolVersion.get() != version) {
+            protocolVersion.set(version);
+        }
+        try {
+            Command command = decodeCommand(ctx, frame, version);
+            if (command == null) {
+                return null;
+            }
+            Command lastCommand = command;
+            if (command instanceof BatchCommand && !((BatchCommand) command).getCommands().isEmpty()) {
+                List<Command> commands = ((BatchCommand) command).getCommands();
+                lastCommand = commands.get(commands.size() - 1);
+            }
+            Attribute<BodySerializerType> serializer = ctx.channel().attr(BODY_SERIALIZER);
+            if (serializer.get() != lastCommand.getSerializer()) {
+                serializer.set(lastCommand.getSerializer());
+            }
+            return command;
+        } finally {
+            frame.release();
+        }
+    }
+
+    private ByteBuf decodeLegacyFrame(ByteBuf in) {
+        int readableBytes = in.readableBytes();
+        if (readableBytes < LEGACY_HEADER_LENGTH) {
+            return null;
+        }
+        int contextLength = in.getInt(in.readerIndex() + LEGACY_HEADER_LENGTH - 4);
+        if (readableBytes < LEGACY_HEADER_LENGTH + contextLength + 4) {
+            return null;
+        }
+        int bodyLength = in.getInt(in.readerIndex() + LEGACY_HEADER_LENGTH + contextLength);
+        long frameLength = (long) LEGACY_HEADER_LENGTH + contextLength + 4 + bodyLength;
+        if (contextLength < 0 || bodyLength < 0 || frameLength > maxFrameLength) {
+            throw new TooLongFrameException("illegal legacy frame length " + frameLength + ", max frame length " + maxFrameLength);
+        }
+        if (readableBytes < frameLength) {
+            return null;
         }
+        return in.readRetainedSlice((int) frameLength);
+    }
+
+    private Command decodeCommand(ChannelHandlerContext ctx, ByteBuf frame, byte version) {
+        frame.skipBytes(LENGTH_FIELD_OFFSET);
+        BodySerializerType serializer = BodySerializerType.JSON;
+        BodyCompressorType compressor = BodyCompressorType.NONE;
+        if (version == Command.FRAMED_VERSION) {
+            frame.skipBytes(LENGTH_FIELD_LENGTH);
+            byte flag = frame.readByte();
+            serializer = BodySerializerType.of(flag & Command.FLAG_SERIALIZER_MASK);
+            if (serializer == null) {
+                throw new IllegalArgumentException("illegal body serializer [flag]" + flag);
+            }
+            compressor = BodyCompressorType.of((flag >> Command.FLAG_COMPRESSOR_SHIFT) & Command.FLAG_COMPRESSOR_MASK);
+            BodyCompressorType acceptedCompressor = BodyCompressorType.of((flag >> Command.FLAG_ACCEPT_COMPRESSOR_SHIFT) & Command.FLAG_COMPRESSOR_MASK);
+            if (compressor == null || acceptedCompressor == null) {
+                throw new IllegalArgumentException("illegal body compressor [flag]" + flag);
+            }
+            Attribute<BodyCompressorType> accepted = ctx.channel().attr(ACCEPTED_COMPRESSOR);
+            if (accepted.get() != acceptedCompressor) {
+                accepted.set(acceptedCompressor);
+            }
+        }
+        short typeOrdinal = frame.readUnsignedByte();
+        CommandType type = CommandType.of(typeOrdinal);
+        long opaque = frame.readLong();
+        if (type == null) {
+            // sent by a newer peer, the frame is skipped so the channel and the other commands are kept
+            logger.warn("skip frame of unknown command type {}, opaque:{}, length:{}, from:{}",
+                    typeOrdinal, opaque, frame.capacity(), ctx.channel().remoteAddress());
+            return null;
+        }
+        byte[] context = new byte[frame.readInt()];
+        frame.readBytes(context);
+        if (version == Command.VERSION) {
+            // body length, the body is the rest of the frame
+            frame.skipBytes(4);
+        }
+        if (type == CommandType.BATCH) {
+            return decodeBatch(ctx, frame);
+        }
+        ByteBuf body = frame.readRetainedSlice(frame.readableBytes());
+        if (compressor != BodyCompressorType.NONE) {
+            body = decompressBody(ctx, compressor, body);
+        }
+        Command command = new Command(opaque);
+        command.setType(type);
+        command.setContext(CommandContext.valueOf(context));
+        command.setSerializer(serializer);
+        command.setBodyBuf(body);
+        return command;
     }
 
     /**
-     * get command type
-     *
-     * @param type type
+     * decompress the body into a pooled buffer, the compressed body is released
      */
-    private CommandType commandType(byte type) {
-        for (CommandType ct : CommandType.values()) {
-            if (ct.ordinal() == type) {
-                return ct;
+    private ByteBuf decompressBody(ChannelHandlerContext ctx, BodyCompressorType compressor, ByteBuf compressed) {
+        ByteBuf body = ctx.alloc().buffer();
+        try {
+            compressor.getCompressor().decompress(compressed, body);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            body.release();
+            throw new IllegalArgumentException("decompress body with " + compressor + " error", e);
+        } finally {
+            compressed.release();
+        }
+    }
+
+    /**
+     * the body of a batch is a sequence of framed commands
+     */
+    private BatchCommand decodeBatch(ChannelHandlerContext ctx, ByteBuf body) {
+        List<Command> commands = new ArrayList<>();
+        try {
+            while (body.isReadable()) {
+                checkMagic(body.getByte(body.readerIndex()));
+                int frameLength = LENGTH_FIELD_OFFSET + LENGTH_FIELD_LENGTH
+                        + body.getInt(body.readerIndex() + LENGTH_FIELD_OFFSET);
+                Command command = decodeCommand(ctx, body.readSlice(frameLength), Command.FRAMED_VERSION);
+                if (command != null) {
+                    commands.add(command);
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Command command : commands) {
+                command.release();
             }
+            throw e;
         }
-        return null;
+        return new BatchCommand(commands);
     }
 
     /**
@@ -125,24 +260,4 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
             throw new IllegalArgumentException("illegal packet [magic]" + magic);
         }
     }
-
-    /**
-     * check version
-     */
-    private void checkVersion(byte version) {
-        if (version != Command.VERSION) {
-            throw new IllegalArgumentException("illegal protocol [version]" + version);
-        }
-    }
-
-    enum State {
-        MAGIC,
-        VERSION,
-        COMMAND,
-        OPAQUE,
-        CONTEXT_LENGTH,
-        CONTEXT,
-        BODY_LENGTH,
-        BODY;
-    }
 }
@@ -17,20 +17,72 @@
 
 package org.apache.dolphinscheduler.remote.codec;
 
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
 /**
  * netty encoder
+ * <p>
+ * answers a peer with the protocol version and body serializer it spoke, the defaults are used before anything is
+ * received. the body is written straight into the pooled buffer of the channel, a body the binary serializer fails
+ * on is written as json.
+ * <p>
+ * every frame advertises the compressor accepted by this side. bodies reaching the threshold are compressed with the
+ * compressor the peer advertised, so nothing is compressed before the peer has spoken or for a peer that does not
+ * know the compressed flag.
  */
 @Sharable
 public class NettyEncoder extends MessageToByteEncoder<Command> {
 
+    private final Logger logger = LoggerFactory.getLogger(NettyEncoder.class);
+
+    /**
+     * magic, version, frame length, flag, type, opaque and context length
+     */
+    private static final int HEADER_LENGTH = 20;
+
+    /**
+     * initial buffer size of the body object
+     */
+    private static final int BODY_OBJECT_INITIAL_SIZE = 256;
+
+    private final byte defaultVersion;
+
+    private final BodySerializerType defaultSerializer;
+
+    private final BodyCompressorType acceptedCompressor;
+
+    private final int compressionThreshold;
+
+    public NettyEncoder() {
+        this(Command.FRAMED_VERSION, BodySerializerType.JSON);
+    }
+
+    public NettyEncoder(byte defaultVersion, BodySerializerType defaultSerializer) {
+        this(defaultVersion, defaultSerializer, BodyCompressorType.NONE, Integer.MAX_VALUE);
+    }
+
+    public NettyEncoder(byte defaultVersion, BodySerializerType defaultSerializer, BodyCompressorType acceptedCompressor, int compressionThreshold) {
+        this.defaultVersion = defaultVersion;
+        this.defaultSerializer = defaultSerializer;
+        this.acceptedCompressor = acceptedCompressor;
+        this.compressionThreshold = compressionThreshold;
+    }
+
     /**
      * encode
      *
@@ -43,13 +95,91 @@ public class NettyEncoder extends MessageToByteEncoder<Command> {
         if (msg == null) {
             throw new RemotingException("encode msg is null");
         }
+        byte version = getVersion(ctx.channel());
+        if (version == Command.FRAMED_VERSION) {
+            encodeFrame(ctx, msg, out);
+            return;
+        }
         out.writeByte(Command.MAGIC);
-        out.writeByte(Command.VERSION);
+        out.writeByte(version);
         out.writeByte(msg.getType().ordinal());
         out.writeLong(msg.getOpaque());
         writeContext(msg, out);
-        out.writeInt(msg.getBody().length);
-        out.writeBytes(msg.getBody());
+        byte[] body = msg.getBody();
+        out.writeInt(body == null ? 0 : body.length);
+        if (body != null) {
+            out.writeBytes(body);
+        }
+    }
+
+    /**
+     * write a frame of {@link Command#FRAMED_VERSION}, the body of a batch is the frames of its commands
+     */
+    private void encodeFrame(ChannelHandlerContext ctx, Command msg, ByteBuf out) throws IOException {
+        out.writeByte(Command.MAGIC);
+        out.writeByte(Command.FRAMED_VERSION);
+        int lengthIndex = out.writerIndex();
+        int flagIndex = lengthIndex + 4;
+        out.writeInt(0);
+        out.writeByte(0);
+        out.writeByte(msg.getType().ordinal());
+        out.writeLong(msg.getOpaque());
+        writeContext(msg, out);
+        int flag = acceptedCompressor.getCode() << Command.FLAG_ACCEPT_COMPRESSOR_SHIFT;
+        if (msg instanceof BatchCommand) {
+            for (Command command : ((BatchCommand) msg).getCommands()) {
+                encodeFrame(ctx, command, out);
+            }
+        } else {
+            int bodyIndex = out.writerIndex();
+            BodySerializerType serializer = writeBody(ctx.channel(), msg, out);
+            BodyCompressorType compressor = compressBody(ctx, msg, out, bodyIndex);
+            flag |= serializer.getCode() | compressor.getCode() << Command.FLAG_COMPRESSOR_SHIFT;
+        }
+        out.setByte(flagIndex, flag);
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - 4);
+    }
+
+    /**
+     * size the buffer for the whole frame to avoid expanding it while writing the body
+     */
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Command msg, boolean preferDirect) {
+        int bodyLength = BODY_OBJECT_INITIAL_SIZE;
+        if (msg instanceof BatchCommand) {
+            bodyLength = (HEADER_LENGTH + BODY_OBJECT_INITIAL_SIZE) * ((BatchCommand) msg).getCommands().size();
+        } else if (msg.getBodyObject() == null) {
+            if (msg.getBodyBuf() != null) {
+                bodyLength = msg.getBodyBuf().readableBytes();
+            } else if (msg.getBody() != null) {
+                bodyLength = msg.getBody().length;
+            }
+        }
+        int initialCapacity = HEADER_LENGTH + bodyLength + 64;
+        return preferDirect ? ctx.alloc().ioBuffer(initialCapacity) : ctx.alloc().heapBuffer(initialCapacity);
+    }
+
+    private byte getVersion(Channel channel) {
+        Byte version = channel.attr(NettyDecoder.PROTOCOL_VERSION).get();
+        return version == null ? defaultVersion : version;
+    }
+
+    private BodySerializerType getSerializer(Channel channel) {
+        BodySerializerType serializer = channel.attr(NettyDecoder.BODY_SERIALIZER).get();
+        return serializer == null ? defaultSerializer : serializer;
+    }
+
+    /**
+     * get the compressor accepted by the peer
+     *
+     * @return the compressor, NONE if compression is disabled or the peer has not spoken yet
+     */
+    private BodyCompressorType getCompressor(Channel channel) {
+        if (acceptedCompressor == BodyCompressorType.NONE) {
+            return BodyCompressorType.NONE;
+        }
+        BodyCompressorType compressor = channel.attr(NettyDecoder.ACCEPTED_COMPRESSOR).get();
+        return compressor == null ? BodyCompressorType.NONE : compressor;
     }
 
     private void writeContext(Command msg, ByteBuf out) {
@@ -57,5 +187,65 @@ public class NettyEncoder extends MessageToByteEncoder<Command> {
         out.writeInt(headerBytes.length);
         out.writeBytes(headerBytes);
     }
-}
 
+    /**
+     * write the body
+     *
+     * @return serializer of the written body
+     */
+    private BodySerializerType writeBody(Channel channel, Command msg, ByteBuf out) throws IOException {
+        if (msg.getBodyObject() != null) {
+            BodySerializerType serializer = getSerializer(channel);
+            if (serializer != BodySerializerType.JSON) {
+                int bodyIndex = out.writerIndex();
+                try {
+                    serializer.getSerializer().serialize(msg.getBodyObject(), out);
+                    return serializer;
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("serialize {} body of {} error, fall back to json", serializer, msg.getType(), e);
+                    out.writerIndex(bodyIndex);
+                }
+            }
+            BodySerializerType.JSON.getSerializer().serialize(msg.getBodyObject(), out);
+            return BodySerializerType.JSON;
+        }
+        if (msg.getBodyBuf() != null) {
+            ByteBuf bodyBuf = msg.getBodyBuf();
+            out.writeBytes(bodyBuf, bodyBuf.readerIndex(), bodyBuf.readableBytes());
+        } else if (msg.getBody() != null) {
+            out.writeBytes(msg.getBody());
+        }
+        return msg.getSerializer();
+    }
+
+    /**
+     * compress the body written from the body index in place, a body that does not shrink is left as it is
+     *
+     * @return compressor of the body
+     */
+    private BodyCompressorType compressBody(ChannelHandlerContext ctx, Command msg, ByteBuf out, int bodyIndex) {
+        int bodyLength = out.writerIndex() - bodyIndex;
+        if (bodyLength < compressionThreshold) {
+            return BodyCompressorType.NONE;
+        }
+        BodyCompressorType compressor = getCompressor(ctx.channel());
+        if (compressor == BodyCompressorType.NONE) {
+            return compressor;
+        }
+        ByteBuf compressed = ctx.alloc().buffer(bodyLength);
+        try {
+            compressor.getCompressor().compress(out.slice(bodyIndex, bodyLength), compressed);
+            if (compressed.readableBytes() >= bodyLength) {
+                return BodyCompressorType.NONE;
+            }
+            out.writerIndex(bodyIndex);
+            out.writeBytes(compressed);
+            return compressor;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("compress body of {} with {} error, send it uncompressed", msg.getType(), compressor, e);
+            return BodyCompressorType.NONE;
+        } finally {
+            compressed.release();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.command;
+
+import java.util.List;
+
+/**
+ * commands written in one frame, the receiver dispatches every command on its own
+ */
+public class BatchCommand extends Command {
+
+    private final transient List<Command> commands;
+
+    public BatchCommand(List<Command> commands) {
+        super(0L);
+        setType(CommandType.BATCH);
+        this.commands = commands;
+    }
+
+    public List<Command> getCommands() {
+        return commands;
+    }
+
+    /**
+     * release the received body of every command
+     */
+    @Override
+    public void release() {
+        for (Command command : commands) {
+            command.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchCommand [size=" + commands.size() + "]";
+    }
+}
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.remote.command;
 
 import org.apache.dolphinscheduler.common.enums.CacheType;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.Serializable;
 
@@ -55,8 +54,7 @@ public class CacheExpireCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.CACHE_EXPIRE);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
@@ -16,9 +16,17 @@
  */
 package org.apache.dolphinscheduler.remote.command;
 
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
 /**
  *  receive task log request command and content fill
  *  for netty data serializable transfer
@@ -28,8 +36,33 @@ public class Command implements Serializable {
     private static final AtomicLong REQUEST_ID = new AtomicLong(1);
 
     public static final byte MAGIC = (byte) 0xbabe;
+    /**
+     * legacy frame, the body length is written right before the body
+     */
     public static final byte VERSION = 0;
 
+    /**
+     * length field based frame, the frame length and the flag are written right after the version
+     */
+    public static final byte FRAMED_VERSION = 1;
+
+    /**
+     * bits of the frame flag holding the body serializer
+     */
+    public static final int FLAG_SERIALIZER_MASK = 0x0f;
+
+    /**
+     * bits of the frame flag holding the compressor of the body, shifted by {@link #FLAG_COMPRESSOR_SHIFT}
+     */
+    public static final int FLAG_COMPRESSOR_MASK = 0x03;
+
+    public static final int FLAG_COMPRESSOR_SHIFT = 4;
+
+    /**
+     * bits of the frame flag holding the compressor the sender accepts, masked by {@link #FLAG_COMPRESSOR_MASK}
+     */
+    public static final int FLAG_ACCEPT_COMPRESSOR_SHIFT = 6;
+
     public Command(){
         this.opaque = REQUEST_ID.getAndIncrement();
     }
@@ -58,6 +91,21 @@ public class Command implements Serializable {
      */
     private byte[] body;
 
+    /**
+     * body object serialized by the encoder straight into the channel buffer
+     */
+    private transient Object bodyObject;
+
+    /**
+     * received body, a retained slice of the frame which is released by {@link #release()}
+     */
+    private transient ByteBuf bodyBuf;
+
+    /**
+     * serializer of the received body
+     */
+    private transient BodySerializerType serializer = BodySerializerType.JSON;
+
     public CommandType getType() {
         return type;
     }
@@ -74,7 +122,19 @@ public class Command implements Serializable {
         this.opaque = opaque;
     }
 
+    /**
+     * get the body, the received body is encoded by {@link #getSerializer()}, a body object is encoded as json
+     *
+     * @return body
+     */
     public byte[] getBody() {
+        if (body == null) {
+            if (bodyBuf != null) {
+                body = ByteBufUtil.getBytes(bodyBuf);
+            } else if (bodyObject != null) {
+                body = JSONUtils.toJsonByteArray(bodyObject);
+            }
+        }
         return body;
     }
 
@@ -82,6 +142,69 @@ public class Command implements Serializable {
         this.body = body;
     }
 
+    public Object getBodyObject() {
+        return bodyObject;
+    }
+
+    /**
+     * set the body object, which is serialized when the command is written to the channel
+     *
+     * @param bodyObject body object
+     */
+    public void setBodyObject(Object bodyObject) {
+        this.bodyObject = bodyObject;
+    }
+
+    public ByteBuf getBodyBuf() {
+        return bodyBuf;
+    }
+
+    public void setBodyBuf(ByteBuf bodyBuf) {
+        this.bodyBuf = bodyBuf;
+    }
+
+    public BodySerializerType getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(BodySerializerType serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * deserialize the body, a received body is read from the frame without copying
+     *
+     * @param clazz body class
+     * @param <T> body type
+     * @return body
+     */
+    public <T> T parseBody(Class<T> clazz) {
+        if (body == null && bodyBuf != null) {
+            return deserialize(bodyBuf.duplicate(), clazz);
+        }
+        if (serializer == BodySerializerType.JSON) {
+            return JSONUtils.parseObject(getBody(), clazz);
+        }
+        return body == null ? null : deserialize(Unpooled.wrappedBuffer(body), clazz);
+    }
+
+    private <T> T deserialize(ByteBuf in, Class<T> clazz) {
+        try {
+            return serializer.getSerializer().deserialize(in, clazz);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("parse %s body of %s error", serializer, type), e);
+        }
+    }
+
+    /**
+     * release the received body
+     */
+    public void release() {
+        if (bodyBuf != null && bodyBuf.refCnt() > 0) {
+            bodyBuf.release();
+        }
+    }
+
     public CommandContext getContext() {
         return context;
     }
@@ -115,7 +238,7 @@ public class Command implements Serializable {
 
     @Override
     public String toString() {
-        return "Command [type=" + type + ", opaque=" + opaque + ", bodyLen=" + (body == null ? 0 : body.length) + "]";
+        return "Command [type=" + type + ", opaque=" + opaque + ", bodyLen=" + (body != null ? body.length : bodyBuf != null ? bodyBuf.readableBytes() : 0) + "]";
     }
 
 }
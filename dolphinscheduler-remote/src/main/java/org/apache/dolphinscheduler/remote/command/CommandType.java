@@ -148,5 +148,38 @@ public enum CommandType {
     /**
      * task state event request
      */
-    TASK_WAKEUP_EVENT_REQUEST;
+    TASK_WAKEUP_EVENT_REQUEST,
+
+    /**
+     * commands written in one frame
+     */
+    BATCH,
+
+    /**
+     * change the number of execute threads of a worker
+     */
+    WORKER_EXEC_THREADS_UPDATE_REQUEST,
+
+    /**
+     * the number of execute threads a worker runs with after an update
+     */
+    WORKER_EXEC_THREADS_UPDATE_RESPONSE;
+
+    /**
+     * command types indexed by ordinal, values() copies the array on every call
+     */
+    private static final CommandType[] TYPES = values();
+
+    /**
+     * get command type by the ordinal written in the frame
+     *
+     * @param ordinal ordinal
+     * @return command type, or null if the ordinal is unknown
+     */
+    public static CommandType of(int ordinal) {
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            return null;
+        }
+        return TYPES[ordinal];
+    }
 }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.Serializable;
 
@@ -29,6 +28,9 @@ public class HostUpdateResponseCommand implements Serializable {
 
     private int status;
 
+    public HostUpdateResponseCommand() {
+    }
+
     public HostUpdateResponseCommand(int taskInstanceId, String processHost, int code) {
         this.taskInstanceId = taskInstanceId;
         this.processHost = processHost;
@@ -67,8 +69,7 @@ public class HostUpdateResponseCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.PROCESS_HOST_UPDATE_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
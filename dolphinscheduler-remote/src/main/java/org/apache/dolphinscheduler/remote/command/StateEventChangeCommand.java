@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.remote.command;
 
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.Serializable;
 
@@ -77,8 +76,7 @@ public class StateEventChangeCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.STATE_EVENT_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
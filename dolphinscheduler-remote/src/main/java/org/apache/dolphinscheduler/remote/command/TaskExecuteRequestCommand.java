@@ -17,12 +17,11 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
-
 import java.io.Serializable;
 
 /**
- *  execute task request command
+ *  execute task request command of the legacy protocol, which wraps the json of the task execution context.
+ *  the context is now the body of the task execute request itself
  */
 public class TaskExecuteRequestCommand implements Serializable {
 
@@ -54,8 +53,7 @@ public class TaskExecuteRequestCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.TASK_EXECUTE_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.command;
+
+import java.io.Serializable;
+
+/**
+ * worker exec threads update response command
+ */
+public class WorkerExecThreadsUpdateResponseCommand implements Serializable {
+
+    /**
+     * number of execute threads the worker runs with after the update
+     */
+    private int execThreads;
+
+    public WorkerExecThreadsUpdateResponseCommand() {
+        super();
+    }
+
+    public WorkerExecThreadsUpdateResponseCommand(int execThreads) {
+        this.execThreads = execThreads;
+    }
+
+    public int getExecThreads() {
+        return execThreads;
+    }
+
+    public void setExecThreads(int execThreads) {
+        this.execThreads = execThreads;
+    }
+
+    /**
+     * package response command
+     *
+     * @param opaque request unique identification
+     * @return command
+     */
+    public Command convert2Command(long opaque) {
+        Command command = new Command(opaque);
+        command.setType(CommandType.WORKER_EXEC_THREADS_UPDATE_RESPONSE);
+        command.setBodyObject(this);
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerExecThreadsUpdateResponseCommand{"
+                + "execThreads=" + execThreads
+                + '}';
+    }
+}
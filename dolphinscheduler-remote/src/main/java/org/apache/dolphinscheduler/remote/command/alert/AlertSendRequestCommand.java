@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.remote.command.alert;
 
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
 
 import java.io.Serializable;
 
@@ -73,8 +72,7 @@ public class AlertSendRequestCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.ALERT_SEND_REQUEST);
-        byte[] body = JsonSerializer.serialize(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 }
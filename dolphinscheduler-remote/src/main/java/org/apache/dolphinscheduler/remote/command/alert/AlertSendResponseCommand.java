@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.remote.command.alert;
 
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
 
 import java.io.Serializable;
 import java.util.List;
@@ -68,8 +67,7 @@ public class AlertSendResponseCommand implements Serializable {
     public Command convert2Command(long opaque) {
         Command command = new Command(opaque);
         command.setType(CommandType.ALERT_SEND_RESPONSE);
-        byte[] body = JsonSerializer.serialize(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command.log;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 
@@ -33,6 +32,16 @@ public class GetLogBytesRequestCommand implements Serializable {
      */
     private String path;
 
+    /**
+     *  byte offset to read from
+     */
+    private long offset;
+
+    /**
+     *  max number of bytes to read, the rest of the log is read if it is negative
+     */
+    private int length = -1;
+
     public GetLogBytesRequestCommand() {
     }
 
@@ -40,6 +49,12 @@ public class GetLogBytesRequestCommand implements Serializable {
         this.path = path;
     }
 
+    public GetLogBytesRequestCommand(String path, long offset, int length) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+    }
+
     public String getPath() {
         return path;
     }
@@ -48,6 +63,22 @@ public class GetLogBytesRequestCommand implements Serializable {
         this.path = path;
     }
 
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
     /**
      * package request command
      *
@@ -56,8 +87,7 @@ public class GetLogBytesRequestCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.GET_LOG_BYTES_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command.log;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 
@@ -33,6 +32,16 @@ public class GetLogBytesResponseCommand implements Serializable {
      */
     private byte[] data;
 
+    /**
+     *  error of reading the log, null if it was read
+     */
+    private String error;
+
+    /**
+     *  byte offset of the data in the log, null if the server returned the whole log
+     */
+    private Long offset;
+
     public GetLogBytesResponseCommand() {
     }
 
@@ -48,6 +57,22 @@ public class GetLogBytesResponseCommand implements Serializable {
         this.data = data;
     }
 
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
     /**
      * package response command
      *
@@ -57,8 +82,7 @@ public class GetLogBytesResponseCommand implements Serializable {
     public Command convert2Command(long opaque) {
         Command command = new Command(opaque);
         command.setType(CommandType.GET_LOG_BYTES_RESPONSE);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.compressor;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * compressor of command bodies, implementations are shared by all channels and must be thread safe
+ */
+public interface BodyCompressor {
+
+    /**
+     * compress the readable bytes of the input, the output starts with the uncompressed length
+     *
+     * @param in uncompressed body
+     * @param out byte buffer
+     * @throws IOException if the body can not be compressed
+     */
+    void compress(ByteBuf in, ByteBuf out) throws IOException;
+
+    /**
+     * decompress the readable bytes of the input written by {@link #compress(ByteBuf, ByteBuf)}
+     *
+     * @param in compressed body
+     * @param out byte buffer
+     * @throws IOException if the body is corrupted
+     */
+    void decompress(ByteBuf in, ByteBuf out) throws IOException;
+}
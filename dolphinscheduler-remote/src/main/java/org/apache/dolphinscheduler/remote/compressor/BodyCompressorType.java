@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.compressor;
+
+/**
+ * body compressor type, carried in the frame flag both as the compressor of the body and as the compressor the
+ * sender accepts
+ */
+public enum BodyCompressorType {
+
+    /**
+     * uncompressed
+     */
+    NONE((byte) 0, null),
+
+    /**
+     * fast, the default
+     */
+    LZ4((byte) 1, new Lz4BodyCompressor()),
+
+    /**
+     * smaller and slower
+     */
+    DEFLATE((byte) 2, new DeflateBodyCompressor());
+
+    private static final BodyCompressorType[] TYPES = new BodyCompressorType[4];
+
+    static {
+        for (BodyCompressorType compressorType : values()) {
+            TYPES[compressorType.code] = compressorType;
+        }
+    }
+
+    private final byte code;
+
+    private final BodyCompressor compressor;
+
+    BodyCompressorType(byte code, BodyCompressor compressor) {
+        this.code = code;
+        this.compressor = compressor;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public BodyCompressor getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * get the compressor type by code
+     *
+     * @param code code
+     * @return compressor type, or null if the code is unknown
+     */
+    public static BodyCompressorType of(int code) {
+        return code >= 0 && code < TYPES.length ? TYPES[code] : null;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.compressor;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * deflate compressor, slower than lz4 with a better ratio for links with little bandwidth.
+ * <p>
+ * deflater and inflater hold native memory, one of each is kept per thread and reset after use, the codec runs on
+ * the event loop threads only.
+ */
+public class DeflateBodyCompressor implements BodyCompressor {
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) throws IOException {
+        int length = in.readableBytes();
+        out.writeInt(length);
+        Deflater deflater = DEFLATER.get();
+        byte[] chunk = CHUNK.get();
+        try {
+            setInput(in, length, deflater::setInput);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.writeBytes(chunk, 0, count);
+            }
+            in.skipBytes(length);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("illegal uncompressed length : " + length);
+        }
+        int compressedLength = in.readableBytes();
+        out.ensureWritable(length);
+        Inflater inflater = INFLATER.get();
+        byte[] chunk = CHUNK.get();
+        try {
+            setInput(in, compressedLength, inflater::setInput);
+            int total = 0;
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("truncated deflate body");
+                }
+                total += count;
+                if (total > length) {
+                    throw new IOException(String.format("uncompressed length exceeds %d", length));
+                }
+                out.writeBytes(chunk, 0, count);
+            }
+            if (total != length) {
+                throw new IOException(String.format("uncompressed length mismatch, expect %d, actual %d", length, total));
+            }
+            in.skipBytes(compressedLength);
+        } catch (DataFormatException e) {
+            throw new IOException("deflate decompress error", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    /**
+     * the jdk 8 codec takes arrays only, a direct buffer is copied
+     */
+    private void setInput(ByteBuf in, int length, InputConsumer consumer) {
+        if (in.hasArray()) {
+            consumer.accept(in.array(), in.arrayOffset() + in.readerIndex(), length);
+        } else {
+            consumer.accept(ByteBufUtil.getBytes(in, in.readerIndex(), length, false), 0, length);
+        }
+    }
+
+    @FunctionalInterface
+    private interface InputConsumer {
+
+        void accept(byte[] bytes, int offset, int length);
+    }
+}
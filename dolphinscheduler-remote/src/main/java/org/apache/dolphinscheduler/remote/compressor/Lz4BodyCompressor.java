@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.compressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * fast lz4 block compressor, the compressor and decompressor are stateless and shared.
+ * <p>
+ * lz4 1.3.0 ignores the array offset of heap byte buffers, so heap buffers are passed unsliced with absolute offsets.
+ */
+public class Lz4BodyCompressor implements BodyCompressor {
+
+    private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+    private final LZ4Compressor compressor = FACTORY.fastCompressor();
+
+    private final LZ4SafeDecompressor decompressor = FACTORY.safeDecompressor();
+
+    @Override
+    public void compress(ByteBuf in, ByteBuf out) throws IOException {
+        int length = in.readableBytes();
+        int maxLength = compressor.maxCompressedLength(length);
+        out.writeInt(length);
+        out.ensureWritable(maxLength);
+        ByteBuffer src = byteBuffer(in, in.readerIndex(), length);
+        ByteBuffer dest = byteBuffer(out, out.writerIndex(), maxLength);
+        try {
+            int compressedLength = compressor.compress(src, offset(in, src, in.readerIndex()), length,
+                    dest, offset(out, dest, out.writerIndex()), maxLength);
+            out.writerIndex(out.writerIndex() + compressedLength);
+            in.skipBytes(length);
+        } catch (LZ4Exception e) {
+            throw new IOException("lz4 compress error", e);
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuf in, ByteBuf out) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("illegal uncompressed length : " + length);
+        }
+        int compressedLength = in.readableBytes();
+        out.ensureWritable(length);
+        ByteBuffer src = byteBuffer(in, in.readerIndex(), compressedLength);
+        ByteBuffer dest = byteBuffer(out, out.writerIndex(), length);
+        try {
+            int decompressedLength = decompressor.decompress(src, offset(in, src, in.readerIndex()), compressedLength,
+                    dest, offset(out, dest, out.writerIndex()), length);
+            if (decompressedLength != length) {
+                throw new IOException(String.format("uncompressed length mismatch, expect %d, actual %d", length, decompressedLength));
+            }
+            out.writerIndex(out.writerIndex() + length);
+            in.skipBytes(compressedLength);
+        } catch (LZ4Exception e) {
+            throw new IOException("lz4 decompress error", e);
+        }
+    }
+
+    private static ByteBuffer byteBuffer(ByteBuf buf, int index, int length) {
+        return buf.hasArray() ? ByteBuffer.wrap(buf.array()) : buf.nioBuffer(index, length);
+    }
+
+    private static int offset(ByteBuf buf, ByteBuffer buffer, int index) {
+        return buf.hasArray() ? buf.arrayOffset() + index : buffer.position();
+    }
+}
@@ -17,6 +17,10 @@
 
 package org.apache.dolphinscheduler.remote.config;
 
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 
 /**
@@ -54,6 +58,59 @@ public class NettyClientConfig {
      */
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * protocol version of the requests, the legacy version unless rpc.framed.enable is set once every server of the
+     * cluster is upgraded
+     */
+    private byte protocolVersion = PropertyUtils.getBoolean(Constants.RPC_FRAMED_ENABLE, false) ? Command.FRAMED_VERSION : Command.VERSION;
+
+    /**
+     * body serializer of framed requests, servers answer with the serializer of the request
+     */
+    private BodySerializerType serializer = PropertyUtils.getEnum(Constants.RPC_BODY_SERIALIZER, BodySerializerType.class, BodySerializerType.JSON);
+
+    /**
+     * whether to coalesce the written commands into batch frames
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * max commands of a batch frame
+     */
+    private int batchMaxSize = 64;
+
+    /**
+     * max delay of a flush while batching
+     */
+    private long batchFlushDelayMillis = 1;
+
+    /**
+     * compressor accepted from the peer and used for bodies to peers accepting it, NONE disables compression
+     */
+    private BodyCompressorType compressor = PropertyUtils.getEnum(Constants.RPC_BODY_COMPRESSOR, BodyCompressorType.class, BodyCompressorType.NONE);
+
+    /**
+     * min body size to compress
+     */
+    private int compressionThreshold = 16 * 1024;
+
+    /**
+     * max length of a received frame
+     */
+    private int maxFrameLength = Constants.NETTY_MAX_FRAME_LENGTH;
+
+    /**
+     * channels to each host, picked round robin
+     */
+    private int channelsPerHost = 1;
+
+    /**
+     * a channel above the high water mark is skipped until its write buffer drains below the low water mark
+     */
+    private int writeBufferLowWaterMark = 512 * 1024;
+
+    private int writeBufferHighWaterMark = 1024 * 1024;
+
     public int getWorkerThreads() {
         return workerThreads;
     }
@@ -101,4 +158,92 @@ public class NettyClientConfig {
     public void setConnectTimeoutMillis(int connectTimeoutMillis) {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
+
+    public byte getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    public void setProtocolVersion(byte protocolVersion) {
+        this.protocolVersion = protocolVersion;
+    }
+
+    public BodySerializerType getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(BodySerializerType serializer) {
+        this.serializer = serializer;
+    }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public long getBatchFlushDelayMillis() {
+        return batchFlushDelayMillis;
+    }
+
+    public void setBatchFlushDelayMillis(long batchFlushDelayMillis) {
+        this.batchFlushDelayMillis = batchFlushDelayMillis;
+    }
+
+    public BodyCompressorType getCompressor() {
+        return compressor;
+    }
+
+    public void setCompressor(BodyCompressorType compressor) {
+        this.compressor = compressor;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public int getChannelsPerHost() {
+        return channelsPerHost;
+    }
+
+    public void setChannelsPerHost(int channelsPerHost) {
+        this.channelsPerHost = channelsPerHost;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+
+    public int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    public void setMaxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.dolphinscheduler.remote.config;
 
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 
 /**
@@ -58,6 +60,36 @@ public class NettyServerConfig {
      */
     private int listenPort = 12346;
 
+    /**
+     * whether to coalesce the written commands into batch frames
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * max commands of a batch frame
+     */
+    private int batchMaxSize = 64;
+
+    /**
+     * max delay of a flush while batching
+     */
+    private long batchFlushDelayMillis = 1;
+
+    /**
+     * compressor accepted from the peer and used for bodies to peers accepting it, NONE disables compression
+     */
+    private BodyCompressorType compressor = PropertyUtils.getEnum(Constants.RPC_BODY_COMPRESSOR, BodyCompressorType.class, BodyCompressorType.NONE);
+
+    /**
+     * min body size to compress
+     */
+    private int compressionThreshold = 16 * 1024;
+
+    /**
+     * max length of a received frame
+     */
+    private int maxFrameLength = Constants.NETTY_MAX_FRAME_LENGTH;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -113,4 +145,52 @@ public class NettyServerConfig {
     public void setWorkerThread(int workerThread) {
         this.workerThread = workerThread;
     }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(int batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    public long getBatchFlushDelayMillis() {
+        return batchFlushDelayMillis;
+    }
+
+    public void setBatchFlushDelayMillis(long batchFlushDelayMillis) {
+        this.batchFlushDelayMillis = batchFlushDelayMillis;
+    }
+
+    public BodyCompressorType getCompressor() {
+        return compressor;
+    }
+
+    public void setCompressor(BodyCompressorType compressor) {
+        this.compressor = compressor;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    public void setMaxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
 }
@@ -19,26 +19,16 @@ package org.apache.dolphinscheduler.remote.future;
 
 import org.apache.dolphinscheduler.remote.command.Command;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.netty.util.Timeout;
 
 /**
- * response future
+ * response future, kept in flight by {@link ResponseFutureTable}
  */
 public class ResponseFuture {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseFuture.class);
-
-    private static final ConcurrentHashMap<Long, ResponseFuture> FUTURE_TABLE = new ConcurrentHashMap<>(256);
-
     /**
      * request unique identification
      */
@@ -72,12 +62,16 @@ public class ResponseFuture {
 
     private Throwable cause;
 
+    /**
+     * timeout scheduled by the future table
+     */
+    private volatile Timeout timeout;
+
     public ResponseFuture(long opaque, long timeoutMillis, InvokeCallback invokeCallback, ReleaseSemaphore releaseSemaphore) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
         this.invokeCallback = invokeCallback;
         this.releaseSemaphore = releaseSemaphore;
-        FUTURE_TABLE.put(opaque, this);
     }
 
     /**
@@ -98,15 +92,6 @@ public class ResponseFuture {
     public void putResponse(final Command responseCommand) {
         this.responseCommand = responseCommand;
         this.latch.countDown();
-        FUTURE_TABLE.remove(opaque);
-    }
-
-    public static ResponseFuture getFuture(long opaque) {
-        return FUTURE_TABLE.get(opaque);
-    }
-
-    public void removeFuture() {
-        FUTURE_TABLE.remove(opaque);
     }
 
     /**
@@ -177,28 +162,17 @@ public class ResponseFuture {
         }
     }
 
+    void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+    }
+
     /**
-     * scan future table
+     * cancel the scheduled timeout
      */
-    public static void scanFutureTable() {
-        final List<ResponseFuture> futureList = new LinkedList<>();
-        Iterator<Map.Entry<Long, ResponseFuture>> it = FUTURE_TABLE.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Long, ResponseFuture> next = it.next();
-            ResponseFuture future = next.getValue();
-            if ((future.getBeginTimestamp() + future.getTimeoutMillis() + 1000) <= System.currentTimeMillis()) {
-                futureList.add(future);
-                it.remove();
-                LOGGER.warn("remove timeout request : {}", future);
-            }
-        }
-        for (ResponseFuture future : futureList) {
-            try {
-                future.release();
-                future.executeInvokeCallback();
-            } catch (Exception ex) {
-                LOGGER.warn("scanFutureTable, execute callback error", ex);
-            }
+    void cancelTimeout() {
+        Timeout scheduled = this.timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
         }
     }
 
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.future;
+
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * in flight requests of a client by opaque
+ * <p>
+ * each request is expired by a timing wheel at its own deadline instead of scanning the whole table. a future is
+ * completed exactly once, by whoever removes it from the table first: the response, the failed write or the timeout.
+ * one timing wheel thread is shared by the tables of all clients in the process.
+ */
+public class ResponseFutureTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseFutureTable.class);
+
+    /**
+     * tick of the timing wheel, which bounds how late a timeout is detected
+     */
+    private static final long TICK_DURATION_MILLIS = 10;
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    /**
+     * shared by all tables, the timer thread is daemon and only started by the first timeout
+     */
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer(new NamedThreadFactory("ResponseFutureTimer"),
+            TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+
+    private final ConcurrentHashMap<Long, ResponseFuture> futures = new ConcurrentHashMap<>(256);
+
+    /**
+     * executor of the callbacks of expired requests, the timer thread only expires them
+     */
+    private final Executor callbackExecutor;
+
+    public ResponseFutureTable(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * add the future and schedule its timeout
+     *
+     * @param future response future
+     */
+    public void put(ResponseFuture future) {
+        futures.put(future.getOpaque(), future);
+        Timeout timeout = TIMER.newTimeout(t -> expire(future), future.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        future.setTimeout(timeout);
+    }
+
+    /**
+     * get the future
+     *
+     * @param opaque opaque
+     * @return future, or null if completed or expired
+     */
+    public ResponseFuture get(long opaque) {
+        return futures.get(opaque);
+    }
+
+    /**
+     * remove the future and cancel its timeout
+     *
+     * @param opaque opaque
+     * @return the removed future, or null if completed or expired
+     */
+    public ResponseFuture remove(long opaque) {
+        ResponseFuture future = futures.remove(opaque);
+        if (future != null) {
+            future.cancelTimeout();
+        }
+        return future;
+    }
+
+    /**
+     * remove the future and cancel its timeout
+     *
+     * @param future response future
+     * @return true if the future was in flight and removed by this call
+     */
+    public boolean remove(ResponseFuture future) {
+        if (futures.remove(future.getOpaque(), future)) {
+            future.cancelTimeout();
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return futures.size();
+    }
+
+    /**
+     * cancel the timeouts of the pending futures and leave the futures to their callers, the shared timer keeps running
+     */
+    public void close() {
+        for (ResponseFuture future : futures.values()) {
+            future.cancelTimeout();
+        }
+        futures.clear();
+    }
+
+    private void expire(ResponseFuture future) {
+        if (!futures.remove(future.getOpaque(), future)) {
+            return;
+        }
+        logger.warn("remove timeout request : {}", future);
+        future.release();
+        if (future.getInvokeCallback() == null) {
+            return;
+        }
+        try {
+            callbackExecutor.execute(() -> {
+                try {
+                    future.executeInvokeCallback();
+                } catch (Exception ex) {
+                    logger.warn("execute callback of timeout request error", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.warn("callback executor is shut down, drop callback of timeout request {}", future.getOpaque());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.handler;
+
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
+import org.apache.dolphinscheduler.remote.command.Command;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * coalesce the commands written to a channel into batch frames
+ * <p>
+ * written commands are held until the channel is flushed, the flush is delayed by at most the flush delay, or
+ * happens at once when the max batch size is reached. peers speaking the legacy protocol get every command on its own.
+ */
+public class NettyBatchHandler extends ChannelDuplexHandler {
+
+    private final byte defaultVersion;
+
+    private final int maxBatchSize;
+
+    private final long flushDelayMillis;
+
+    private final List<Command> commands = new ArrayList<>();
+
+    private final List<ChannelPromise> promises = new ArrayList<>();
+
+    private boolean flushScheduled;
+
+    public NettyBatchHandler(byte defaultVersion, int maxBatchSize, long flushDelayMillis) {
+        this.defaultVersion = defaultVersion;
+        this.maxBatchSize = maxBatchSize;
+        this.flushDelayMillis = flushDelayMillis;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof Command) || !isFramed(ctx.channel())) {
+            // keep the order of the writes
+            writeBatch(ctx);
+            ctx.write(msg, promise);
+            return;
+        }
+        commands.add((Command) msg);
+        promises.add(promise);
+        if (commands.size() >= maxBatchSize) {
+            writeBatch(ctx);
+            ctx.flush();
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (commands.isEmpty()) {
+            ctx.flush();
+            return;
+        }
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        if (flushDelayMillis > 0) {
+            ctx.executor().schedule(() -> flushBatch(ctx), flushDelayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            // flush after the writes already queued on the event loop
+            ctx.executor().execute(() -> flushBatch(ctx));
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        writeBatch(ctx);
+        ctx.flush();
+        ctx.close(promise);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        ClosedChannelException cause = new ClosedChannelException();
+        for (ChannelPromise promise : promises) {
+            promise.tryFailure(cause);
+        }
+        commands.clear();
+        promises.clear();
+        ctx.fireChannelInactive();
+    }
+
+    private void flushBatch(ChannelHandlerContext ctx) {
+        flushScheduled = false;
+        writeBatch(ctx);
+        ctx.flush();
+    }
+
+    private void writeBatch(ChannelHandlerContext ctx) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        if (commands.size() == 1) {
+            ctx.write(commands.get(0), promises.get(0));
+        } else {
+            List<ChannelPromise> batchPromises = new ArrayList<>(promises);
+            ChannelPromise batchPromise = ctx.newPromise();
+            batchPromise.addListener(future -> {
+                for (ChannelPromise promise : batchPromises) {
+                    if (future.isSuccess()) {
+                        promise.trySuccess();
+                    } else {
+                        promise.tryFailure(future.cause());
+                    }
+                }
+            });
+            ctx.write(new BatchCommand(new ArrayList<>(commands)), batchPromise);
+        }
+        commands.clear();
+        promises.clear();
+    }
+
+    private boolean isFramed(Channel channel) {
+        Byte version = channel.attr(NettyDecoder.PROTOCOL_VERSION).get();
+        return (version == null ? defaultVersion : version) == Command.FRAMED_VERSION;
+    }
+}
@@ -18,9 +18,11 @@
 package org.apache.dolphinscheduler.remote.handler;
 
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
+import org.apache.dolphinscheduler.remote.future.ResponseFutureTable;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
 import org.apache.dolphinscheduler.remote.utils.Constants;
@@ -56,6 +58,11 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     private static byte[] heartBeatData = "heart_beat".getBytes();
 
+    /**
+     * in flight requests of the client
+     */
+    private final ResponseFutureTable futureTable;
+
     /**
      * callback thread executor
      */
@@ -71,8 +78,9 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      */
     private final ExecutorService defaultExecutor = Executors.newFixedThreadPool(Constants.CPUS);
 
-    public NettyClientHandler(NettyRemotingClient nettyRemotingClient, ExecutorService callbackExecutor) {
+    public NettyClientHandler(NettyRemotingClient nettyRemotingClient, ResponseFutureTable futureTable, ExecutorService callbackExecutor) {
         this.nettyRemotingClient = nettyRemotingClient;
+        this.futureTable = futureTable;
         this.callbackExecutor = callbackExecutor;
         this.processors = new ConcurrentHashMap<>();
     }
@@ -85,8 +93,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
-        ctx.channel().close();
+        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()), ctx.channel());
     }
 
     /**
@@ -97,6 +104,12 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof BatchCommand) {
+            for (Command command : ((BatchCommand) msg).getCommands()) {
+                processReceived(ctx.channel(), command);
+            }
+            return;
+        }
         processReceived(ctx.channel(), (Command) msg);
     }
 
@@ -131,12 +144,14 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      * @param command command
      */
     private void processReceived(final Channel channel, final Command command) {
-        ResponseFuture future = ResponseFuture.getFuture(command.getOpaque());
+        ResponseFuture future = futureTable.remove(command.getOpaque());
         if (future != null) {
+            // the response is read by the caller later, keep a copy of the body instead of the frame
+            command.getBody();
+            command.release();
             future.setResponseCommand(command);
             future.release();
             if (future.getInvokeCallback() != null) {
-                future.removeFuture();
                 this.callbackExecutor.submit(future::executeInvokeCallback);
             } else {
                 future.putResponse(command);
@@ -154,15 +169,19 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
                     pair.getLeft().process(channel, command);
                 } catch (Exception e) {
                     logger.error(String.format("process command %s exception", command), e);
+                } finally {
+                    command.release();
                 }
             };
             try {
                 pair.getRight().submit(run);
             } catch (RejectedExecutionException e) {
                 logger.warn("thread pool is full, discard command {} from {}", command, ChannelUtils.getRemoteAddress(channel));
+                command.release();
             }
         } else {
             logger.warn("receive response {}, but not matched any request ", command);
+            command.release();
         }
     }
 
@@ -175,8 +194,7 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         logger.error("exceptionCaught : {}", cause.getMessage(), cause);
-        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()));
-        ctx.channel().close();
+        nettyRemotingClient.closeChannel(ChannelUtils.toAddress(ctx.channel()), ctx.channel());
     }
 
     @Override
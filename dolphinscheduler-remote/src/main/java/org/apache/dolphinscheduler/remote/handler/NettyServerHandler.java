@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.remote.handler;
 
 import org.apache.dolphinscheduler.remote.NettyRemotingServer;
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
@@ -80,6 +81,12 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
      */
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof BatchCommand) {
+            for (Command command : ((BatchCommand) msg).getCommands()) {
+                processReceived(ctx.channel(), command);
+            }
+            return;
+        }
         processReceived(ctx.channel(), (Command) msg);
     }
 
@@ -120,6 +127,7 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
             if (logger.isDebugEnabled()) {
                 logger.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
+            msg.release();
             return;
         }
         final Pair<NettyRequestProcessor, ExecutorService> pair = processors.get(commandType);
@@ -129,15 +137,19 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
                     pair.getLeft().process(channel, msg);
                 } catch (Exception ex) {
                     logger.error("process msg {} error", msg, ex);
+                } finally {
+                    msg.release();
                 }
             };
             try {
                 pair.getRight().submit(r);
             } catch (RejectedExecutionException e) {
                 logger.warn("thread pool is full, discard msg {} from {}", msg, ChannelUtils.getRemoteAddress(channel));
+                msg.release();
             }
         } else {
             logger.warn("commandType {} not support", commandType);
+            msg.release();
         }
     }
 
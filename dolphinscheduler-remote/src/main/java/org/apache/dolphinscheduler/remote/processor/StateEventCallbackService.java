@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.Constants.SLEEP_TIME_MILLIS;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -122,4 +123,20 @@ public class StateEventCallbackService {
             nettyRemoteChannel.writeAndFlush(command);
         }
     }
+
+    /**
+     * send a command and wait for its response
+     *
+     * @param address address
+     * @param port port
+     * @param command command
+     * @param timeoutMillis max time to wait for the response
+     * @return response command
+     * @throws RemotingException if the command could not be sent or was not answered in time
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public Command sendSync(String address, int port, Command command, long timeoutMillis) throws RemotingException, InterruptedException {
+        logger.info("send sync, host:{}, command:{}", address, command);
+        return nettyRemotingClient.sendSync(new Host(address, port), command, timeoutMillis);
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * serializer of command bodies
+ */
+public interface BodySerializer {
+
+    /**
+     * serialize the body into the buffer
+     *
+     * @param body body object
+     * @param out byte buffer
+     * @throws IOException if the body can not be serialized
+     */
+    void serialize(Object body, ByteBuf out) throws IOException;
+
+    /**
+     * deserialize the body from the readable bytes of the buffer
+     *
+     * @param in byte buffer
+     * @param clazz body class
+     * @param <T> body type
+     * @return body object
+     * @throws IOException if the body can not be deserialized
+     */
+    <T> T deserialize(ByteBuf in, Class<T> clazz) throws IOException;
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+/**
+ * body serializer type, carried in the frame flag
+ */
+public enum BodySerializerType {
+
+    /**
+     * json, also used by the legacy frame
+     */
+    JSON((byte) 0, new JsonBodySerializer()),
+
+    /**
+     * binary
+     */
+    PROTOSTUFF((byte) 1, new ProtoStuffBodySerializer());
+
+    private static final BodySerializerType[] TYPES = new BodySerializerType[16];
+
+    static {
+        for (BodySerializerType serializerType : values()) {
+            TYPES[serializerType.code] = serializerType;
+        }
+    }
+
+    private final byte code;
+
+    private final BodySerializer serializer;
+
+    BodySerializerType(byte code, BodySerializer serializer) {
+        this.code = code;
+        this.serializer = serializer;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public BodySerializer getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * get the serializer type by code
+     *
+     * @param code code
+     * @return serializer type, or null if the code is unknown
+     */
+    public static BodySerializerType of(int code) {
+        return code >= 0 && code < TYPES.length ? TYPES[code] : null;
+    }
+}
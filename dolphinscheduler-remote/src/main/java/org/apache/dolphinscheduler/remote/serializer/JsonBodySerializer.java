@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * json body serializer, understood by every version of the protocol
+ */
+public class JsonBodySerializer implements BodySerializer {
+
+    @Override
+    public void serialize(Object body, ByteBuf out) throws IOException {
+        try {
+            JSONUtils.writeJson(new ByteBufOutputStream(out), body);
+        } catch (RuntimeException e) {
+            throw new IOException("serialize json body error", e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, Class<T> clazz) {
+        return JSONUtils.parseObject(new ByteBufInputStream(in), clazz);
+    }
+}
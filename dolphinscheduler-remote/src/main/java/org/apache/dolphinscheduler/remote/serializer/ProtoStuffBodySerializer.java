@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtostuffIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * compact binary body serializer
+ * <p>
+ * the body starts with the schema version. fields are numbered by their declaration order, so fields may be
+ * appended to a command and are skipped by older readers, removing or retyping a field needs a new schema version.
+ */
+public class ProtoStuffBodySerializer implements BodySerializer {
+
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
+
+    private static final Map<Class<?>, Schema<?>> SCHEMA_CACHE = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private static <T> Schema<T> getSchema(Class<T> clazz) {
+        return (Schema<T>) SCHEMA_CACHE.computeIfAbsent(clazz, RuntimeSchema::createFrom);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void serialize(Object body, ByteBuf out) throws IOException {
+        Schema<Object> schema = (Schema<Object>) getSchema(body.getClass());
+        LinkedBuffer buffer = BUFFER.get();
+        out.writeByte(SCHEMA_VERSION);
+        try {
+            ProtostuffIOUtil.writeTo(new ByteBufOutputStream(out), body, schema, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public <T> T deserialize(ByteBuf in, Class<T> clazz) throws IOException {
+        byte schemaVersion = in.readByte();
+        if (schemaVersion != SCHEMA_VERSION) {
+            throw new IOException("unsupported body schema version : " + schemaVersion);
+        }
+        Schema<T> schema = getSchema(clazz);
+        T body = schema.newMessage();
+        ProtostuffIOUtil.mergeFrom(new ByteBufInputStream(in), body, schema);
+        return body;
+    }
+}
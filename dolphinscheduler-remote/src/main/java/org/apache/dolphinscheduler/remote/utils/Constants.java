@@ -39,6 +39,26 @@ public class Constants {
 
     public static final int NETTY_CLIENT_HEART_BEAT_TIME = 1000 * 6;
 
+    /**
+     * max length of a received frame, larger frames are discarded and fail the channel
+     */
+    public static final int NETTY_MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+    /**
+     * whether clients send framed requests, only servers of this version or later read them
+     */
+    public static final String RPC_FRAMED_ENABLE = "rpc.framed.enable";
+
+    /**
+     * body serializer of framed requests
+     */
+    public static final String RPC_BODY_SERIALIZER = "rpc.body.serializer";
+
+    /**
+     * compressor accepted from peers of framed channels
+     */
+    public static final String RPC_BODY_COMPRESSOR = "rpc.body.compressor";
+
     /**
      * charset
      */
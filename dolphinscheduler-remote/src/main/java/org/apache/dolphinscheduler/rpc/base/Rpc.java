@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.rpc.base;
 
 import org.apache.dolphinscheduler.rpc.common.AbstractRpcCallBack;
+import org.apache.dolphinscheduler.rpc.common.ConsumerConfigConstants;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -42,7 +43,10 @@ public @interface Rpc {
 
     boolean callBack() default false;
 
-    //todo It is better to set the timeout period for synchronous calls
+    /**
+     * timeout of each attempt in milliseconds
+     */
+    long timeout() default ConsumerConfigConstants.DEFAULT_TIMEOUT_MILLIS;
 
     /**
      * When it is asynchronous transmission, callback must be set
@@ -50,8 +54,4 @@ public @interface Rpc {
     Class<? extends AbstractRpcCallBack> serviceCallback() default AbstractRpcCallBack.class;
 
     Class<? extends AbstractRpcCallBack> ackCallback() default AbstractRpcCallBack.class;
-
-
-
-
 }
@@ -37,6 +37,8 @@ public class ConsumerConfig {
 
     private Integer retries = ConsumerConfigConstants.DEFAULT_RETRIES;
 
+    private long timeoutMillis = ConsumerConfigConstants.DEFAULT_TIMEOUT_MILLIS;
+
     public Class<? extends AbstractRpcCallBack> getServiceCallBackClass() {
         return serviceCallBackClass;
     }
@@ -77,6 +79,14 @@ public class ConsumerConfig {
         this.retries = retries;
     }
 
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
     public Boolean getCallBack() {
         return callBack;
     }
@@ -22,7 +22,7 @@ import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.rpc.base.Rpc;
 import org.apache.dolphinscheduler.rpc.common.AbstractRpcCallBack;
 import org.apache.dolphinscheduler.rpc.common.RpcRequest;
-import org.apache.dolphinscheduler.rpc.common.RpcResponse;
+import org.apache.dolphinscheduler.rpc.common.ThreadPoolManager;
 import org.apache.dolphinscheduler.rpc.protocol.EventType;
 import org.apache.dolphinscheduler.rpc.protocol.MessageHeader;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
@@ -30,6 +30,9 @@ import org.apache.dolphinscheduler.rpc.remote.NettyClient;
 import org.apache.dolphinscheduler.rpc.serializer.RpcSerializer;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,13 +43,20 @@ import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 
 /**
  * ConsumerInterceptor
+ * <p>
+ * methods returning {@link CompletableFuture} return right away and complete on the rpc executor, async methods
+ * return true once sent and run their callback on the response, other methods wait for the result. every attempt is
+ * bounded by the timeout of the method and a failed attempt is retried until the retries are used up.
  */
 public class ConsumerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsumerInterceptor.class);
-    private Host host;
 
-    private NettyClient nettyClient = NettyClient.getInstance();
+    private static final Executor executor = ThreadPoolManager.INSTANCE.getExecutor();
+
+    private final Host host;
+
+    private final NettyClient nettyClient = NettyClient.getInstance();
 
     ConsumerInterceptor(Host host) {
         this.host = host;
@@ -61,23 +71,56 @@ public class ConsumerInterceptor {
         if (null == consumerConfig) {
             consumerConfig = cacheServiceConfig(method, serviceName);
         }
-        boolean async = consumerConfig.getAsync();
-
-        int retries = consumerConfig.getRetries();
 
-        RpcProtocol<RpcRequest> protocol = buildProtocol(request);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        invoke(request, consumerConfig, Math.max(consumerConfig.getRetries(), 1), result);
 
-        while (retries-- > 0) {
-            RpcResponse rsp;
-            rsp = nettyClient.sendMsg(host, protocol, async);
-            //success
-            if (null != rsp && rsp.getStatus() == 0) {
-                return rsp.getResult();
+        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return result;
+        }
+        if (Boolean.TRUE.equals(consumerConfig.getAsync())) {
+            if (Boolean.TRUE.equals(consumerConfig.getCallBack())) {
+                Class<? extends AbstractRpcCallBack> callBackClass = consumerConfig.getServiceCallBackClass();
+                result.thenAccept(value -> runCallBack(callBackClass, serviceName, value));
+            }
+            return true;
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemotingException("interrupted while waiting for " + serviceName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RemotingException) {
+                throw (RemotingException) e.getCause();
             }
+            throw new RemotingException("send msg error", e.getCause());
         }
-        // execute fail
-        throw new RemotingException("send msg error");
+    }
+
+    /**
+     * send one attempt of the request, complete the result on the rpc executor
+     */
+    private void invoke(RpcRequest request, ConsumerConfig consumerConfig, int attempts, CompletableFuture<Object> result) {
+        nettyClient.sendMsg(host, buildProtocol(request), consumerConfig.getTimeoutMillis()).whenCompleteAsync((rsp, e) -> {
+            if (e == null && rsp.getStatus() == 0) {
+                result.complete(rsp.getResult());
+                return;
+            }
+            if (attempts > 1) {
+                invoke(request, consumerConfig, attempts - 1, result);
+                return;
+            }
+            result.completeExceptionally(e != null ? e : new RemotingException("rpc response error : " + rsp.getMsg()));
+        }, executor);
+    }
 
+    private void runCallBack(Class<? extends AbstractRpcCallBack> callBackClass, String serviceName, Object value) {
+        try {
+            callBackClass.getDeclaredConstructor().newInstance().run(value);
+        } catch (Exception e) {
+            logger.error("rpc service call back error, serviceName {}", serviceName, e);
+        }
     }
 
     private RpcRequest buildReq(Object[] args, Method method) {
@@ -98,11 +141,12 @@ public class ConsumerInterceptor {
             Rpc rpc = method.getAnnotation(Rpc.class);
             consumerConfig.setAsync(rpc.async());
             consumerConfig.setServiceCallBackClass(rpc.serviceCallback());
-            if (!rpc.serviceCallback().isInstance(AbstractRpcCallBack.class)) {
+            if (rpc.serviceCallback() != AbstractRpcCallBack.class) {
                 consumerConfig.setCallBack(true);
             }
             consumerConfig.setAckCallBackClass(rpc.ackCallback());
             consumerConfig.setRetries(rpc.retries());
+            consumerConfig.setTimeoutMillis(rpc.timeout());
         }
 
         ConsumerConfigCache.putConfig(serviceName, consumerConfig);
@@ -21,16 +21,37 @@ import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
 
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.implementation.MethodDelegation;
 
 /**
  * RpcClient
+ * <p>
+ * proxies are generated once for each service and host and shared, they are thread safe.
  */
 public class RpcClient implements IRpcClient {
 
+    private static final ConcurrentHashMap<String, Object> PROXIES = new ConcurrentHashMap<>();
+
     @Override
     public <T> T create(Class<T> clazz, Host host) throws Exception {
+        String key = clazz.getName() + "@" + host.getAddress();
+        Object proxy = PROXIES.get(key);
+        if (proxy == null) {
+            synchronized (PROXIES) {
+                proxy = PROXIES.get(key);
+                if (proxy == null) {
+                    proxy = createProxy(clazz, host);
+                    PROXIES.put(key, proxy);
+                }
+            }
+        }
+        return clazz.cast(proxy);
+    }
+
+    private <T> T createProxy(Class<T> clazz, Host host) throws Exception {
         return new ByteBuddy()
                 .subclass(clazz)
                 .method(isDeclaredBy(clazz)).intercept(MethodDelegation.to(new ConsumerInterceptor(host)))
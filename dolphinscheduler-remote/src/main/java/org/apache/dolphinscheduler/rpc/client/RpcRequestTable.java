@@ -29,9 +29,9 @@ public class RpcRequestTable {
         throw new IllegalStateException("Utility class");
     }
 
-    private static AtomicLong requestIdGen = new AtomicLong(0);
+    private static final AtomicLong requestIdGen = new AtomicLong(0);
 
-    private static ConcurrentHashMap<Long, RpcRequestCache> requestMap = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Long, RpcRequestCache> requestMap = new ConcurrentHashMap<>();
 
     public static void put(long requestId, RpcRequestCache rpcRequestCache) {
         requestMap.put(requestId, rpcRequestCache);
@@ -41,8 +41,18 @@ public class RpcRequestTable {
         return requestMap.get(requestId);
     }
 
-    public static void remove(Long requestId) {
-        requestMap.remove(requestId);
+    /**
+     * remove the request, the one removing it completes its future
+     *
+     * @param requestId request id
+     * @return the removed request, or null if it was already completed
+     */
+    public static RpcRequestCache remove(Long requestId) {
+        return requestMap.remove(requestId);
+    }
+
+    public static int size() {
+        return requestMap.size();
     }
 
     public static long getRequestId() {
@@ -59,6 +59,11 @@ public class NettyDecoder extends ByteToMessageDecoder {
         byte serialization = byteBuf.readByte();
         long requestId = byteBuf.readLong();
         int dataLength = byteBuf.readInt();
+        if (byteBuf.readableBytes() < dataLength) {
+            // wait for the rest of the body
+            byteBuf.resetReaderIndex();
+            return;
+        }
         byte[] data = new byte[dataLength];
 
         RpcProtocol rpcProtocol = new RpcProtocol();
@@ -31,4 +31,6 @@ public class ConsumerConfigConstants {
     public static final Integer DEFAULT_RETRIES = 3;
 
     public static final Boolean DEFAULT_CALL_BACK = false;
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000L;
 }
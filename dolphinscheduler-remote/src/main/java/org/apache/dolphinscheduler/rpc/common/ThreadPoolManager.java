@@ -18,11 +18,16 @@
 package org.apache.dolphinscheduler.rpc.common;
 
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * executor of rpc requests and callbacks, a full queue runs the task on the submitting thread, which stops the
+ * event loop from reading more requests instead of dropping them
+ */
 public enum ThreadPoolManager {
 
     INSTANCE;
@@ -35,10 +40,14 @@ public enum ThreadPoolManager {
     ThreadPoolManager() {
         executorService = new ThreadPoolExecutor(Runtime.getRuntime().availableProcessors() * 2, Runtime.getRuntime().availableProcessors() * 4, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
                 new ArrayBlockingQueue<>(WORK_QUEUE_SIZE),
-                new DiscardPolicy());
+                new CallerRunsPolicy());
     }
 
     public void addExecuteTask(Runnable task) {
         executorService.submit(task);
     }
+
+    public Executor getExecutor() {
+        return executorService;
+    }
 }
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.reflections.Reflections;
@@ -31,6 +32,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * ServiceBean find all rpcService
+ * <p>
+ * one instance of each service serves all requests, services must be thread safe.
  */
 public class ServiceBean {
 
@@ -38,6 +41,8 @@ public class ServiceBean {
 
     private static Map<String, Class> serviceMap = new HashMap<>();
 
+    private static final Map<String, Object> serviceInstances = new ConcurrentHashMap<>();
+
     private static AtomicBoolean initialized = new AtomicBoolean(false);
 
     private ServiceBean() {
@@ -59,6 +64,26 @@ public class ServiceBean {
         initialized.set(true);
     }
 
+    /**
+     * get the shared instance of the service
+     *
+     * @param className service name
+     * @return service instance, or null if the service does not exist
+     */
+    public static Object getServiceInstance(String className) {
+        Class serviceClass = getServiceClass(className);
+        if (serviceClass == null) {
+            return null;
+        }
+        return serviceInstances.computeIfAbsent(className, name -> {
+            try {
+                return serviceClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("create rpc service " + name + " error", e);
+            }
+        });
+    }
+
     public static Class getServiceClass(String className) {
         if (initialized.get()) {
             return serviceMap.get(className);
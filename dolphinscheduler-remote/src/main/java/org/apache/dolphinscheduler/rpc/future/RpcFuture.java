@@ -20,68 +20,62 @@ package org.apache.dolphinscheduler.rpc.future;
 import org.apache.dolphinscheduler.rpc.common.RpcRequest;
 import org.apache.dolphinscheduler.rpc.common.RpcResponse;
 
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+
+import io.netty.util.Timeout;
 
 /**
- * RpcFuture
+ * RpcFuture, completed with the response, or exceptionally when the request times out or can not be sent
  */
-public class RpcFuture implements Future<Object> {
-
-    private CountDownLatch latch = new CountDownLatch(1);
+public class RpcFuture extends CompletableFuture<RpcResponse> {
 
-    private RpcResponse response;
+    private final RpcRequest request;
 
-    private RpcRequest request;
+    private final long requestId;
 
-    private long requestId;
+    private volatile Timeout timeout;
 
     public RpcFuture(RpcRequest rpcRequest, long requestId) {
         this.request = rpcRequest;
         this.requestId = requestId;
     }
 
-    @Override
-    public boolean cancel(boolean mayInterruptIfRunning) {
-        return false;
+    public RpcRequest getRequest() {
+        return request;
     }
 
-    @Override
-    public boolean isCancelled() {
-        return false;
+    public long getRequestId() {
+        return requestId;
     }
 
-    @Override
-    public boolean isDone() {
-        return false;
+    public void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
     }
 
-    @Override
-    public RpcResponse get() throws InterruptedException {
-        // the timeout period should be defined by the business party
-        boolean success = latch.await(5, TimeUnit.SECONDS);
-        if (!success) {
-            throw new RuntimeException("Timeout exception. Request id: " + this.requestId
-                    + ". Request class name: " + this.request.getClassName()
-                    + ". Request method: " + this.request.getMethodName());
-        }
-        return response;
+    /**
+     * complete with the response and cancel the timeout
+     *
+     * @param response response
+     */
+    public void done(RpcResponse response) {
+        cancelTimeout();
+        complete(response);
     }
 
-    @Override
-    public RpcResponse get(long timeout, TimeUnit unit) throws InterruptedException {
-        boolean success = latch.await(timeout, unit);
-        if (!success) {
-            throw new RuntimeException("Timeout exception. Request id: " + requestId
-                    + ". Request class name: " + this.request.getClassName()
-                    + ". Request method: " + this.request.getMethodName());
-        }
-        return response;
+    /**
+     * fail and cancel the timeout
+     *
+     * @param cause cause
+     */
+    public void fail(Throwable cause) {
+        cancelTimeout();
+        completeExceptionally(cause);
     }
 
-    public void done(RpcResponse response) {
-        this.response = response;
-        latch.countDown();
+    private void cancelTimeout() {
+        Timeout scheduled = this.timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
     }
 }
@@ -18,8 +18,11 @@
 package org.apache.dolphinscheduler.rpc.remote;
 
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
 import org.apache.dolphinscheduler.remote.utils.Constants;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestCache;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestTable;
@@ -52,6 +55,7 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.HashedWheelTimer;
 
 /**
  * NettyClient
@@ -96,41 +100,51 @@ public class NettyClient {
     private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap(128);
 
     /**
-     * get channel
+     * expires requests at their own deadline
+     */
+    private final HashedWheelTimer timer = new HashedWheelTimer(new NamedThreadFactory("RpcTimeoutTimer"), 10, TimeUnit.MILLISECONDS);
+
+    /**
+     * connecting futures, concurrent callers to the same host wait for the same connect
+     */
+    private final ConcurrentHashMap<Host, ChannelFuture> connectingChannels = new ConcurrentHashMap<>(128);
+
+    /**
+     * get channel, no lock is held while connecting so the callers to other hosts are not blocked
      */
     private Channel getChannel(Host host) {
         Channel channel = channels.get(host);
         if (channel != null && channel.isActive()) {
             return channel;
         }
-        return createChannel(host, true);
+        ChannelFuture future = connectingChannels.computeIfAbsent(host, this::connect);
+        try {
+            future.awaitUninterruptibly();
+            if (future.isSuccess()) {
+                channels.put(host, future.channel());
+                return future.channel();
+            }
+            logger.warn(String.format("connect to %s error", host), future.cause());
+            return null;
+        } finally {
+            connectingChannels.remove(host, future);
+        }
     }
 
     /**
-     * create channel
+     * connect to the host, or reuse the channel connected by a concurrent caller
      *
      * @param host host
-     * @param isSync sync flag
-     * @return channel
+     * @return connect future
      */
-    public Channel createChannel(Host host, boolean isSync) {
-        ChannelFuture future;
-        try {
-            synchronized (bootstrap) {
-                future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
-            }
-            if (isSync) {
-                future.sync();
-            }
-            if (future.isSuccess()) {
-                Channel channel = future.channel();
-                channels.put(host, channel);
-                return channel;
-            }
-        } catch (Exception ex) {
-            logger.warn(String.format("connect to %s error", host), ex);
+    private ChannelFuture connect(Host host) {
+        Channel channel = channels.get(host);
+        if (channel != null && channel.isActive()) {
+            return channel.newSucceededFuture();
+        }
+        synchronized (bootstrap) {
+            return bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
         }
-        return null;
     }
 
     /**
@@ -191,37 +205,38 @@ public class NettyClient {
         isStarted.compareAndSet(false, true);
     }
 
-    public RpcResponse sendMsg(Host host, RpcProtocol<RpcRequest> protocol, Boolean async) {
-
-        Channel channel = getChannel(host);
-        assert channel != null;
+    /**
+     * send the request without waiting for the response
+     *
+     * @param host host
+     * @param protocol request
+     * @param timeoutMillis timeout of the request
+     * @return future completed with the response, or exceptionally if the request can not be sent or times out
+     */
+    public RpcFuture sendMsg(Host host, RpcProtocol<RpcRequest> protocol, long timeoutMillis) {
         RpcRequest request = protocol.getBody();
-        RpcRequestCache rpcRequestCache = new RpcRequestCache();
-        String serviceName = request.getClassName() + request.getMethodName();
-        rpcRequestCache.setServiceName(serviceName);
         long reqId = protocol.getMsgHeader().getRequestId();
-        RpcFuture future = null;
-        if (Boolean.FALSE.equals(async)) {
-            future = new RpcFuture(request, reqId);
-            rpcRequestCache.setRpcFuture(future);
-        }
-        RpcRequestTable.put(protocol.getMsgHeader().getRequestId(), rpcRequestCache);
-        channel.writeAndFlush(protocol);
-        RpcResponse result = null;
-        if (Boolean.TRUE.equals(async)) {
-            result = new RpcResponse();
-            result.setStatus((byte) 0);
-            result.setResult(true);
-            return result;
-        }
-        try {
-            assert future != null;
-            result = future.get();
-        } catch (InterruptedException e) {
-            logger.error("send msg error，service name is {}", serviceName, e);
-            Thread.currentThread().interrupt();
+        RpcFuture future = new RpcFuture(request, reqId);
+        Channel channel = getChannel(host);
+        if (channel == null) {
+            future.fail(new RemotingException(String.format("connect to : %s fail", host)));
+            return future;
         }
-        return result;
+        RpcRequestCache rpcRequestCache = new RpcRequestCache();
+        rpcRequestCache.setServiceName(request.getClassName() + request.getMethodName());
+        rpcRequestCache.setRpcFuture(future);
+        RpcRequestTable.put(reqId, rpcRequestCache);
+        future.setTimeout(timer.newTimeout(timeout -> {
+            if (RpcRequestTable.remove(reqId) != null) {
+                future.fail(new RemotingTimeoutException(host.toString(), timeoutMillis));
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS));
+        channel.writeAndFlush(protocol).addListener(writeFuture -> {
+            if (!writeFuture.isSuccess() && RpcRequestTable.remove(reqId) != null) {
+                future.fail(new RemotingException(String.format("send request to %s failed", host), writeFuture.cause()));
+            }
+        });
+        return future;
     }
 
     /**
@@ -234,6 +249,7 @@ public class NettyClient {
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
+                timer.stop();
             } catch (Exception ex) {
                 logger.error("netty client close exception", ex);
             }
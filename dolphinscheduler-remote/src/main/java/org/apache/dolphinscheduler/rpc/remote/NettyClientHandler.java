@@ -17,19 +17,13 @@
 
 package org.apache.dolphinscheduler.rpc.remote;
 
-import org.apache.dolphinscheduler.rpc.client.ConsumerConfig;
-import org.apache.dolphinscheduler.rpc.client.ConsumerConfigCache;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestCache;
 import org.apache.dolphinscheduler.rpc.client.RpcRequestTable;
 import org.apache.dolphinscheduler.rpc.common.RpcResponse;
-import org.apache.dolphinscheduler.rpc.common.ThreadPoolManager;
-import org.apache.dolphinscheduler.rpc.future.RpcFuture;
 import org.apache.dolphinscheduler.rpc.protocol.EventType;
 import org.apache.dolphinscheduler.rpc.protocol.MessageHeader;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
 
-import java.lang.reflect.InvocationTargetException;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,53 +41,29 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     private static final Logger logger = LoggerFactory.getLogger(NettyClientHandler.class);
 
-    private static final ThreadPoolManager threadPoolManager = ThreadPoolManager.INSTANCE;
-
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         ctx.channel().close();
     }
 
+    /**
+     * complete the future of the request on the event loop, callers continue on their own threads
+     */
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
         RpcProtocol rpcProtocol = (RpcProtocol) msg;
-
+        if (rpcProtocol.getMsgHeader().getEventType() == EventType.HEARTBEAT.getType()) {
+            return;
+        }
         RpcResponse rsp = (RpcResponse) rpcProtocol.getBody();
         long reqId = rpcProtocol.getMsgHeader().getRequestId();
-        RpcRequestCache rpcRequest = RpcRequestTable.get(reqId);
+        RpcRequestCache rpcRequest = RpcRequestTable.remove(reqId);
 
         if (null == rpcRequest) {
-            logger.warn("rpc read error,this request does not exist");
-            return;
-        }
-        threadPoolManager.addExecuteTask(() -> readHandler(rsp, rpcRequest, reqId));
-    }
-
-    private void readHandler(RpcResponse rsp, RpcRequestCache rpcRequest, long reqId) {
-        String serviceName = rpcRequest.getServiceName();
-        ConsumerConfig consumerConfig = ConsumerConfigCache.getConfigByServersName(serviceName);
-        if (Boolean.FALSE.equals(consumerConfig.getAsync())) {
-            RpcFuture future = rpcRequest.getRpcFuture();
-            RpcRequestTable.remove(reqId);
-            future.done(rsp);
+            logger.warn("rpc read error, request {} does not exist or has timed out", reqId);
             return;
         }
-
-        if (Boolean.FALSE.equals(consumerConfig.getCallBack())) {
-            return;
-        }
-
-        if (rsp.getStatus() == 0) {
-
-            try {
-                consumerConfig.getServiceCallBackClass().getDeclaredConstructor().newInstance().run(rsp.getResult());
-            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                logger.error("rpc service call back error,serviceName {},rsp {}", serviceName, rsp);
-            }
-        } else {
-            logger.error("rpc response error ,serviceName {},rsp {}", serviceName, rsp);
-        }
-
+        rpcRequest.getRpcFuture().done(rsp);
     }
 
     @Override
@@ -24,7 +24,10 @@ import org.apache.dolphinscheduler.rpc.config.ServiceBean;
 import org.apache.dolphinscheduler.rpc.protocol.EventType;
 import org.apache.dolphinscheduler.rpc.protocol.RpcProtocol;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,32 +69,39 @@ public class NettyServerHandler extends ChannelInboundHandlerAdapter {
 
     private void readHandler(ChannelHandlerContext ctx, RpcProtocol protocol) {
         RpcRequest req = (RpcRequest) protocol.getBody();
-        RpcResponse response = new RpcResponse();
-
-        response.setStatus((byte) 0);
-
         String classname = req.getClassName();
-
         String methodName = req.getMethodName();
-
-        Class<?>[] parameterTypes = req.getParameterTypes();
-
-        Object[] arguments = req.getParameters();
-        Object result = null;
+        Object result;
         try {
-            Class serviceClass = ServiceBean.getServiceClass(classname);
-
-            Object object = serviceClass.newInstance();
-
-            Method method = serviceClass.getMethod(methodName, parameterTypes);
-
-            result = method.invoke(object, arguments);
+            Object service = ServiceBean.getServiceInstance(classname);
+            if (service == null) {
+                throw new IllegalArgumentException("rpc service " + classname + " does not exist");
+            }
+            Method method = service.getClass().getMethod(methodName, req.getParameterTypes());
+            result = method.invoke(service, req.getParameters());
         } catch (Exception e) {
             logger.error("netty server execute error,service name :{} method name :{} ", classname + methodName, e);
-            response.setStatus((byte) -1);
+            writeResponse(ctx, protocol, null, e);
+            return;
         }
+        if (result instanceof CompletableFuture) {
+            // answer when the service completes instead of holding the thread
+            ((CompletableFuture<?>) result).whenComplete((value, e) -> writeResponse(ctx, protocol, value, e));
+        } else {
+            writeResponse(ctx, protocol, result, null);
+        }
+    }
 
-        response.setResult(result);
+    private void writeResponse(ChannelHandlerContext ctx, RpcProtocol protocol, Object result, Throwable cause) {
+        RpcResponse response = new RpcResponse();
+        if (cause == null) {
+            response.setStatus((byte) 0);
+            response.setResult(result);
+        } else {
+            Throwable root = cause instanceof InvocationTargetException || cause instanceof CompletionException ? cause.getCause() : cause;
+            response.setStatus((byte) -1);
+            response.setMsg(String.valueOf(root));
+        }
         protocol.setBody(response);
         protocol.getMsgHeader().setEventType(EventType.RESPONSE.getType());
         ctx.writeAndFlush(protocol);
@@ -27,6 +27,8 @@ import io.protostuff.runtime.RuntimeSchema;
 
 /**
  * ProtoStuffUtils
+ * <p>
+ * the serialization buffer is kept per thread, a shared buffer corrupts the data of concurrent callers.
  */
 public class ProtoStuffUtils {
 
@@ -34,14 +36,15 @@ public class ProtoStuffUtils {
         throw new IllegalStateException("Utility class");
     }
 
-    private static LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
 
-    private static Map<Class<?>, Schema<?>> schemaCache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Schema<?>> schemaCache = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unchecked")
     public static <T> byte[] serialize(T obj) {
         Class<T> clazz = (Class<T>) obj.getClass();
         Schema<T> schema = getSchema(clazz);
+        LinkedBuffer buffer = BUFFER.get();
         byte[] data;
         try {
             data = ProtostuffIOUtil.toByteArray(obj, schema, buffer);
@@ -21,14 +21,19 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.Ping;
 import org.apache.dolphinscheduler.remote.command.Pong;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
@@ -109,4 +114,129 @@ public class NettyRemotingClientTest {
         server.close();
         client.close();
     }
+
+    /**
+     *  test send async with batching on both sides
+     */
+    @Test
+    public void testSendAsyncWithBatch() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        serverConfig.setBatchEnabled(true);
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        server.registerProcessor(CommandType.PING, new NettyRequestProcessor() {
+            @Override
+            public void process(Channel channel, Command command) {
+                channel.writeAndFlush(Pong.create(command.getOpaque()));
+            }
+        });
+        server.start();
+
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setBatchEnabled(true);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        int count = 100;
+        CountDownLatch latch = new CountDownLatch(count);
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            for (int i = 0; i < count; i++) {
+                client.sendAsync(host, Ping.create(), 2000, responseFuture -> {
+                    if (responseFuture.getResponseCommand() != null) {
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    /**
+     *  test channels per host
+     */
+    @Test
+    public void testChannelsPerHost() {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        server.start();
+
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setChannelsPerHost(2);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            Channel first = client.getChannel(host);
+            Channel second = client.getChannel(host);
+            Assert.assertNotNull(first);
+            Assert.assertNotNull(second);
+            Assert.assertNotSame(first, second);
+            Assert.assertSame(first, client.getChannel(host));
+            Assert.assertSame(second, client.getChannel(host));
+            Assert.assertTrue(client.isWritable(host));
+
+            client.closeChannel(host, first);
+            Channel reconnected = client.getChannel(host);
+            Assert.assertNotNull(reconnected);
+            Assert.assertNotSame(first, reconnected);
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    /**
+     *  test connect to an unreachable host
+     */
+    @Test
+    public void testConnectFail() {
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setConnectTimeoutMillis(500);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        try {
+            Assert.assertNull(client.getChannel(new Host("127.0.0.1", 1)));
+            Assert.assertTrue(client.isWritable(new Host("127.0.0.1", 1)));
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     *  test send without waiting
+     */
+    @Test
+    public void testSendWithoutWaiting() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        CountDownLatch latch = new CountDownLatch(1);
+        server.registerProcessor(CommandType.PING, (channel, command) -> latch.countDown());
+        server.start();
+
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setConnectTimeoutMillis(500);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        try {
+            client.sendAsync(new Host("127.0.0.1", serverConfig.getListenPort()), Ping.create()).get(2, TimeUnit.SECONDS);
+            Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            try {
+                client.sendAsync(new Host("127.0.0.1", 1), Ping.create()).get(2, TimeUnit.SECONDS);
+                Assert.fail("expected connect failure");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RemotingException);
+            }
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    @Test
+    public void testDefaultWireFormatIsLegacy() {
+        // servers of older versions only read legacy frames, the framed protocol is enabled in common.properties
+        NettyClientConfig clientConfig = new NettyClientConfig();
+        Assert.assertEquals(Command.VERSION, clientConfig.getProtocolVersion());
+        Assert.assertEquals(BodySerializerType.JSON, clientConfig.getSerializer());
+        Assert.assertEquals(BodyCompressorType.NONE, clientConfig.getCompressor());
+        Assert.assertEquals(BodyCompressorType.NONE, new NettyServerConfig().getCompressor());
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.codec;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.compressor.BodyCompressorType;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+public class NettyCodecTest {
+
+    @Test
+    public void testFramedRoundTrip() {
+        Command received = roundTrip(new EmbeddedChannel(new NettyEncoder()), new EmbeddedChannel(new NettyDecoder()));
+        assertAck(received);
+    }
+
+    @Test
+    public void testLegacyRoundTrip() {
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        Command received = roundTrip(new EmbeddedChannel(new NettyEncoder(Command.VERSION, BodySerializerType.JSON)), decoderChannel);
+        assertAck(received);
+        Assert.assertEquals(Command.VERSION, (byte) decoderChannel.attr(NettyDecoder.PROTOCOL_VERSION).get());
+    }
+
+    @Test
+    public void testAnswerWithPeerVersion() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(), new NettyEncoder());
+        ByteBuf legacyFrame = encode(new EmbeddedChannel(new NettyEncoder(Command.VERSION, BodySerializerType.JSON)));
+        Assert.assertTrue(channel.writeInbound(legacyFrame));
+        Command request = channel.readInbound();
+        request.release();
+
+        Assert.assertTrue(channel.writeOutbound(ackCommand()));
+        ByteBuf response = channel.readOutbound();
+        Assert.assertEquals(Command.VERSION, response.getByte(1));
+        response.release();
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        Command received = roundTrip(new EmbeddedChannel(new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.PROTOSTUFF)),
+                decoderChannel);
+        Assert.assertEquals(BodySerializerType.PROTOSTUFF, received.getSerializer());
+        assertAck(received);
+        Assert.assertEquals(BodySerializerType.PROTOSTUFF, decoderChannel.attr(NettyDecoder.BODY_SERIALIZER).get());
+    }
+
+    @Test
+    public void testAnswerWithPeerSerializer() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(), new NettyEncoder());
+        ByteBuf binaryFrame = encode(new EmbeddedChannel(new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.PROTOSTUFF)));
+        Assert.assertTrue(channel.writeInbound(binaryFrame));
+        Command request = channel.readInbound();
+        request.release();
+
+        Assert.assertTrue(channel.writeOutbound(ackCommand()));
+        ByteBuf response = channel.readOutbound();
+        Assert.assertEquals(BodySerializerType.PROTOSTUFF.getCode(), response.getByte(6) & Command.FLAG_SERIALIZER_MASK);
+        response.release();
+    }
+
+    @Test
+    public void testCompressWhenPeerAccepts() {
+        EmbeddedChannel client = new EmbeddedChannel(new NettyDecoder(),
+                new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.PROTOSTUFF, BodyCompressorType.LZ4, 1024));
+        EmbeddedChannel server = new EmbeddedChannel(new NettyDecoder(),
+                new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.JSON, BodyCompressorType.LZ4, 1024));
+        byte[] log = new byte[64 * 1024];
+        Arrays.fill(log, (byte) 'a');
+
+        // nothing is compressed before the peer advertised its compressor
+        Assert.assertTrue(client.writeOutbound(new GetLogBytesResponseCommand(log).convert2Command(1L)));
+        ByteBuf request = client.readOutbound();
+        Assert.assertEquals(0, request.getByte(6) >> Command.FLAG_COMPRESSOR_SHIFT & Command.FLAG_COMPRESSOR_MASK);
+        Assert.assertTrue(server.writeInbound(request));
+        ((Command) server.readInbound()).release();
+        Assert.assertEquals(BodyCompressorType.LZ4, server.attr(NettyDecoder.ACCEPTED_COMPRESSOR).get());
+
+        Assert.assertTrue(server.writeOutbound(new GetLogBytesResponseCommand(log).convert2Command(1L)));
+        ByteBuf response = server.readOutbound();
+        Assert.assertEquals(BodyCompressorType.LZ4.getCode(), response.getByte(6) >> Command.FLAG_COMPRESSOR_SHIFT & Command.FLAG_COMPRESSOR_MASK);
+        Assert.assertTrue(response.readableBytes() < log.length);
+        Assert.assertTrue(client.writeInbound(response));
+        Command received = client.readInbound();
+        Assert.assertArrayEquals(log, received.parseBody(GetLogBytesResponseCommand.class).getData());
+        received.release();
+    }
+
+    @Test
+    public void testSmallBodyNotCompressed() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder(),
+                new NettyEncoder(Command.FRAMED_VERSION, BodySerializerType.JSON, BodyCompressorType.LZ4, 1024));
+        channel.attr(NettyDecoder.ACCEPTED_COMPRESSOR).set(BodyCompressorType.LZ4);
+        Assert.assertTrue(channel.writeOutbound(ackCommand()));
+        ByteBuf frame = channel.readOutbound();
+        byte flag = frame.getByte(6);
+        Assert.assertEquals(0, flag >> Command.FLAG_COMPRESSOR_SHIFT & Command.FLAG_COMPRESSOR_MASK);
+        Assert.assertEquals(BodyCompressorType.LZ4.getCode(), flag >> Command.FLAG_ACCEPT_COMPRESSOR_SHIFT & Command.FLAG_COMPRESSOR_MASK);
+        Assert.assertTrue(channel.writeInbound(frame));
+        assertAck(channel.readInbound());
+    }
+
+    @Test
+    public void testPartialFrame() {
+        ByteBuf frame = encode(new EmbeddedChannel(new NettyEncoder()));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        int half = frame.readableBytes() / 2;
+        Assert.assertFalse(decoderChannel.writeInbound(frame.readRetainedSlice(half)));
+        Assert.assertTrue(decoderChannel.writeInbound(frame));
+        Command received = decoderChannel.readInbound();
+        assertAck(received);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMagic() throws Throwable {
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        ByteBuf frame = encode(new EmbeddedChannel(new NettyEncoder()));
+        frame.setByte(0, 0);
+        try {
+            decoderChannel.writeInbound(frame);
+        } catch (Exception e) {
+            throw e.getCause() == null ? e : e.getCause();
+        }
+    }
+
+    @Test
+    public void testSkipUnknownCommandType() {
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        ByteBuf unknownFrame = encode(new EmbeddedChannel(new NettyEncoder()));
+        // magic, version, length and flag come before the type
+        unknownFrame.setByte(7, 0xFF);
+        Assert.assertFalse(decoderChannel.writeInbound(unknownFrame));
+        Assert.assertTrue(decoderChannel.isActive());
+
+        Assert.assertTrue(decoderChannel.writeInbound(encode(new EmbeddedChannel(new NettyEncoder()))));
+        assertAck(decoderChannel.readInbound());
+    }
+
+    @Test(expected = TooLongFrameException.class)
+    public void testTooLongFrame() throws Throwable {
+        ByteBuf frame = encode(new EmbeddedChannel(new NettyEncoder()));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder(frame.readableBytes() - 1));
+        try {
+            decoderChannel.writeInbound(frame);
+        } catch (Exception e) {
+            throw e.getCause() == null ? e : e.getCause();
+        }
+    }
+
+    @Test(expected = TooLongFrameException.class)
+    public void testTooLongLegacyFrame() throws Throwable {
+        ByteBuf frame = encode(new EmbeddedChannel(new NettyEncoder(Command.VERSION, BodySerializerType.JSON)));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder(frame.readableBytes() - 1));
+        try {
+            decoderChannel.writeInbound(frame);
+        } catch (Exception e) {
+            throw e.getCause() == null ? e : e.getCause();
+        }
+    }
+
+    private Command roundTrip(EmbeddedChannel encoderChannel, EmbeddedChannel decoderChannel) {
+        Assert.assertTrue(decoderChannel.writeInbound(encode(encoderChannel)));
+        return decoderChannel.readInbound();
+    }
+
+    private ByteBuf encode(EmbeddedChannel encoderChannel) {
+        Assert.assertTrue(encoderChannel.writeOutbound(ackCommand()));
+        return encoderChannel.readOutbound();
+    }
+
+    private Command ackCommand() {
+        TaskExecuteAckCommand ackCommand = new TaskExecuteAckCommand();
+        ackCommand.setTaskInstanceId(1);
+        ackCommand.setHost("127.0.0.1:1234");
+        Command command = ackCommand.convert2Command();
+        command.setOpaque(10L);
+        return command;
+    }
+
+    private void assertAck(Command received) {
+        Assert.assertEquals(CommandType.TASK_EXECUTE_ACK, received.getType());
+        Assert.assertEquals(10L, received.getOpaque());
+        ByteBuf bodyBuf = received.getBodyBuf();
+        TaskExecuteAckCommand ackCommand = received.parseBody(TaskExecuteAckCommand.class);
+        Assert.assertEquals(1, ackCommand.getTaskInstanceId());
+        Assert.assertEquals("127.0.0.1:1234", ackCommand.getHost());
+        received.release();
+        Assert.assertEquals(0, bodyBuf.refCnt());
+    }
+}
@@ -17,30 +17,41 @@
 
 package org.apache.dolphinscheduler.remote.command.future;
 
+import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
-import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.remote.future.ResponseFutureTable;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
 public class ResponseFutureTest {
 
-    @Test
-    public void testScanFutureTable() {
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("executor-service"));
-        executorService.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                ResponseFuture.scanFutureTable();
-            }
-        }, 3000, 1000, TimeUnit.MILLISECONDS);
+    private ExecutorService callbackExecutor;
+
+    private ResponseFutureTable futureTable;
+
+    @Before
+    public void before() {
+        callbackExecutor = Executors.newSingleThreadExecutor();
+        futureTable = new ResponseFutureTable(callbackExecutor);
+    }
 
+    @After
+    public void after() {
+        futureTable.close();
+        callbackExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
         CountDownLatch latch = new CountDownLatch(1);
         InvokeCallback invokeCallback = new InvokeCallback() {
             @Override
@@ -48,13 +59,50 @@ public class ResponseFutureTest {
                 latch.countDown();
             }
         };
-        ResponseFuture future = new ResponseFuture(1, 2000, invokeCallback, null);
+        long begin = System.currentTimeMillis();
+        ResponseFuture future = new ResponseFuture(1, 200, invokeCallback, null);
+        futureTable.put(future);
+        Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(System.currentTimeMillis() - begin < 1000);
+        Assert.assertNull(futureTable.get(1));
+        Assert.assertNull(future.getResponseCommand());
+    }
+
+    @Test
+    public void testResponseCancelsTimeout() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ResponseFuture future = new ResponseFuture(2, 100, responseFuture -> latch.countDown(), null);
+        futureTable.put(future);
+        Assert.assertSame(future, futureTable.remove(2));
+        future.putResponse(new Command(2));
+        Assert.assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(futureTable.remove(future));
+        Assert.assertEquals(0, futureTable.size());
+    }
+
+    @Test
+    public void testCloseKeepsSharedTimer() throws InterruptedException {
+        ResponseFutureTable closedTable = new ResponseFutureTable(callbackExecutor);
+        CountDownLatch closedLatch = new CountDownLatch(1);
+        closedTable.put(new ResponseFuture(4, 100, responseFuture -> closedLatch.countDown(), null));
+        closedTable.close();
+        Assert.assertEquals(0, closedTable.size());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        futureTable.put(new ResponseFuture(5, 100, responseFuture -> latch.countDown(), null));
+        Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, closedLatch.getCount());
+    }
+
+    @Test
+    public void testTablesAreIndependent() {
+        ResponseFutureTable otherTable = new ResponseFutureTable(callbackExecutor);
         try {
-            latch.await(5000, TimeUnit.MILLISECONDS);
-            Assert.assertNull(ResponseFuture.getFuture(1));
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+            futureTable.put(new ResponseFuture(3, 10000, null, null));
+            Assert.assertNull(otherTable.get(3));
+            Assert.assertNotNull(futureTable.remove(3));
+        } finally {
+            otherTable.close();
         }
-        executorService.shutdownNow();
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.compressor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+public class BodyCompressorTest {
+
+    private static final byte[] LOG = logBytes();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (BodyCompressorType compressorType : BodyCompressorType.values()) {
+            if (compressorType == BodyCompressorType.NONE) {
+                continue;
+            }
+            assertRoundTrip(compressorType, Unpooled.wrappedBuffer(LOG));
+            ByteBuf direct = Unpooled.directBuffer(LOG.length).writeBytes(LOG);
+            assertRoundTrip(compressorType, direct);
+            direct.release();
+            assertRoundTrip(compressorType, Unpooled.EMPTY_BUFFER);
+        }
+    }
+
+    @Test
+    public void testCorruptedBody() {
+        for (BodyCompressorType compressorType : BodyCompressorType.values()) {
+            if (compressorType == BodyCompressorType.NONE) {
+                continue;
+            }
+            ByteBuf compressed = Unpooled.buffer();
+            try {
+                compressorType.getCompressor().compress(Unpooled.wrappedBuffer(LOG), compressed);
+                // claim a longer body than the one compressed
+                compressed.setInt(0, LOG.length + 1);
+                compressorType.getCompressor().decompress(compressed, Unpooled.buffer());
+                Assert.fail(compressorType + " accepted a corrupted body");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testCode() {
+        for (BodyCompressorType compressorType : BodyCompressorType.values()) {
+            Assert.assertEquals(compressorType, BodyCompressorType.of(compressorType.getCode()));
+        }
+        Assert.assertNull(BodyCompressorType.of(3));
+    }
+
+    private void assertRoundTrip(BodyCompressorType compressorType, ByteBuf body) throws IOException {
+        int length = body.readableBytes();
+        byte[] expected = ByteBufUtil.getBytes(body);
+        ByteBuf compressed = Unpooled.buffer();
+        compressorType.getCompressor().compress(body, compressed);
+        Assert.assertFalse(body.isReadable());
+        if (length > 0) {
+            Assert.assertTrue(compressorType + " did not shrink the log", compressed.readableBytes() < length);
+        }
+        ByteBuf decompressed = Unpooled.directBuffer();
+        compressorType.getCompressor().decompress(compressed, decompressed);
+        Assert.assertFalse(compressed.isReadable());
+        Assert.assertArrayEquals(expected, ByteBufUtil.getBytes(decompressed));
+        decompressed.release();
+    }
+
+    private static byte[] logBytes() {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            log.append("[INFO] 2021-12-01 10:00:00.000  - [taskAppId=TASK-1-2-").append(i).append("]:[127] -  -> line ").append(i).append('\n');
+        }
+        return log.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.handler;
+
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.BatchCommand;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.DBTaskAckCommand;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class NettyBatchHandlerTest {
+
+    @Test
+    public void testBatchOnFlush() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyBatchHandler(Command.FRAMED_VERSION, 64, 0));
+        List<ChannelFuture> futures = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            futures.add(channel.writeAndFlush(ackCommand(i)));
+        }
+        Assert.assertNull(channel.readOutbound());
+        channel.runPendingTasks();
+
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertNotNull(frame);
+        Assert.assertNull(channel.readOutbound());
+        for (ChannelFuture future : futures) {
+            Assert.assertTrue(future.isSuccess());
+        }
+
+        BatchCommand batch = decode(frame);
+        Assert.assertEquals(3, batch.getCommands().size());
+        for (int i = 0; i < 3; i++) {
+            Command command = batch.getCommands().get(i);
+            Assert.assertEquals(CommandType.DB_TASK_ACK, command.getType());
+            Assert.assertEquals(i + 1, command.parseBody(DBTaskAckCommand.class).getTaskInstanceId());
+        }
+        batch.release();
+    }
+
+    @Test
+    public void testFlushOnMaxBatchSize() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyBatchHandler(Command.FRAMED_VERSION, 2, 1000));
+        channel.write(ackCommand(1));
+        channel.write(ackCommand(2));
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertNotNull(frame);
+        BatchCommand batch = decode(frame);
+        Assert.assertEquals(2, batch.getCommands().size());
+        batch.release();
+    }
+
+    @Test
+    public void testSingleCommand() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), new NettyBatchHandler(Command.FRAMED_VERSION, 64, 0));
+        channel.writeAndFlush(ackCommand(1));
+        channel.runPendingTasks();
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        decoderChannel.writeInbound((ByteBuf) channel.readOutbound());
+        Command command = decoderChannel.readInbound();
+        Assert.assertFalse(command instanceof BatchCommand);
+        Assert.assertEquals(1, command.parseBody(DBTaskAckCommand.class).getTaskInstanceId());
+        command.release();
+    }
+
+    @Test
+    public void testLegacyPeer() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(Command.VERSION, BodySerializerType.JSON), new NettyBatchHandler(Command.VERSION, 64, 0));
+        channel.writeAndFlush(ackCommand(1));
+        channel.writeAndFlush(ackCommand(2));
+        Assert.assertNotNull(channel.readOutbound());
+        Assert.assertNotNull(channel.readOutbound());
+    }
+
+    private BatchCommand decode(ByteBuf frame) {
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new NettyDecoder());
+        Assert.assertTrue(decoderChannel.writeInbound(frame));
+        Object command = decoderChannel.readInbound();
+        Assert.assertTrue(command instanceof BatchCommand);
+        return (BatchCommand) command;
+    }
+
+    private Command ackCommand(int taskInstanceId) {
+        return new DBTaskAckCommand(1, taskInstanceId).convert2Command();
+    }
+}
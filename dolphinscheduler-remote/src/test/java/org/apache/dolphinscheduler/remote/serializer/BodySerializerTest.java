@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.serializer;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.CacheExpireCommand;
+import org.apache.dolphinscheduler.remote.command.DBTaskAckCommand;
+import org.apache.dolphinscheduler.remote.command.DBTaskResponseCommand;
+import org.apache.dolphinscheduler.remote.command.HostUpdateCommand;
+import org.apache.dolphinscheduler.remote.command.HostUpdateResponseCommand;
+import org.apache.dolphinscheduler.remote.command.StateEventChangeCommand;
+import org.apache.dolphinscheduler.remote.command.StateEventResponseCommand;
+import org.apache.dolphinscheduler.remote.command.TaskEventChangeCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+import org.apache.dolphinscheduler.remote.command.TaskKillRequestCommand;
+import org.apache.dolphinscheduler.remote.command.TaskKillResponseCommand;
+import org.apache.dolphinscheduler.remote.command.alert.AlertSendRequestCommand;
+import org.apache.dolphinscheduler.remote.command.alert.AlertSendResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class BodySerializerTest {
+
+    /**
+     * every command body with all of its fields set
+     */
+    private static final Map<Class<?>, String> COMMANDS = new LinkedHashMap<>();
+
+    static {
+        COMMANDS.put(TaskExecuteRequestCommand.class, "{\"taskExecutionContext\":\"{\\\"taskInstanceId\\\":1}\"}");
+        COMMANDS.put(TaskExecuteAckCommand.class, "{\"taskInstanceId\":1,\"processInstanceId\":2,\"startTime\":\"2021-12-01 10:00:00\","
+                + "\"host\":\"127.0.0.1:1234\",\"status\":1,\"logPath\":\"/tmp/1.log\",\"executePath\":\"/tmp/exec\"}");
+        COMMANDS.put(TaskExecuteResponseCommand.class, "{\"taskInstanceId\":1,\"processInstanceId\":2,\"status\":7,"
+                + "\"endTime\":\"2021-12-01 10:00:00\",\"processId\":100,\"appIds\":\"application_1_1\",\"varPool\":\"[]\"}");
+        COMMANDS.put(StateEventChangeCommand.class, "{\"key\":\"1-2-3-4\",\"sourceStatus\":\"SUCCESS\",\"sourceProcessInstanceId\":1,"
+                + "\"sourceTaskInstanceId\":2,\"destProcessInstanceId\":3,\"destTaskInstanceId\":4}");
+        COMMANDS.put(StateEventResponseCommand.class, "{\"key\":\"1-2-3-4\",\"status\":1}");
+        COMMANDS.put(TaskEventChangeCommand.class, "{\"key\":\"1-2\",\"processInstanceId\":1,\"taskInstanceId\":2}");
+        COMMANDS.put(DBTaskAckCommand.class, "{\"taskInstanceId\":1,\"status\":1}");
+        COMMANDS.put(DBTaskResponseCommand.class, "{\"taskInstanceId\":1,\"status\":1}");
+        COMMANDS.put(TaskKillRequestCommand.class, "{\"taskInstanceId\":1}");
+        COMMANDS.put(TaskKillResponseCommand.class, "{\"taskInstanceId\":1,\"host\":\"127.0.0.1:1234\",\"status\":9,"
+                + "\"processId\":100,\"appIds\":[\"application_1_1\"]}");
+        COMMANDS.put(HostUpdateCommand.class, "{\"taskInstanceId\":1,\"processHost\":\"127.0.0.1:5678\"}");
+        COMMANDS.put(HostUpdateResponseCommand.class, "{\"taskInstanceId\":1,\"processHost\":\"127.0.0.1:5678\",\"status\":1}");
+        COMMANDS.put(CacheExpireCommand.class, "{\"cacheType\":\"TENANT\",\"cacheKey\":\"1\"}");
+        COMMANDS.put(AlertSendRequestCommand.class, "{\"groupId\":1,\"title\":\"title\",\"content\":\"content\"}");
+        COMMANDS.put(AlertSendResponseCommand.class, "{\"resStatus\":true,\"resResults\":[{\"status\":true,\"message\":\"ok\"}]}");
+        COMMANDS.put(GetLogBytesRequestCommand.class, "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put(GetLogBytesResponseCommand.class, "{\"data\":\"bG9n\"}");
+        COMMANDS.put(RemoveTaskLogRequestCommand.class, "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put(RemoveTaskLogResponseCommand.class, "{\"status\":true}");
+        COMMANDS.put(RollViewLogRequestCommand.class, "{\"path\":\"/tmp/1.log\",\"skipLineNum\":10,\"limit\":100}");
+        COMMANDS.put(RollViewLogResponseCommand.class, "{\"msg\":\"log\"}");
+        COMMANDS.put(ViewLogRequestCommand.class, "{\"path\":\"/tmp/1.log\"}");
+        COMMANDS.put(ViewLogResponseCommand.class, "{\"msg\":\"log\"}");
+    }
+
+    @Test
+    public void testJsonRoundTrip() throws IOException {
+        for (Map.Entry<Class<?>, String> entry : COMMANDS.entrySet()) {
+            assertRoundTrip(BodySerializerType.JSON, entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    public void testProtoStuffRoundTrip() throws IOException {
+        for (Map.Entry<Class<?>, String> entry : COMMANDS.entrySet()) {
+            assertRoundTrip(BodySerializerType.PROTOSTUFF, entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Test
+    public void testProtoStuffSmallerThanJson() throws IOException {
+        Object body = JSONUtils.parseObject(COMMANDS.get(TaskExecuteAckCommand.class), TaskExecuteAckCommand.class);
+        Assert.assertTrue(serialize(BodySerializerType.PROTOSTUFF, body).readableBytes()
+                < serialize(BodySerializerType.JSON, body).readableBytes());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedSchemaVersion() throws IOException {
+        Object body = JSONUtils.parseObject(COMMANDS.get(DBTaskAckCommand.class), DBTaskAckCommand.class);
+        ByteBuf buf = serialize(BodySerializerType.PROTOSTUFF, body);
+        buf.setByte(0, ProtoStuffBodySerializer.SCHEMA_VERSION + 1);
+        BodySerializerType.PROTOSTUFF.getSerializer().deserialize(buf, DBTaskAckCommand.class);
+    }
+
+    @Test
+    public void testOf() {
+        Assert.assertEquals(BodySerializerType.JSON, BodySerializerType.of(0));
+        Assert.assertEquals(BodySerializerType.PROTOSTUFF, BodySerializerType.of(1));
+        Assert.assertNull(BodySerializerType.of(15));
+        Assert.assertNull(BodySerializerType.of(-1));
+    }
+
+    private void assertRoundTrip(BodySerializerType serializerType, Class<?> clazz, String json) throws IOException {
+        Object body = JSONUtils.parseObject(json, clazz);
+        Object deserialized = serializerType.getSerializer().deserialize(serialize(serializerType, body), clazz);
+        Assert.assertEquals(clazz.getSimpleName(), JSONUtils.toJsonString(body), JSONUtils.toJsonString(deserialized));
+    }
+
+    private ByteBuf serialize(BodySerializerType serializerType, Object body) throws IOException {
+        ByteBuf buf = Unpooled.buffer();
+        serializerType.getSerializer().serialize(body, buf);
+        return buf;
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.rpc;
 
 import org.apache.dolphinscheduler.rpc.base.Rpc;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * IUserService
  */
@@ -31,4 +33,9 @@ public interface IUserService {
 
     @Rpc(async = true)
     Boolean callBackIsFalse(String s);
+
+    CompletableFuture<Integer> hiAsync(int num);
+
+    @Rpc(timeout = 200, retries = 1)
+    Integer sleep(int millis);
 }
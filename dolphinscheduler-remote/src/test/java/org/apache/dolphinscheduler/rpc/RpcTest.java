@@ -18,30 +18,40 @@
 package org.apache.dolphinscheduler.rpc;
 
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTimeoutException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.rpc.client.IRpcClient;
 import org.apache.dolphinscheduler.rpc.client.RpcClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyClient;
 import org.apache.dolphinscheduler.rpc.remote.NettyServer;
 
-import org.junit.After;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
 import org.junit.Assert;
-import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 
 public class RpcTest {
-    private NettyServer nettyServer;
 
-    private IUserService userService;
+    private static NettyServer nettyServer;
 
-    private Host host;
+    private static IUserService userService;
 
-    @Before
-    public void before() throws Exception {
+    @BeforeClass
+    public static void before() throws Exception {
         nettyServer = new NettyServer(new NettyServerConfig());
         IRpcClient rpcClient = new RpcClient();
-        host = new Host("127.0.0.1", 12346);
+        Host host = new Host("127.0.0.1", 12346);
         userService = rpcClient.create(IUserService.class, host);
+        Assert.assertSame(userService, rpcClient.create(IUserService.class, host));
+        // warm up the server so that the short timeouts only measure the calls
+        Assert.assertEquals(Integer.valueOf(2), userService.hi(1));
     }
 
     @Test
@@ -55,8 +65,70 @@ public class RpcTest {
         userService.hi(999999);
     }
 
-    @After
-    public void after() {
+    @Test
+    public void testConcurrentCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int base = t * 1000;
+                futures.add(executor.submit(() -> {
+                    for (int i = base; i < base + 200; i++) {
+                        if (userService.hi(i) != i + 1) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentConnect() throws Exception {
+        IRpcClient rpcClient = new RpcClient();
+        IUserService unreachableService = rpcClient.create(IUserService.class, new Host("127.0.0.1", 1));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a caller waiting for an unreachable host does not block the calls to the others
+            Future<?> unreachable = executor.submit(() -> {
+                try {
+                    unreachableService.hi(1);
+                } catch (Exception e) {
+                    // expected
+                }
+            });
+            Future<Integer> reachable = executor.submit(() -> userService.hi(1));
+            Assert.assertEquals(Integer.valueOf(2), reachable.get(5, TimeUnit.SECONDS));
+            unreachable.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCompletableFuture() throws Exception {
+        Assert.assertEquals(Integer.valueOf(8), userService.hiAsync(7).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTimeout() {
+        try {
+            userService.sleep(1000);
+            Assert.fail("expected timeout");
+        } catch (Exception e) {
+            Assert.assertTrue(e instanceof RemotingTimeoutException);
+        }
+        Assert.assertEquals(Integer.valueOf(10), userService.sleep(10));
+    }
+
+    @AfterClass
+    public static void after() {
         NettyClient.getInstance().close();
         nettyServer.close();
     }
@@ -31,7 +31,6 @@ public class UserCallback extends AbstractRpcCallBack {
 
     @Override
     public void run(Object object) {
-        String msg = (String) object;
-        logger.debug("Kris---------------------------------userCallBack msg is {}", msg);
+        logger.debug("Kris---------------------------------userCallBack msg is {}", object);
     }
 }
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.rpc;
 
 import org.apache.dolphinscheduler.rpc.base.RpcService;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,4 +51,19 @@ public class UserService implements IUserService {
         logger.info("Kris UserService callBackIsFalse-------------------------------async call msg{}", s);
         return null;
     }
+
+    @Override
+    public CompletableFuture<Integer> hiAsync(int num) {
+        return CompletableFuture.supplyAsync(() -> num + 1);
+    }
+
+    @Override
+    public Integer sleep(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return millis;
+    }
 }
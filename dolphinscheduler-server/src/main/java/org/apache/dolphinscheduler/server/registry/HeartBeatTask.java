@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.utils.HeartBeat;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,10 +35,14 @@ public class HeartBeatTask implements Runnable {
 
     private final Set<String> heartBeatPaths;
     private final RegistryClient registryClient;
-    private int workerWaitingTaskCount;
     private final String serverType;
     private final HeartBeat heartBeat;
 
+    /**
+     * fills the live task figures of the server into the heart beat before it is sent
+     */
+    private final Consumer<HeartBeat> taskInfoUpdater;
+
     public HeartBeatTask(long startupTime,
                          double maxCpuloadAvg,
                          double reservedMemory,
@@ -48,6 +53,7 @@ public class HeartBeatTask implements Runnable {
         this.registryClient = registryClient;
         this.serverType = serverType;
         this.heartBeat = new HeartBeat(startupTime, maxCpuloadAvg, reservedMemory);
+        this.taskInfoUpdater = ignored -> { };
     }
 
     public HeartBeatTask(long startupTime,
@@ -58,16 +64,17 @@ public class HeartBeatTask implements Runnable {
                          String serverType,
                          RegistryClient registryClient,
                          int workerThreadCount,
-                         int workerWaitingTaskCount
+                         Consumer<HeartBeat> taskInfoUpdater
     ) {
         this.heartBeatPaths = heartBeatPaths;
         this.registryClient = registryClient;
-        this.workerWaitingTaskCount = workerWaitingTaskCount;
         this.serverType = serverType;
         this.heartBeat = new HeartBeat(startupTime, maxCpuloadAvg, reservedMemory, hostWeight, workerThreadCount);
+        this.taskInfoUpdater = taskInfoUpdater;
     }
 
     public String getHeartBeatInfo() {
+        taskInfoUpdater.accept(heartBeat);
         return this.heartBeat.encodeHeartBeat();
     }
 
@@ -82,11 +89,9 @@ public class HeartBeatTask implements Runnable {
                 }
             }
 
-            // update waiting task count
-            heartBeat.setWorkerWaitingTaskCount(workerWaitingTaskCount);
-
+            String heartBeatInfo = getHeartBeatInfo();
             for (String heartBeatPath : heartBeatPaths) {
-                registryClient.persistEphemeral(heartBeatPath, heartBeat.encodeHeartBeat());
+                registryClient.persistEphemeral(heartBeatPath, heartBeatInfo);
             }
         } catch (Throwable ex) {
             logger.error("error write heartbeat info", ex);
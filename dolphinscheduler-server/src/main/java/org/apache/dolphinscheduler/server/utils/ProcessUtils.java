@@ -36,6 +36,7 @@ import org.apache.commons.lang.SystemUtils;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -177,20 +178,30 @@ public class ProcessUtils {
     }
 
     /**
-     * find logs and kill yarn tasks.
+     * kill the yarn tasks known to the context, or the ones found in its log.
      *
      * @param taskExecutionContext taskExecutionContext
      * @return yarn application ids
      */
     public static List<String> killYarnJob(TaskExecutionContext taskExecutionContext) {
         try {
-            Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            String log;
-            try (LogClientService logClient = new LogClientService()) {
-                Host host = Host.of(taskExecutionContext.getHost());
-                log = logClient.viewLog(host.getIp(), host.getPort(), taskExecutionContext.getLogPath());
+            List<String> appIds;
+            if (StringUtils.isNotEmpty(taskExecutionContext.getAppIds())) {
+                // collected from the task output while it ran, no need to search the log
+                appIds = Arrays.asList(taskExecutionContext.getAppIds().split(Constants.COMMA));
+            } else {
+                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                String log;
+                try (LogClientService logClient = new LogClientService()) {
+                    Host host = Host.of(taskExecutionContext.getHost());
+                    log = logClient.viewLog(host.getIp(), host.getPort(), taskExecutionContext.getLogPath());
+                }
+                if (StringUtils.isEmpty(log)) {
+                    return Collections.emptyList();
+                }
+                appIds = LoggerUtils.getAppIds(log, logger);
             }
-            if (!StringUtils.isEmpty(log)) {
+            if (CollectionUtils.isNotEmpty(appIds)) {
                 if (StringUtils.isEmpty(taskExecutionContext.getExecutePath())) {
                     taskExecutionContext.setExecutePath(FileUtils.getProcessExecDir(taskExecutionContext.getProjectCode(),
                             taskExecutionContext.getProcessDefineCode(),
@@ -199,11 +210,8 @@ public class ProcessUtils {
                             taskExecutionContext.getTaskInstanceId()));
                 }
                 FileUtils.createWorkDirIfAbsent(taskExecutionContext.getExecutePath());
-                List<String> appIds = LoggerUtils.getAppIds(log, logger);
-                if (CollectionUtils.isNotEmpty(appIds)) {
-                    cancelApplication(appIds, logger, taskExecutionContext.getTenantCode(), taskExecutionContext.getExecutePath());
-                    return appIds;
-                }
+                cancelApplication(appIds, logger, taskExecutionContext.getTenantCode(), taskExecutionContext.getExecutePath());
+                return appIds;
             }
 
         } catch (Exception e) {
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache;
+
+import org.apache.dolphinscheduler.common.utils.EncryptionUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstanceBlob;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceBlobMapper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * task instance blob cache
+ * the task params and environment config of task instances are stored once per content in t_ds_task_instance_blob,
+ * the hashes which are known to be stored are cached so the blob is not written again for every task instance.
+ * every write refreshes the update time of the blob, and the cached hashes expire before the unreferenced blobs
+ * are deleted, so a cached hash always refers to a stored blob.
+ */
+@Component
+public class TaskInstanceBlobCache {
+
+    /**
+     * max size of stored hashes
+     */
+    private static final int MAX_SIZE = 10000;
+
+    /**
+     * expire time of stored hashes, the unreferenced blobs must be kept longer than it
+     */
+    public static final long EXPIRE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private TaskInstanceBlobMapper taskInstanceBlobMapper;
+
+    private final Cache<String, Boolean> storedHashes = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(EXPIRE_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+
+    /**
+     * store the content if it is not stored yet
+     *
+     * @param content content
+     * @return content hash, null if the content is null
+     */
+    public String store(String content) {
+        if (content == null) {
+            return null;
+        }
+        String hash = EncryptionUtils.getSha256(content);
+        if (storedHashes.getIfPresent(hash) != null) {
+            return hash;
+        }
+        taskInstanceBlobMapper.insertOrTouch(new TaskInstanceBlob(hash, content));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the blob is invisible if the transaction rolls back, only cache it after commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    storedHashes.put(hash, Boolean.TRUE);
+                }
+            });
+        } else {
+            storedHashes.put(hash, Boolean.TRUE);
+        }
+        return hash;
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.service.log;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
@@ -31,8 +30,12 @@ import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +57,11 @@ public class LogClientService implements AutoCloseable {
      */
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    /**
+     * bytes of a log requested at a time when streaming it
+     */
+    private static final int LOG_CHUNK_SIZE = 1024 * 1024;
+
     /**
      * construct client
      */
@@ -93,8 +101,7 @@ public class LogClientService implements AutoCloseable {
             Command command = request.convert2Command();
             Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
             if (response != null) {
-                RollViewLogResponseCommand rollReviewLog = JSONUtils.parseObject(
-                        response.getBody(), RollViewLogResponseCommand.class);
+                RollViewLogResponseCommand rollReviewLog = response.parseBody(RollViewLogResponseCommand.class);
                 return rollReviewLog.getMsg();
             }
         } catch (Exception e) {
@@ -125,8 +132,7 @@ public class LogClientService implements AutoCloseable {
                 Command command = request.convert2Command();
                 Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
                 if (response != null) {
-                    ViewLogResponseCommand viewLog = JSONUtils.parseObject(
-                            response.getBody(), ViewLogResponseCommand.class);
+                    ViewLogResponseCommand viewLog = response.parseBody(ViewLogResponseCommand.class);
                     result = viewLog.getMsg();
                 }
             }
@@ -154,8 +160,10 @@ public class LogClientService implements AutoCloseable {
             Command command = request.convert2Command();
             Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
             if (response != null) {
-                GetLogBytesResponseCommand getLog = JSONUtils.parseObject(
-                        response.getBody(), GetLogBytesResponseCommand.class);
+                GetLogBytesResponseCommand getLog = response.parseBody(GetLogBytesResponseCommand.class);
+                if (getLog.getError() != null) {
+                    logger.error("get log bytes of {} from {} error : {}", path, address, getLog.getError());
+                }
                 return getLog.getData() == null ? new byte[0] : getLog.getData();
             }
         } catch (Exception e) {
@@ -166,6 +174,62 @@ public class LogClientService implements AutoCloseable {
         return new byte[0];
     }
 
+    /**
+     * stream log to an output stream, chunk by chunk, the next chunk is requested after the last one is written
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param offset byte offset to stream from
+     * @param out output stream
+     * @throws IOException if the log could not be fetched or written
+     */
+    public void streamLog(String host, int port, String path, long offset, OutputStream out) throws IOException {
+        logger.info("stream log path {} from offset {}", path, offset);
+        final Host address = new Host(host, port);
+        try {
+            long position = offset;
+            while (true) {
+                GetLogBytesRequestCommand request = new GetLogBytesRequestCommand(path, position, LOG_CHUNK_SIZE);
+                Command response = this.client.sendSync(address, request.convert2Command(), LOG_REQUEST_TIMEOUT);
+                if (response == null) {
+                    throw new IOException(String.format("stream log %s from %s timeout at offset %d", path, address, position));
+                }
+                GetLogBytesResponseCommand body = response.parseBody(GetLogBytesResponseCommand.class);
+                if (body.getError() != null) {
+                    throw new IOException(String.format("stream log %s from %s failed at offset %d : %s", path, address, position, body.getError()));
+                }
+                byte[] data = body.getData();
+                int length = data == null ? 0 : data.length;
+                if (body.getOffset() == null) {
+                    // servers of older versions ignore the range and return the whole log
+                    if (length > position) {
+                        out.write(data, (int) position, length - (int) position);
+                    }
+                    break;
+                }
+                if (body.getOffset() != position || length > LOG_CHUNK_SIZE) {
+                    throw new IOException(String.format("stream log %s from %s returned %d bytes at offset %d, requested offset %d",
+                            path, address, length, body.getOffset(), position));
+                }
+                if (length > 0) {
+                    out.write(data);
+                    position += length;
+                }
+                if (length < LOG_CHUNK_SIZE) {
+                    break;
+                }
+            }
+        } catch (RemotingException e) {
+            throw new IOException(String.format("stream log %s from %s error", path, address), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.format("stream log %s from %s interrupted", path, address), e);
+        } finally {
+            this.client.closeChannel(address);
+        }
+    }
+
     /**
      * remove task log
      *
@@ -183,8 +247,7 @@ public class LogClientService implements AutoCloseable {
             Command command = request.convert2Command();
             Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
             if (response != null) {
-                RemoveTaskLogResponseCommand taskLogResponse = JSONUtils.parseObject(
-                        response.getBody(), RemoveTaskLogResponseCommand.class);
+                RemoveTaskLogResponseCommand taskLogResponse = response.parseBody(RemoveTaskLogResponseCommand.class);
                 return taskLogResponse.getStatus();
             }
         } catch (Exception e) {
@@ -83,6 +83,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskGroup;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstanceBlob;
 import org.apache.dolphinscheduler.dao.entity.Tenant;
 import org.apache.dolphinscheduler.dao.entity.UdfFunc;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -110,6 +111,7 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceBlobMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
 import org.apache.dolphinscheduler.dao.mapper.UdfFuncMapper;
@@ -121,6 +123,7 @@ import org.apache.dolphinscheduler.remote.command.TaskEventChangeCommand;
 import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+import org.apache.dolphinscheduler.service.cache.TaskInstanceBlobCache;
 import org.apache.dolphinscheduler.service.exceptions.ServiceException;
 import org.apache.dolphinscheduler.service.log.LogClientService;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtils;
@@ -133,6 +136,7 @@ import org.apache.commons.lang3.SerializationUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -162,6 +166,11 @@ public class ProcessService {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * max rows of one multi-row insert of task instances
+     */
+    private static final int TASK_INSTANCE_BATCH_INSERT_SIZE = 500;
+
     private final int[] stateArray = new int[]{ExecutionStatus.SUBMITTED_SUCCESS.ordinal(),
             ExecutionStatus.RUNNING_EXECUTION.ordinal(),
             ExecutionStatus.DELAY_EXECUTION.ordinal(),
@@ -189,6 +198,12 @@ public class ProcessService {
     @Autowired
     private TaskInstanceMapper taskInstanceMapper;
 
+    @Autowired
+    private TaskInstanceBlobCache taskInstanceBlobCache;
+
+    @Autowired
+    private TaskInstanceBlobMapper taskInstanceBlobMapper;
+
     @Autowired
     private CommandMapper commandMapper;
 
@@ -1169,6 +1184,68 @@ public class ProcessService {
         return task;
     }
 
+    /**
+     * retry submit task instances which are not saved to db yet in batch
+     *
+     * @param processInstance processInstance
+     * @param taskInstances task instances, all of them are new
+     * @param commitRetryTimes commit retry times
+     * @param commitInterval commit interval
+     * @return submitted task instances, null if submit failed
+     */
+    public List<TaskInstance> submitTasksWithRetry(ProcessInstance processInstance, List<TaskInstance> taskInstances, int commitRetryTimes, int commitInterval) {
+        int retryTimes = 1;
+        List<TaskInstance> tasks = null;
+        while (retryTimes <= commitRetryTimes) {
+            try {
+                // submit tasks to db
+                tasks = SpringApplicationContext.getBean(ProcessService.class).submitTasks(processInstance, taskInstances);
+                if (tasks != null) {
+                    break;
+                }
+                logger.error("tasks commit to db failed, process instance id {} has already retry {} times, please check the database",
+                        processInstance.getId(), retryTimes);
+                Thread.sleep(commitInterval);
+            } catch (Exception e) {
+                logger.error("tasks commit to mysql failed", e);
+            }
+            // the insert was rolled back, the generated ids are invalid
+            for (TaskInstance taskInstance : taskInstances) {
+                taskInstance.setId(0);
+            }
+            retryTimes += 1;
+        }
+        return tasks;
+    }
+
+    /**
+     * submit task instances which are not saved to db yet in batch,
+     * all the task instances are inserted with multi-row statements and the generated ids are fetched together
+     *
+     * @param processInstance processInstance
+     * @param taskInstances taskInstances
+     * @return task instances
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<TaskInstance> submitTasks(ProcessInstance processInstance, List<TaskInstance> taskInstances) {
+        logger.info("start submit {} tasks in batch, instance id:{}, state: {}",
+                taskInstances.size(), processInstance.getId(), processInstance.getState());
+        if (!submitTaskInstancesToDB(taskInstances, processInstance)) {
+            logger.error("end submit tasks to db error, process id:{} state: {} ", processInstance.getId(), processInstance.getState());
+            return null;
+        }
+
+        for (TaskInstance task : taskInstances) {
+            if (!task.getState().typeIsFinished()) {
+                createSubWorkProcess(processInstance, task);
+            }
+        }
+
+        logger.info("end submit {} tasks to db successfully, instance id:{} state: {}",
+                taskInstances.size(), processInstance.getId(), processInstance.getState());
+        return taskInstances;
+    }
+
     /**
      * submit task to db
      * submit sub process to command
@@ -1411,13 +1488,53 @@ public class ProcessService {
      * @return task instance
      */
     public TaskInstance submitTaskInstanceToDB(TaskInstance taskInstance, ProcessInstance processInstance) {
+        if (!canSubmitTask(processInstance)) {
+            return null;
+        }
+        prepareSubmitTaskInstance(taskInstance, processInstance);
+        boolean saveResult = saveTaskInstance(taskInstance);
+        if (!saveResult) {
+            return null;
+        }
+        return taskInstance;
+    }
+
+    /**
+     * submit new task instances to mysql in batch
+     *
+     * @param taskInstances task instances not saved to db yet
+     * @param processInstance processInstance
+     * @return submit result
+     */
+    public boolean submitTaskInstancesToDB(List<TaskInstance> taskInstances, ProcessInstance processInstance) {
+        if (!canSubmitTask(processInstance)) {
+            return false;
+        }
+        for (TaskInstance taskInstance : taskInstances) {
+            prepareSubmitTaskInstance(taskInstance, processInstance);
+        }
+        createTaskInstances(taskInstances);
+        return true;
+    }
+
+    /**
+     * tasks cannot be submitted when the process instance is finished or ready to pause/stop
+     */
+    private boolean canSubmitTask(ProcessInstance processInstance) {
         ExecutionStatus processInstanceState = processInstance.getState();
         if (processInstanceState.typeIsFinished()
                 || processInstanceState == ExecutionStatus.READY_PAUSE
                 || processInstanceState == ExecutionStatus.READY_STOP) {
             logger.warn("processInstance {} was {}, skip submit task", processInstance.getProcessDefinitionCode(), processInstanceState);
-            return null;
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * set the submit info of task instance
+     */
+    private void prepareSubmitTaskInstance(TaskInstance taskInstance, ProcessInstance processInstance) {
         taskInstance.setExecutorId(processInstance.getExecutorId());
         taskInstance.setProcessInstancePriority(processInstance.getProcessInstancePriority());
         taskInstance.setState(getSubmitTaskState(taskInstance, processInstance));
@@ -1427,11 +1544,6 @@ public class ProcessService {
         if (taskInstance.getFirstSubmitTime() == null) {
             taskInstance.setFirstSubmitTime(taskInstance.getSubmitTime());
         }
-        boolean saveResult = saveTaskInstance(taskInstance);
-        if (!saveResult) {
-            return null;
-        }
-        return taskInstance;
     }
 
     /**
@@ -1545,10 +1657,36 @@ public class ProcessService {
      * @return create task instance result
      */
     public boolean createTaskInstance(TaskInstance taskInstance) {
+        storeTaskInstanceBlobs(taskInstance);
+        taskInstance.setUpdateTime(new Date());
         int count = taskInstanceMapper.insert(taskInstance);
         return count > 0;
     }
 
+    /**
+     * insert task instances with multi-row statements, the generated ids are set back to the task instances
+     *
+     * @param taskInstances taskInstances
+     * @throws ServiceException if not all the task instances are inserted, so the transaction rolls back
+     */
+    public void createTaskInstances(List<TaskInstance> taskInstances) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return;
+        }
+        Date now = new Date();
+        for (TaskInstance taskInstance : taskInstances) {
+            storeTaskInstanceBlobs(taskInstance);
+            taskInstance.setUpdateTime(now);
+        }
+        int count = 0;
+        for (List<TaskInstance> partition : Lists.partition(taskInstances, TASK_INSTANCE_BATCH_INSERT_SIZE)) {
+            count += taskInstanceMapper.batchInsert(partition);
+        }
+        if (count != taskInstances.size()) {
+            throw new ServiceException(String.format("insert task instances fail, %d of %d inserted", count, taskInstances.size()));
+        }
+    }
+
     /**
      * update task instance
      *
@@ -1556,10 +1694,80 @@ public class ProcessService {
      * @return update task instance result
      */
     public boolean updateTaskInstance(TaskInstance taskInstance) {
+        storeTaskInstanceBlobs(taskInstance);
+        taskInstance.setUpdateTime(new Date());
         int count = taskInstanceMapper.updateById(taskInstance);
         return count > 0;
     }
 
+    /**
+     * store the task params and environment config of task instance as shared blobs and reference them by hash
+     *
+     * @param taskInstance taskInstance
+     */
+    private void storeTaskInstanceBlobs(TaskInstance taskInstance) {
+        if (taskInstance.getTaskParams() != null) {
+            taskInstance.setTaskParamsHash(taskInstanceBlobCache.store(taskInstance.getTaskParams()));
+        }
+        if (taskInstance.getEnvironmentConfig() != null) {
+            taskInstance.setEnvironmentConfigHash(taskInstanceBlobCache.store(taskInstance.getEnvironmentConfig()));
+        }
+    }
+
+    /**
+     * load the task params and environment config of task instances which only carry the hashes
+     *
+     * @param taskInstances taskInstances
+     */
+    public void loadTaskInstanceBlobs(Collection<TaskInstance> taskInstances) {
+        Set<String> hashes = new HashSet<>();
+        for (TaskInstance taskInstance : taskInstances) {
+            if (taskInstance.getTaskParamsHash() != null) {
+                hashes.add(taskInstance.getTaskParamsHash());
+            }
+            if (taskInstance.getEnvironmentConfigHash() != null) {
+                hashes.add(taskInstance.getEnvironmentConfigHash());
+            }
+        }
+        if (hashes.isEmpty()) {
+            return;
+        }
+        Map<String, String> contents = new HashMap<>();
+        for (List<String> partition : Lists.partition(new ArrayList<>(hashes), TASK_INSTANCE_BATCH_INSERT_SIZE)) {
+            for (TaskInstanceBlob taskInstanceBlob : taskInstanceBlobMapper.selectBatchIds(partition)) {
+                contents.put(taskInstanceBlob.getHash(), taskInstanceBlob.getContent());
+            }
+        }
+        for (TaskInstance taskInstance : taskInstances) {
+            if (taskInstance.getTaskParamsHash() != null) {
+                taskInstance.setTaskParams(contents.get(taskInstance.getTaskParamsHash()));
+            }
+            if (taskInstance.getEnvironmentConfigHash() != null) {
+                taskInstance.setEnvironmentConfig(contents.get(taskInstance.getEnvironmentConfigHash()));
+            }
+        }
+    }
+
+    /**
+     * delete the task instance blobs which are not referred by any task instance and not stored since the update time
+     *
+     * @param updateTime blobs stored after it are kept, the hashes cached by {@link TaskInstanceBlobCache} must be younger
+     * @return delete count
+     */
+    public int deleteUnreferencedTaskInstanceBlobs(Date updateTime) {
+        int deleteCount = 0;
+        String startHash = null;
+        List<String> hashes;
+        do {
+            hashes = taskInstanceBlobMapper.queryHashesNotUpdatedSince(updateTime, startHash, TASK_INSTANCE_BATCH_INSERT_SIZE);
+            if (!hashes.isEmpty()) {
+                deleteCount += taskInstanceBlobMapper.deleteUnreferenced(hashes, updateTime);
+                startHash = hashes.get(hashes.size() - 1);
+            }
+        } while (hashes.size() == TASK_INSTANCE_BATCH_INSERT_SIZE);
+        return deleteCount;
+    }
+
     /**
      * find task instance by id
      *
@@ -1685,6 +1893,21 @@ public class ProcessService {
         return taskInstanceMapper.findValidTaskListByProcessId(processInstanceId, Flag.YES);
     }
 
+    /**
+     * find the task instances of process instances written after the update time, valid or not
+     *
+     * @param processInstanceIds processInstanceIds
+     * @param updateTime updateTime
+     * @return task instance list
+     */
+    public List<TaskInstance> findTaskListUpdatedAfter(Collection<Integer> processInstanceIds, Date updateTime) {
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (List<Integer> partition : Lists.partition(new ArrayList<>(processInstanceIds), TASK_INSTANCE_BATCH_INSERT_SIZE)) {
+            taskInstances.addAll(taskInstanceMapper.queryByProcessInstanceIdsAndUpdateTime(partition, updateTime));
+        }
+        return taskInstances;
+    }
+
     /**
      * find previous task list by work process id
      *
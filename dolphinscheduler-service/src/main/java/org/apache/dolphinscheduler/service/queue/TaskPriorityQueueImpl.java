@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.List;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -50,6 +51,16 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
         queue.put(taskPriorityInfo);
     }
 
+    /**
+     * put the task priorities of one submit round together
+     *
+     * @param taskPriorityList task priority list
+     * @throws TaskPriorityQueueException
+     */
+    public void putList(List<TaskPriority> taskPriorityList) throws TaskPriorityQueueException {
+        queue.addAll(taskPriorityList);
+    }
+
     /**
      * take taskInfo
      *
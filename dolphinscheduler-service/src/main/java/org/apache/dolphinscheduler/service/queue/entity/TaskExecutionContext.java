@@ -20,17 +20,18 @@ package org.apache.dolphinscheduler.service.queue.entity;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.enums.TaskTimeoutStrategy;
 import org.apache.dolphinscheduler.common.process.Property;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
-import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.spi.task.request.DataQualityTaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.request.DataxTaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.request.ProcedureTaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.request.SQLTaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.request.SqoopTaskExecutionContext;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -72,6 +73,11 @@ public class TaskExecutionContext implements Serializable {
      */
     private String host;
 
+    /**
+     * listen address of the master running the process instance, results are sent to it after a worker restart
+     */
+    private String masterHost;
+
     /**
      * task execute path
      */
@@ -309,6 +315,14 @@ public class TaskExecutionContext implements Serializable {
         this.host = host;
     }
 
+    public String getMasterHost() {
+        return masterHost;
+    }
+
+    public void setMasterHost(String masterHost) {
+        this.masterHost = masterHost;
+    }
+
     public String getExecutePath() {
         return executePath;
     }
@@ -533,10 +547,78 @@ public class TaskExecutionContext implements Serializable {
         this.procedureTaskExecutionContext = procedureTaskExecutionContext;
     }
 
+    /**
+     * the context itself is the body of the task execute request, it is serialized once by the encoder
+     *
+     * @return command
+     */
     public Command toCommand() {
-        TaskExecuteRequestCommand requestCommand = new TaskExecuteRequestCommand();
-        requestCommand.setTaskExecutionContext(JSONUtils.toJsonString(this));
-        return requestCommand.convert2Command();
+        Command command = new Command();
+        command.setType(CommandType.TASK_EXECUTE_REQUEST);
+        command.setBodyObject(this);
+        return command;
+    }
+
+    /**
+     * map the context onto the request of the task plugin
+     *
+     * @return task request
+     */
+    public TaskRequest toTaskRequest() {
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTaskInstanceId(taskInstanceId);
+        taskRequest.setTaskName(taskName);
+        taskRequest.setFirstSubmitTime(firstSubmitTime);
+        taskRequest.setStartTime(startTime);
+        taskRequest.setTaskType(taskType);
+        taskRequest.setHost(host);
+        taskRequest.setExecutePath(executePath);
+        taskRequest.setLogPath(logPath);
+        taskRequest.setTaskJson(taskJson);
+        taskRequest.setProcessId(processId);
+        taskRequest.setAppIds(appIds);
+        taskRequest.setProcessInstanceId(processInstanceId);
+        taskRequest.setScheduleTime(scheduleTime);
+        taskRequest.setGlobalParams(globalParams);
+        taskRequest.setExecutorId(executorId);
+        taskRequest.setCmdTypeIfComplement(cmdTypeIfComplement);
+        taskRequest.setTenantCode(tenantCode);
+        taskRequest.setQueue(queue);
+        taskRequest.setTaskParams(taskParams);
+        taskRequest.setEnvFile(envFile);
+        taskRequest.setEnvironmentConfig(environmentConfig);
+        taskRequest.setDefinedParams(definedParams);
+        taskRequest.setTaskAppId(taskAppId);
+        if (taskTimeoutStrategy != null) {
+            taskRequest.setTaskTimeoutStrategy(org.apache.dolphinscheduler.spi.enums.TaskTimeoutStrategy.valueOf(taskTimeoutStrategy.name()));
+        }
+        taskRequest.setTaskTimeout(taskTimeout);
+        taskRequest.setWorkerGroup(workerGroup);
+        taskRequest.setDelayTime(delayTime);
+        taskRequest.setResources(resources);
+        if (paramsMap != null) {
+            Map<String, org.apache.dolphinscheduler.spi.task.Property> requestParamsMap = new HashMap<>(paramsMap.size());
+            for (Map.Entry<String, Property> entry : paramsMap.entrySet()) {
+                requestParamsMap.put(entry.getKey(), toTaskProperty(entry.getValue()));
+            }
+            taskRequest.setParamsMap(requestParamsMap);
+        }
+        taskRequest.setSqlTaskExecutionContext(sqlTaskExecutionContext);
+        taskRequest.setDataxTaskExecutionContext(dataxTaskExecutionContext);
+        taskRequest.setProcedureTaskExecutionContext(procedureTaskExecutionContext);
+        taskRequest.setSqoopTaskExecutionContext(sqoopTaskExecutionContext);
+        taskRequest.setDataQualityTaskExecutionContext(dataQualityTaskExecutionContext);
+        return taskRequest;
+    }
+
+    private static org.apache.dolphinscheduler.spi.task.Property toTaskProperty(Property property) {
+        if (property == null) {
+            return null;
+        }
+        return new org.apache.dolphinscheduler.spi.task.Property(property.getProp(),
+                property.getDirect() == null ? null : org.apache.dolphinscheduler.spi.task.Direct.valueOf(property.getDirect().name()),
+                property.getType() == null ? null : org.apache.dolphinscheduler.spi.enums.DataType.valueOf(property.getType().name()),
+                property.getValue());
     }
 
     public DependenceTaskExecutionContext getDependenceTaskExecutionContext() {
@@ -589,6 +671,7 @@ public class TaskExecutionContext implements Serializable {
                 + ", startTime=" + startTime
                 + ", taskType='" + taskType + '\''
                 + ", host='" + host + '\''
+                + ", masterHost='" + masterHost + '\''
                 + ", executePath='" + executePath + '\''
                 + ", logPath='" + logPath + '\''
                 + ", taskJson='" + taskJson + '\''
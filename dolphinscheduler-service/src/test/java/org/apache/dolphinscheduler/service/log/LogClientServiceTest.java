@@ -28,7 +28,10 @@ import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -105,6 +108,66 @@ public class LogClientServiceTest {
         Assert.assertNotNull(msg);
     }
 
+    @Test
+    public void testStreamLog() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        byte[] chunk = new byte[1024 * 1024];
+        Arrays.fill(chunk, (byte) 'a');
+        GetLogBytesResponseCommand fullChunkResponse = new GetLogBytesResponseCommand(chunk);
+        fullChunkResponse.setOffset(10L);
+        Command fullChunk = new Command();
+        fullChunk.setBody(JSONUtils.toJsonByteArray(fullChunkResponse));
+        GetLogBytesResponseCommand lastChunkResponse = new GetLogBytesResponseCommand("log".getBytes(StandardCharsets.UTF_8));
+        lastChunkResponse.setOffset(10L + chunk.length);
+        Command lastChunk = new Command();
+        lastChunk.setBody(JSONUtils.toJsonByteArray(lastChunkResponse));
+        PowerMockito.when(remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                .thenReturn(fullChunk, lastChunk);
+
+        LogClientService logClientService = new LogClientService();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logClientService.streamLog("localhost", 1234, "/tmp/log", 10, out);
+        Assert.assertEquals(chunk.length + 3, out.size());
+        Mockito.verify(remotingClient, Mockito.times(2)).sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong());
+    }
+
+    @Test
+    public void testStreamLogFromServerIgnoringRange() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        byte[] log = new byte[2 * 1024 * 1024];
+        Arrays.fill(log, (byte) 'a');
+        Command wholeLog = new Command();
+        wholeLog.setBody(JSONUtils.toJsonByteArray(new GetLogBytesResponseCommand(log)));
+        PowerMockito.when(remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                .thenReturn(wholeLog);
+
+        LogClientService logClientService = new LogClientService();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logClientService.streamLog("localhost", 1234, "/tmp/log", 10, out);
+        Assert.assertEquals(log.length - 10, out.size());
+        Mockito.verify(remotingClient, Mockito.times(1)).sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong());
+    }
+
+    @Test(expected = IOException.class)
+    public void testStreamLogFailsOnUnexpectedOffset() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        GetLogBytesResponseCommand response = new GetLogBytesResponseCommand(new byte[1024 * 1024]);
+        response.setOffset(0L);
+        Command command = new Command();
+        command.setBody(JSONUtils.toJsonByteArray(response));
+        PowerMockito.when(remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                .thenReturn(command);
+
+        LogClientService logClientService = new LogClientService();
+        logClientService.streamLog("localhost", 1234, "/tmp/log", 10, new ByteArrayOutputStream());
+    }
+
     @Test
     public void testGetLogBytes() throws Exception {
         NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
@@ -25,6 +25,8 @@ import static org.mockito.ArgumentMatchers.any;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.FailureStrategy;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.ProcessExecutionTypeEnum;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
@@ -54,6 +56,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstanceBlob;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.DqComparisonTypeMapper;
@@ -72,8 +75,10 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceBlobMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.UserMapper;
+import org.apache.dolphinscheduler.service.cache.TaskInstanceBlobCache;
 import org.apache.dolphinscheduler.service.exceptions.ServiceException;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtilsTest;
 import org.apache.dolphinscheduler.spi.params.base.FormType;
@@ -136,6 +141,10 @@ public class ProcessServiceTest {
     @Mock
     private TaskInstanceMapper taskInstanceMapper;
     @Mock
+    private TaskInstanceBlobCache taskInstanceBlobCache;
+    @Mock
+    private TaskInstanceBlobMapper taskInstanceBlobMapper;
+    @Mock
     private TaskDefinitionLogMapper taskDefinitionLogMapper;
     @Mock
     private TaskDefinitionMapper taskDefinitionMapper;
@@ -934,6 +943,82 @@ public class ProcessServiceTest {
         Assert.assertEquals(instance.getId(), taskInstanceByIdList.get(0).getId());
     }
 
+    @Test
+    public void testLoadTaskInstanceBlobs() {
+        TaskInstance taskInstance1 = new TaskInstance();
+        taskInstance1.setTaskParamsHash("params");
+        taskInstance1.setEnvironmentConfigHash("environment");
+        TaskInstance taskInstance2 = new TaskInstance();
+        taskInstance2.setTaskParamsHash("params");
+        Mockito.when(taskInstanceBlobMapper.selectBatchIds(any()))
+                .thenReturn(Arrays.asList(new TaskInstanceBlob("params", "{}"), new TaskInstanceBlob("environment", "export A=1")));
+
+        processService.loadTaskInstanceBlobs(Arrays.asList(taskInstance1, taskInstance2));
+        Assert.assertEquals("{}", taskInstance1.getTaskParams());
+        Assert.assertEquals("export A=1", taskInstance1.getEnvironmentConfig());
+        Assert.assertEquals("{}", taskInstance2.getTaskParams());
+        Assert.assertNull(taskInstance2.getEnvironmentConfig());
+        Mockito.verify(taskInstanceBlobMapper, Mockito.times(1)).selectBatchIds(any());
+    }
+
+    @Test
+    public void testSubmitTaskInstancesToDB() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+        processInstance.setFailureStrategy(FailureStrategy.CONTINUE);
+
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setProcessInstanceId(1);
+            taskInstances.add(taskInstance);
+        }
+        Mockito.when(taskInstanceMapper.batchInsert(taskInstances)).thenReturn(taskInstances.size());
+        Assert.assertTrue(processService.submitTaskInstancesToDB(taskInstances, processInstance));
+        for (TaskInstance taskInstance : taskInstances) {
+            Assert.assertEquals(ExecutionStatus.SUBMITTED_SUCCESS, taskInstance.getState());
+            Assert.assertNotNull(taskInstance.getFirstSubmitTime());
+        }
+
+        processInstance.setState(ExecutionStatus.READY_STOP);
+        Assert.assertFalse(processService.submitTaskInstancesToDB(taskInstances, processInstance));
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testSubmitTaskInstancesToDBPartiallyInserted() {
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setState(ExecutionStatus.RUNNING_EXECUTION);
+
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setProcessInstanceId(1);
+            taskInstances.add(taskInstance);
+        }
+        // the batch must roll back instead of committing the inserted rows only
+        Mockito.when(taskInstanceMapper.batchInsert(taskInstances)).thenReturn(taskInstances.size() - 1);
+        processService.submitTaskInstancesToDB(taskInstances, processInstance);
+    }
+
+    @Test
+    public void testDeleteUnreferencedTaskInstanceBlobs() {
+        Date updateTime = new Date();
+        List<String> firstPage = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstPage.add(String.format("hash-%03d", i));
+        }
+        List<String> secondPage = Collections.singletonList("hash-500");
+        Mockito.when(taskInstanceBlobMapper.queryHashesNotUpdatedSince(updateTime, null, 500)).thenReturn(firstPage);
+        Mockito.when(taskInstanceBlobMapper.queryHashesNotUpdatedSince(updateTime, "hash-499", 500)).thenReturn(secondPage);
+        Mockito.when(taskInstanceBlobMapper.deleteUnreferenced(firstPage, updateTime)).thenReturn(10);
+        Mockito.when(taskInstanceBlobMapper.deleteUnreferenced(secondPage, updateTime)).thenReturn(1);
+
+        Assert.assertEquals(11, processService.deleteUnreferencedTaskInstanceBlobs(updateTime));
+        Mockito.verify(taskInstanceBlobMapper, Mockito.times(2)).queryHashesNotUpdatedSince(Mockito.eq(updateTime), any(), Mockito.eq(500));
+    }
+
     private TaskGroupQueue getTaskGroupQueue() {
         TaskGroupQueue taskGroupQueue = new TaskGroupQueue();
         taskGroupQueue.setTaskName("task name");
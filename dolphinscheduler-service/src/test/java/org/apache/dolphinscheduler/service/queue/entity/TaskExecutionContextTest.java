@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.queue.entity;
+
+import org.apache.dolphinscheduler.common.enums.DataType;
+import org.apache.dolphinscheduler.common.enums.Direct;
+import org.apache.dolphinscheduler.common.enums.TaskTimeoutStrategy;
+import org.apache.dolphinscheduler.common.process.Property;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.serializer.BodySerializerType;
+import org.apache.dolphinscheduler.spi.task.request.SQLTaskExecutionContext;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class TaskExecutionContextTest {
+
+    @Test
+    public void testToCommand() throws Exception {
+        TaskExecutionContext context = getTaskExecutionContext();
+        Command command = context.toCommand();
+        Assert.assertEquals(CommandType.TASK_EXECUTE_REQUEST, command.getType());
+        Assert.assertSame(context, command.getBodyObject());
+
+        for (BodySerializerType serializerType : BodySerializerType.values()) {
+            ByteBuf body = Unpooled.buffer();
+            serializerType.getSerializer().serialize(command.getBodyObject(), body);
+            TaskExecutionContext received = serializerType.getSerializer().deserialize(body, TaskExecutionContext.class);
+            Assert.assertEquals(context.getTaskInstanceId(), received.getTaskInstanceId());
+            Assert.assertEquals(context.getTaskParams(), received.getTaskParams());
+            Assert.assertEquals(context.getResources(), received.getResources());
+            Assert.assertEquals(TaskTimeoutStrategy.WARNFAILED, received.getTaskTimeoutStrategy());
+            Assert.assertEquals("1", received.getParamsMap().get("p").getValue());
+            Assert.assertEquals("jdbc", received.getSqlTaskExecutionContext().getConnectionParams());
+        }
+    }
+
+    @Test
+    public void testToTaskRequest() {
+        TaskExecutionContext context = getTaskExecutionContext();
+        TaskRequest taskRequest = context.toTaskRequest();
+        Assert.assertEquals(context.getTaskInstanceId(), taskRequest.getTaskInstanceId());
+        Assert.assertEquals(context.getTaskType(), taskRequest.getTaskType());
+        Assert.assertEquals(context.getTaskParams(), taskRequest.getTaskParams());
+        Assert.assertEquals(context.getFirstSubmitTime(), taskRequest.getFirstSubmitTime());
+        Assert.assertEquals(context.getResources(), taskRequest.getResources());
+        Assert.assertEquals(org.apache.dolphinscheduler.spi.enums.TaskTimeoutStrategy.WARNFAILED, taskRequest.getTaskTimeoutStrategy());
+        org.apache.dolphinscheduler.spi.task.Property property = taskRequest.getParamsMap().get("p");
+        Assert.assertEquals(org.apache.dolphinscheduler.spi.task.Direct.IN, property.getDirect());
+        Assert.assertEquals(org.apache.dolphinscheduler.spi.enums.DataType.INTEGER, property.getType());
+        Assert.assertEquals("1", property.getValue());
+        Assert.assertSame(context.getSqlTaskExecutionContext(), taskRequest.getSqlTaskExecutionContext());
+    }
+
+    private TaskExecutionContext getTaskExecutionContext() {
+        TaskExecutionContext context = new TaskExecutionContext();
+        context.setTaskInstanceId(1);
+        context.setProcessInstanceId(2);
+        context.setTaskName("sql");
+        context.setTaskType("SQL");
+        context.setFirstSubmitTime(new Date());
+        context.setTaskParams("{\"sql\":\"select 1\"}");
+        context.setTaskTimeoutStrategy(TaskTimeoutStrategy.WARNFAILED);
+        context.setResources(Collections.singletonMap("/a.jar", "tenant"));
+        context.setParamsMap(Collections.singletonMap("p", new Property("p", Direct.IN, DataType.INTEGER, "1")));
+        SQLTaskExecutionContext sqlTaskExecutionContext = new SQLTaskExecutionContext();
+        sqlTaskExecutionContext.setConnectionParams("jdbc");
+        context.setSqlTaskExecutionContext(sqlTaskExecutionContext);
+        return context;
+    }
+}
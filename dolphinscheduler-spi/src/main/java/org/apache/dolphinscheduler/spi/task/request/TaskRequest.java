@@ -85,7 +85,7 @@ public class TaskRequest {
     /**
      * appIds
      */
-    private String appIds;
+    private volatile String appIds;
 
     /**
      * process instance id
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.dolphinscheduler.spi.task.TaskConstants;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * task that does not need a worker execute thread while it waits, e.g. on a remote query.
+ *
+ * the worker calls {@link #handleAsync(Executor)} and releases the execute thread; the task finishes
+ * when the returned future completes. blocking calls must only be made on the given executor.
+ */
+public abstract class AbstractAsyncTask extends AbstractTaskExecutor {
+
+    protected AbstractAsyncTask(TaskRequest taskRequest) {
+        super(taskRequest);
+    }
+
+    /**
+     * start the task without blocking the calling thread
+     *
+     * @param executor executor for the blocking parts of the task
+     * @return future completed when the task is finished, cancelled when the task is killed and its call in flight
+     * has ended
+     */
+    public CompletableFuture<Void> handleAsync(Executor executor) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (cancel) {
+            future.cancel(false);
+            return future;
+        }
+        try {
+            executeAsync(executor).whenComplete((ignored, e) -> {
+                if (cancel) {
+                    future.cancel(false);
+                } else if (e == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * start the work of the task
+     *
+     * @param executor executor for the blocking parts of the task
+     * @return future completed when the work is done
+     */
+    protected abstract CompletableFuture<Void> executeAsync(Executor executor);
+
+    /**
+     * abort the in-flight call of the task, e.g. cancel a statement. called from the killing thread, the task is
+     * only reported killed once the call has returned
+     */
+    protected void abort() throws Exception {
+    }
+
+    /**
+     * run the task on the calling thread, for callers that do not know about async tasks
+     */
+    @Override
+    public void handle() throws Exception {
+        try {
+            handleAsync(Runnable::run).get();
+        } catch (CancellationException e) {
+            setExitStatusCode(TaskConstants.EXIT_CODE_KILL);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void cancelApplication(boolean status) throws Exception {
+        super.cancelApplication(status);
+        if (!status) {
+            return;
+        }
+        setExitStatusCode(TaskConstants.EXIT_CODE_KILL);
+        // the future is cancelled when the call in flight returns, so the execute path is not cleaned under it
+        abort();
+    }
+}
@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.plugin.task.api;
 import static org.apache.dolphinscheduler.spi.task.TaskConstants.EXIT_CODE_FAILURE;
 import static org.apache.dolphinscheduler.spi.task.TaskConstants.EXIT_CODE_KILL;
 
-import org.apache.dolphinscheduler.plugin.task.util.OSUtils;
 import org.apache.dolphinscheduler.spi.task.TaskConstants;
 import org.apache.dolphinscheduler.spi.task.TaskExecutionContextCacheManager;
 import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
@@ -28,30 +27,22 @@ import org.apache.dolphinscheduler.spi.utils.StringUtils;
 
 import org.apache.hadoop.hive.common.LogUtils;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * abstract command executor
  */
@@ -61,6 +52,11 @@ public abstract class AbstractCommandExecutor {
      */
     protected static final Pattern APPLICATION_REGEX = Pattern.compile(TaskConstants.APPLICATION_REGEX);
 
+    /**
+     * how long an exited process is given to have its output written
+     */
+    private static final long OUTPUT_DRAIN_TIMEOUT_MILLIS = 10 * 1000L;
+
     protected StringBuilder varPool = new StringBuilder();
     /**
      * process
@@ -82,7 +78,17 @@ public abstract class AbstractCommandExecutor {
      */
     protected LinkedBlockingQueue<String> logBuffer;
 
-    protected boolean logOutputIsSuccess = false;
+    protected volatile boolean logOutputIsSuccess = false;
+
+    /**
+     * yarn application ids found in the process output
+     */
+    protected final ApplicationIdCollector appIdCollector = new ApplicationIdCollector();
+
+    /**
+     * completed once the process output is written to the task log
+     */
+    private CompletableFuture<Void> outputDrained;
 
     /*
      * SHELL result string
@@ -185,9 +191,13 @@ public abstract class AbstractCommandExecutor {
 
         // if SHELL task exit
         if (status) {
+            awaitOutput();
+
             // set appIds
-            List<String> appIds = getAppIds(taskRequest.getLogPath());
-            result.setAppIds(String.join(TaskConstants.COMMA, appIds));
+            for (String appId : appIdCollector.getAppIds()) {
+                logger.info("find app id: {}", appId);
+            }
+            result.setAppIds(appIdCollector.toString());
 
             // SHELL task state
             result.setExitStatusCode(process.exitValue());
@@ -209,6 +219,15 @@ public abstract class AbstractCommandExecutor {
         return varPool.toString();
     }
 
+    /**
+     * get the yarn application ids found in the process output so far
+     *
+     * @return app id list
+     */
+    public List<String> getAppIds() {
+        return appIdCollector.getAppIds();
+    }
+
     /**
      * cancel application
      *
@@ -226,13 +245,12 @@ public abstract class AbstractCommandExecutor {
 
         logger.info("cancel process: {}", processId);
 
-        // kill , waiting for completion
-        boolean killed = softKill(processId);
-
-        if (!killed) {
-            // hard kill
-            hardKill(processId);
+        // terminate the process tree, the processes still alive after the grace time are killed
+        if (processId != 0) {
+            ProcessTree.kill(processId, taskRequest.getTenantCode(), ProcessTree.DEFAULT_KILL_GRACE_MILLIS);
+        }
 
+        if (!process.waitFor(ProcessTree.DEFAULT_KILL_GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
             // destory
             process.destroy();
 
@@ -240,49 +258,6 @@ public abstract class AbstractCommandExecutor {
         }
     }
 
-    /**
-     * soft kill
-     *
-     * @param processId process id
-     * @return process is alive
-     */
-    private boolean softKill(int processId) {
-
-        if (processId != 0 && process.isAlive()) {
-            try {
-                // sudo -u user command to run command
-                String cmd = String.format("kill %d", processId);
-                cmd = OSUtils.getSudoCmd(taskRequest.getTenantCode(), cmd);
-                logger.info("soft kill task:{}, process id:{}, cmd:{}", taskRequest.getTaskAppId(), processId, cmd);
-
-                Runtime.getRuntime().exec(cmd);
-            } catch (IOException e) {
-                logger.info("kill attempt failed", e);
-            }
-        }
-
-        return process.isAlive();
-    }
-
-    /**
-     * hard kill
-     *
-     * @param processId process id
-     */
-    private void hardKill(int processId) {
-        if (processId != 0 && process.isAlive()) {
-            try {
-                String cmd = String.format("kill -9 %d", processId);
-                cmd = OSUtils.getSudoCmd(taskRequest.getTenantCode(), cmd);
-                logger.info("hard kill task:{}, process id:{}, cmd:{}", taskRequest.getTaskAppId(), processId, cmd);
-
-                Runtime.getRuntime().exec(cmd);
-            } catch (IOException e) {
-                logger.error("kill attempt failed ", e);
-            }
-        }
-    }
-
     private void printCommand(List<String> commands) {
         logger.info("task run command: {}", String.join(" ", commands));
     }
@@ -309,111 +284,59 @@ public abstract class AbstractCommandExecutor {
      * @param process process
      */
     private void parseProcessOutput(Process process) {
-        String threadLoggerInfoName = taskRequest.getTaskLogName();
-        ExecutorService getOutputLogService = newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        getOutputLogService.submit(() -> {
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = inReader.readLine()) != null) {
-                    if (line.startsWith("${setValue(")) {
-                        varPool.append(line, "${setValue(".length(), line.length() - 2);
-                        varPool.append("$VarPool$");
-                    } else {
-                        logBuffer.add(line);
-                        taskResultString = line;
-                    }
-                }
-                logOutputIsSuccess = true;
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                logOutputIsSuccess = true;
-            }
+        outputDrained = TaskLogPipeline.getInstance().submit(process, taskRequest.getTaskLogName(), this::handleOutputLine, logHandler);
+        outputDrained.whenComplete((ignored, e) -> {
+            logOutputIsSuccess = true;
+            finishLog();
         });
-
-        getOutputLogService.shutdown();
-
-        ExecutorService parseProcessOutputExecutorService = newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        parseProcessOutputExecutorService.submit(() -> {
-            try {
-                long lastFlushTime = System.currentTimeMillis();
-                while (logBuffer.size() > 0 || !logOutputIsSuccess) {
-                    if (logBuffer.size() > 0) {
-                        lastFlushTime = flush(lastFlushTime);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
-                }
-            } catch (Exception e) {
-                Thread.currentThread().interrupt();
-                logger.error(e.getMessage(), e);
-            } finally {
-                clear();
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
     }
 
     /**
-     * get app links
+     * handle a line of the process output
      *
-     * @param logPath log path
-     * @return app id list
+     * @param line line
+     * @return whether the line is written to the task log
      */
-    private List<String> getAppIds(String logPath) {
-        List<String> logs = convertFile2List(logPath);
-
-        List<String> appIds = new ArrayList<>();
-        /*
-         * analysis log?get submited yarn application id
-         */
-        for (String log : logs) {
-            String appId = findAppId(log);
-            if (StringUtils.isNotEmpty(appId) && !appIds.contains(appId)) {
-                logger.info("find app id: {}", appId);
-                appIds.add(appId);
-            }
+    private boolean handleOutputLine(String line) {
+        if (line.startsWith("${setValue(")) {
+            varPool.append(line, "${setValue(".length(), line.length() - 2);
+            varPool.append("$VarPool$");
+            return false;
+        }
+        if (appIdCollector.collect(line)) {
+            // visible to kill and cancel through the cached task request
+            taskRequest.setAppIds(appIdCollector.toString());
         }
-        return appIds;
+        taskResultString = line;
+        return true;
     }
 
     /**
-     * convert file to list
-     *
-     * @param filename file name
-     * @return line list
+     * wait for the output of the exited process to be written, so that the log and the var pool are complete
      */
-    private List<String> convertFile2List(String filename) {
-        List<String> lineList = new ArrayList<>(100);
-        File file = new File(filename);
-
-        if (!file.exists()) {
-            return lineList;
-        }
-
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                lineList.add(line);
-            }
-        } catch (Exception e) {
-            logger.error(String.format("read file: %s failed : ", filename), e);
+    private void awaitOutput() throws InterruptedException {
+        try {
+            outputDrained.get(OUTPUT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            logger.error("write process output error", e.getCause());
+        } catch (TimeoutException e) {
+            logger.warn("process output is not written after {} ms", OUTPUT_DRAIN_TIMEOUT_MILLIS);
         }
-
-        return lineList;
     }
 
     /**
-     * find app id
-     *
-     * @param line line
-     * @return appid
+     * close the log session of the task; the log appender is picked by the thread name, which is borrowed for the
+     * pipeline thread finishing the output
      */
-    private String findAppId(String line) {
-        Matcher matcher = APPLICATION_REGEX.matcher(line);
-        if (matcher.find()) {
-            return matcher.group();
+    private void finishLog() {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        thread.setName(taskRequest.getTaskLogName());
+        try {
+            clear();
+        } finally {
+            thread.setName(threadName);
         }
-        return null;
     }
 
     /**
@@ -441,6 +364,15 @@ public abstract class AbstractCommandExecutor {
     private int getProcessId(Process process) {
         int processId = 0;
 
+        try {
+            // Process.pid() of java 9+, without reflective access to the process implementation
+            return (int) (long) (Long) Process.class.getMethod("pid").invoke(process);
+        } catch (NoSuchMethodException e) {
+            // java 8
+        } catch (Throwable e) {
+            logger.error(e.getMessage(), e);
+        }
+
         try {
             Field f = process.getClass().getDeclaredField(TaskConstants.PID);
             f.setAccessible(true);
@@ -453,38 +385,9 @@ public abstract class AbstractCommandExecutor {
         return processId;
     }
 
-    /**
-     * when log buffer siz or flush time reach condition , then flush
-     *
-     * @param lastFlushTime last flush time
-     * @return last flush time
-     */
-    private long flush(long lastFlushTime) {
-        long now = System.currentTimeMillis();
-
-        /*
-         * when log buffer siz or flush time reach condition , then flush
-         */
-        if (logBuffer.size() >= TaskConstants.DEFAULT_LOG_ROWS_NUM || now - lastFlushTime > TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
-            lastFlushTime = now;
-            logHandler.accept(logBuffer);
-
-            logBuffer.clear();
-        }
-        return lastFlushTime;
-    }
-
     protected abstract String buildCommandFilePath();
 
     protected abstract void createCommandFileIfNotExists(String execCommand, String commandFile) throws IOException;
 
-    ExecutorService newDaemonSingleThreadExecutor(String threadName) {
-        ThreadFactory threadFactory = new ThreadFactoryBuilder()
-                .setDaemon(true)
-                .setNameFormat(threadName)
-                .build();
-        return Executors.newSingleThreadExecutor(threadFactory);
-    }
-
     protected abstract String commandInterpreter();
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.dolphinscheduler.spi.task.TaskConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * collects the yarn application ids of a task from its output lines as they are read, so that they are known
+ * while the task runs instead of being searched for in the whole log once it finished
+ */
+public class ApplicationIdCollector {
+
+    private static final String APPLICATION_PREFIX = "application_";
+
+    private static final Pattern APPLICATION_PATTERN = Pattern.compile(TaskConstants.APPLICATION_REGEX);
+
+    /**
+     * in order of appearance, written by the output reader and read by kill and cancel
+     */
+    private final Set<String> appIds = new CopyOnWriteArraySet<>();
+
+    /**
+     * collect the application ids of a line
+     *
+     * @param line line
+     * @return whether the line had an application id not seen before
+     */
+    public boolean collect(String line) {
+        // most lines have none, skip them without running the regex
+        if (line.indexOf(APPLICATION_PREFIX) < 0) {
+            return false;
+        }
+        boolean added = false;
+        Matcher matcher = APPLICATION_PATTERN.matcher(line);
+        while (matcher.find()) {
+            added |= appIds.add(matcher.group());
+        }
+        return added;
+    }
+
+    /**
+     * @return application ids, in order of appearance
+     */
+    public List<String> getAppIds() {
+        return new ArrayList<>(appIds);
+    }
+
+    /**
+     * @return application ids joined by comma, as kept in the task request
+     */
+    @Override
+    public String toString() {
+        return String.join(TaskConstants.COMMA, appIds);
+    }
+}
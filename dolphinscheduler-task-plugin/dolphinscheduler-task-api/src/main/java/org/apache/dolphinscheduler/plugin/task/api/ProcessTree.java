@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.dolphinscheduler.plugin.task.util.OSUtils;
+import org.apache.dolphinscheduler.spi.utils.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * kills a process with all of its descendants.
+ *
+ * on linux the tree is read from /proc instead of running pstree, and every signal is sent to the
+ * whole tree with one kill command. sudo is only used for the processes not owned by the worker user.
+ */
+public final class ProcessTree {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTree.class);
+
+    /**
+     * time the processes get to exit after SIGTERM, before they get SIGKILL
+     */
+    public static final long DEFAULT_KILL_GRACE_MILLIS = 5000L;
+
+    private static final File PROC_DIR = new File("/proc");
+
+    private static final String WORKER_USER = System.getProperty("user.name");
+
+    /**
+     * sends the SIGKILL of the processes that outlive the grace time
+     */
+    private static final ScheduledExecutorService ESCALATION_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Process-Kill-Escalation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ProcessTree() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * a process read from /proc, the start time tells a reused pid apart
+     */
+    static final class ProcessInfo {
+
+        final int pid;
+
+        final int parentPid;
+
+        final String startTime;
+
+        final boolean zombie;
+
+        ProcessInfo(int pid, int parentPid, String startTime, boolean zombie) {
+            this.pid = pid;
+            this.parentPid = parentPid;
+            this.startTime = startTime;
+            this.zombie = zombie;
+        }
+    }
+
+    /**
+     * get the pids of a process and its descendants, parents first
+     *
+     * @param pid process id
+     * @return pids
+     */
+    public static List<Integer> getPids(int pid) throws Exception {
+        if (PROC_DIR.isDirectory()) {
+            return descendants(listProcesses(), pid).stream().map(p -> p.pid).collect(Collectors.toList());
+        }
+        List<Integer> pids = new ArrayList<>();
+        for (String p : ProcessUtils.getPidsStr(pid).split("\\s+")) {
+            if (!p.isEmpty()) {
+                pids.add(Integer.parseInt(p));
+            }
+        }
+        return pids;
+    }
+
+    /**
+     * send SIGTERM to the process tree, and SIGKILL to the processes still alive after the grace time.
+     * returns without waiting for the grace time
+     *
+     * @param pid process id
+     * @param tenantCode tenant the processes may run as
+     * @param graceMillis time the processes get to exit
+     */
+    public static void kill(int pid, String tenantCode, long graceMillis) throws Exception {
+        if (!PROC_DIR.isDirectory()) {
+            List<Integer> pids = getPids(pid);
+            signal(pids, 15, tenantCode);
+            ESCALATION_EXECUTOR.schedule(() -> signal(pids, 9, tenantCode), graceMillis, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        List<ProcessInfo> tree = descendants(listProcesses(), pid);
+        if (tree.isEmpty()) {
+            return;
+        }
+        logger.info("terminate process {} and its {} descendants", pid, tree.size() - 1);
+        signal(tree.stream().map(p -> p.pid).collect(Collectors.toList()), 15, tenantCode);
+        ESCALATION_EXECUTOR.schedule(() -> {
+            Map<Integer, ProcessInfo> processes = listProcesses();
+            Map<Integer, ProcessInfo> survivors = new LinkedHashMap<>();
+            for (ProcessInfo process : tree) {
+                ProcessInfo current = processes.get(process.pid);
+                if (current != null && current.startTime.equals(process.startTime)) {
+                    // include children started after SIGTERM
+                    for (ProcessInfo survivor : descendants(processes, process.pid)) {
+                        survivors.putIfAbsent(survivor.pid, survivor);
+                    }
+                }
+            }
+            if (!survivors.isEmpty()) {
+                logger.info("kill {} processes of process {} alive after {} ms", survivors.size(), pid, graceMillis);
+                signal(new ArrayList<>(survivors.keySet()), 9, tenantCode);
+            }
+        }, graceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * send a signal to the processes with as few commands as possible
+     */
+    private static void signal(List<Integer> pids, int signal, String tenantCode) {
+        List<Integer> own = new ArrayList<>();
+        List<Integer> tenant = new ArrayList<>();
+        for (int pid : pids) {
+            String owner = PROC_DIR.isDirectory() ? getOwner(pid) : null;
+            if (WORKER_USER.equals(owner) || (owner != null && StringUtils.isEmpty(tenantCode))) {
+                own.add(pid);
+            } else if (owner == null || owner.equals(tenantCode)) {
+                tenant.add(pid);
+            }
+            // others, like the sudo process the task was started with, can not be signalled
+        }
+        exec(own, signal, null);
+        exec(tenant, signal, tenantCode);
+    }
+
+    private static void exec(List<Integer> pids, int signal, String tenantCode) {
+        if (pids.isEmpty()) {
+            return;
+        }
+        String cmd = String.format("kill -%d %s", signal,
+                pids.stream().map(String::valueOf).collect(Collectors.joining(" ")));
+        cmd = OSUtils.getSudoCmd(tenantCode, cmd);
+        logger.info("kill cmd:{}", cmd);
+        try {
+            OSUtils.exeCmd(cmd);
+        } catch (IOException e) {
+            // some of the processes may have exited already
+            logger.warn("kill cmd: {} error: {}", cmd, e.getMessage());
+        }
+    }
+
+    private static String getOwner(int pid) {
+        try {
+            return Files.getOwner(new File(PROC_DIR, String.valueOf(pid)).toPath()).getName();
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * the process and its living descendants, parents first
+     */
+    static List<ProcessInfo> descendants(Map<Integer, ProcessInfo> processes, int pid) {
+        Map<Integer, List<ProcessInfo>> children = new HashMap<>();
+        for (ProcessInfo process : processes.values()) {
+            children.computeIfAbsent(process.parentPid, k -> new ArrayList<>()).add(process);
+        }
+        List<ProcessInfo> tree = new ArrayList<>();
+        ProcessInfo root = processes.get(pid);
+        if (root == null) {
+            return tree;
+        }
+        Deque<ProcessInfo> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            ProcessInfo process = queue.poll();
+            if (!process.zombie) {
+                tree.add(process);
+            }
+            // children of a zombie are still alive
+            queue.addAll(children.getOrDefault(process.pid, new ArrayList<>()));
+        }
+        return tree;
+    }
+
+    /**
+     * read every process from /proc
+     */
+    static Map<Integer, ProcessInfo> listProcesses() {
+        Map<Integer, ProcessInfo> processes = new HashMap<>();
+        File[] dirs = PROC_DIR.listFiles((dir, name) -> !name.isEmpty() && Character.isDigit(name.charAt(0)));
+        if (dirs == null) {
+            return processes;
+        }
+        for (File dir : dirs) {
+            ProcessInfo process = readStat(dir);
+            if (process != null) {
+                processes.put(process.pid, process);
+            }
+        }
+        return processes;
+    }
+
+    /**
+     * parse /proc/[pid]/stat, the command name in parentheses may contain spaces
+     */
+    private static ProcessInfo readStat(File dir) {
+        try {
+            String stat = new String(Files.readAllBytes(new File(dir, "stat").toPath()), StandardCharsets.UTF_8);
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            // fields start at the state, the 3rd field of stat, start time is the 22nd
+            return new ProcessInfo(Integer.parseInt(dir.getName()), Integer.parseInt(fields[1]), fields[19], "Z".equals(fields[0]));
+        } catch (IOException | RuntimeException e) {
+            // the process exited
+            return null;
+        }
+    }
+}
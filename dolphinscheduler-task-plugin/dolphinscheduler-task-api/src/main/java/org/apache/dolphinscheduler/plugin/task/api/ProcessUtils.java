@@ -57,11 +57,8 @@ public final class ProcessUtils {
                 return;
             }
 
-            String cmd = String.format("kill -9 %s", getPidsStr(processId));
-            cmd = OSUtils.getSudoCmd(request.getTenantCode(), cmd);
-            logger.info("process id:{}, cmd:{}", processId, cmd);
-
-            OSUtils.exeCmd(cmd);
+            logger.info("kill process tree of process id:{}", processId);
+            ProcessTree.kill(processId, request.getTenantCode(), ProcessTree.DEFAULT_KILL_GRACE_MILLIS);
         } catch (Exception e) {
             logger.error("kill task failed", e);
         }
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.dolphinscheduler.spi.task.TaskConstants;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * task log pipeline
+ * <p>
+ * reads the output of the task processes of the worker on a small shared pool instead of two threads per task, and
+ * passes it to the log handler of the task in batches. one turn reads at most {@link #MAX_BYTES_PER_TURN} bytes of a
+ * process before the other processes get their turn, so a task flooding its output fills its pipe and blocks in its
+ * own writes instead of starving the other tasks or the worker memory.
+ */
+public class TaskLogPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLogPipeline.class);
+
+    private static final int THREADS = Math.min(4, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final int MAX_BYTES_PER_TURN = 64 * 1024;
+
+    /**
+     * longer lines are cut, the rest is written as the next line
+     */
+    private static final int MAX_LINE_BYTES = 1024 * 1024;
+
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private static final TaskLogPipeline INSTANCE = new TaskLogPipeline(THREADS);
+
+    private final ScheduledExecutorService executor;
+
+    TaskLogPipeline(int threads) {
+        this.executor = Executors.newScheduledThreadPool(threads, new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("TaskLogPipeline-%d")
+                .build());
+    }
+
+    public static TaskLogPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * start draining the output of a task process into the log handler of the task
+     *
+     * @param process process, whose error stream is expected to be merged into its output
+     * @param taskLogName thread name of the task, the task log appender is picked by it
+     * @param lineFilter called for every line on a pipeline thread, lines it rejects are not logged
+     * @param logHandler log handler of the task, called with a batch of lines under the thread name of the task
+     * @return future completed once the process exited and its output is logged, the output of processes it
+     * left behind is not waited for
+     */
+    public CompletableFuture<Void> submit(Process process, String taskLogName, Predicate<String> lineFilter,
+                                          Consumer<LinkedBlockingQueue<String>> logHandler) {
+        Session session = new Session(process, taskLogName, lineFilter, logHandler);
+        executor.execute(session);
+        return session.drained;
+    }
+
+    /**
+     * output of one process, run by one pipeline thread at a time
+     */
+    private final class Session implements Runnable {
+
+        private final Process process;
+
+        private final InputStream in;
+
+        private final String taskLogName;
+
+        private final Predicate<String> lineFilter;
+
+        private final Consumer<LinkedBlockingQueue<String>> logHandler;
+
+        private final CompletableFuture<Void> drained = new CompletableFuture<>();
+
+        private final byte[] readBuffer = new byte[8192];
+
+        private byte[] line = new byte[256];
+
+        private int lineLength;
+
+        private final LinkedBlockingQueue<String> batch = new LinkedBlockingQueue<>();
+
+        private long lastFlushTime = System.currentTimeMillis();
+
+        Session(Process process, String taskLogName, Predicate<String> lineFilter, Consumer<LinkedBlockingQueue<String>> logHandler) {
+            this.process = process;
+            this.in = process.getInputStream();
+            this.taskLogName = taskLogName;
+            this.lineFilter = lineFilter;
+            this.logHandler = logHandler;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // checked before reading, so that everything written before the exit is read below
+                boolean exited = !process.isAlive();
+                boolean eof = false;
+                int total = 0;
+                while (total < MAX_BYTES_PER_TURN) {
+                    int available = in.available();
+                    if (available <= 0) {
+                        eof = exited;
+                        break;
+                    }
+                    int n = in.read(readBuffer, 0, Math.min(available, readBuffer.length));
+                    if (n < 0) {
+                        eof = true;
+                        break;
+                    }
+                    append(n);
+                    total += n;
+                }
+
+                if (eof) {
+                    if (lineLength > 0) {
+                        endLine();
+                    }
+                    flush();
+                    drained.complete(null);
+                    return;
+                }
+                if (batch.size() >= TaskConstants.DEFAULT_LOG_ROWS_NUM
+                        || System.currentTimeMillis() - lastFlushTime >= TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
+                    flush();
+                }
+                if (total > 0) {
+                    // back of the queue, behind the other processes
+                    executor.execute(this);
+                } else {
+                    executor.schedule(this, IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (Exception e) {
+                logger.error("drain output of task {} error", taskLogName, e);
+                drained.completeExceptionally(e);
+            }
+        }
+
+        private void append(int n) {
+            for (int i = 0; i < n; i++) {
+                byte b = readBuffer[i];
+                if (b == '\n') {
+                    endLine();
+                    continue;
+                }
+                if (lineLength == line.length) {
+                    if (lineLength >= MAX_LINE_BYTES) {
+                        endLine();
+                    } else {
+                        line = Arrays.copyOf(line, Math.min(line.length * 2, MAX_LINE_BYTES));
+                    }
+                }
+                line[lineLength++] = b;
+            }
+        }
+
+        private void endLine() {
+            int length = lineLength;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            // decoded as the process reader used to
+            String text = new String(line, 0, length, Charset.defaultCharset());
+            lineLength = 0;
+            if (lineFilter.test(text)) {
+                batch.add(text);
+            }
+        }
+
+        /**
+         * log the batch under the thread name of the task, so that it goes through the task log appender with its
+         * pattern and password masking
+         */
+        private void flush() {
+            lastFlushTime = System.currentTimeMillis();
+            if (batch.isEmpty()) {
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName();
+            thread.setName(taskLogName);
+            try {
+                logHandler.accept(batch);
+            } finally {
+                thread.setName(threadName);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.dolphinscheduler.spi.task.AbstractParameters;
+import org.apache.dolphinscheduler.spi.task.ExecutionStatus;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractAsyncTaskTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHandleAsync() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WaitingTask task = new WaitingTask(release, null);
+
+        CompletableFuture<Void> result = task.handleAsync(executor);
+        Assert.assertFalse(result.isDone());
+
+        release.countDown();
+        result.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(ExecutionStatus.SUCCESS, task.getExitStatus());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        WaitingTask task = new WaitingTask(new CountDownLatch(0), new IllegalStateException("query failed"));
+        try {
+            task.handleAsync(executor).get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TaskException);
+            Assert.assertEquals("query failed", e.getCause().getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WaitingTask task = new WaitingTask(release, null);
+        CompletableFuture<Void> result = task.handleAsync(executor);
+
+        task.cancelApplication(true);
+        Assert.assertTrue(task.aborted);
+        Assert.assertEquals(ExecutionStatus.KILL, task.getExitStatus());
+        // the task is only killed once its call has returned
+        Assert.assertFalse(result.isDone());
+
+        release.countDown();
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (CancellationException e) {
+            Assert.assertTrue(result.isCancelled());
+        }
+    }
+
+    @Test
+    public void testHandleOnCallingThread() throws Exception {
+        WaitingTask task = new WaitingTask(new CountDownLatch(0), null);
+        task.handle();
+        Assert.assertEquals(Thread.currentThread(), task.thread);
+        Assert.assertEquals(ExecutionStatus.SUCCESS, task.getExitStatus());
+
+        try {
+            new WaitingTask(new CountDownLatch(0), new IllegalStateException("query failed")).handle();
+            Assert.fail();
+        } catch (TaskException e) {
+            Assert.assertEquals("query failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testCancelBeforeHandle() throws Exception {
+        WaitingTask task = new WaitingTask(new CountDownLatch(0), null);
+        task.cancelApplication(true);
+        task.handleAsync(executor).join();
+    }
+
+    private static class WaitingTask extends AbstractAsyncTask {
+
+        private final CountDownLatch release;
+
+        private final RuntimeException error;
+
+        private volatile boolean aborted;
+
+        private volatile Thread thread;
+
+        WaitingTask(CountDownLatch release, RuntimeException error) {
+            super(new TaskRequest());
+            this.release = release;
+            this.error = error;
+        }
+
+        @Override
+        protected CompletableFuture<Void> executeAsync(Executor executor) {
+            return CompletableFuture.runAsync(() -> {
+                thread = Thread.currentThread();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (error != null) {
+                    throw new TaskException("task error", error);
+                }
+                setExitStatusCode(0);
+            }, executor);
+        }
+
+        @Override
+        protected void abort() {
+            aborted = true;
+        }
+
+        @Override
+        public AbstractParameters getParameters() {
+            return null;
+        }
+    }
+}
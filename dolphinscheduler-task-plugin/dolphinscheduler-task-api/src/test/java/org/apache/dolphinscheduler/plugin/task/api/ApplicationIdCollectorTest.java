@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApplicationIdCollectorTest {
+
+    @Test
+    public void testCollect() {
+        ApplicationIdCollector collector = new ApplicationIdCollector();
+        Assert.assertFalse(collector.collect("INFO mapreduce.Job: map 100% reduce 0%"));
+        Assert.assertTrue(collector.collect("Submitted application application_1548381669007_1234"));
+        Assert.assertFalse(collector.collect("Kill application application_1548381669007_1234"));
+        Assert.assertTrue(collector.collect("application_1548381669007_1235 and application_1548381669007_1234"));
+        Assert.assertFalse(collector.collect("application_ without an id"));
+
+        Assert.assertEquals(Arrays.asList("application_1548381669007_1234", "application_1548381669007_1235"),
+                collector.getAppIds());
+        Assert.assertEquals("application_1548381669007_1234,application_1548381669007_1235", collector.toString());
+    }
+
+    @Test
+    public void testEmpty() {
+        ApplicationIdCollector collector = new ApplicationIdCollector();
+        Assert.assertTrue(collector.getAppIds().isEmpty());
+        Assert.assertEquals("", collector.toString());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProcessTreeTest {
+
+    private static final int DEPTH = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Process process;
+
+    @Before
+    public void before() {
+        Assume.assumeTrue(new File("/proc/self/stat").exists());
+    }
+
+    @After
+    public void after() {
+        if (process != null) {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testKillDeepTree() throws Exception {
+        // every level starts the next one, then waits in sleep
+        File script = folder.newFile("tree.sh");
+        Files.write(script.toPath(), ("if [ \"$1\" -gt 0 ]; then sh \"$0\" $(($1 - 1)) & fi\n"
+                + "exec sleep 60\n").getBytes(StandardCharsets.UTF_8));
+        List<Integer> pids = startTree("sh", script.getAbsolutePath(), String.valueOf(DEPTH));
+
+        ProcessTree.kill(pids.get(0), null, 10000L);
+        // sleep exits on SIGTERM, no need to wait for the escalation
+        assertAllExited(pids, 5000L);
+    }
+
+    @Test
+    public void testKillAfterGraceTime() throws Exception {
+        // every level ignores SIGTERM
+        File script = folder.newFile("stubborn.sh");
+        Files.write(script.toPath(), ("trap '' TERM\n"
+                + "if [ \"$1\" -gt 0 ]; then sh \"$0\" $(($1 - 1)) & fi\n"
+                + "exec sleep 60\n").getBytes(StandardCharsets.UTF_8));
+        List<Integer> pids = startTree("sh", script.getAbsolutePath(), String.valueOf(DEPTH));
+
+        ProcessTree.kill(pids.get(0), null, 300L);
+        Thread.sleep(100L);
+        Assert.assertEquals(pids, ProcessTree.getPids(pids.get(0)));
+        assertAllExited(pids, 5000L);
+    }
+
+    @Test
+    public void testNoProcess() throws Exception {
+        Assert.assertTrue(ProcessTree.getPids(Integer.MAX_VALUE).isEmpty());
+        ProcessTree.kill(Integer.MAX_VALUE, null, 0L);
+    }
+
+    private List<Integer> startTree(String... command) throws Exception {
+        process = new ProcessBuilder(command).start();
+        int pid;
+        try {
+            pid = (int) (long) (Long) Process.class.getMethod("pid").invoke(process);
+        } catch (NoSuchMethodException e) {
+            Assume.assumeNoException(e);
+            return null;
+        }
+        long deadline = System.currentTimeMillis() + 10000L;
+        List<Integer> pids = ProcessTree.getPids(pid);
+        while (pids.size() < DEPTH + 1 || !allSleeping(pids)) {
+            Assert.assertTrue("tree not started", System.currentTimeMillis() < deadline);
+            Thread.sleep(20L);
+            pids = ProcessTree.getPids(pid);
+        }
+        Assert.assertEquals(pid, (int) pids.get(0));
+        return pids;
+    }
+
+    private boolean allSleeping(List<Integer> pids) throws Exception {
+        for (int pid : pids) {
+            String cmdline = new String(Files.readAllBytes(new File("/proc/" + pid + "/cmdline").toPath()), StandardCharsets.UTF_8);
+            if (!cmdline.startsWith("sleep")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void assertAllExited(List<Integer> pids, long timeoutMillis) throws Exception {
+        Assert.assertTrue(process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS));
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (int pid : pids) {
+            while (!ProcessTree.descendants(ProcessTree.listProcesses(), pid).isEmpty()) {
+                Assert.assertTrue("process " + pid + " is alive", System.currentTimeMillis() < deadline);
+                Thread.sleep(20L);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TaskLogPipelineTest {
+
+    private static final String TASK_LOG_NAME = "TaskLogInfo-test";
+
+    @Test
+    public void testOutputLoggedAndFiltered() throws Exception {
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        List<String> logged = Collections.synchronizedList(new ArrayList<>());
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        Process process = start("echo first; echo skipped; echo \"password='secret'\"; printf last");
+        TaskLogPipeline.getInstance().submit(process, TASK_LOG_NAME, line -> {
+            seen.add(line);
+            return !line.equals("skipped");
+        }, logHandler(logged, threadNames)).get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(4, seen.size());
+        // passwords are masked by the converter of the task log appender
+        Assert.assertEquals(3, logged.size());
+        Assert.assertEquals("first", logged.get(0));
+        Assert.assertEquals("password='secret'", logged.get(1));
+        Assert.assertEquals("last", logged.get(2));
+        for (String threadName : threadNames) {
+            Assert.assertEquals(TASK_LOG_NAME, threadName);
+        }
+    }
+
+    @Test
+    public void testConcurrentFloodingTasks() throws Exception {
+        int tasks = 16;
+        int lines = 20000;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<List<String>> outputs = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            List<String> logged = Collections.synchronizedList(new ArrayList<>());
+            outputs.add(logged);
+            futures.add(TaskLogPipeline.getInstance().submit(start("seq 1 " + lines), TASK_LOG_NAME, line -> true,
+                    logHandler(logged, new ArrayList<>())));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        for (List<String> logged : outputs) {
+            Assert.assertEquals(lines, logged.size());
+            Assert.assertEquals(String.valueOf(lines), logged.get(lines - 1));
+        }
+    }
+
+    private Consumer<LinkedBlockingQueue<String>> logHandler(List<String> logged, List<String> threadNames) {
+        return batch -> {
+            threadNames.add(Thread.currentThread().getName());
+            while (!batch.isEmpty()) {
+                logged.add(batch.poll());
+            }
+        };
+    }
+
+    private Process start(String script) throws Exception {
+        return new ProcessBuilder("sh", "-c", script).redirectErrorStream(true).start();
+    }
+}
@@ -19,7 +19,8 @@ package org.apache.dolphinscheduler.plugin.task.http;
 
 import static org.apache.dolphinscheduler.plugin.task.http.HttpTaskConstants.APPLICATION_JSON;
 
-import org.apache.dolphinscheduler.plugin.task.api.AbstractTaskExecutor;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractAsyncTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.util.MapUtils;
 import org.apache.dolphinscheduler.spi.task.AbstractParameters;
 import org.apache.dolphinscheduler.spi.task.Property;
@@ -50,10 +51,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-public class HttpTask extends AbstractTaskExecutor {
+public class HttpTask extends AbstractAsyncTask {
 
     /**
      * output
@@ -67,6 +70,10 @@ public class HttpTask extends AbstractTaskExecutor {
      * taskExecutionContext
      */
     private TaskRequest taskExecutionContext;
+    /**
+     * request being executed, aborted when the task is killed
+     */
+    private volatile HttpUriRequest runningRequest;
 
     /**
      * constructor
@@ -89,7 +96,26 @@ public class HttpTask extends AbstractTaskExecutor {
     }
 
     @Override
-    public void handle() throws Exception {
+    protected CompletableFuture<Void> executeAsync(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                executeRequest();
+            } catch (Exception e) {
+                throw new TaskException("execute http task error", e);
+            }
+        }, executor);
+    }
+
+    @Override
+    protected void abort() {
+        HttpUriRequest request = runningRequest;
+        if (request != null) {
+            logger.info("abort the running request");
+            request.abort();
+        }
+    }
+
+    private void executeRequest() throws Exception {
         long startTime = System.currentTimeMillis();
         String formatTimeStamp = DateUtils.formatTimeStamp(startTime);
         String statusCode = null;
@@ -109,6 +135,8 @@ public class HttpTask extends AbstractTaskExecutor {
             exitStatusCode = -1;
             logger.error("httpUrl[" + httpParameters.getUrl() + "] connection failed：" + output, e);
             throw e;
+        } finally {
+            runningRequest = null;
         }
 
     }
@@ -145,6 +173,11 @@ public class HttpTask extends AbstractTaskExecutor {
         String requestUrl = ParameterUtils.convertParameterPlaceholders(httpParameters.getUrl(), ParamUtils.convert(paramsMap));
         HttpUriRequest request = builder.setUri(requestUrl).build();
         setHeaders(request, httpPropertyList);
+        runningRequest = request;
+        // a kill before the request was set found nothing to abort
+        if (cancel) {
+            request.abort();
+        }
         return client.execute(request);
     }
 
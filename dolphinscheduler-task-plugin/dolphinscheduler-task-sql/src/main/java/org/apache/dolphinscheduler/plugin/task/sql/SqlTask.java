@@ -20,7 +20,7 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.CommonUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
-import org.apache.dolphinscheduler.plugin.task.api.AbstractTaskExecutor;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractAsyncTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.util.MapUtils;
 import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
@@ -55,6 +55,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -64,7 +66,7 @@ import org.slf4j.Logger;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-public class SqlTask extends AbstractTaskExecutor {
+public class SqlTask extends AbstractAsyncTask {
 
     /**
      * taskExecutionContext
@@ -81,6 +83,11 @@ public class SqlTask extends AbstractTaskExecutor {
      */
     private BaseConnectionParam baseConnectionParam;
 
+    /**
+     * statement being executed, cancelled when the task is killed
+     */
+    private volatile Statement runningStatement;
+
     /**
      * create function format
      */
@@ -113,7 +120,26 @@ public class SqlTask extends AbstractTaskExecutor {
     }
 
     @Override
-    public void handle() throws Exception {
+    protected CompletableFuture<Void> executeAsync(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                executeSql();
+            } catch (Exception e) {
+                throw new TaskException("execute sql task error", e);
+            }
+        }, executor);
+    }
+
+    @Override
+    protected void abort() throws Exception {
+        Statement statement = runningStatement;
+        if (statement != null) {
+            logger.info("cancel the running statement");
+            statement.cancel();
+        }
+    }
+
+    private void executeSql() throws Exception {
         logger.info("Full sql parameters: {}", sqlParameters);
         logger.info("sql type : {}, datasource : {}, sql : {} , localParams : {},udfs : {},showType : {},connParams : {},varPool : {} ,query max result limit  {}",
                 sqlParameters.getType(),
@@ -188,6 +214,11 @@ public class SqlTask extends AbstractTaskExecutor {
             // pre sql
             preSql(connection, preStatementsBinds);
             stmt = prepareStatementAndBind(connection, mainSqlBinds);
+            runningStatement = stmt;
+            // a kill before the statement was set found nothing to cancel
+            if (cancel) {
+                throw new TaskException("sql task is killed");
+            }
 
             String result = null;
             // decide whether to executeQuery or executeUpdate based on sqlType
@@ -208,6 +239,7 @@ public class SqlTask extends AbstractTaskExecutor {
             logger.error("execute sql error: {}", e.getMessage());
             throw e;
         } finally {
+            runningStatement = null;
             close(resultSet, stmt, connection);
         }
     }
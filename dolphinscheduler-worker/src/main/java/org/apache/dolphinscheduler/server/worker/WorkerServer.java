@@ -21,10 +21,12 @@ import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingServer;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
 import org.apache.dolphinscheduler.server.log.LoggerRequestProcessor;
+import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.plugin.TaskPluginManager;
 import org.apache.dolphinscheduler.server.worker.processor.DBTaskAckProcessor;
@@ -32,12 +34,16 @@ import org.apache.dolphinscheduler.server.worker.processor.DBTaskResponseProcess
 import org.apache.dolphinscheduler.server.worker.processor.HostUpdateProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskExecuteProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskKillProcessor;
+import org.apache.dolphinscheduler.server.worker.processor.WorkerExecThreadsUpdateProcessor;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.runner.ExecPathCleaner;
 import org.apache.dolphinscheduler.server.worker.runner.RetryReportTaskStatusThread;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Set;
 
 import javax.annotation.PostConstruct;
@@ -114,9 +120,15 @@ public class WorkerServer implements IStoppable {
     @Autowired
     private HostUpdateProcessor hostUpdateProcessor;
 
+    @Autowired
+    private WorkerExecThreadsUpdateProcessor workerExecThreadsUpdateProcessor;
+
     @Autowired
     private LoggerRequestProcessor loggerRequestProcessor;
 
+    @Autowired
+    private ExecPathCleaner execPathCleaner;
+
     /**
      * worker server startup, not use web service
      *
@@ -132,6 +144,16 @@ public class WorkerServer implements IStoppable {
      */
     @PostConstruct
     public void run() {
+        // results not confirmed before the last stop
+        try {
+            ResponseCache.get().open(new File(FileUtils.DATA_BASEDIR, "response-log-" + workerConfig.getListenPort()));
+        } catch (IOException e) {
+            logger.error("open response log error, results are only kept in memory", e);
+        }
+
+        // execute paths left by the last run are found before new tasks come
+        this.execPathCleaner.start();
+
         // init remoting server
         NettyServerConfig serverConfig = new NettyServerConfig();
         serverConfig.setListenPort(workerConfig.getListenPort());
@@ -141,6 +163,7 @@ public class WorkerServer implements IStoppable {
         this.nettyRemotingServer.registerProcessor(CommandType.DB_TASK_ACK, dbTaskAckProcessor);
         this.nettyRemotingServer.registerProcessor(CommandType.DB_TASK_RESPONSE, dbTaskResponseProcessor);
         this.nettyRemotingServer.registerProcessor(CommandType.PROCESS_HOST_UPDATE_REQUEST, hostUpdateProcessor);
+        this.nettyRemotingServer.registerProcessor(CommandType.WORKER_EXEC_THREADS_UPDATE_REQUEST, workerExecThreadsUpdateProcessor);
 
         // logger server
         this.nettyRemotingServer.registerProcessor(CommandType.GET_LOG_BYTES_REQUEST, loggerRequestProcessor);
@@ -201,6 +224,7 @@ public class WorkerServer implements IStoppable {
             this.nettyRemotingServer.close();
             this.workerRegistryClient.unRegistry();
             this.alertClientService.close();
+            ResponseCache.get().close();
             this.springApplicationContext.close();
         } catch (Exception e) {
             logger.error("worker server stop exception ", e);
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Resource Cache : keeps the resources downloaded by the tasks of this worker, so a resource is fetched from the
+ * storage once per version instead of once per task.
+ * <p>
+ * Cached files are named by the hash of tenant code, full name and version, and are hard linked into the execute
+ * path of a task, or copied when the execute path is on another file system. A task gets its own link, so evicting a
+ * file from the cache does not affect the tasks already using it. Concurrent tasks asking for a resource that is not
+ * cached yet share one download, and the least recently used files are evicted once the cache outgrows its size.
+ */
+public class ResourceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceCache.class);
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final ResourceStorage storage;
+
+    private final File cacheDir;
+
+    private final long maxBytes;
+
+    /**
+     * cached files in access order, guarded by this
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long usedBytes;
+
+    /**
+     * downloads in flight by key
+     */
+    private final Map<String, CompletableFuture<Entry>> downloads = new ConcurrentHashMap<>();
+
+    /**
+     * constructor
+     *
+     * @param storage storage to download resources from
+     * @param cacheDir directory of the cached files, should be on the file system of the execute paths
+     * @param maxBytes max size of the cached files
+     */
+    public ResourceCache(ResourceStorage storage, File cacheDir, long maxBytes) {
+        this.storage = storage;
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    /**
+     * put a resource into a local file, downloading it only if its current version is not cached
+     *
+     * @param tenantCode tenant code
+     * @param fullName resource full name
+     * @param target local file
+     * @throws IOException if the resource could not be fetched or linked
+     */
+    public void materialize(String tenantCode, String fullName, File target) throws IOException {
+        String key = Hashing.sha256()
+                .hashString(tenantCode + "\n" + fullName + "\n" + storage.getVersion(tenantCode, fullName), StandardCharsets.UTF_8)
+                .toString();
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs() && !parent.exists()) {
+            throw new IOException("create directory failed: " + parent);
+        }
+        Entry entry = acquire(key, tenantCode, fullName);
+        try {
+            try {
+                Files.createLink(target.toPath(), entry.file.toPath());
+            } catch (UnsupportedOperationException | IOException e) {
+                logger.debug("link {} to {} failed, copy it instead: {}", entry.file, target, e.getMessage());
+                Files.copy(entry.file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            release(entry);
+        }
+    }
+
+    /**
+     * @return size of the cached files
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return number of the cached files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * get a cached file, downloading it if it is not cached. the entry returned is pinned, so it is not evicted
+     * until it is released
+     */
+    private Entry acquire(String key, String tenantCode, String fullName) throws IOException {
+        while (true) {
+            Entry entry = pin(key);
+            if (entry != null) {
+                return entry;
+            }
+            CompletableFuture<Entry> download = new CompletableFuture<>();
+            CompletableFuture<Entry> inflight = downloads.putIfAbsent(key, download);
+            if (inflight == null) {
+                try {
+                    // a download finished between the lookup above and taking the download over
+                    entry = pin(key);
+                    if (entry == null) {
+                        entry = download(key, tenantCode, fullName);
+                    }
+                    download.complete(entry);
+                    return entry;
+                } catch (IOException | RuntimeException e) {
+                    download.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    downloads.remove(key, download);
+                }
+            }
+            try {
+                inflight.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for the download of " + fullName, e);
+            } catch (ExecutionException e) {
+                throw new IOException("download " + fullName + " failed", e.getCause());
+            }
+            // the download finished, pin it on the next turn, or download again if it was evicted meanwhile
+        }
+    }
+
+    private synchronized Entry pin(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.pins++;
+        }
+        return entry;
+    }
+
+    private Entry download(String key, String tenantCode, String fullName) throws IOException {
+        File tmp = new File(cacheDir, key + "." + UUID.randomUUID() + TMP_SUFFIX);
+        File file = new File(cacheDir, key);
+        try {
+            logger.info("resource {} of tenant {} is not cached, download it", fullName, tenantCode);
+            storage.download(tenantCode, fullName, tmp);
+            // tasks only get links to it, none of them should change the cached content
+            tmp.setWritable(false, false);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+        Entry entry = new Entry(key, file, file.length());
+        entry.pins++;
+        synchronized (this) {
+            // the file of a replaced entry is the same path and was replaced by the move above
+            Entry replaced = entries.put(key, entry);
+            if (replaced != null) {
+                usedBytes -= replaced.size;
+            }
+            usedBytes += entry.size;
+            evict();
+        }
+        return entry;
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.pins--;
+        evict();
+    }
+
+    /**
+     * evict the least recently used files that are not pinned until the cache fits its size
+     */
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.pins > 0) {
+                continue;
+            }
+            iterator.remove();
+            usedBytes -= entry.size;
+            if (!entry.file.delete() && entry.file.exists()) {
+                logger.warn("delete cached resource {} failed", entry.file);
+            }
+        }
+    }
+
+    /**
+     * pick up the files cached before a restart, oldest first, and drop unfinished downloads
+     */
+    private synchronized void load() {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            logger.warn("create resource cache directory {} failed", cacheDir);
+            return;
+        }
+        File[] files = cacheDir.listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (file.getName().endsWith(TMP_SUFFIX)) {
+                if (!file.delete()) {
+                    logger.warn("delete unfinished download {} failed", file);
+                }
+                continue;
+            }
+            Entry entry = new Entry(file.getName(), file, file.length());
+            entries.put(entry.key, entry);
+            usedBytes += entry.size;
+        }
+        evict();
+        logger.info("resource cache {} loaded, {} files, {} bytes", cacheDir, entries.size(), usedBytes);
+    }
+
+    private static class Entry {
+
+        private final String key;
+
+        private final File file;
+
+        private final long size;
+
+        private int pins;
+
+        Entry(String key, File file, long size) {
+            this.key = key;
+            this.file = file;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * storage the resources of tasks are fetched from
+ */
+public interface ResourceStorage {
+
+    /**
+     * get the version of a resource, it changes whenever the content of the resource changes
+     *
+     * @param tenantCode tenant code
+     * @param fullName resource full name
+     * @return version
+     * @throws IOException if the resource can not be found
+     */
+    String getVersion(String tenantCode, String fullName) throws IOException;
+
+    /**
+     * download a resource
+     *
+     * @param tenantCode tenant code
+     * @param fullName resource full name
+     * @param target local file to download to
+     * @throws IOException if the download failed
+     */
+    void download(String tenantCode, String fullName, File target) throws IOException;
+}
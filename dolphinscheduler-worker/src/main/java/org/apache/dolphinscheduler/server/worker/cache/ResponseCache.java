@@ -14,20 +14,47 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.dolphinscheduler.server.worker.cache;
 
 import org.apache.dolphinscheduler.common.enums.Event;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.processor.NettyRemoteChannel;
+import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Response Cache : cache worker send master result
+ * <p>
+ * Every ack and result is sent again until the master confirms it, after a backoff that doubles with every attempt
+ * and is jittered, so the messages of a master that was away do not all arrive at once. Once a master is reachable
+ * again its messages are sent right away. Results are kept in a {@link ResponseLog} once it is opened, and are sent
+ * again after a restart of the worker. Acks are not, the task they report is gone with the worker.
  */
 public class ResponseCache {
 
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    /**
+     * backoff before the first retry, doubled for each next one
+     */
+    private static final long RETRY_BASE_MILLIS = 2000L;
+
+    /**
+     * max backoff, every 5 minutes
+     */
+    private static final long RETRY_MAX_MILLIS = 5 * 60 * 1000L;
+
     private static final ResponseCache instance = new ResponseCache();
 
     private ResponseCache(){}
@@ -36,9 +63,49 @@ public class ResponseCache {
         return instance;
     }
 
-    private Map<Integer,Command> ackCache = new ConcurrentHashMap<>();
-    private Map<Integer,Command> responseCache = new ConcurrentHashMap<>();
+    private Map<Integer,Entry> ackCache = new ConcurrentHashMap<>();
+    private Map<Integer,Entry> responseCache = new ConcurrentHashMap<>();
+
+    /**
+     * masters that a send to failed
+     */
+    private final Set<String> unreachableHosts = ConcurrentHashMap.newKeySet();
+
+    private volatile ResponseLog responseLog;
+
+    /**
+     * keep the results in a log under a directory, the results already in it are sent right away
+     *
+     * @param dir directory of the log
+     * @throws IOException if the log could not be read
+     */
+    public synchronized void open(File dir) throws IOException {
+        if (responseLog != null) {
+            return;
+        }
+        ResponseLog log = new ResponseLog(dir);
+        for (ResponseLog.Result result : log.getResults()) {
+            responseCache.put(result.getTaskInstanceId(), new Entry(result.getTaskInstanceId(), Event.RESULT,
+                    result.getCommand(), result.getHost(), result.getOpaque()));
+        }
+        responseLog = log;
+        logger.info("response log {} opened, {} results to send again", dir, responseCache.size());
+    }
 
+    /**
+     * close the log
+     */
+    public synchronized void close() {
+        if (responseLog == null) {
+            return;
+        }
+        try {
+            responseLog.close();
+        } catch (IOException e) {
+            logger.warn("close response log error", e);
+        }
+        responseLog = null;
+    }
 
     /**
      * cache response
@@ -47,12 +114,26 @@ public class ResponseCache {
      * @param event event ACK/RESULT
      */
     public void cache(Integer taskInstanceId, Command command, Event event){
+        NettyRemoteChannel channel = TaskCallbackService.getCallbackChannel(taskInstanceId);
+        // the listen address of the master, the address of the channel is an ephemeral port no one listens on
+        String masterHost = TaskCallbackService.getMasterHost(taskInstanceId);
+        String host = masterHost == null ? "" : masterHost;
+        Entry entry = new Entry(taskInstanceId, event, command, host, channel == null ? -1 : channel.getOpaque());
+        entry.scheduleRetry(System.currentTimeMillis());
         switch (event){
             case ACK:
-                ackCache.put(taskInstanceId,command);
+                ackCache.put(taskInstanceId,entry);
                 break;
             case RESULT:
-                responseCache.put(taskInstanceId,command);
+                responseCache.put(taskInstanceId,entry);
+                ResponseLog log = responseLog;
+                if (log != null) {
+                    try {
+                        log.put(taskInstanceId, entry.host, entry.opaque, command);
+                    } catch (IOException e) {
+                        logger.error("write result of task instance {} to the response log error", taskInstanceId, e);
+                    }
+                }
                 break;
             default:
                 throw new IllegalArgumentException("invalid event type : " + event);
@@ -73,14 +154,62 @@ public class ResponseCache {
      * @param taskInstanceId taskInstanceId
      */
     public void removeResponseCache(Integer taskInstanceId){
-        responseCache.remove(taskInstanceId);
+        if (responseCache.remove(taskInstanceId) == null) {
+            return;
+        }
+        ResponseLog log = responseLog;
+        if (log != null) {
+            try {
+                log.remove(taskInstanceId);
+            } catch (IOException e) {
+                logger.warn("remove result of task instance {} from the response log error", taskInstanceId, e);
+            }
+        }
+    }
+
+    /**
+     * get the acks and results due to be sent again, and schedule their next retry
+     *
+     * @param now current time millis
+     * @return entries to send
+     */
+    public List<Entry> pollDue(long now) {
+        List<Entry> due = new ArrayList<>();
+        pollDue(ackCache, now, due);
+        pollDue(responseCache, now, due);
+        return due;
+    }
+
+    /**
+     * a send to a master failed, its messages are sent right away once a send to it succeeds again
+     *
+     * @param host master host
+     */
+    public void sendFailed(String host) {
+        if (unreachableHosts.add(host)) {
+            logger.warn("send to master {} failed, retry its acks and results with backoff", host);
+        }
+    }
+
+    /**
+     * a send to a master succeeded
+     *
+     * @param host master host
+     */
+    public void sendSucceeded(String host) {
+        if (!unreachableHosts.remove(host)) {
+            return;
+        }
+        logger.info("master {} is reachable again, send its acks and results", host);
+        reschedule(ackCache, host);
+        reschedule(responseCache, host);
     }
 
     /**
      * getAckCache
      * @return getAckCache
      */
-    public Map<Integer,Command> getAckCache(){
+    public Map<Integer,Entry> getAckCache(){
         return ackCache;
     }
 
@@ -88,7 +217,99 @@ public class ResponseCache {
      * getResponseCache
      * @return getResponseCache
      */
-    public Map<Integer,Command> getResponseCache(){
+    public Map<Integer,Entry> getResponseCache(){
         return responseCache;
     }
+
+    private void pollDue(Map<Integer, Entry> cache, long now, List<Entry> due) {
+        for (Entry entry : cache.values()) {
+            synchronized (entry) {
+                if (entry.nextRetryTime <= now) {
+                    entry.attempts++;
+                    entry.scheduleRetry(now);
+                    due.add(entry);
+                }
+            }
+        }
+    }
+
+    private void reschedule(Map<Integer, Entry> cache, String host) {
+        for (Entry entry : cache.values()) {
+            if (host.equals(entry.host)) {
+                synchronized (entry) {
+                    entry.nextRetryTime = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * ack or result waiting for the confirmation of the master
+     */
+    public static class Entry {
+
+        private final int taskInstanceId;
+
+        private final Event event;
+
+        private final Command command;
+
+        /**
+         * master listen address, empty if unknown
+         */
+        private final String host;
+
+        /**
+         * opaque of the request of the master
+         */
+        private final long opaque;
+
+        private int attempts;
+
+        private long nextRetryTime;
+
+        Entry(int taskInstanceId, Event event, Command command, String host, long opaque) {
+            this.taskInstanceId = taskInstanceId;
+            this.event = event;
+            this.command = command;
+            this.host = host;
+            this.opaque = opaque;
+        }
+
+        /**
+         * full backoff doubled per attempt, a random half of it is taken off
+         */
+        private void scheduleRetry(long now) {
+            long backoff = Math.min(RETRY_MAX_MILLIS, RETRY_BASE_MILLIS << Math.min(attempts, 16));
+            nextRetryTime = now + backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        }
+
+        public int getTaskInstanceId() {
+            return taskInstanceId;
+        }
+
+        public Event getEvent() {
+            return event;
+        }
+
+        public Command getCommand() {
+            return command;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public long getOpaque() {
+            return opaque;
+        }
+
+        public synchronized int getAttempts() {
+            return attempts;
+        }
+
+        public synchronized long getNextRetryTime() {
+            return nextRetryTime;
+        }
+    }
 }
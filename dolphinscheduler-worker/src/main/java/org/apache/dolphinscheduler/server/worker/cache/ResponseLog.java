@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Response Log : append only log of the task results not confirmed by the master yet, so they survive a restart
+ * of the worker.
+ * <p>
+ * A record is its length, the crc32 of its payload and the payload. A put record holds the task instance id, the
+ * master host, the opaque of the request and the result command, a remove record only the task instance id. Puts
+ * are forced to disk before they return, removes are not, a remove lost by a crash only sends a result again.
+ * Once the log holds many more records than results, the results are rewritten into a new log.
+ */
+public class ResponseLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseLog.class);
+
+    private static final String LOG_FILE = "response.log";
+
+    private static final byte PUT = 1;
+
+    private static final byte REMOVE = 2;
+
+    /**
+     * records of a log that is never compacted
+     */
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private final File file;
+
+    private FileChannel channel;
+
+    /**
+     * put payloads of the results not removed yet, in order of their put
+     */
+    private final Map<Integer, byte[]> live = new LinkedHashMap<>();
+
+    private int records;
+
+    /**
+     * open the log, the results it holds are read by {@link #getResults()}
+     *
+     * @param dir directory of the log
+     * @throws IOException if the log could not be read
+     */
+    public ResponseLog(File dir) throws IOException {
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("create directory failed: " + dir);
+        }
+        this.file = new File(dir, LOG_FILE);
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validLength = read();
+        if (validLength < channel.size()) {
+            logger.warn("response log {} has a torn record at {}, truncate it", file, validLength);
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+    }
+
+    /**
+     * @return results in the log, in order of their put
+     */
+    public synchronized List<Result> getResults() throws IOException {
+        List<Result> results = new ArrayList<>(live.size());
+        for (Map.Entry<Integer, byte[]> entry : live.entrySet()) {
+            results.add(decodePut(entry.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * append a result, forced to disk
+     *
+     * @param taskInstanceId task instance id
+     * @param host master host, empty if unknown
+     * @param opaque opaque of the request
+     * @param command result command
+     * @throws IOException if the append failed
+     */
+    public synchronized void put(int taskInstanceId, String host, long opaque, Command command) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(PUT);
+        out.writeInt(taskInstanceId);
+        out.writeUTF(host);
+        out.writeLong(opaque);
+        out.writeUTF(command.getType().name());
+        byte[] body = command.getBody();
+        out.writeInt(body == null ? -1 : body.length);
+        if (body != null) {
+            out.write(body);
+        }
+        byte[] payload = bytes.toByteArray();
+        append(channel, payload);
+        records++;
+        channel.force(false);
+        live.put(taskInstanceId, payload);
+    }
+
+    /**
+     * append the removal of a result
+     *
+     * @param taskInstanceId task instance id
+     * @throws IOException if the append failed
+     */
+    public synchronized void remove(int taskInstanceId) throws IOException {
+        if (live.remove(taskInstanceId) == null) {
+            return;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(5);
+        payload.put(REMOVE).putInt(taskInstanceId);
+        append(channel, payload.array());
+        records++;
+        if (records > COMPACT_MIN_RECORDS && records > 2 * live.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static void append(FileChannel target, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+    }
+
+    /**
+     * rewrite the results into a new log that replaces this one
+     */
+    private void compact() throws IOException {
+        File tmp = new File(file.getParentFile(), LOG_FILE + ".tmp");
+        int liveRecords = live.size();
+        try (FileChannel compacted = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (byte[] payload : live.values()) {
+                append(compacted, payload);
+            }
+            compacted.force(true);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel.close();
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        logger.info("response log compacted from {} to {} records", records, liveRecords);
+        records = liveRecords;
+    }
+
+    /**
+     * read the records of the log
+     *
+     * @return length of the valid records
+     */
+    private long read() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (position + 8 <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (length <= 0 || position + 8 + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + 8);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            apply(payload.array());
+            records++;
+            position += 8 + length;
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void apply(byte[] payload) {
+        int taskInstanceId = ByteBuffer.wrap(payload, 1, 4).getInt();
+        if (payload[0] == PUT) {
+            live.remove(taskInstanceId);
+            live.put(taskInstanceId, payload);
+        } else {
+            live.remove(taskInstanceId);
+        }
+    }
+
+    private Result decodePut(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.readByte();
+        int taskInstanceId = in.readInt();
+        String host = in.readUTF();
+        long opaque = in.readLong();
+        Command command = new Command();
+        command.setType(CommandType.valueOf(in.readUTF()));
+        int bodyLength = in.readInt();
+        if (bodyLength >= 0) {
+            byte[] body = new byte[bodyLength];
+            in.readFully(body);
+            command.setBody(body);
+        }
+        return new Result(taskInstanceId, host, opaque, command);
+    }
+
+    /**
+     * result read from the log
+     */
+    public static class Result {
+
+        private final int taskInstanceId;
+
+        private final String host;
+
+        private final long opaque;
+
+        private final Command command;
+
+        Result(int taskInstanceId, String host, long opaque, Command command) {
+            this.taskInstanceId = taskInstanceId;
+            this.host = host;
+            this.opaque = opaque;
+            this.command = command;
+        }
+
+        public int getTaskInstanceId() {
+            return taskInstanceId;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public long getOpaque() {
+            return opaque;
+        }
+
+        public Command getCommand() {
+            return command;
+        }
+    }
+}
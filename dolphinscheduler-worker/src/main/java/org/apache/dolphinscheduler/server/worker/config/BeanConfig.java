@@ -17,8 +17,13 @@
 
 package org.apache.dolphinscheduler.server.worker.config;
 
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.server.worker.cache.HdfsResourceStorage;
+import org.apache.dolphinscheduler.server.worker.cache.ResourceCache;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 
+import java.io.File;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,4 +36,14 @@ public class BeanConfig {
                 workerConfig.getAlertListenHost(),
                 workerConfig.getAlertListenPort());
     }
+
+    /**
+     * resource cache, kept under the data base dir so that it shares the file system with the execute paths
+     */
+    @Bean
+    public ResourceCache resourceCache(WorkerConfig workerConfig) {
+        return new ResourceCache(new HdfsResourceStorage(),
+                new File(FileUtils.DATA_BASEDIR, "resource-cache"),
+                workerConfig.getResourceCacheSize() * 1024L * 1024L);
+    }
 }
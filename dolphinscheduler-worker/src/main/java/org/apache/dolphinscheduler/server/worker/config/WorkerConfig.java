@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.worker.config;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -37,6 +38,16 @@ public class WorkerConfig {
     private Set<String> groups;
     private String alertListenHost;
     private int alertListenPort;
+    private int resourceCacheSize;
+    private int execReservedThreads;
+    private Set<String> shortTaskTypes;
+    private int tenantMaxExecThreads;
+    private Map<String, Integer> taskTypeMaxExecThreads;
+    private int asyncExecThreads;
+    private int asyncExecQueueSize;
+    private boolean heartbeatTaskLoad;
+    private int execPathCleanQueueSize;
+    private double execPathReservedDisk;
 
     public int getListenPort() {
         return listenPort;
@@ -117,4 +128,84 @@ public class WorkerConfig {
     public void setAlertListenPort(final int alertListenPort) {
         this.alertListenPort = alertListenPort;
     }
+
+    public int getResourceCacheSize() {
+        return resourceCacheSize;
+    }
+
+    public void setResourceCacheSize(int resourceCacheSize) {
+        this.resourceCacheSize = resourceCacheSize;
+    }
+
+    public int getExecReservedThreads() {
+        return execReservedThreads;
+    }
+
+    public void setExecReservedThreads(int execReservedThreads) {
+        this.execReservedThreads = execReservedThreads;
+    }
+
+    public Set<String> getShortTaskTypes() {
+        return shortTaskTypes;
+    }
+
+    public void setShortTaskTypes(Set<String> shortTaskTypes) {
+        this.shortTaskTypes = shortTaskTypes;
+    }
+
+    public int getTenantMaxExecThreads() {
+        return tenantMaxExecThreads;
+    }
+
+    public void setTenantMaxExecThreads(int tenantMaxExecThreads) {
+        this.tenantMaxExecThreads = tenantMaxExecThreads;
+    }
+
+    public Map<String, Integer> getTaskTypeMaxExecThreads() {
+        return taskTypeMaxExecThreads;
+    }
+
+    public void setTaskTypeMaxExecThreads(Map<String, Integer> taskTypeMaxExecThreads) {
+        this.taskTypeMaxExecThreads = taskTypeMaxExecThreads;
+    }
+
+    public int getAsyncExecThreads() {
+        return asyncExecThreads;
+    }
+
+    public void setAsyncExecThreads(int asyncExecThreads) {
+        this.asyncExecThreads = asyncExecThreads;
+    }
+
+    public boolean isHeartbeatTaskLoad() {
+        return heartbeatTaskLoad;
+    }
+
+    public void setHeartbeatTaskLoad(boolean heartbeatTaskLoad) {
+        this.heartbeatTaskLoad = heartbeatTaskLoad;
+    }
+
+    public int getAsyncExecQueueSize() {
+        return asyncExecQueueSize;
+    }
+
+    public void setAsyncExecQueueSize(int asyncExecQueueSize) {
+        this.asyncExecQueueSize = asyncExecQueueSize;
+    }
+
+    public int getExecPathCleanQueueSize() {
+        return execPathCleanQueueSize;
+    }
+
+    public void setExecPathCleanQueueSize(int execPathCleanQueueSize) {
+        this.execPathCleanQueueSize = execPathCleanQueueSize;
+    }
+
+    public double getExecPathReservedDisk() {
+        return execPathReservedDisk;
+    }
+
+    public void setExecPathReservedDisk(double execPathReservedDisk) {
+        this.execPathReservedDisk = execPathReservedDisk;
+    }
 }
@@ -14,7 +14,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.dolphinscheduler.server.worker.plugin;
 
 import static java.lang.String.format;
@@ -28,25 +27,35 @@ import org.apache.dolphinscheduler.spi.task.TaskChannel;
 import org.apache.dolphinscheduler.spi.task.TaskChannelFactory;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import javax.annotation.PostConstruct;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * task plugins are found through the service files AutoService writes at build time, without scanning jars.
+ * the channel of a task type, with the classes of its plugin, is only loaded when the first task of the type runs
+ */
 @Component
 public class TaskPluginManager {
     private static final Logger logger = LoggerFactory.getLogger(TaskPluginManager.class);
 
+    /**
+     * factories of the task plugins, key is task type. null before the plugins are discovered
+     */
+    private volatile Map<String, TaskChannelFactory> taskChannelFactoryMap;
+
+    /**
+     * channels loaded so far
+     */
     private final Map<String, TaskChannel> taskChannelMap = new ConcurrentHashMap<>();
 
     private final PluginDao pluginDao;
@@ -55,39 +64,95 @@ public class TaskPluginManager {
         this.pluginDao = pluginDao;
     }
 
-    private void loadTaskChannel(TaskChannelFactory taskChannelFactory) {
-        TaskChannel taskChannel = taskChannelFactory.create();
-        taskChannelMap.put(taskChannelFactory.getName(), taskChannel);
+    /**
+     * get the channel of a task type, loading it on first use
+     *
+     * @param taskType task type
+     * @return task channel, null if no plugin provides the task type
+     */
+    public TaskChannel getTaskChannel(String taskType) {
+        TaskChannelFactory factory = getTaskChannelFactoryMap().get(taskType);
+        if (factory == null) {
+            return null;
+        }
+        return taskChannelMap.computeIfAbsent(taskType, name -> {
+            long startTime = System.currentTimeMillis();
+            TaskChannel taskChannel = factory.create();
+            logger.info("Loaded task plugin: {}, cost: {} ms", name, System.currentTimeMillis() - startTime);
+            return taskChannel;
+        });
+    }
+
+    /**
+     * get the task types the plugins provide
+     *
+     * @return task types
+     */
+    public Set<String> getTaskTypes() {
+        return getTaskChannelFactoryMap().keySet();
     }
 
-    public Map<String, TaskChannel> getTaskChannelMap() {
-        return Collections.unmodifiableMap(taskChannelMap);
+    /**
+     * get the task types loaded so far
+     *
+     * @return task types
+     */
+    public Set<String> getLoadedTaskTypes() {
+        return Collections.unmodifiableSet(taskChannelMap.keySet());
     }
 
-    @EventListener
-    public void installPlugin(ApplicationReadyEvent readyEvent) {
-        final Set<String> names = new HashSet<>();
+    private Map<String, TaskChannelFactory> getTaskChannelFactoryMap() {
+        Map<String, TaskChannelFactory> factories = taskChannelFactoryMap;
+        if (factories == null) {
+            synchronized (this) {
+                factories = taskChannelFactoryMap;
+                if (factories == null) {
+                    factories = discover();
+                    taskChannelFactoryMap = factories;
+                }
+            }
+        }
+        return factories;
+    }
 
+    private Map<String, TaskChannelFactory> discover() {
+        long startTime = System.currentTimeMillis();
+        Map<String, TaskChannelFactory> factories = new HashMap<>();
         ServiceLoader.load(TaskChannelFactory.class).forEach(factory -> {
             final String name = factory.getName();
-
-            logger.info("Registering task plugin: {}", name);
-
-            if (!names.add(name)) {
+            if (factories.putIfAbsent(name, factory) != null) {
                 throw new IllegalStateException(format("Duplicate task plugins named '%s'", name));
             }
+        });
+        logger.info("Found task plugins: {}, cost: {} ms", factories.keySet(), System.currentTimeMillis() - startTime);
+        return Collections.unmodifiableMap(factories);
+    }
 
-            loadTaskChannel(factory);
-
-            logger.info("Registered task plugin: {}", name);
-
-            List<PluginParams> params = factory.getParams();
-            String paramsJson = PluginParamsTransfer.transferParamsToJson(params);
+    /**
+     * register the plugin definitions in the background, the worker takes tasks without waiting for them
+     */
+    @EventListener
+    public void installPlugin(ApplicationReadyEvent readyEvent) {
+        Thread thread = new Thread(this::registerPluginDefines, "Worker-Task-Plugin-Register");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-            PluginDefine pluginDefine = new PluginDefine(name, PluginType.TASK.getDesc(), paramsJson);
-            int count = pluginDao.addOrUpdatePluginDefine(pluginDefine);
-            if (count <= 0) {
-                throw new RuntimeException("Failed to update task plugin: " + name);
+    void registerPluginDefines() {
+        getTaskChannelFactoryMap().forEach((name, factory) -> {
+            try {
+                List<PluginParams> params = factory.getParams();
+                String paramsJson = PluginParamsTransfer.transferParamsToJson(params);
+
+                PluginDefine pluginDefine = new PluginDefine(name, PluginType.TASK.getDesc(), paramsJson);
+                int count = pluginDao.addOrUpdatePluginDefine(pluginDefine);
+                if (count <= 0) {
+                    logger.error("Failed to update task plugin: {}", name);
+                    return;
+                }
+                logger.info("Registered task plugin: {}", name);
+            } catch (Exception e) {
+                logger.error("Failed to register task plugin: {}", name, e);
             }
         });
     }
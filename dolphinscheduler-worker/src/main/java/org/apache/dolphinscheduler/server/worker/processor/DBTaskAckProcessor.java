@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.server.worker.processor;
 
 import io.netty.channel.Channel;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.*;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
@@ -42,8 +41,7 @@ public class DBTaskAckProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.DB_TASK_ACK == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        DBTaskAckCommand taskAckCommand = JSONUtils.parseObject(
-                command.getBody(), DBTaskAckCommand.class);
+        DBTaskAckCommand taskAckCommand = command.parseBody(DBTaskAckCommand.class);
 
         if (taskAckCommand == null){
             return;
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.worker.processor;
 
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.DBTaskResponseCommand;
@@ -46,8 +45,7 @@ public class DBTaskResponseProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.DB_TASK_RESPONSE == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        DBTaskResponseCommand taskResponseCommand = JSONUtils.parseObject(
-                command.getBody(), DBTaskResponseCommand.class);
+        DBTaskResponseCommand taskResponseCommand = command.parseBody(DBTaskResponseCommand.class);
 
         if (taskResponseCommand == null) {
             return;
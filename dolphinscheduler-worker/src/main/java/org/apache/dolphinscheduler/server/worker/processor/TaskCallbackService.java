@@ -24,6 +24,10 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.processor.NettyRemoteChannel;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
+
+import org.apache.commons.lang.StringUtils;
 
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,7 +36,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 
 
@@ -50,6 +53,11 @@ public class TaskCallbackService {
      */
     private static final ConcurrentHashMap<Integer, NettyRemoteChannel> REMOTE_CHANNELS = new ConcurrentHashMap<>();
 
+    /**
+     * listen addresses of the masters of the tasks, the remote address of a channel is an ephemeral port of the master
+     */
+    private static final ConcurrentHashMap<Integer, String> MASTER_HOSTS = new ConcurrentHashMap<>();
+
     /**
      * netty remoting client
      */
@@ -82,6 +90,38 @@ public class TaskCallbackService {
         REMOTE_CHANNELS.put(taskInstanceId, channel);
     }
 
+    /**
+     * set the listen address of the master of a task
+     *
+     * @param taskInstanceId taskInstanceId
+     * @param masterHost     master listen address, host:port, ignored if empty
+     */
+    public static void setMasterHost(int taskInstanceId, String masterHost) {
+        if (StringUtils.isNotEmpty(masterHost)) {
+            MASTER_HOSTS.put(taskInstanceId, masterHost);
+        }
+    }
+
+    /**
+     * get the listen address of the master of a task
+     *
+     * @param taskInstanceId taskInstanceId
+     * @return master listen address, null if it is unknown, e.g. the task came from a master of an older version
+     */
+    public static String getMasterHost(int taskInstanceId) {
+        return MASTER_HOSTS.get(taskInstanceId);
+    }
+
+    /**
+     * get the callback channel of a task as it was added, active or not
+     *
+     * @param taskInstanceId taskInstanceId
+     * @return callback channel, null if there is none
+     */
+    public static NettyRemoteChannel getCallbackChannel(int taskInstanceId) {
+        return REMOTE_CHANNELS.get(taskInstanceId);
+    }
+
     /**
      * get callback channel
      *
@@ -95,7 +135,8 @@ public class TaskCallbackService {
             if (nettyRemoteChannel.isActive()) {
                 return nettyRemoteChannel;
             }
-            newChannel = nettyRemotingClient.getChannel(nettyRemoteChannel.getHost());
+            String masterHost = MASTER_HOSTS.get(taskInstanceId);
+            newChannel = nettyRemotingClient.getChannel(masterHost == null ? nettyRemoteChannel.getHost() : Host.of(masterHost));
             if (newChannel != null) {
                 return getRemoteChannel(newChannel, nettyRemoteChannel.getOpaque(), taskInstanceId);
             }
@@ -126,6 +167,7 @@ public class TaskCallbackService {
      */
     public static void remove(int taskInstanceId) {
         REMOTE_CHANNELS.remove(taskInstanceId);
+        MASTER_HOSTS.remove(taskInstanceId);
     }
 
     /**
@@ -135,10 +177,7 @@ public class TaskCallbackService {
      * @param command        command
      */
     public void sendAck(int taskInstanceId, Command command) {
-        NettyRemoteChannel nettyRemoteChannel = getRemoteChannel(taskInstanceId);
-        if (nettyRemoteChannel != null) {
-            nettyRemoteChannel.writeAndFlush(command);
-        }
+        send(taskInstanceId, command);
     }
 
     /**
@@ -148,19 +187,43 @@ public class TaskCallbackService {
      * @param command        command
      */
     public void sendResult(int taskInstanceId, Command command) {
-        NettyRemoteChannel nettyRemoteChannel = getRemoteChannel(taskInstanceId);
-        if (nettyRemoteChannel != null) {
-            nettyRemoteChannel.writeAndFlush(command).addListener(new ChannelFutureListener() {
-
-                @Override
-                public void operationComplete(ChannelFuture future) throws Exception {
-                    if (future.isSuccess()) {
-                        // remove(taskInstanceId);
-                        return;
-                    }
-                }
-            });
+        send(taskInstanceId, command);
+    }
+
+    /**
+     * send an ack or result again, connecting to its master if the task has no channel, e.g. after a restart
+     *
+     * @param entry cached ack or result
+     */
+    public void resend(ResponseCache.Entry entry) {
+        if (!REMOTE_CHANNELS.containsKey(entry.getTaskInstanceId()) && StringUtils.isNotEmpty(entry.getHost())) {
+            Channel channel = nettyRemotingClient.getChannel(Host.of(entry.getHost()));
+            if (channel == null) {
+                ResponseCache.get().sendFailed(entry.getHost());
+                return;
+            }
+            getRemoteChannel(channel, entry.getOpaque(), entry.getTaskInstanceId());
+            MASTER_HOSTS.put(entry.getTaskInstanceId(), entry.getHost());
         }
+        send(entry.getTaskInstanceId(), entry.getCommand());
+    }
 
+    private void send(int taskInstanceId, Command command) {
+        NettyRemoteChannel nettyRemoteChannel = getRemoteChannel(taskInstanceId);
+        if (nettyRemoteChannel == null) {
+            NettyRemoteChannel inactiveChannel = REMOTE_CHANNELS.get(taskInstanceId);
+            if (inactiveChannel != null) {
+                ResponseCache.get().sendFailed(MASTER_HOSTS.getOrDefault(taskInstanceId, inactiveChannel.getHost().getAddress()));
+            }
+            return;
+        }
+        String host = MASTER_HOSTS.getOrDefault(taskInstanceId, nettyRemoteChannel.getHost().getAddress());
+        nettyRemoteChannel.writeAndFlush(command).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                ResponseCache.get().sendSucceeded(host);
+            } else {
+                ResponseCache.get().sendFailed(host);
+            }
+        });
     }
 }
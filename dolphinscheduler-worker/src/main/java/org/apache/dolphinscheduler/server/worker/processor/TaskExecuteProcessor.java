@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
@@ -34,6 +35,7 @@ import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRemoteChannel;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.server.utils.LogUtils;
+import org.apache.dolphinscheduler.server.worker.cache.ResourceCache;
 import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.plugin.TaskPluginManager;
@@ -42,7 +44,6 @@ import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.queue.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.TaskExecutionContextCacheManager;
-import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
 
 import java.util.Date;
 
@@ -84,6 +85,12 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
     @Autowired
     private TaskPluginManager taskPluginManager;
 
+    /**
+     * resource cache
+     */
+    @Autowired
+    private ResourceCache resourceCache;
+
     /**
      * task execute manager
      */
@@ -96,10 +103,7 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
      * @param taskExecutionContext task
      */
     private void setTaskCache(TaskExecutionContext taskExecutionContext) {
-        TaskExecutionContext preTaskCache = new TaskExecutionContext();
-        preTaskCache.setTaskInstanceId(taskExecutionContext.getTaskInstanceId());
-        TaskRequest taskRequest = JSONUtils.parseObject(JSONUtils.toJsonString(taskExecutionContext), TaskRequest.class);
-        TaskExecutionContextCacheManager.cacheTaskExecutionContext(taskRequest);
+        TaskExecutionContextCacheManager.cacheTaskExecutionContext(taskExecutionContext.toTaskRequest());
     }
 
     @Override
@@ -107,18 +111,9 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.TASK_EXECUTE_REQUEST == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        TaskExecuteRequestCommand taskRequestCommand = JSONUtils.parseObject(
-                command.getBody(), TaskExecuteRequestCommand.class);
-
-        logger.info("received command : {}", taskRequestCommand);
-
-        if (taskRequestCommand == null) {
-            logger.error("task execute request command is null");
-            return;
-        }
+        TaskExecutionContext taskExecutionContext = parseTaskExecutionContext(channel, command);
 
-        String contextJson = taskRequestCommand.getTaskExecutionContext();
-        TaskExecutionContext taskExecutionContext = JSONUtils.parseObject(contextJson, TaskExecutionContext.class);
+        logger.info("received task execution context : {}", taskExecutionContext);
 
         if (taskExecutionContext == null) {
             logger.error("task execution context is null");
@@ -150,6 +145,8 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
 
         taskCallbackService.addRemoteChannel(taskExecutionContext.getTaskInstanceId(),
                 new NettyRemoteChannel(channel, command.getOpaque()));
+        // the channel is from an ephemeral port of the master, results are sent again to its listen address
+        TaskCallbackService.setMasterHost(taskExecutionContext.getTaskInstanceId(), taskExecutionContext.getMasterHost());
 
         // delay task process
         long remainTime = DateUtils.getRemainTime(taskExecutionContext.getFirstSubmitTime(), taskExecutionContext.getDelayTime() * 60L);
@@ -165,11 +162,28 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
         this.doAck(taskExecutionContext);
 
         // submit task to manager
-        if (!workerManager.offer(new TaskExecuteThread(taskExecutionContext, taskCallbackService, alertClientService, taskPluginManager))) {
+        if (!workerManager.offer(new TaskExecuteThread(taskExecutionContext, taskCallbackService, alertClientService, taskPluginManager, resourceCache))) {
             logger.info("submit task to manager error, queue is full, queue size is {}", workerManager.getDelayQueueSize());
         }
     }
 
+    /**
+     * the context is the body of the request, masters speaking the legacy protocol wrap its json in a
+     * {@link TaskExecuteRequestCommand}
+     *
+     * @param channel channel
+     * @param command command
+     * @return task execution context
+     */
+    private TaskExecutionContext parseTaskExecutionContext(Channel channel, Command command) {
+        if (channel != null && Byte.valueOf(Command.VERSION).equals(channel.attr(NettyDecoder.PROTOCOL_VERSION).get())) {
+            TaskExecuteRequestCommand taskRequestCommand = command.parseBody(TaskExecuteRequestCommand.class);
+            return taskRequestCommand == null ? null
+                    : JSONUtils.parseObject(taskRequestCommand.getTaskExecutionContext(), TaskExecutionContext.class);
+        }
+        return command.parseBody(TaskExecutionContext.class);
+    }
+
     private void doAck(TaskExecutionContext taskExecutionContext) {
         // tell master that task is in executing
         TaskExecuteAckCommand ackCommand = buildAckCommand(taskExecutionContext);
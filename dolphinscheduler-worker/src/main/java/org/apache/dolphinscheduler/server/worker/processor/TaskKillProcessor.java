@@ -17,10 +17,11 @@
 
 package org.apache.dolphinscheduler.server.worker.processor;
 
+import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
-import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.task.api.ProcessTree;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskKillRequestCommand;
@@ -38,6 +39,7 @@ import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -79,7 +81,7 @@ public class TaskKillProcessor implements NettyRequestProcessor {
     @Override
     public void process(Channel channel, Command command) {
         Preconditions.checkArgument(CommandType.TASK_KILL_REQUEST == command.getType(), String.format("invalid command type : %s", command.getType()));
-        TaskKillRequestCommand killCommand = JSONUtils.parseObject(command.getBody(), TaskKillRequestCommand.class);
+        TaskKillRequestCommand killCommand = command.parseBody(TaskKillRequestCommand.class);
         logger.info("received kill command : {}", killCommand);
 
         Pair<Boolean, List<String>> result = doKill(killCommand);
@@ -115,23 +117,23 @@ public class TaskKillProcessor implements NettyRequestProcessor {
                 return Pair.of(true, appIds);
             }
 
-            String pidsStr = ProcessUtils.getPidsStr(taskExecutionContext.getProcessId());
-            if (!StringUtils.isEmpty(pidsStr)) {
-                String cmd = String.format("kill -9 %s", pidsStr);
-                cmd = OSUtils.getSudoCmd(taskExecutionContext.getTenantCode(), cmd);
-                logger.info("process id:{}, cmd:{}", taskExecutionContext.getProcessId(), cmd);
-                OSUtils.exeCmd(cmd);
-            }
+            // terminate the process tree, the processes still alive after the grace time are killed in the background
+            logger.info("kill process tree of process id:{}", processId);
+            ProcessTree.kill(processId, taskExecutionContext.getTenantCode(), ProcessTree.DEFAULT_KILL_GRACE_MILLIS);
 
         } catch (Exception e) {
             processFlag = false;
             logger.error("kill task error", e);
         }
-        // find log and kill yarn job
-        Pair<Boolean, List<String>> yarnResult = killYarnJob(Host.of(taskExecutionContext.getHost()),
-                taskExecutionContext.getLogPath(),
-                taskExecutionContext.getExecutePath(),
-                taskExecutionContext.getTenantCode());
+        // kill the yarn jobs found in the task output so far, or in the log
+        Pair<Boolean, List<String>> yarnResult = StringUtils.isEmpty(taskExecutionContext.getAppIds())
+                ? killYarnJob(Host.of(taskExecutionContext.getHost()),
+                        taskExecutionContext.getLogPath(),
+                        taskExecutionContext.getExecutePath(),
+                        taskExecutionContext.getTenantCode())
+                : killYarnJob(Arrays.asList(taskExecutionContext.getAppIds().split(Constants.COMMA)),
+                        taskExecutionContext.getExecutePath(),
+                        taskExecutionContext.getTenantCode());
         return Pair.of(processFlag && yarnResult.getLeft(), yarnResult.getRight());
     }
 
@@ -160,6 +162,28 @@ public class TaskKillProcessor implements NettyRequestProcessor {
         return taskKillResponseCommand;
     }
 
+    /**
+     * kill known yarn jobs
+     *
+     * @param appIds app ids
+     * @param executePath executePath
+     * @param tenantCode tenantCode
+     * @return Pair<Boolean, List < String>> yarn kill result
+     */
+    private Pair<Boolean, List<String>> killYarnJob(List<String> appIds, String executePath, String tenantCode) {
+        try {
+            if (StringUtils.isEmpty(executePath)) {
+                logger.error("task instance execute path is empty");
+                throw new RuntimeException("task instance execute path is empty");
+            }
+            ProcessUtils.cancelApplication(appIds, logger, tenantCode, executePath);
+            return Pair.of(true, appIds);
+        } catch (Exception e) {
+            logger.error("kill yarn job error", e);
+        }
+        return Pair.of(false, Collections.emptyList());
+    }
+
     /**
      * kill yarn job
      *
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateCommand;
+import org.apache.dolphinscheduler.remote.command.WorkerExecThreadsUpdateResponseCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Preconditions;
+
+import io.netty.channel.Channel;
+
+/**
+ * change the number of execute threads of the worker while it runs
+ */
+@Component
+public class WorkerExecThreadsUpdateProcessor implements NettyRequestProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(WorkerExecThreadsUpdateProcessor.class);
+
+    @Autowired
+    private WorkerManagerThread workerManager;
+
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.WORKER_EXEC_THREADS_UPDATE_REQUEST == command.getType(),
+                String.format("invalid command type : %s", command.getType()));
+        WorkerExecThreadsUpdateCommand updateCommand = command.parseBody(WorkerExecThreadsUpdateCommand.class);
+        logger.info("received worker exec threads update command : {}", updateCommand);
+        if (updateCommand == null || updateCommand.getExecThreads() <= 0) {
+            logger.warn("invalid worker exec threads update command : {}", updateCommand);
+        } else {
+            workerManager.updateExecThreads(updateCommand.getExecThreads());
+        }
+        // the caller compares the threads the worker runs with against the ones it asked for
+        WorkerExecThreadsUpdateResponseCommand responseCommand = new WorkerExecThreadsUpdateResponseCommand(workerManager.getExecThreads());
+        channel.writeAndFlush(responseCommand.convert2Command(command.getOpaque()));
+    }
+}
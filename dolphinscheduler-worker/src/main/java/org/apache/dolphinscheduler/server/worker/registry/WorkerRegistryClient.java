@@ -109,7 +109,13 @@ public class WorkerRegistryClient {
                 Constants.WORKER_TYPE,
                 registryClient,
                 workerConfig.getExecThreads(),
-                workerManagerThread.getThreadPoolQueueSize()
+                heartBeat -> {
+                    heartBeat.setTaskLoadReported(workerConfig.isHeartbeatTaskLoad());
+                    heartBeat.setWorkerExecThreadCount(workerManagerThread.getExecThreads());
+                    heartBeat.setWorkerWaitingTaskCount(workerManagerThread.getThreadPoolQueueSize());
+                    heartBeat.setWorkerRunningTaskCount(workerManagerThread.getRunningTaskCount());
+                    heartBeat.setWorkerRunningTaskTypes(workerManagerThread.getRunningTaskCountByType());
+                }
         );
 
         for (String workerZKPath : workerZkPaths) {
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.AbstractAsyncTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * runs async tasks, which wait on these threads instead of the worker execute threads. an async task gives its
+ * execute thread back once it is started here, the async tasks in flight are bounded by the threads and the queue
+ * of this runner instead
+ */
+public class AsyncTaskRunner {
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncTaskRunner.class);
+
+    /**
+     * threads the blocking calls of async tasks run on, idle threads exit
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * running async tasks, key is task instance id
+     */
+    private final Map<Integer, AbstractAsyncTask> runningTasks = new ConcurrentHashMap<>();
+
+    /**
+     * task type of the running async tasks, key is task instance id
+     */
+    private final Map<Integer, String> runningTaskTypes = new ConcurrentHashMap<>();
+
+    /**
+     * max async tasks in flight, one per thread and per queue place
+     */
+    private final int maxTasks;
+
+    private final Semaphore permits;
+
+    /**
+     * constructor
+     *
+     * @param threads threads the blocking calls run on
+     * @param queueSize blocking calls waiting for a thread
+     */
+    public AsyncTaskRunner(int threads, int queueSize) {
+        this.maxTasks = threads + queueSize;
+        this.permits = new Semaphore(maxTasks);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "Worker-Async-Task-Thread-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * start the task, the calling thread does not wait for it
+     *
+     * @param taskInstanceId task instance id
+     * @param taskType task type
+     * @param taskLogName name the task threads get so their logs go to the task log
+     * @param task task
+     * @return future completed when the task is finished
+     * @throws RejectedExecutionException if as many async tasks as there are threads and queue places are in flight
+     */
+    public CompletableFuture<Void> execute(int taskInstanceId, String taskType, String taskLogName, AbstractAsyncTask task) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("async tasks in flight reach the limit : " + maxTasks);
+        }
+        runningTasks.put(taskInstanceId, task);
+        runningTaskTypes.put(taskInstanceId, taskType);
+        Executor taskExecutor = command -> executor.execute(() -> {
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName();
+            thread.setName(taskLogName);
+            try {
+                command.run();
+            } finally {
+                thread.setName(threadName);
+            }
+        });
+        CompletableFuture<Void> result = task.handleAsync(taskExecutor);
+        result.whenComplete((ignored, e) -> {
+            if (runningTasks.remove(taskInstanceId, task)) {
+                runningTaskTypes.remove(taskInstanceId);
+            }
+            permits.release();
+        });
+        return result;
+    }
+
+    /**
+     * kill a running async task. the task stops its call in flight, its future completes cancelled once the call
+     * has really ended
+     *
+     * @param taskInstanceId task instance id
+     * @return false if no async task of the id is running
+     */
+    public boolean kill(int taskInstanceId) {
+        AbstractAsyncTask task = runningTasks.get(taskInstanceId);
+        if (task == null) {
+            return false;
+        }
+        try {
+            task.cancelApplication(true);
+        } catch (Exception e) {
+            logger.error("kill async task {} error", taskInstanceId, e);
+        }
+        return true;
+    }
+
+    /**
+     * get the number of running async tasks
+     *
+     * @return running task count
+     */
+    public int getRunningCount() {
+        return runningTasks.size();
+    }
+
+    /**
+     * get the number of running async tasks by task type
+     *
+     * @return running task count by task type
+     */
+    public Map<String, Integer> getRunningCountByType() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String taskType : runningTaskTypes.values()) {
+            counts.merge(taskType, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
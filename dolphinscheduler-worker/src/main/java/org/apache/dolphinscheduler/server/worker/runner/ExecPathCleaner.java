@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.CommonUtils;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.spi.task.TaskExecutionContextCacheManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * deletes the execute path of finished tasks in the background, so the task result does not wait for it
+ */
+@Component
+public class ExecPathCleaner implements Runnable {
+
+    private final Logger logger = LoggerFactory.getLogger(ExecPathCleaner.class);
+
+    /**
+     * an execute path left by the last run and changed within this time may still be used by a task process
+     */
+    static final long ORPHAN_GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * base dir of the execute paths, see {@link FileUtils#getProcessExecDir}
+     */
+    private final File execBaseDir;
+
+    /**
+     * proc file system the processes alive on this host are read from
+     */
+    private final File procDir;
+
+    /**
+     * execute paths waiting to be deleted
+     */
+    private final BlockingQueue<File> queue;
+
+    /**
+     * below this free disk of the execute base dir, in bytes, execute paths are deleted by the task thread
+     */
+    private final long reservedDisk;
+
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    private final AtomicLong reclaimedFiles = new AtomicLong();
+
+    /**
+     * execute paths left by the last run, deleted before the queue
+     */
+    private List<File> orphans = new ArrayList<>();
+
+    @Autowired
+    public ExecPathCleaner(WorkerConfig workerConfig, MeterRegistry meterRegistry) {
+        this(new File(FileUtils.DATA_BASEDIR, "exec/process"),
+                new File("/proc"),
+                workerConfig.getExecPathCleanQueueSize(),
+                (long) (workerConfig.getExecPathReservedDisk() * 1024 * 1024 * 1024),
+                meterRegistry);
+    }
+
+    ExecPathCleaner(File execBaseDir, File procDir, int queueSize, long reservedDisk, MeterRegistry meterRegistry) {
+        this.execBaseDir = execBaseDir;
+        this.procDir = procDir;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueSize));
+        this.reservedDisk = reservedDisk;
+        FunctionCounter.builder("worker_exec_path_reclaimed_bytes", reclaimedBytes, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("worker_exec_path_reclaimed_files", reclaimedFiles, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * find the execute paths left by the last run and start deleting in the background,
+     * must be called before the worker receives tasks
+     */
+    public void start() {
+        if (!CommonUtils.isDevelopMode()) {
+            orphans = findTaskExecPaths();
+            if (!orphans.isEmpty()) {
+                logger.info("found {} execute paths left by the last run", orphans.size());
+            }
+        }
+        Thread thread = new Thread(this, "Worker-Exec-Path-Cleaner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * delete the execute path of a finished task
+     *
+     * @param execPath execute path
+     */
+    public void clean(File execPath) {
+        if (lowOnDisk()) {
+            logger.info("disk is low, delete exec local path: {} now", execPath);
+            delete(execPath);
+            return;
+        }
+        if (!queue.offer(execPath)) {
+            logger.warn("exec path clean queue is full, delete exec local path: {} now", execPath);
+            delete(execPath);
+        }
+    }
+
+    @Override
+    public void run() {
+        // task processes of the last run may have outlived it
+        Set<String> livePaths = orphans.isEmpty() ? new HashSet<>() : findLiveProcessPaths();
+        for (File orphan : orphans) {
+            if (!Stopper.isRunning()) {
+                return;
+            }
+            // the task instance may have been dispatched to this worker again
+            if (TaskExecutionContextCacheManager.getByTaskInstanceId(Integer.parseInt(orphan.getName())) != null) {
+                continue;
+            }
+            if (inUse(orphan, livePaths)) {
+                logger.info("exec local path: {} left by the last run may still be in use, keep it", orphan);
+                continue;
+            }
+            delete(orphan);
+        }
+        orphans = null;
+
+        while (Stopper.isRunning()) {
+            try {
+                File execPath = queue.poll(1, TimeUnit.SECONDS);
+                if (execPath != null) {
+                    delete(execPath);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getReclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
+    public long getReclaimedFiles() {
+        return reclaimedFiles.get();
+    }
+
+    private boolean lowOnDisk() {
+        return reservedDisk > 0 && execBaseDir.getUsableSpace() < reservedDisk;
+    }
+
+    /**
+     * task execute paths are exec/process/{projectCode}/{processDefineCode_version}/{processInstanceId}/{taskInstanceId}
+     */
+    private List<File> findTaskExecPaths() {
+        List<File> taskExecPaths = new ArrayList<>();
+        for (File project : listDirs(execBaseDir)) {
+            for (File processDefinition : listDirs(project)) {
+                for (File processInstance : listDirs(processDefinition)) {
+                    for (File taskInstance : listDirs(processInstance)) {
+                        if (taskInstance.getName().matches("\\d+")) {
+                            taskExecPaths.add(taskInstance);
+                        }
+                    }
+                }
+            }
+        }
+        return taskExecPaths;
+    }
+
+    /**
+     * an execute path is in use when a process alive runs in it or runs a file of it, or it was changed lately,
+     * since the processes of other users may not be readable
+     */
+    private boolean inUse(File execPath, Set<String> livePaths) {
+        if (System.currentTimeMillis() - execPath.lastModified() < ORPHAN_GRACE_MILLIS) {
+            return true;
+        }
+        String prefix = execPath.getAbsolutePath() + File.separator;
+        String realPrefix = prefix;
+        try {
+            realPrefix = execPath.toPath().toRealPath() + File.separator;
+        } catch (IOException e) {
+            // keep the absolute path
+        }
+        for (String livePath : livePaths) {
+            if (livePath.contains(prefix) || livePath.contains(realPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * the working dirs and command lines of the processes alive on this host, working dirs end with a separator
+     */
+    private Set<String> findLiveProcessPaths() {
+        Set<String> livePaths = new HashSet<>();
+        File[] processes = procDir.listFiles(file -> file.getName().matches("\\d+"));
+        if (processes == null) {
+            return livePaths;
+        }
+        for (File process : processes) {
+            try {
+                byte[] cmdline = Files.readAllBytes(new File(process, "cmdline").toPath());
+                livePaths.add(new String(cmdline, StandardCharsets.UTF_8).replace('\0', ' '));
+            } catch (IOException | SecurityException e) {
+                // the process exited
+            }
+            try {
+                livePaths.add(new File(process, "cwd").toPath().toRealPath() + File.separator);
+            } catch (IOException | SecurityException e) {
+                // the process exited, or runs as another user
+            }
+        }
+        return livePaths;
+    }
+
+    private static File[] listDirs(File dir) {
+        File[] dirs = dir.listFiles(File::isDirectory);
+        return dirs == null ? new File[0] : dirs;
+    }
+
+    /**
+     * delete the path, counting files and the bytes freed
+     */
+    void delete(File execPath) {
+        if (!execPath.exists()) {
+            return;
+        }
+        long[] reclaimed = new long[2];
+        try {
+            Files.walkFileTree(execPath.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    // a file still linked elsewhere, like a cached resource, frees no disk
+                    long size = attrs.isRegularFile() && linkCount(file) <= 1 ? attrs.size() : 0L;
+                    Files.delete(file);
+                    reclaimed[0] += size;
+                    reclaimed[1]++;
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    if (e != null) {
+                        throw e;
+                    }
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            logger.info("exec local path: {} cleared, {} files, {} bytes", execPath, reclaimed[1], reclaimed[0]);
+        } catch (IOException e) {
+            logger.error("delete exec dir failed : {}", e.getMessage(), e);
+        } finally {
+            reclaimedBytes.addAndGet(reclaimed[0]);
+            reclaimedFiles.addAndGet(reclaimed[1]);
+        }
+    }
+
+    private static int linkCount(Path file) {
+        try {
+            return (Integer) Files.getAttribute(file, "unix:nlink", LinkOption.NOFOLLOW_LINKS);
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return 1;
+        }
+    }
+}
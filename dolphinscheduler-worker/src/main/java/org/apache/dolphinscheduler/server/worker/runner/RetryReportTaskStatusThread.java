@@ -20,7 +20,6 @@ package org.apache.dolphinscheduler.server.worker.runner;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
-import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
 import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
 import org.slf4j.Logger;
@@ -28,8 +27,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
 /**
  * Retry Report Task Status Thread
  */
@@ -39,9 +36,9 @@ public class RetryReportTaskStatusThread implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(RetryReportTaskStatusThread.class);
 
     /**
-     * every 5 minutes
+     * every second, the backoff of each ack/response is kept by the response cache
      */
-    private static long RETRY_REPORT_TASK_STATUS_INTERVAL = 5 * 60 * 1000L;
+    private static long RETRY_REPORT_TASK_STATUS_INTERVAL = 1000L;
 
     @Autowired
     private TaskCallbackService taskCallbackService;
@@ -61,26 +58,12 @@ public class RetryReportTaskStatusThread implements Runnable {
 
         while (Stopper.isRunning()){
 
-            // sleep 5 minutes
             ThreadUtils.sleep(RETRY_REPORT_TASK_STATUS_INTERVAL);
 
             try {
-                if (!instance.getAckCache().isEmpty()){
-                    Map<Integer,Command> ackCache =  instance.getAckCache();
-                    for (Map.Entry<Integer, Command> entry : ackCache.entrySet()){
-                        Integer taskInstanceId = entry.getKey();
-                        Command ackCommand = entry.getValue();
-                        taskCallbackService.sendAck(taskInstanceId,ackCommand);
-                    }
-                }
-
-                if (!instance.getResponseCache().isEmpty()){
-                    Map<Integer,Command> responseCache =  instance.getResponseCache();
-                    for (Map.Entry<Integer, Command> entry : responseCache.entrySet()){
-                        Integer taskInstanceId = entry.getKey();
-                        Command responseCommand = entry.getValue();
-                        taskCallbackService.sendResult(taskInstanceId,responseCommand);
-                    }
+                for (ResponseCache.Entry entry : instance.pollDue(System.currentTimeMillis())) {
+                    logger.info("retry {} of task instance {}, attempt {}", entry.getEvent(), entry.getTaskInstanceId(), entry.getAttempts());
+                    taskCallbackService.resend(entry);
                 }
             }catch (Exception e){
                 logger.warn("retry report task status error", e);
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Task Execute Scheduler : decides which of the ready tasks of a worker runs next on its execute threads.
+ * <p>
+ * Tenants take turns, a tenant that just got a thread goes behind the others. A task is only started while its
+ * tenant and its task type are below their limits, and tasks of a type that is not short only get the threads that
+ * are not reserved for short ones, so long running tasks can not take every thread. The number of threads can be
+ * changed while the worker runs. The time a task waited for a thread and the time it ran are recorded per tenant.
+ */
+public class TaskExecuteScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecuteScheduler.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> shortTaskTypes;
+
+    private final int reservedThreads;
+
+    /**
+     * max tasks a tenant runs at once, 0 for no limit
+     */
+    private final int tenantMaxThreads;
+
+    private final Map<String, Integer> taskTypeMaxThreads;
+
+    private int execThreads;
+
+    /**
+     * called with the task and the error when the execute threads refuse a task, it is called holding the lock of
+     * the scheduler so it must not block, hand slow work like reporting the task off to another thread
+     */
+    private BiConsumer<Runnable, Throwable> rejectedHandler = (task, e) -> { };
+
+    /**
+     * ready tasks by tenant, the order of the tenants is the order of their turns
+     */
+    private final LinkedHashMap<String, ArrayDeque<Slot>> pending = new LinkedHashMap<>();
+
+    private int pendingCount;
+
+    private int running;
+
+    /**
+     * running tasks not of a short task type
+     */
+    private int runningLong;
+
+    private final Map<String, Integer> runningByTenant = new HashMap<>();
+
+    private final Map<String, Integer> runningByType = new HashMap<>();
+
+    /**
+     * constructor
+     *
+     * @param executor execute threads, resized with the scheduler
+     * @param execThreads number of execute threads
+     * @param reservedThreads threads only short tasks run on
+     * @param shortTaskTypes short task types
+     * @param tenantMaxThreads max tasks of a tenant at once, 0 for no limit
+     * @param taskTypeMaxThreads max tasks of a task type at once
+     * @param meterRegistry registry of the wait and execution timers
+     */
+    public TaskExecuteScheduler(ThreadPoolExecutor executor,
+                                int execThreads,
+                                int reservedThreads,
+                                Set<String> shortTaskTypes,
+                                int tenantMaxThreads,
+                                Map<String, Integer> taskTypeMaxThreads,
+                                MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.execThreads = execThreads;
+        this.reservedThreads = reservedThreads;
+        this.shortTaskTypes = shortTaskTypes == null ? Collections.emptySet() : shortTaskTypes;
+        this.tenantMaxThreads = tenantMaxThreads;
+        this.taskTypeMaxThreads = taskTypeMaxThreads == null ? Collections.emptyMap() : taskTypeMaxThreads;
+    }
+
+    public synchronized void setRejectedHandler(BiConsumer<Runnable, Throwable> rejectedHandler) {
+        this.rejectedHandler = rejectedHandler;
+    }
+
+    /**
+     * submit a ready task, it runs once a thread is free for it
+     *
+     * @param tenantCode tenant code
+     * @param taskType task type
+     * @param task task
+     */
+    public synchronized void submit(String tenantCode, String taskType, Runnable task) {
+        String tenant = tenantCode == null ? "" : tenantCode;
+        pending.computeIfAbsent(tenant, key -> new ArrayDeque<>()).add(new Slot(tenant, taskType, task));
+        pendingCount++;
+        dispatch();
+    }
+
+    /**
+     * remove the ready tasks that have not started yet
+     *
+     * @param filter tasks to remove
+     * @return number of the removed tasks
+     */
+    public synchronized int remove(Predicate<Runnable> filter) {
+        int removed = 0;
+        Iterator<ArrayDeque<Slot>> queues = pending.values().iterator();
+        while (queues.hasNext()) {
+            ArrayDeque<Slot> queue = queues.next();
+            Iterator<Slot> slots = queue.iterator();
+            while (slots.hasNext()) {
+                if (filter.test(slots.next().task)) {
+                    slots.remove();
+                    removed++;
+                }
+            }
+            if (queue.isEmpty()) {
+                queues.remove();
+            }
+        }
+        pendingCount -= removed;
+        return removed;
+    }
+
+    /**
+     * change the number of execute threads, the running tasks are not affected
+     *
+     * @param threads number of execute threads
+     */
+    public synchronized void resize(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("invalid exec threads : " + threads);
+        }
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+        logger.info("worker exec threads changed from {} to {}", execThreads, threads);
+        execThreads = threads;
+        dispatch();
+    }
+
+    public synchronized int getExecThreads() {
+        return execThreads;
+    }
+
+    /**
+     * @return number of the ready tasks waiting for a thread
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return number of the running tasks
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * @return number of the running tasks by task type
+     */
+    public synchronized Map<String, Integer> getRunningCountByType() {
+        return new HashMap<>(runningByType);
+    }
+
+    /**
+     * start the ready tasks there is a thread for, tenants in turn
+     */
+    private void dispatch() {
+        boolean started = true;
+        while (started && running < execThreads && pendingCount > 0) {
+            started = false;
+            for (Map.Entry<String, ArrayDeque<Slot>> entry : pending.entrySet()) {
+                Slot slot = poll(entry.getValue());
+                if (slot == null) {
+                    continue;
+                }
+                String tenant = entry.getKey();
+                // the tenant goes behind the others
+                ArrayDeque<Slot> queue = pending.remove(tenant);
+                if (!queue.isEmpty()) {
+                    pending.put(tenant, queue);
+                }
+                start(slot);
+                started = true;
+                break;
+            }
+        }
+    }
+
+    /**
+     * take the first task of a tenant that can start now
+     */
+    private Slot poll(ArrayDeque<Slot> queue) {
+        Iterator<Slot> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Slot slot = iterator.next();
+            if (canStart(slot)) {
+                iterator.remove();
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private boolean canStart(Slot slot) {
+        if (running >= execThreads) {
+            return false;
+        }
+        // at least one thread is left to long tasks
+        if (!slot.isShort && runningLong >= Math.max(1, execThreads - reservedThreads)) {
+            return false;
+        }
+        if (tenantMaxThreads > 0 && runningByTenant.getOrDefault(slot.tenant, 0) >= tenantMaxThreads) {
+            return false;
+        }
+        Integer typeMax = taskTypeMaxThreads.get(slot.taskType);
+        return typeMax == null || runningByType.getOrDefault(slot.taskType, 0) < typeMax;
+    }
+
+    private void start(Slot slot) {
+        pendingCount--;
+        running++;
+        if (!slot.isShort) {
+            runningLong++;
+        }
+        runningByTenant.merge(slot.tenant, 1, Integer::sum);
+        runningByType.merge(slot.taskType, 1, Integer::sum);
+        try {
+            executor.execute(() -> run(slot));
+        } catch (RuntimeException e) {
+            logger.error("start task of tenant {} error", slot.tenant, e);
+            finish(slot);
+            try {
+                rejectedHandler.accept(slot.task, e);
+            } catch (RuntimeException handlerError) {
+                logger.error("handle rejected task of tenant {} error", slot.tenant, handlerError);
+            }
+        }
+    }
+
+    private void run(Slot slot) {
+        long startTime = System.nanoTime();
+        meterRegistry.timer("worker_task_queue_wait", "tenant", slot.tenant).record(startTime - slot.submitTime, TimeUnit.NANOSECONDS);
+        try {
+            slot.task.run();
+        } finally {
+            meterRegistry.timer("worker_task_execution", "tenant", slot.tenant).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            synchronized (this) {
+                finish(slot);
+                dispatch();
+            }
+        }
+    }
+
+    private void finish(Slot slot) {
+        running--;
+        if (!slot.isShort) {
+            runningLong--;
+        }
+        runningByTenant.computeIfPresent(slot.tenant, (key, count) -> count > 1 ? count - 1 : null);
+        runningByType.computeIfPresent(slot.taskType, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private class Slot {
+
+        private final String tenant;
+
+        private final String taskType;
+
+        private final boolean isShort;
+
+        private final Runnable task;
+
+        private final long submitTime = System.nanoTime();
+
+        Slot(String tenant, String taskType, Runnable task) {
+            this.tenant = tenant;
+            this.taskType = taskType == null ? "" : taskType;
+            this.isShort = shortTaskTypes.contains(this.taskType);
+            this.task = task;
+        }
+    }
+}
@@ -29,10 +29,12 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.common.utils.RetryerUtils;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractAsyncTask;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
+import org.apache.dolphinscheduler.server.worker.cache.ResourceCache;
 import org.apache.dolphinscheduler.server.worker.cache.ResponseCache;
 import org.apache.dolphinscheduler.server.worker.plugin.TaskPluginManager;
 import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
@@ -54,8 +56,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -96,6 +100,21 @@ public class TaskExecuteThread implements Runnable, Delayed {
 
     private TaskPluginManager taskPluginManager;
 
+    /**
+     * resource cache, resources are downloaded for every task without it
+     */
+    private ResourceCache resourceCache;
+
+    /**
+     * runner of async tasks, async tasks run on the execute thread without it
+     */
+    private AsyncTaskRunner asyncTaskRunner;
+
+    /**
+     * deletes the execute path in the background, the task thread deletes it without it
+     */
+    private ExecPathCleaner execPathCleaner;
+
     /**
      * constructor
      *
@@ -120,6 +139,15 @@ public class TaskExecuteThread implements Runnable, Delayed {
         this.taskPluginManager = taskPluginManager;
     }
 
+    public TaskExecuteThread(TaskExecutionContext taskExecutionContext,
+                             TaskCallbackService taskCallbackService,
+                             AlertClientService alertClientService,
+                             TaskPluginManager taskPluginManager,
+                             ResourceCache resourceCache) {
+        this(taskExecutionContext, taskCallbackService, alertClientService, taskPluginManager);
+        this.resourceCache = resourceCache;
+    }
+
     @Override
     public void run() {
         TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(taskExecutionContext.getTaskInstanceId(), taskExecutionContext.getProcessInstanceId());
@@ -132,10 +160,11 @@ public class TaskExecuteThread implements Runnable, Delayed {
             return;
         }
 
+        boolean async = false;
         try {
             logger.info("script path : {}", taskExecutionContext.getExecutePath());
             // check if the OS user exists
-            if (!OSUtils.getUserList().contains(taskExecutionContext.getTenantCode())) {
+            if (!OSUtils.existsUser(taskExecutionContext.getTenantCode())) {
                 String errorLog = String.format("tenantCode: %s does not exist", taskExecutionContext.getTenantCode());
                 logger.error(errorLog);
                 responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
@@ -163,11 +192,11 @@ public class TaskExecuteThread implements Runnable, Delayed {
 
             preBuildBusinessParams();
 
-            TaskChannel taskChannel = taskPluginManager.getTaskChannelMap().get(taskExecutionContext.getTaskType());
+            TaskChannel taskChannel = taskPluginManager.getTaskChannel(taskExecutionContext.getTaskType());
             if (null == taskChannel) {
                 throw new RuntimeException(String.format("%s Task Plugin Not Found,Please Check Config File.", taskExecutionContext.getTaskType()));
             }
-            TaskRequest taskRequest = JSONUtils.parseObject(JSONUtils.toJsonString(taskExecutionContext), TaskRequest.class);
+            TaskRequest taskRequest = taskExecutionContext.toTaskRequest();
             String taskLogName = LoggerUtils.buildTaskId(taskExecutionContext.getFirstSubmitTime(),
                     taskExecutionContext.getProcessDefineCode(),
                     taskExecutionContext.getProcessDefineVersion(),
@@ -186,21 +215,26 @@ public class TaskExecuteThread implements Runnable, Delayed {
             //init varPool
             this.task.getParameters().setVarPool(taskExecutionContext.getVarPool());
 
+            if (asyncTaskRunner != null && this.task instanceof AbstractAsyncTask) {
+                try {
+                    // the execute thread is released, the result is sent when the task completes
+                    asyncTaskRunner.execute(taskExecutionContext.getTaskInstanceId(), taskExecutionContext.getTaskType(),
+                            taskLogName, (AbstractAsyncTask) this.task)
+                            .whenComplete((ignored, e) -> completeAsyncTask(responseCommand, e));
+                    async = true;
+                    return;
+                } catch (RejectedExecutionException e) {
+                    logger.warn("task instance id : {} runs on the execute thread, {}", taskExecutionContext.getTaskInstanceId(), e.getMessage());
+                }
+            }
+
             // task handle
             this.task.handle();
 
             // task result process
-            if (this.task.getNeedAlert()) {
-                sendAlert(this.task.getTaskAlertInfo());
-            }
-
-            responseCommand.setStatus(this.task.getExitStatus().getCode());
-            responseCommand.setEndTime(new Date());
-            responseCommand.setProcessId(this.task.getProcessId());
-            responseCommand.setAppIds(this.task.getAppIds());
-            responseCommand.setVarPool(JSONUtils.toJsonString(this.task.getParameters().getVarPool()));
-            logger.info("task instance id : {},task final status : {}", taskExecutionContext.getTaskInstanceId(), this.task.getExitStatus());
+            setTaskResult(responseCommand);
         } catch (Throwable e) {
+            async = false;
             logger.error("task scheduler failure", e);
             kill();
             responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
@@ -208,13 +242,70 @@ public class TaskExecuteThread implements Runnable, Delayed {
             responseCommand.setProcessId(task.getProcessId());
             responseCommand.setAppIds(task.getAppIds());
         } finally {
-            TaskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
-            ResponseCache.get().cache(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command(), Event.RESULT);
-            taskCallbackService.sendResult(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command());
-            clearTaskExecPath();
+            if (!async) {
+                sendResult(responseCommand);
+            }
+        }
+    }
+
+    /**
+     * report the task failed when it could not be started on an execute thread
+     *
+     * @param e the error the execute threads refused the task with
+     */
+    public void reject(Throwable e) {
+        logger.error("task instance id : {} could not be started", taskExecutionContext.getTaskInstanceId(), e);
+        TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(taskExecutionContext.getTaskInstanceId(), taskExecutionContext.getProcessInstanceId());
+        responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
+        responseCommand.setEndTime(new Date());
+        sendResult(responseCommand);
+    }
+
+    /**
+     * finish an async task after its future completed
+     */
+    private void completeAsyncTask(TaskExecuteResponseCommand responseCommand, Throwable e) {
+        try {
+            if (e == null) {
+                setTaskResult(responseCommand);
+            } else if (e instanceof CancellationException) {
+                logger.info("task instance id : {} is killed", taskExecutionContext.getTaskInstanceId());
+                responseCommand.setStatus(ExecutionStatus.KILL.getCode());
+                responseCommand.setEndTime(new Date());
+            } else {
+                logger.error("task scheduler failure", e);
+                responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
+                responseCommand.setEndTime(new Date());
+            }
+        } catch (Throwable t) {
+            logger.error("task scheduler failure", t);
+            responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
+            responseCommand.setEndTime(new Date());
+        } finally {
+            sendResult(responseCommand);
         }
     }
 
+    private void setTaskResult(TaskExecuteResponseCommand responseCommand) {
+        if (this.task.getNeedAlert()) {
+            sendAlert(this.task.getTaskAlertInfo());
+        }
+
+        responseCommand.setStatus(this.task.getExitStatus().getCode());
+        responseCommand.setEndTime(new Date());
+        responseCommand.setProcessId(this.task.getProcessId());
+        responseCommand.setAppIds(this.task.getAppIds());
+        responseCommand.setVarPool(JSONUtils.toJsonString(this.task.getParameters().getVarPool()));
+        logger.info("task instance id : {},task final status : {}", taskExecutionContext.getTaskInstanceId(), this.task.getExitStatus());
+    }
+
+    private void sendResult(TaskExecuteResponseCommand responseCommand) {
+        TaskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
+        ResponseCache.get().cache(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command(), Event.RESULT);
+        taskCallbackService.sendResult(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command());
+        clearTaskExecPath();
+    }
+
     private void sendAlert(TaskAlertInfo taskAlertInfo) {
         alertClientService.sendAlert(taskAlertInfo.getAlertGroupId(), taskAlertInfo.getTitle(), taskAlertInfo.getContent());
     }
@@ -239,6 +330,11 @@ public class TaskExecuteThread implements Runnable, Delayed {
                 return;
             }
 
+            if (execPathCleaner != null) {
+                execPathCleaner.clean(new File(execLocalPath));
+                return;
+            }
+
             try {
                 org.apache.commons.io.FileUtils.deleteDirectory(new File(execLocalPath));
                 logger.info("exec local path: {} cleared.", execLocalPath);
@@ -272,6 +368,11 @@ public class TaskExecuteThread implements Runnable, Delayed {
         if (task != null) {
             try {
                 task.cancelApplication(true);
+                TaskRequest taskRequest = TaskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
+                if (taskRequest != null) {
+                    // app ids collected from the task output so far
+                    taskExecutionContext.setAppIds(taskRequest.getAppIds());
+                }
                 ProcessUtils.killYarnJob(taskExecutionContext);
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
@@ -299,11 +400,16 @@ public class TaskExecuteThread implements Runnable, Delayed {
             File resFile = new File(execLocalPath, fullName);
             if (!resFile.exists()) {
                 try {
-                    // query the tenant code of the resource according to the name of the resource
-                    String resHdfsPath = HadoopUtils.getHdfsResourceFileName(tenantCode, fullName);
-
-                    logger.info("get resource file from hdfs :{}", resHdfsPath);
-                    HadoopUtils.getInstance().copyHdfsToLocal(resHdfsPath, execLocalPath + File.separator + fullName, false, true);
+                    if (resourceCache != null) {
+                        logger.info("get resource file {} of tenant {} from the resource cache", fullName, tenantCode);
+                        resourceCache.materialize(tenantCode, fullName, resFile);
+                    } else {
+                        // query the tenant code of the resource according to the name of the resource
+                        String resHdfsPath = HadoopUtils.getHdfsResourceFileName(tenantCode, fullName);
+
+                        logger.info("get resource file from hdfs :{}", resHdfsPath);
+                        HadoopUtils.getInstance().copyHdfsToLocal(resHdfsPath, execLocalPath + File.separator + fullName, false, true);
+                    }
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
                     throw new RuntimeException(e.getMessage());
@@ -350,6 +456,14 @@ public class TaskExecuteThread implements Runnable, Delayed {
         return ackCommand;
     }
 
+    public void setAsyncTaskRunner(AsyncTaskRunner asyncTaskRunner) {
+        this.asyncTaskRunner = asyncTaskRunner;
+    }
+
+    public void setExecPathCleaner(ExecPathCleaner execPathCleaner) {
+        this.execPathCleaner = execPathCleaner;
+    }
+
     /**
      * get current TaskExecutionContext
      *
@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.service.queue.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.spi.task.TaskExecutionContextCacheManager;
 import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
 
+import java.util.Map;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -39,6 +40,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Manage tasks
  */
@@ -55,7 +58,24 @@ public class WorkerManagerThread implements Runnable {
     /**
      * thread executor service
      */
-    private final ExecutorService workerExecService;
+    private final ThreadPoolExecutor workerExecService;
+
+    /**
+     * decides which ready task runs next on the execute threads
+     */
+    private final TaskExecuteScheduler taskExecuteScheduler;
+
+    /**
+     * reports the tasks the execute threads refuse, off the lock of the scheduler
+     */
+    private final ExecutorService rejectedTaskExecutor;
+
+    /**
+     * runs async tasks without holding an execute thread
+     */
+    private final AsyncTaskRunner asyncTaskRunner;
+
+    private final WorkerConfig workerConfig;
 
     /**
      * task callback service
@@ -63,8 +83,28 @@ public class WorkerManagerThread implements Runnable {
     @Autowired
     private TaskCallbackService taskCallbackService;
 
-    public WorkerManagerThread(WorkerConfig workerConfig) {
-        workerExecService = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads());
+    @Autowired
+    private ExecPathCleaner execPathCleaner;
+
+    public WorkerManagerThread(WorkerConfig workerConfig, MeterRegistry meterRegistry) {
+        this.workerConfig = workerConfig;
+        workerExecService = (ThreadPoolExecutor) ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads());
+        taskExecuteScheduler = new TaskExecuteScheduler(workerExecService,
+                workerConfig.getExecThreads(),
+                workerConfig.getExecReservedThreads(),
+                workerConfig.getShortTaskTypes(),
+                workerConfig.getTenantMaxExecThreads(),
+                workerConfig.getTaskTypeMaxExecThreads(),
+                meterRegistry);
+        // a task the execute threads refuse is failed, or the master waits for it forever. sending the result may
+        // block, so it is not sent under the lock of the scheduler
+        rejectedTaskExecutor = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Rejected-Task-Thread", 1);
+        taskExecuteScheduler.setRejectedHandler((task, e) -> {
+            if (task instanceof TaskExecuteThread) {
+                rejectedTaskExecutor.execute(() -> ((TaskExecuteThread) task).reject(e));
+            }
+        });
+        asyncTaskRunner = new AsyncTaskRunner(workerConfig.getAsyncExecThreads(), workerConfig.getAsyncExecQueueSize());
     }
 
     /**
@@ -82,7 +122,46 @@ public class WorkerManagerThread implements Runnable {
      * @return queue size
      */
     public int getThreadPoolQueueSize() {
-        return ((ThreadPoolExecutor) workerExecService).getQueue().size();
+        return taskExecuteScheduler.getPendingCount();
+    }
+
+    /**
+     * get the number of running tasks, including async tasks not holding an execute thread
+     *
+     * @return running task count
+     */
+    public int getRunningTaskCount() {
+        return taskExecuteScheduler.getRunningCount() + asyncTaskRunner.getRunningCount();
+    }
+
+    /**
+     * get the number of running tasks by task type
+     *
+     * @return running task count by task type
+     */
+    public Map<String, Integer> getRunningTaskCountByType() {
+        Map<String, Integer> counts = taskExecuteScheduler.getRunningCountByType();
+        asyncTaskRunner.getRunningCountByType().forEach((taskType, count) -> counts.merge(taskType, count, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * get the number of execute threads
+     *
+     * @return execute thread count
+     */
+    public int getExecThreads() {
+        return taskExecuteScheduler.getExecThreads();
+    }
+
+    /**
+     * change the number of execute threads
+     *
+     * @param execThreads number of execute threads
+     */
+    public void updateExecThreads(int execThreads) {
+        taskExecuteScheduler.resize(execThreads);
+        workerConfig.setExecThreads(execThreads);
     }
 
     /**
@@ -93,6 +172,12 @@ public class WorkerManagerThread implements Runnable {
         workerExecuteQueue.stream()
                           .filter(taskExecuteThread -> taskExecuteThread.getTaskExecutionContext().getTaskInstanceId() == taskInstanceId)
                           .forEach(workerExecuteQueue::remove);
+        taskExecuteScheduler.remove(task -> task instanceof TaskExecuteThread
+                && ((TaskExecuteThread) task).getTaskExecutionContext().getTaskInstanceId() == taskInstanceId);
+        // async tasks have no process to kill either, a killed async task reports itself once its call has ended
+        if (asyncTaskRunner.kill(taskInstanceId)) {
+            return;
+        }
         sendTaskKillResponse(taskInstanceId);
     }
 
@@ -134,7 +219,10 @@ public class WorkerManagerThread implements Runnable {
         while (Stopper.isRunning()) {
             try {
                 taskExecuteThread = workerExecuteQueue.take();
-                workerExecService.submit(taskExecuteThread);
+                TaskExecutionContext taskExecutionContext = taskExecuteThread.getTaskExecutionContext();
+                taskExecuteThread.setAsyncTaskRunner(asyncTaskRunner);
+                taskExecuteThread.setExecPathCleaner(execPathCleaner);
+                taskExecuteScheduler.submit(taskExecutionContext.getTenantCode(), taskExecutionContext.getTaskType(), taskExecuteThread);
             } catch (Exception e) {
                 logger.error("An unexpected interrupt is happened, "
                     + "the exception will be ignored and this thread will continue to run", e);
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * resources kept in a local directory as root/tenantCode/fullName, counting the downloads
+ */
+public class LocalResourceStorage implements ResourceStorage {
+
+    private final File root;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private volatile CountDownLatch downloadGate;
+
+    public LocalResourceStorage(File root) {
+        this.root = root;
+    }
+
+    @Override
+    public String getVersion(String tenantCode, String fullName) throws IOException {
+        File file = file(tenantCode, fullName);
+        if (!file.exists()) {
+            throw new IOException("resource not found: " + file);
+        }
+        return file.length() + "-" + file.lastModified();
+    }
+
+    @Override
+    public void download(String tenantCode, String fullName, File target) throws IOException {
+        fetches.incrementAndGet();
+        CountDownLatch gate = downloadGate;
+        if (gate != null) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+        Files.copy(file(tenantCode, fullName).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * write a resource
+     */
+    public File put(String tenantCode, String fullName, String content) throws IOException {
+        File file = file(tenantCode, fullName);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+
+    /**
+     * hold downloads until the gate is opened
+     */
+    public void setDownloadGate(CountDownLatch downloadGate) {
+        this.downloadGate = downloadGate;
+    }
+
+    public int getFetches() {
+        return fetches.get();
+    }
+
+    private File file(String tenantCode, String fullName) {
+        return new File(new File(root, tenantCode), fullName);
+    }
+}
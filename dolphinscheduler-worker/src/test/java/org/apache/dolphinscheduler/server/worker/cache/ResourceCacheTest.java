@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalResourceStorage storage;
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        storage = new LocalResourceStorage(folder.newFolder("storage"));
+        cacheDir = folder.newFolder("cache");
+    }
+
+    @Test
+    public void testFetchOnce() throws Exception {
+        storage.put("tenant", "/lib/app.jar", "jar");
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 1024);
+
+        File first = new File(folder.getRoot(), "exec/1/lib/app.jar");
+        File second = new File(folder.getRoot(), "exec/2/lib/app.jar");
+        cache.materialize("tenant", "/lib/app.jar", first);
+        cache.materialize("tenant", "/lib/app.jar", second);
+
+        Assert.assertEquals(1, storage.getFetches());
+        Assert.assertEquals("jar", read(first));
+        Assert.assertEquals("jar", read(second));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testNewVersionFetchedAgain() throws Exception {
+        File resource = storage.put("tenant", "app.jar", "v1");
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 1024);
+        cache.materialize("tenant", "app.jar", new File(folder.getRoot(), "exec/1/app.jar"));
+
+        storage.put("tenant", "app.jar", "v2-longer");
+        Assert.assertTrue(resource.setLastModified(resource.lastModified() + 2000));
+        File target = new File(folder.getRoot(), "exec/2/app.jar");
+        cache.materialize("tenant", "app.jar", target);
+
+        Assert.assertEquals(2, storage.getFetches());
+        Assert.assertEquals("v2-longer", read(target));
+        // the same name of another tenant is another resource
+        storage.put("other", "app.jar", "v1");
+        cache.materialize("other", "app.jar", new File(folder.getRoot(), "exec/3/app.jar"));
+        Assert.assertEquals(3, storage.getFetches());
+    }
+
+    @Test
+    public void testConcurrentTasksShareOneDownload() throws Exception {
+        storage.put("tenant", "app.jar", "jar");
+        CountDownLatch gate = new CountDownLatch(1);
+        storage.setDownloadGate(gate);
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 1024);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                File target = new File(folder.getRoot(), "exec/" + i + "/app.jar");
+                futures.add(executor.submit(() -> {
+                    cache.materialize("tenant", "app.jar", target);
+                    return null;
+                }));
+            }
+            Thread.sleep(200);
+            gate.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, storage.getFetches());
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals("jar", read(new File(folder.getRoot(), "exec/" + i + "/app.jar")));
+        }
+    }
+
+    @Test
+    public void testUsedBytesAfterConcurrentDownloads() throws Exception {
+        storage.put("tenant", "app.jar", "jar");
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 1024);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                File target = new File(folder.getRoot(), "exec/" + i + "/app.jar");
+                futures.add(executor.submit(() -> {
+                    cache.materialize("tenant", "app.jar", target);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(1, storage.getFetches());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(3, cache.getUsedBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() throws Exception {
+        storage.put("tenant", "a.jar", "aaaa");
+        storage.put("tenant", "b.jar", "bbbb");
+        storage.put("tenant", "c.jar", "cccc");
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 10);
+
+        File a = new File(folder.getRoot(), "exec/1/a.jar");
+        cache.materialize("tenant", "a.jar", a);
+        cache.materialize("tenant", "b.jar", new File(folder.getRoot(), "exec/1/b.jar"));
+        cache.materialize("tenant", "a.jar", new File(folder.getRoot(), "exec/2/a.jar"));
+        cache.materialize("tenant", "c.jar", new File(folder.getRoot(), "exec/1/c.jar"));
+        Assert.assertEquals(3, storage.getFetches());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(8, cache.getUsedBytes());
+
+        // b was the least recently used
+        cache.materialize("tenant", "a.jar", new File(folder.getRoot(), "exec/3/a.jar"));
+        Assert.assertEquals(3, storage.getFetches());
+        cache.materialize("tenant", "b.jar", new File(folder.getRoot(), "exec/2/b.jar"));
+        Assert.assertEquals(4, storage.getFetches());
+        // materialized files outlive their eviction
+        Assert.assertEquals("aaaa", read(a));
+    }
+
+    @Test
+    public void testCachedFilesKeptOverRestart() throws Exception {
+        storage.put("tenant", "app.jar", "jar");
+        new ResourceCache(storage, cacheDir, 1024).materialize("tenant", "app.jar", new File(folder.getRoot(), "exec/1/app.jar"));
+        Assert.assertTrue(new File(cacheDir, "unfinished.tmp").createNewFile());
+
+        ResourceCache cache = new ResourceCache(storage, cacheDir, 1024);
+        cache.materialize("tenant", "app.jar", new File(folder.getRoot(), "exec/2/app.jar"));
+        Assert.assertEquals(1, storage.getFetches());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertFalse(new File(cacheDir, "unfinished.tmp").exists());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingResource() throws Exception {
+        new ResourceCache(storage, cacheDir, 1024).materialize("tenant", "missing.jar", new File(folder.getRoot(), "exec/1/missing.jar"));
+    }
+
+    private String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import org.apache.dolphinscheduler.common.enums.Event;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRemoteChannel;
+import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import io.netty.channel.Channel;
+
+public class ResponseCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ResponseCache cache = ResponseCache.get();
+
+    private final TaskCallbackService taskCallbackService = new TaskCallbackService();
+
+    @After
+    public void tearDown() {
+        TaskCallbackService.remove(1);
+        TaskCallbackService.remove(2);
+        cache.close();
+        cache.getAckCache().clear();
+        cache.getResponseCache().clear();
+    }
+
+    @Test
+    public void testRetryBackoff() {
+        cache.cache(1, new TaskExecuteAckCommand().convert2Command(), Event.ACK);
+        long now = System.currentTimeMillis();
+        Assert.assertTrue(cache.pollDue(now).isEmpty());
+
+        ResponseCache.Entry entry = cache.getAckCache().get(1);
+        for (int attempt = 1; attempt <= 12; attempt++) {
+            long due = entry.getNextRetryTime();
+            List<ResponseCache.Entry> entries = cache.pollDue(due);
+            Assert.assertEquals(1, entries.size());
+            Assert.assertEquals(attempt, entry.getAttempts());
+            long backoff = entry.getNextRetryTime() - due;
+            // doubled up to 5 minutes, less a random half
+            long full = Math.min(5 * 60 * 1000L, 2000L << attempt);
+            Assert.assertTrue(backoff >= full / 2 && backoff <= full);
+        }
+
+        cache.removeAckCache(1);
+        Assert.assertTrue(cache.pollDue(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testResultsSentAgainAfterRestart() throws Exception {
+        File dir = folder.newFolder();
+        cache.open(dir);
+        cache.cache(1, new TaskExecuteResponseCommand(1, 100).convert2Command(), Event.RESULT);
+        cache.cache(2, new TaskExecuteResponseCommand(2, 100).convert2Command(), Event.RESULT);
+        cache.cache(3, new TaskExecuteAckCommand().convert2Command(), Event.ACK);
+        cache.removeResponseCache(2);
+
+        // restart
+        cache.close();
+        cache.getAckCache().clear();
+        cache.getResponseCache().clear();
+        cache.open(dir);
+
+        List<ResponseCache.Entry> due = cache.pollDue(System.currentTimeMillis());
+        Assert.assertEquals(1, due.size());
+        Assert.assertEquals(1, due.get(0).getTaskInstanceId());
+        Assert.assertEquals(Event.RESULT, due.get(0).getEvent());
+        Assert.assertEquals(1, due.get(0).getCommand().parseBody(TaskExecuteResponseCommand.class).getTaskInstanceId());
+    }
+
+    @Test
+    public void testResultsSentAgainToMasterListenAddress() throws Exception {
+        File dir = folder.newFolder();
+        cache.open(dir);
+        // the channel of a task is from an ephemeral port of the master
+        addCallbackChannel(1, 50123, 10L, "127.0.0.1:5678");
+        cache.cache(1, new TaskExecuteResponseCommand(1, 100).convert2Command(), Event.RESULT);
+
+        // restart
+        cache.close();
+        cache.getResponseCache().clear();
+        TaskCallbackService.remove(1);
+        cache.open(dir);
+
+        List<ResponseCache.Entry> due = cache.pollDue(System.currentTimeMillis());
+        Assert.assertEquals(1, due.size());
+        Assert.assertEquals("127.0.0.1:5678", due.get(0).getHost());
+        Assert.assertEquals(10L, due.get(0).getOpaque());
+    }
+
+    @Test
+    public void testSentRightAwayOnceReachable() throws Exception {
+        File dir = folder.newFolder();
+        cache.open(dir);
+        addCallbackChannel(1, 50123, 10L, "127.0.0.1:5678");
+        addCallbackChannel(2, 50124, 11L, "127.0.0.1:5679");
+        cache.cache(1, new TaskExecuteResponseCommand(1, 100).convert2Command(), Event.RESULT);
+        cache.cache(2, new TaskExecuteResponseCommand(2, 100).convert2Command(), Event.RESULT);
+        cache.close();
+        cache.getResponseCache().clear();
+        cache.open(dir);
+        long now = System.currentTimeMillis();
+        Assert.assertEquals(2, cache.pollDue(now).size());
+        Assert.assertTrue(cache.pollDue(now).isEmpty());
+
+        // a successful send to a master that was not failing does not hurry its messages
+        cache.sendSucceeded("127.0.0.1:5678");
+        Assert.assertTrue(cache.pollDue(now).isEmpty());
+
+        cache.sendFailed("127.0.0.1:5678");
+        cache.sendSucceeded("127.0.0.1:5678");
+        List<ResponseCache.Entry> due = cache.pollDue(now);
+        Assert.assertEquals(1, due.size());
+        Assert.assertEquals("127.0.0.1:5678", due.get(0).getHost());
+        Assert.assertEquals(10L, due.get(0).getOpaque());
+    }
+
+    private void addCallbackChannel(int taskInstanceId, int port, long opaque, String masterHost) {
+        Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", port));
+        taskCallbackService.addRemoteChannel(taskInstanceId, new NettyRemoteChannel(channel, opaque));
+        TaskCallbackService.setMasterHost(taskInstanceId, masterHost);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResponseLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResultsSurviveReopen() throws Exception {
+        File dir = folder.newFolder();
+        try (ResponseLog log = new ResponseLog(dir)) {
+            log.put(1, "127.0.0.1:5678", 10L, result(1));
+            log.put(2, "127.0.0.1:5678", 11L, result(2));
+            log.put(3, "", -1L, result(3));
+            log.remove(2);
+        }
+        try (ResponseLog log = new ResponseLog(dir)) {
+            List<ResponseLog.Result> results = log.getResults();
+            Assert.assertEquals(2, results.size());
+            Assert.assertEquals(1, results.get(0).getTaskInstanceId());
+            Assert.assertEquals("127.0.0.1:5678", results.get(0).getHost());
+            Assert.assertEquals(10L, results.get(0).getOpaque());
+            Command command = results.get(0).getCommand();
+            Assert.assertEquals(CommandType.TASK_EXECUTE_RESPONSE, command.getType());
+            Assert.assertEquals(1, command.parseBody(TaskExecuteResponseCommand.class).getTaskInstanceId());
+            Assert.assertEquals(3, results.get(1).getTaskInstanceId());
+            Assert.assertEquals("", results.get(1).getHost());
+        }
+    }
+
+    @Test
+    public void testTornRecordTruncated() throws Exception {
+        File dir = folder.newFolder();
+        try (ResponseLog log = new ResponseLog(dir)) {
+            log.put(1, "127.0.0.1:5678", 10L, result(1));
+            log.put(2, "127.0.0.1:5678", 11L, result(2));
+        }
+        File file = new File(dir, "response.log");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        try (ResponseLog log = new ResponseLog(dir)) {
+            Assert.assertEquals(1, log.getResults().size());
+            log.put(3, "127.0.0.1:5678", 12L, result(3));
+        }
+        try (ResponseLog log = new ResponseLog(dir)) {
+            List<ResponseLog.Result> results = log.getResults();
+            Assert.assertEquals(2, results.size());
+            Assert.assertEquals(3, results.get(1).getTaskInstanceId());
+        }
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        File dir = folder.newFolder();
+        File file = new File(dir, "response.log");
+        try (ResponseLog log = new ResponseLog(dir)) {
+            log.put(0, "127.0.0.1:5678", 1L, result(0));
+            long putLength = file.length();
+            for (int i = 1; i <= 2000; i++) {
+                log.put(i, "127.0.0.1:5678", 1L, result(i));
+                log.remove(i);
+            }
+            // compacted whenever the records outgrew the results
+            Assert.assertTrue(file.length() < 1000 * putLength);
+            log.put(2001, "127.0.0.1:5678", 1L, result(2001));
+        }
+        try (ResponseLog log = new ResponseLog(dir)) {
+            List<ResponseLog.Result> results = log.getResults();
+            Assert.assertEquals(2, results.size());
+            Assert.assertEquals(0, results.get(0).getTaskInstanceId());
+            Assert.assertEquals(2001, results.get(1).getTaskInstanceId());
+        }
+    }
+
+    private Command result(int taskInstanceId) {
+        return new TaskExecuteResponseCommand(taskInstanceId, 100).convert2Command();
+    }
+}
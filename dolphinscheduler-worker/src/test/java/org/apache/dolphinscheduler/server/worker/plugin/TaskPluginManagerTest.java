@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.plugin;
+
+import org.apache.dolphinscheduler.dao.PluginDao;
+import org.apache.dolphinscheduler.dao.entity.PluginDefine;
+import org.apache.dolphinscheduler.spi.task.TaskChannel;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TaskPluginManagerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPluginManagerTest.class);
+
+    @Test
+    public void testLoadOnFirstUse() {
+        TaskPluginManager taskPluginManager = new TaskPluginManager(Mockito.mock(PluginDao.class));
+
+        long startTime = System.nanoTime();
+        TaskChannel shell = taskPluginManager.getTaskChannel("SHELL");
+        long firstTaskTime = System.nanoTime() - startTime;
+        Assert.assertNotNull(shell);
+        Assert.assertEquals(Collections.singleton("SHELL"), taskPluginManager.getLoadedTaskTypes());
+        Assert.assertTrue(taskPluginManager.getTaskTypes().contains("SPARK"));
+        Assert.assertSame(shell, taskPluginManager.getTaskChannel("SHELL"));
+        Assert.assertNull(taskPluginManager.getTaskChannel("NOT_A_TASK_TYPE"));
+
+        startTime = System.nanoTime();
+        for (String taskType : taskPluginManager.getTaskTypes()) {
+            Assert.assertNotNull(taskPluginManager.getTaskChannel(taskType));
+        }
+        long allTaskTypesTime = System.nanoTime() - startTime;
+        logger.info("first task ready in {} ms, loading all {} task plugins took another {} ms",
+                firstTaskTime / 1000000, taskPluginManager.getTaskTypes().size(), allTaskTypesTime / 1000000);
+        Assert.assertEquals(taskPluginManager.getTaskTypes(), taskPluginManager.getLoadedTaskTypes());
+    }
+
+    @Test
+    public void testRegisterPluginDefines() {
+        PluginDao pluginDao = Mockito.mock(PluginDao.class);
+        Mockito.when(pluginDao.addOrUpdatePluginDefine(ArgumentMatchers.any(PluginDefine.class))).thenReturn(1);
+        TaskPluginManager taskPluginManager = new TaskPluginManager(pluginDao);
+
+        taskPluginManager.registerPluginDefines();
+        Mockito.verify(pluginDao, Mockito.times(taskPluginManager.getTaskTypes().size()))
+                .addOrUpdatePluginDefine(ArgumentMatchers.any(PluginDefine.class));
+        // registering needs the params of the plugins only, not their channels
+        Assert.assertTrue(taskPluginManager.getLoadedTaskTypes().isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.AbstractAsyncTask;
+import org.apache.dolphinscheduler.spi.task.AbstractParameters;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncTaskRunnerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void testTasksInFlightAreBounded() throws Exception {
+        AsyncTaskRunner runner = new AsyncTaskRunner(1, 1);
+        CompletableFuture<Void> first = runner.execute(1, "SQL", "first", new WaitingTask(release));
+        CompletableFuture<Void> second = runner.execute(2, "SQL", "second", new WaitingTask(release));
+        Assert.assertEquals(2, runner.getRunningCount());
+        Assert.assertEquals(Collections.singletonMap("SQL", 2), runner.getRunningCountByType());
+
+        try {
+            runner.execute(3, "HTTP", "third", new WaitingTask(release));
+            Assert.fail("async tasks in flight are over the limit");
+        } catch (RejectedExecutionException e) {
+            Assert.assertEquals(2, runner.getRunningCount());
+        }
+
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(0, runner.getRunningCount());
+        runner.execute(3, "HTTP", "third", new WaitingTask(release)).get(10, TimeUnit.SECONDS);
+    }
+
+    private static class WaitingTask extends AbstractAsyncTask {
+
+        private final CountDownLatch release;
+
+        WaitingTask(CountDownLatch release) {
+            super(new TaskRequest());
+            this.release = release;
+        }
+
+        @Override
+        protected CompletableFuture<Void> executeAsync(Executor executor) {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, executor);
+        }
+
+        @Override
+        public AbstractParameters getParameters() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.spi.task.TaskExecutionContextCacheManager;
+import org.apache.dolphinscheduler.spi.task.request.TaskRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ExecPathCleanerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @After
+    public void tearDown() {
+        TaskExecutionContextCacheManager.removeByTaskInstanceId(4);
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        File execPath = createTaskExecPath(execBaseDir, 1);
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 10, 0);
+
+        cleaner.delete(execPath);
+        Assert.assertFalse(execPath.exists());
+        Assert.assertEquals(2, cleaner.getReclaimedFiles());
+        Assert.assertEquals(10, cleaner.getReclaimedBytes());
+        Assert.assertEquals(2, meterRegistry.get("worker_exec_path_reclaimed_files").functionCounter().count(), 0);
+        Assert.assertEquals(10, meterRegistry.get("worker_exec_path_reclaimed_bytes").functionCounter().count(), 0);
+    }
+
+    @Test
+    public void testLinkedFileFreesNoDisk() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        File execPath = new File(execBaseDir, "1/2_1/3/1");
+        Assert.assertTrue(execPath.mkdirs());
+        File cached = folder.newFile("cached");
+        Files.write(cached.toPath(), "cached".getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.createLink(new File(execPath, "resource").toPath(), cached.toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            return;
+        }
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 10, 0);
+
+        cleaner.delete(execPath);
+        Assert.assertFalse(execPath.exists());
+        Assert.assertTrue(cached.exists());
+        Assert.assertEquals(1, cleaner.getReclaimedFiles());
+        Assert.assertEquals(0, cleaner.getReclaimedBytes());
+    }
+
+    @Test
+    public void testCleanInBackground() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 1, 0);
+        File first = createTaskExecPath(execBaseDir, 1);
+        File second = createTaskExecPath(execBaseDir, 2);
+
+        cleaner.clean(first);
+        Assert.assertTrue(first.exists());
+        Assert.assertEquals(1, cleaner.getQueueSize());
+
+        // the queue is full, the caller deletes
+        cleaner.clean(second);
+        Assert.assertFalse(second.exists());
+
+        cleaner.start();
+        waitForDeleted(first);
+    }
+
+    @Test
+    public void testCleanWhenLowOnDisk() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 10, Long.MAX_VALUE);
+        File execPath = createTaskExecPath(execBaseDir, 1);
+
+        cleaner.clean(execPath);
+        Assert.assertFalse(execPath.exists());
+        Assert.assertEquals(0, cleaner.getQueueSize());
+    }
+
+    @Test
+    public void testDeleteOrphansOnStart() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        File orphan = createOrphan(execBaseDir, 3);
+        File running = createOrphan(execBaseDir, 4);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTaskInstanceId(4);
+        TaskExecutionContextCacheManager.cacheTaskExecutionContext(taskRequest);
+
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 10, 0);
+        cleaner.start();
+        waitForDeleted(orphan);
+        Assert.assertTrue(running.exists());
+    }
+
+    @Test
+    public void testKeepOrphansInUse() throws Exception {
+        File execBaseDir = folder.newFolder("exec");
+        File orphan = createOrphan(execBaseDir, 5);
+        File runByProcess = createOrphan(execBaseDir, 6);
+        File recentlyChanged = createTaskExecPath(execBaseDir, 7);
+        // a task process of the last run still runs a script of its execute path
+        File process = new File(folder.getRoot(), "proc/100");
+        Assert.assertTrue(process.mkdirs());
+        String cmdline = "sudo\0-u\0tenant\0bash\0" + new File(runByProcess, "run.sh").getAbsolutePath() + "\0";
+        Files.write(new File(process, "cmdline").toPath(), cmdline.getBytes(StandardCharsets.UTF_8));
+
+        ExecPathCleaner cleaner = newCleaner(execBaseDir, 10, 0);
+        cleaner.start();
+        waitForDeleted(orphan);
+        Assert.assertTrue(runByProcess.exists());
+        Assert.assertTrue(recentlyChanged.exists());
+    }
+
+    private ExecPathCleaner newCleaner(File execBaseDir, int queueSize, long reservedDisk) {
+        return new ExecPathCleaner(execBaseDir, new File(folder.getRoot(), "proc"), queueSize, reservedDisk, meterRegistry);
+    }
+
+    /**
+     * an execute path left by the last run, changed before the grace time
+     */
+    private File createOrphan(File execBaseDir, int taskInstanceId) throws IOException {
+        File execPath = createTaskExecPath(execBaseDir, taskInstanceId);
+        Assert.assertTrue(execPath.setLastModified(System.currentTimeMillis() - 2 * ExecPathCleaner.ORPHAN_GRACE_MILLIS));
+        return execPath;
+    }
+
+    private File createTaskExecPath(File execBaseDir, int taskInstanceId) throws IOException {
+        File execPath = new File(execBaseDir, "1/2_1/3/" + taskInstanceId);
+        Assert.assertTrue(new File(execPath, "lib").mkdirs());
+        Files.write(new File(execPath, "run.sh").toPath(), "echo 1\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(execPath, "lib/a").toPath(), "abc".getBytes(StandardCharsets.UTF_8));
+        return execPath;
+    }
+
+    private void waitForDeleted(File file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (file.exists()) {
+            Assert.assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TaskExecuteSchedulerTest {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTenantsTakeTurns() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 1, 0, null, 0, null, meterRegistry);
+        CountDownLatch first = new CountDownLatch(1);
+        scheduler.submit("a", "SHELL", () -> {
+            started.add("a0");
+            await(first);
+        });
+        for (int i = 1; i <= 3; i++) {
+            scheduler.submit("a", "SHELL", task("a" + i));
+        }
+        scheduler.submit("b", "SHELL", task("b1"));
+        scheduler.submit("b", "SHELL", task("b2"));
+        Assert.assertEquals(5, scheduler.getPendingCount());
+
+        first.countDown();
+        waitFor(() -> started.size() == 6);
+        Assert.assertEquals(Arrays.asList("a0", "a1", "b1", "a2", "b2", "a3"), started);
+        waitFor(() -> scheduler.getRunningCount() == 0);
+        Assert.assertEquals(2, meterRegistry.get("worker_task_execution").tag("tenant", "b").timer().count());
+        Assert.assertEquals(4, meterRegistry.get("worker_task_queue_wait").tag("tenant", "a").timer().count());
+    }
+
+    @Test
+    public void testTenantLimit() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 2, 0, null, 1, null, meterRegistry);
+        scheduler.submit("a", "SHELL", blocking("a1"));
+        scheduler.submit("a", "SHELL", blocking("a2"));
+        scheduler.submit("b", "SHELL", blocking("b1"));
+        waitFor(() -> started.size() == 2);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a1", "b1")), new HashSet<>(started));
+        Assert.assertEquals(1, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testTaskTypeLimit() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 2, 0, null, 0, Collections.singletonMap("FLINK", 1), meterRegistry);
+        scheduler.submit("a", "FLINK", blocking("flink1"));
+        scheduler.submit("a", "FLINK", blocking("flink2"));
+        scheduler.submit("a", "SHELL", blocking("shell"));
+        waitFor(() -> started.size() == 2);
+        Assert.assertEquals(Arrays.asList("flink1", "shell"), started);
+    }
+
+    @Test
+    public void testThreadsReservedForShortTasks() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 2, 1, Collections.singleton("SHELL"), 0, null, meterRegistry);
+        scheduler.submit("a", "FLINK", blocking("flink1"));
+        scheduler.submit("a", "FLINK", blocking("flink2"));
+        waitFor(() -> started.size() == 1);
+        Thread.sleep(100);
+        Assert.assertEquals(1, started.size());
+
+        scheduler.submit("a", "SHELL", blocking("shell"));
+        waitFor(() -> started.size() == 2);
+        Assert.assertEquals(Arrays.asList("flink1", "shell"), started);
+        Assert.assertEquals(1, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testResize() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 2, 0, null, 0, null, meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            scheduler.submit("a", "SHELL", blocking("a" + i));
+        }
+        waitFor(() -> started.size() == 2);
+
+        scheduler.resize(4);
+        waitFor(() -> started.size() == 4);
+        Assert.assertEquals(4, executor.getMaximumPoolSize());
+        Assert.assertEquals(4, scheduler.getRunningCount());
+
+        scheduler.resize(1);
+        Assert.assertEquals(1, executor.getMaximumPoolSize());
+        Assert.assertEquals(4, scheduler.getRunningCount());
+        scheduler.submit("a", "SHELL", blocking("a4"));
+        release.countDown();
+        waitFor(() -> started.size() == 5 && scheduler.getRunningCount() == 0);
+    }
+
+    @Test
+    public void testRemovePending() throws Exception {
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(executor, 1, 0, null, 0, null, meterRegistry);
+        Runnable running = blocking("running");
+        Runnable removed = task("removed");
+        scheduler.submit("a", "SHELL", running);
+        scheduler.submit("a", "SHELL", removed);
+        Assert.assertEquals(1, scheduler.remove(task -> task == removed));
+        Assert.assertEquals(0, scheduler.getPendingCount());
+        release.countDown();
+        waitFor(() -> scheduler.getRunningCount() == 0);
+        Assert.assertEquals(Collections.singletonList("running"), started);
+    }
+
+    @Test
+    public void testRejectedTaskReleasesThread() throws Exception {
+        ThreadPoolExecutor shutdown = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        shutdown.shutdown();
+        TaskExecuteScheduler scheduler = new TaskExecuteScheduler(shutdown, 1, 0, null, 0, null, meterRegistry);
+        List<Runnable> rejected = new ArrayList<>();
+        scheduler.setRejectedHandler((task, e) -> rejected.add(task));
+        Runnable first = task("first");
+        Runnable second = task("second");
+        scheduler.submit("a", "SHELL", first);
+        scheduler.submit("a", "SHELL", second);
+
+        Assert.assertEquals(Arrays.asList(first, second), rejected);
+        Assert.assertEquals(0, scheduler.getRunningCount());
+        Assert.assertEquals(0, scheduler.getPendingCount());
+        Assert.assertTrue(started.isEmpty());
+    }
+
+    private Runnable task(String name) {
+        return () -> started.add(name);
+    }
+
+    private Runnable blocking(String name) {
+        return () -> {
+            started.add(name);
+            await(release);
+        };
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}